@@ -1,28 +1,40 @@
 package app.hub;
 
 import android.app.Application;
-import com.squareup.picasso.Picasso;
+import android.content.Context;
+
+import app.hub.api.ApiClient;
+import app.hub.api.ApiService;
+import app.hub.util.SettingsStore;
+import okhttp3.OkHttpClient;
 
 public class ServiceHubApplication extends Application {
+
+    public static ServiceHubApplication from(Context context) {
+        return (ServiceHubApplication) context.getApplicationContext();
+    }
+
+    /**
+     * The app-wide API service; every caller shares its client and connection pool.
+     */
+    public ApiService getApiService() {
+        return ApiClient.getApiService();
+    }
+
+    /**
+     * The shared HTTP client, for requests that don't go through ApiService.
+     */
+    public OkHttpClient getHttpClient() {
+        return ApiClient.getHttpClient();
+    }
+
     @Override
     public void onCreate() {
         super.onCreate();
-        
-        // Enable Picasso logging for debugging image loading issues
-        Picasso.Builder builder = new Picasso.Builder(this);
-        builder.listener((picasso, uri, exception) -> {
-            android.util.Log.e("Picasso", "Failed to load image: " + uri, exception);
-        });
-        
-        // Enable indicators to show where images are loaded from (red=network, blue=disk, green=memory)
-        Picasso built = builder.build();
-        built.setIndicatorsEnabled(true);
-        built.setLoggingEnabled(true);
-        
-        try {
-            Picasso.setSingletonInstance(built);
-        } catch (IllegalStateException ignored) {
-            // Picasso instance was already set
-        }
+
+        // Start reading settings now so the first login check finds them in memory
+        SettingsStore.get(this);
+        // Attach the HTTP response cache before any screen makes a request
+        ApiClient.init(this);
     }
 }
@@ -0,0 +1,301 @@
+package app.hub.admin;
+
+import android.content.Context;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import app.hub.api.AdminSnapshotResponse;
+import app.hub.api.ApiClient;
+import app.hub.api.ApiService;
+import app.hub.api.BranchReportsResponse;
+import app.hub.api.BranchResponse;
+import app.hub.api.EmployeeResponse;
+import app.hub.util.TokenManager;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Centralized data manager for the admin dashboard.
+ * Loads branch reports, branches and managers as one snapshot and serves every admin tab from it,
+ * so switching tabs does not go back to the network.
+ *
+ * The snapshot comes from api/v1/admin/snapshot in a single request. On a server without that
+ * endpoint the three older endpoints are called side by side instead of one after another.
+ * Call from the main thread.
+ */
+public class AdminDataManager {
+    private static final String TAG = "AdminDataManager";
+
+    // Cache duration - admin data changes rarely, swipe to refresh forces a reload
+    private static final long CACHE_DURATION = 60 * 1000; // 60 seconds
+
+    // Cached data
+    private static AdminSnapshotResponse cachedSnapshot = null;
+    private static long lastLoadTime = 0;
+
+    // Loading state - late callers get the result of the running load
+    private static boolean isLoading = false;
+    private static int generation = 0;
+    private static final List<DataCallback<AdminSnapshotResponse>> pendingCallbacks = new ArrayList<>();
+
+    // Set when the server has no snapshot endpoint, so it is only asked once per process
+    private static boolean snapshotUnsupported = false;
+
+    // Replaced by tests
+    private static ApiService apiService = null;
+    private static LongSupplier clock = System::currentTimeMillis;
+
+    /**
+     * Load the admin snapshot with caching. A snapshot with a part missing is delivered but not
+     * cached, so the next call tries again.
+     */
+    public static void loadSnapshot(Context context, boolean forceRefresh, DataCallback<AdminSnapshotResponse> callback) {
+        TokenManager tokenManager = new TokenManager(context);
+        loadSnapshot(tokenManager.getAuthToken(), forceRefresh, callback);
+    }
+
+    static void loadSnapshot(String authToken, boolean forceRefresh, DataCallback<AdminSnapshotResponse> callback) {
+        boolean isCacheValid = (clock.getAsLong() - lastLoadTime) < CACHE_DURATION;
+
+        // Return cached data if valid and not forcing refresh
+        if (!forceRefresh && isCacheValid && cachedSnapshot != null) {
+            Log.d(TAG, "Returning cached admin snapshot");
+            if (callback != null) {
+                callback.onSuccess(cachedSnapshot);
+            }
+            return;
+        }
+
+        if (callback != null) {
+            pendingCallbacks.add(callback);
+        }
+        if (isLoading) {
+            Log.d(TAG, "Already loading admin snapshot, queuing callback");
+            return;
+        }
+
+        if (authToken == null) {
+            for (DataCallback<AdminSnapshotResponse> cb : drainCallbacks()) {
+                cb.onError("No auth token");
+            }
+            return;
+        }
+
+        isLoading = true;
+        int round = ++generation;
+        ApiService api = apiService != null ? apiService : ApiClient.getApiService();
+        if (snapshotUnsupported) {
+            loadParts(api, authToken, round);
+        } else {
+            loadBatched(api, authToken, round);
+        }
+    }
+
+    private static void loadBatched(ApiService api, String token, int round) {
+        api.getAdminSnapshot(token).enqueue(new Callback<AdminSnapshotResponse>() {
+            @Override
+            public void onResponse(Call<AdminSnapshotResponse> call, Response<AdminSnapshotResponse> response) {
+                if (round != generation) {
+                    return;
+                }
+                if (response.code() == 404 || response.code() == 405) {
+                    Log.d(TAG, "No snapshot endpoint, loading the parts separately");
+                    snapshotUnsupported = true;
+                    loadParts(api, token, round);
+                    return;
+                }
+
+                AdminSnapshotResponse snapshot = response.body();
+                if (response.isSuccessful() && snapshot != null && snapshot.isSuccess()) {
+                    finish(round, snapshot, null);
+                } else {
+                    String message = snapshot != null && snapshot.getMessage() != null
+                            ? snapshot.getMessage() : "Failed to load admin data";
+                    finish(round, null, message);
+                }
+            }
+
+            @Override
+            public void onFailure(Call<AdminSnapshotResponse> call, Throwable t) {
+                Log.e(TAG, "Admin snapshot call failed: " + t.getMessage(), t);
+                finish(round, null, "Network error: " + t.getMessage());
+            }
+        });
+    }
+
+    /**
+     * The three endpoints the snapshot replaces, all started at once.
+     */
+    private static void loadParts(ApiService api, String token, int round) {
+        AdminSnapshotResponse snapshot = new AdminSnapshotResponse();
+        String[] error = { null };
+        int[] remaining = { 3 };
+        Runnable partDone = () -> {
+            if (--remaining[0] > 0) {
+                return;
+            }
+            if (snapshot.getBranchReports() == null && snapshot.getBranches() == null
+                    && snapshot.getManagers() == null) {
+                finish(round, null, error[0]);
+            } else {
+                snapshot.setSuccess(true);
+                finish(round, snapshot, null);
+            }
+        };
+
+        api.getBranchReports(token).enqueue(new PartCallback<BranchReportsResponse>(partDone, error) {
+            @Override
+            boolean accept(BranchReportsResponse body) {
+                if (!body.isSuccess()) {
+                    return false;
+                }
+                snapshot.setBranchReports(orEmpty(body.getBranches()));
+                return true;
+            }
+        });
+        api.getBranches(token).enqueue(new PartCallback<BranchResponse>(partDone, error) {
+            @Override
+            boolean accept(BranchResponse body) {
+                if (!body.isSuccess()) {
+                    return false;
+                }
+                snapshot.setBranches(orEmpty(body.getBranches()));
+                return true;
+            }
+        });
+        api.getEmployees(token).enqueue(new PartCallback<EmployeeResponse>(partDone, error) {
+            @Override
+            boolean accept(EmployeeResponse body) {
+                if (!body.isSuccess()) {
+                    return false;
+                }
+                List<EmployeeResponse.Employee> managers = new ArrayList<>();
+                for (EmployeeResponse.Employee employee : orEmpty(body.getEmployees())) {
+                    if (employee != null && "manager".equalsIgnoreCase(employee.getRole())) {
+                        managers.add(employee);
+                    }
+                }
+                snapshot.setManagers(managers);
+                return true;
+            }
+        });
+    }
+
+    private static void finish(int round, AdminSnapshotResponse snapshot, String error) {
+        if (round != generation) {
+            return;
+        }
+        isLoading = false;
+
+        if (snapshot == null) {
+            Log.e(TAG, "Failed to load admin snapshot: " + error);
+            for (DataCallback<AdminSnapshotResponse> cb : drainCallbacks()) {
+                cb.onError(error != null ? error : "Failed to load admin data");
+            }
+            return;
+        }
+
+        // Every tab gets the same object, so nobody may change the lists under the others
+        if (snapshot.getBranchReports() != null) {
+            snapshot.setBranchReports(Collections.unmodifiableList(snapshot.getBranchReports()));
+        }
+        if (snapshot.getBranches() != null) {
+            snapshot.setBranches(Collections.unmodifiableList(snapshot.getBranches()));
+        }
+        if (snapshot.getManagers() != null) {
+            snapshot.setManagers(Collections.unmodifiableList(snapshot.getManagers()));
+        }
+
+        if (snapshot.isComplete()) {
+            cachedSnapshot = snapshot;
+            lastLoadTime = clock.getAsLong();
+            Log.d(TAG, "Admin snapshot loaded and cached");
+        } else {
+            Log.w(TAG, "Admin snapshot is missing parts, not caching it");
+        }
+
+        for (DataCallback<AdminSnapshotResponse> cb : drainCallbacks()) {
+            cb.onSuccess(snapshot);
+        }
+    }
+
+    private static List<DataCallback<AdminSnapshotResponse>> drainCallbacks() {
+        List<DataCallback<AdminSnapshotResponse>> callbacks = new ArrayList<>(pendingCallbacks);
+        pendingCallbacks.clear();
+        return callbacks;
+    }
+
+    private static <T> List<T> orEmpty(List<T> list) {
+        return list != null ? list : new ArrayList<>();
+    }
+
+    /**
+     * Clear all cached data. A load still running is dropped, along with its callbacks.
+     */
+    public static void clearCache() {
+        cachedSnapshot = null;
+        lastLoadTime = 0;
+        isLoading = false;
+        generation++;
+        pendingCallbacks.clear();
+        Log.d(TAG, "Admin cache cleared");
+    }
+
+    /**
+     * Start over with a different API and clock. For tests.
+     */
+    static void reset(ApiService api, LongSupplier now) {
+        clearCache();
+        snapshotUnsupported = false;
+        apiService = api;
+        clock = now != null ? now : System::currentTimeMillis;
+    }
+
+    /**
+     * Callback for one part of the snapshot; records the error and counts the part as done either way.
+     */
+    private abstract static class PartCallback<R> implements Callback<R> {
+        private final Runnable done;
+        private final String[] error;
+
+        PartCallback(Runnable done, String[] error) {
+            this.done = done;
+            this.error = error;
+        }
+
+        /**
+         * Store the part in the snapshot; false if the server said it failed.
+         */
+        abstract boolean accept(R body);
+
+        @Override
+        public void onResponse(Call<R> call, Response<R> response) {
+            R body = response.body();
+            if (!response.isSuccessful() || body == null || !accept(body)) {
+                Log.e(TAG, "Admin part " + call.request().url().encodedPath() + " failed: " + response.code());
+                error[0] = "Failed to load admin data";
+            }
+            done.run();
+        }
+
+        @Override
+        public void onFailure(Call<R> call, Throwable t) {
+            Log.e(TAG, "Admin part call failed: " + t.getMessage(), t);
+            error[0] = "Network error: " + t.getMessage();
+            done.run();
+        }
+    }
+
+    /**
+     * Callback interface for data loading
+     */
+    public interface DataCallback<T> {
+        void onSuccess(T data);
+        void onError(String error);
+    }
+}
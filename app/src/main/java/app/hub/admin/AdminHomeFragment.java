@@ -13,13 +13,9 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import com.google.android.material.button.MaterialButton;
 import app.hub.R;
-import app.hub.api.ApiClient;
-import app.hub.api.ApiService;
+import app.hub.api.AdminSnapshotResponse;
 import app.hub.api.EmployeeResponse;
-import app.hub.util.TokenManager;
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
+import app.hub.util.StartupTrace;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -88,50 +84,36 @@ public class AdminHomeFragment extends Fragment {
     }
     
     private void loadPreviewData() {
-        android.util.Log.d("AdminHome", "Loading preview data from API...");
-        
-        TokenManager tokenManager = new TokenManager(getContext());
-        String token = tokenManager.getToken();
-        
-        if (token == null) {
-            android.util.Log.e("AdminHome", "No token available");
-            showErrorInBranchPreview("Error: Not authenticated");
-            return;
-        }
+        android.util.Log.d("AdminHome", "Loading preview data...");
 
-        // Load branches data for preview
-        ApiService apiService = ApiClient.getApiService();
-        Call<app.hub.api.BranchResponse> call = apiService.getBranches("Bearer " + token);
-        
-        call.enqueue(new Callback<app.hub.api.BranchResponse>() {
+        // Branches and managers come from the same snapshot the other admin tabs use
+        AdminDataManager.loadSnapshot(getContext(), false, new AdminDataManager.DataCallback<AdminSnapshotResponse>() {
             @Override
-            public void onResponse(Call<app.hub.api.BranchResponse> call, Response<app.hub.api.BranchResponse> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    app.hub.api.BranchResponse branchResponse = response.body();
-                    
-                    if (branchResponse.isSuccess()) {
-                        processBranchPreviewData(branchResponse.getBranches());
-                        loadEmployeesForManagerPreview(tokenManager.getToken());
-                    } else {
-                        android.util.Log.e("AdminHome", "Branches API returned success=false: " + branchResponse.getMessage());
-                        showErrorInBranchPreview("Error loading branches");
-                    }
+            public void onSuccess(AdminSnapshotResponse snapshot) {
+                if (!isAdded()) return;
+
+                if (snapshot.getBranches() != null) {
+                    processBranchPreviewData(snapshot.getBranches());
                 } else {
-                    android.util.Log.e("AdminHome", "Branches API response not successful");
                     showErrorInBranchPreview("Error loading branches");
                 }
+                if (snapshot.getManagers() != null) {
+                    updateManagersPreview(snapshot.getManagers());
+                }
             }
-            
+
             @Override
-            public void onFailure(Call<app.hub.api.BranchResponse> call, Throwable t) {
-                android.util.Log.e("AdminHome", "Branches API call failed: " + t.getMessage(), t);
+            public void onError(String error) {
+                android.util.Log.e("AdminHome", "Admin snapshot failed: " + error);
+                if (!isAdded()) return;
                 showErrorInBranchPreview("Error loading branches");
             }
         });
     }
 
-    private void processBranchPreviewData(List<app.hub.api.BranchResponse.Branch> branches) {
-        // Sort branches by employee count (descending) to show most active branches first
+    private void processBranchPreviewData(List<app.hub.api.BranchResponse.Branch> snapshotBranches) {
+        // Sort a copy by employee count (descending) to show most active branches first
+        List<app.hub.api.BranchResponse.Branch> branches = new ArrayList<>(snapshotBranches);
         branches.sort((a, b) -> Integer.compare(b.getEmployeeCount(), a.getEmployeeCount()));
         
         // Update UI on main thread
@@ -175,6 +157,8 @@ public class AdminHomeFragment extends Fragment {
                 
                 branchPreviewLayout.addView(noBranchCard);
             }
+            // Admins land on branch rows rather than tickets; these are their first rows
+            StartupTrace.firstTicketRow(getActivity());
         }
     }
 
@@ -219,30 +203,6 @@ public class AdminHomeFragment extends Fragment {
         branchPreviewLayout.addView(branchCard);
     }
 
-    private void loadEmployeesForManagerPreview(String token) {
-        // Load employees for manager preview
-        ApiService apiService = ApiClient.getApiService();
-        Call<EmployeeResponse> call = apiService.getEmployees("Bearer " + token);
-        
-        call.enqueue(new Callback<EmployeeResponse>() {
-            @Override
-            public void onResponse(Call<EmployeeResponse> call, Response<EmployeeResponse> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    EmployeeResponse employeeResponse = response.body();
-                    
-                    if (employeeResponse.isSuccess()) {
-                        updateManagersPreview(employeeResponse.getEmployees());
-                    }
-                }
-            }
-            
-            @Override
-            public void onFailure(Call<EmployeeResponse> call, Throwable t) {
-                android.util.Log.e("AdminHome", "Employees API call failed: " + t.getMessage(), t);
-            }
-        });
-    }
-
     private void showErrorInBranchPreview(String errorMessage) {
         if (branchPreviewLayout != null && getActivity() != null) {
             getActivity().runOnUiThread(() -> {
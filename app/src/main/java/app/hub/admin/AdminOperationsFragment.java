@@ -23,6 +23,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import app.hub.R;
+import app.hub.api.AdminSnapshotResponse;
 import app.hub.api.ApiClient;
 import app.hub.api.ApiService;
 import app.hub.api.BranchResponse;
@@ -119,9 +120,9 @@ public class AdminOperationsFragment extends Fragment {
     private void setupSwipeRefresh() {
         swipeRefresh.setOnRefreshListener(() -> {
             if (isManagerTabActive) {
-                loadManagers();
+                loadManagers(true);
             } else {
-                loadBranches();
+                loadBranches(true);
             }
         });
     }
@@ -194,6 +195,10 @@ public class AdminOperationsFragment extends Fragment {
     }
 
     private void loadBranches() {
+        loadBranches(false);
+    }
+
+    private void loadBranches(boolean forceRefresh) {
         swipeRefresh.setRefreshing(true);
         
         String token = tokenManager.getToken();
@@ -204,31 +209,22 @@ public class AdminOperationsFragment extends Fragment {
             return;
         }
 
-        ApiService apiService = ApiClient.getApiService();
-        Call<BranchResponse> call = apiService.getBranches("Bearer " + token);
-        
-        call.enqueue(new Callback<BranchResponse>() {
+        AdminDataManager.loadSnapshot(getContext(), forceRefresh, new AdminDataManager.DataCallback<AdminSnapshotResponse>() {
             @Override
-            public void onResponse(Call<BranchResponse> call, Response<BranchResponse> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    BranchResponse branchResponse = response.body();
-                    
-                    if (branchResponse.isSuccess()) {
-                        processBranchData(branchResponse.getBranches());
-                    } else {
-                        Log.e(TAG, "API returned success=false: " + branchResponse.getMessage());
-                        Toast.makeText(getContext(), "Failed to load branches", Toast.LENGTH_SHORT).show();
-                    }
+            public void onSuccess(AdminSnapshotResponse snapshot) {
+                if (!isAdded()) return;
+                if (snapshot.getBranches() != null) {
+                    processBranchData(snapshot.getBranches());
                 } else {
-                    Log.e(TAG, "API response not successful");
                     Toast.makeText(getContext(), "Failed to load branches", Toast.LENGTH_SHORT).show();
                 }
                 swipeRefresh.setRefreshing(false);
             }
             
             @Override
-            public void onFailure(Call<BranchResponse> call, Throwable t) {
-                Log.e(TAG, "API call failed: " + t.getMessage(), t);
+            public void onError(String error) {
+                Log.e(TAG, "Admin snapshot failed: " + error);
+                if (!isAdded()) return;
                 Toast.makeText(getContext(), "Network error", Toast.LENGTH_SHORT).show();
                 swipeRefresh.setRefreshing(false);
             }
@@ -272,6 +268,10 @@ public class AdminOperationsFragment extends Fragment {
     }
 
     private void loadManagers() {
+        loadManagers(false);
+    }
+
+    private void loadManagers(boolean forceRefresh) {
         swipeRefresh.setRefreshing(true);
         
         String token = tokenManager.getToken();
@@ -282,31 +282,22 @@ public class AdminOperationsFragment extends Fragment {
             return;
         }
 
-        ApiService apiService = ApiClient.getApiService();
-        Call<EmployeeResponse> call = apiService.getEmployees("Bearer " + token);
-        
-        call.enqueue(new Callback<EmployeeResponse>() {
+        AdminDataManager.loadSnapshot(getContext(), forceRefresh, new AdminDataManager.DataCallback<AdminSnapshotResponse>() {
             @Override
-            public void onResponse(Call<EmployeeResponse> call, Response<EmployeeResponse> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    EmployeeResponse employeeResponse = response.body();
-                    
-                    if (employeeResponse.isSuccess()) {
-                        processManagerData(employeeResponse.getEmployees());
-                    } else {
-                        Log.e(TAG, "API returned success=false");
-                        Toast.makeText(getContext(), "Failed to load managers", Toast.LENGTH_SHORT).show();
-                    }
+            public void onSuccess(AdminSnapshotResponse snapshot) {
+                if (!isAdded()) return;
+                if (snapshot.getManagers() != null) {
+                    processManagerData(snapshot.getManagers());
                 } else {
-                    Log.e(TAG, "API response not successful");
                     Toast.makeText(getContext(), "Failed to load managers", Toast.LENGTH_SHORT).show();
                 }
                 swipeRefresh.setRefreshing(false);
             }
             
             @Override
-            public void onFailure(Call<EmployeeResponse> call, Throwable t) {
-                Log.e(TAG, "API call failed: " + t.getMessage(), t);
+            public void onError(String error) {
+                Log.e(TAG, "Admin snapshot failed: " + error);
+                if (!isAdded()) return;
                 Toast.makeText(getContext(), "Network error", Toast.LENGTH_SHORT).show();
                 swipeRefresh.setRefreshing(false);
             }
@@ -394,7 +385,8 @@ public class AdminOperationsFragment extends Fragment {
                         DeleteAccountResponse deleteResponse = response.body();
                         
                         if (deleteResponse.isSuccess()) {
-                            // Remove from local list
+                            // Remove from local list; the cached roster still has them
+                            AdminDataManager.clearCache();
                             managers.remove(position);
                             if (managersAdapter != null) {
                                 managersAdapter.notifyItemRemoved(position);
@@ -441,7 +433,7 @@ public class AdminOperationsFragment extends Fragment {
         super.onActivityResult(requestCode, resultCode, data);
         if (requestCode == REQUEST_ADD_MANAGER && resultCode == getActivity().RESULT_OK) {
             // Refresh managers list
-            loadManagers();
+            loadManagers(true);
         }
     }
 }
\ No newline at end of file
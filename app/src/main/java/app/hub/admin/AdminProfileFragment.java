@@ -1,8 +1,8 @@
 package app.hub.admin;
 
+import android.content.Context;
 import android.content.Intent;
 import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.net.Uri;
 import android.os.Bundle;
 import android.provider.MediaStore;
@@ -32,6 +32,8 @@ import app.hub.api.UserResponse;
 import app.hub.common.MainActivity;
 import app.hub.common.ProfileAboutUsFragment;
 import app.hub.employee.EmployeePersonalInfoFragment;
+import app.hub.util.ImageCompressor;
+import app.hub.util.ImageLoader;
 import app.hub.util.LoadingDialog;
 import app.hub.util.TokenManager;
 import app.hub.util.UiPreferences;
@@ -40,8 +42,6 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
 
 import okhttp3.MediaType;
 import okhttp3.MultipartBody;
@@ -53,6 +53,7 @@ import retrofit2.Response;
 public class AdminProfileFragment extends Fragment {
 
     private static final long PROFILE_REFRESH_INTERVAL_MS = 15000;
+    private static final int PROFILE_IMAGE_SIZE = 500;
     private long lastProfileFetchMs = 0L;
 
     private TokenManager tokenManager;
@@ -61,6 +62,7 @@ public class AdminProfileFragment extends Fragment {
     private String connectionStatus;
     private TextView tvName, tvUsername;
     private ShapeableImageView imgProfile;
+    private String profilePhotoUrl;
     private Uri cameraImageUri;
     private ActivityResultLauncher<Intent> galleryLauncher;
     private ActivityResultLauncher<Intent> cameraLauncher;
@@ -200,6 +202,7 @@ public class AdminProfileFragment extends Fragment {
             if (imgProfile != null && getActivity() != null) {
                 getActivity().runOnUiThread(() -> {
                     if (imgProfile != null) {
+                        ImageLoader.get(imgProfile.getContext()).cancel(imgProfile);
                         imgProfile.setImageResource(R.mipmap.ic_launchericons_round);
                     }
                 });
@@ -511,6 +514,9 @@ public class AdminProfileFragment extends Fragment {
     }
     
     private void performLogoutCleanup() {
+        // The next admin to sign in must not see this one's dashboard
+        AdminDataManager.clearCache();
+
         // Run cleanup operations in background to prevent blocking UI
         new Thread(() -> {
             try {
@@ -628,69 +634,39 @@ public class AdminProfileFragment extends Fragment {
     }
 
     private void setProfileImage(Uri imageUri) {
-        try {
-            Bitmap bitmap = getBitmapFromUri(imageUri);
-            if (bitmap != null && imgProfile != null) {
-                imgProfile.setImageBitmap(bitmap);
-                saveProfileImage(bitmap);
-                uploadProfilePhotoToServer(imageUri);
+        Context context = requireContext().getApplicationContext();
+        File imageFile = tokenManager.getProfileImageFile(context);
+        // A camera photo is several MB: sample it down on a worker, never decode it full size here
+        new Thread(() -> {
+            try {
+                ImageCompressor.compress(context.getContentResolver(), imageUri, imageFile,
+                        PROFILE_IMAGE_SIZE, 90);
+            } catch (IOException e) {
+                Log.w("AdminProfileFragment", "Could not load picked photo", e);
+                if (getActivity() != null) {
+                    getActivity().runOnUiThread(() -> showToast("Error loading image: " + e.getMessage()));
+                }
+                return;
             }
-        } catch (Exception e) {
-            showToast("Error loading image: " + e.getMessage());
-        }
-    }
-
-    private Bitmap getBitmapFromUri(Uri uri) {
-        try {
-            InputStream inputStream = requireContext().getContentResolver().openInputStream(uri);
-            Bitmap bitmap = BitmapFactory.decodeStream(inputStream);
-            if (inputStream != null) {
-                inputStream.close();
+            if (getActivity() != null) {
+                getActivity().runOnUiThread(() -> {
+                    if (!isAdded()) {
+                        return;
+                    }
+                    loadProfileImage();
+                    uploadProfilePhotoToServer(imageUri);
+                });
             }
-            return resizeBitmap(bitmap, 500, 500);
-        } catch (Exception e) {
-            return null;
-        }
-    }
-
-    private Bitmap resizeBitmap(Bitmap bitmap, int maxWidth, int maxHeight) {
-        if (bitmap == null) return null;
-
-        int width = bitmap.getWidth();
-        int height = bitmap.getHeight();
-
-        if (width <= maxWidth && height <= maxHeight) {
-            return bitmap;
-        }
-
-        float scale = Math.min((float) maxWidth / width, (float) maxHeight / height);
-        int newWidth = Math.round(width * scale);
-        int newHeight = Math.round(height * scale);
-
-        return Bitmap.createScaledBitmap(bitmap, newWidth, newHeight, true);
-    }
-
-    private void saveProfileImage(Bitmap bitmap) {
-        try {
-            File imageFile = tokenManager.getProfileImageFile(requireContext());
-            FileOutputStream fos = new FileOutputStream(imageFile);
-            bitmap.compress(Bitmap.CompressFormat.JPEG, 90, fos);
-            fos.flush();
-            fos.close();
-        } catch (Exception e) {
-        }
+        }, "profile-photo").start();
     }
 
     private void loadProfileImage() {
-        try {
-            File imageFile = tokenManager.getProfileImageFile(requireContext());
-            if (imageFile.exists() && imgProfile != null) {
-                Bitmap bitmap = BitmapFactory.decodeFile(imageFile.getAbsolutePath());
-                if (bitmap != null) {
-                    imgProfile.setImageBitmap(bitmap);
-                }
-            }
-        } catch (Exception e) {
+        if (imgProfile == null || getContext() == null) {
+            return;
+        }
+        File imageFile = tokenManager.getProfileImageFile(requireContext());
+        if (imageFile.exists()) {
+            ImageLoader.get(requireContext()).load(imageFile).into(imgProfile);
         }
     }
 
@@ -726,6 +702,7 @@ public class AdminProfileFragment extends Fragment {
                 public void onResponse(@NonNull Call<ProfilePhotoResponse> call, @NonNull Response<ProfilePhotoResponse> response) {
                     if (response.isSuccessful() && response.body() != null && response.body().isSuccess()) {
                         showToast("Profile photo saved");
+                        forgetProfilePhoto();
                         fetchUserData();
                     } else {
                         showToast("Failed to upload photo. Please try again.");
@@ -765,31 +742,32 @@ public class AdminProfileFragment extends Fragment {
     }
 
     private void loadProfileImageFromUrl(String imageUrl) {
-        if (imageUrl == null || imageUrl.isEmpty() || imgProfile == null) {
+        if (imageUrl == null || imageUrl.isEmpty() || imgProfile == null || getContext() == null) {
             return;
         }
 
-        new Thread(() -> {
-            try {
-                URL url = new URL(imageUrl);
-                HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-                connection.setDoInput(true);
-                connection.connect();
-                InputStream input = connection.getInputStream();
-                Bitmap bitmap = BitmapFactory.decodeStream(input);
-
-                if (bitmap != null && getActivity() != null) {
-                    getActivity().runOnUiThread(() -> {
-                        if (imgProfile != null) {
-                            imgProfile.setImageBitmap(bitmap);
-                            saveProfileImage(bitmap);
-                        }
-                    });
-                }
-            } catch (Exception e) {
-                loadProfileImage();
-            }
-        }).start();
+        profilePhotoUrl = imageUrl;
+        ImageLoader.get(requireContext())
+                .load(imageUrl)
+                .keepCopy(tokenManager.getProfileImageFile(requireContext()))
+                .into(imgProfile, new ImageLoader.Callback() {
+                    @Override
+                    public void onSuccess(Bitmap bitmap) {
+                    }
+
+                    @Override
+                    public void onError(Exception e) {
+                        loadProfileImage();
+                    }
+                });
+    }
+
+    // Keeps the replaced or removed photo from coming back out of the image cache
+    private void forgetProfilePhoto() {
+        if (profilePhotoUrl != null && getContext() != null) {
+            ImageLoader.get(requireContext()).evict(profilePhotoUrl);
+            profilePhotoUrl = null;
+        }
     }
 
     private void deleteProfilePhoto() {
@@ -806,6 +784,7 @@ public class AdminProfileFragment extends Fragment {
             public void onResponse(@NonNull Call<ProfilePhotoResponse> call, @NonNull Response<ProfilePhotoResponse> response) {
                 if (response.isSuccessful() && response.body() != null && response.body().isSuccess()) {
                     showToast("Profile photo removed");
+                    forgetProfilePhoto();
                     try {
                         File imageFile = tokenManager.getProfileImageFile(requireContext());
                         if (imageFile.exists()) {
@@ -816,6 +795,7 @@ public class AdminProfileFragment extends Fragment {
                     if (imgProfile != null && getActivity() != null) {
                         getActivity().runOnUiThread(() -> {
                             if (imgProfile != null) {
+                                ImageLoader.get(imgProfile.getContext()).cancel(imgProfile);
                                 imgProfile.setImageResource(R.mipmap.ic_launchericons_round);
                             }
                         });
@@ -21,13 +21,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 import app.hub.R;
-import app.hub.api.ApiClient;
-import app.hub.api.ApiService;
+import app.hub.api.AdminSnapshotResponse;
 import app.hub.api.BranchReportsResponse;
 import app.hub.util.TokenManager;
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
 
 public class AdminReportsFragment extends Fragment {
 
@@ -69,7 +65,7 @@ public class AdminReportsFragment extends Fragment {
         progressBar = view.findViewById(R.id.progressBar);
         tvEmptyState = view.findViewById(R.id.tvEmptyState);
 
-        swipeRefreshLayout.setOnRefreshListener(this::loadBranchReports);
+        swipeRefreshLayout.setOnRefreshListener(() -> loadBranchReports(true));
     }
 
     private void setupRecyclerView() {
@@ -80,52 +76,46 @@ public class AdminReportsFragment extends Fragment {
     }
 
     private void loadBranchReports() {
+        loadBranchReports(false);
+    }
+
+    private void loadBranchReports(boolean forceRefresh) {
         showLoading(true);
         tvEmptyState.setVisibility(View.GONE);
 
-        String token = tokenManager.getToken();
-        if (token == null) {
+        if (tokenManager.getToken() == null) {
             showError("Authentication required");
             return;
         }
 
-        ApiService apiService = ApiClient.getApiService();
-        Call<BranchReportsResponse> call = apiService.getBranchReports("Bearer " + token);
-
-        call.enqueue(new Callback<BranchReportsResponse>() {
+        // Served from the admin snapshot, shared with the home and operations tabs
+        AdminDataManager.loadSnapshot(requireContext(), forceRefresh, new AdminDataManager.DataCallback<AdminSnapshotResponse>() {
             @Override
-            public void onResponse(Call<BranchReportsResponse> call, Response<BranchReportsResponse> response) {
+            public void onSuccess(AdminSnapshotResponse snapshot) {
+                if (!isAdded()) return;
                 showLoading(false);
 
-                if (response.isSuccessful() && response.body() != null) {
-                    BranchReportsResponse branchResponse = response.body();
-                    
-                    if (branchResponse.isSuccess()) {
-                        List<BranchReportsResponse.BranchReport> branches = branchResponse.getBranches();
-                        
-                        if (branches != null && !branches.isEmpty()) {
-                            branchList.clear();
-                            branchList.addAll(branches);
-                            adapter.updateData(branchList);
-                            tvEmptyState.setVisibility(View.GONE);
-                            rvBranches.setVisibility(View.VISIBLE);
-                        } else {
-                            tvEmptyState.setVisibility(View.VISIBLE);
-                            rvBranches.setVisibility(View.GONE);
-                        }
-                    } else {
-                        showError(branchResponse.getMessage());
-                    }
-                } else {
+                List<BranchReportsResponse.BranchReport> branches = snapshot.getBranchReports();
+                if (branches == null) {
                     showError("Failed to load branch reports");
+                } else if (!branches.isEmpty()) {
+                    branchList.clear();
+                    branchList.addAll(branches);
+                    adapter.updateData(branchList);
+                    tvEmptyState.setVisibility(View.GONE);
+                    rvBranches.setVisibility(View.VISIBLE);
+                } else {
+                    tvEmptyState.setVisibility(View.VISIBLE);
+                    rvBranches.setVisibility(View.GONE);
                 }
             }
 
             @Override
-            public void onFailure(Call<BranchReportsResponse> call, Throwable t) {
+            public void onError(String error) {
+                Log.e("AdminReportsFragment", "Admin snapshot failed: " + error);
+                if (!isAdded()) return;
                 showLoading(false);
-                Log.e("AdminReportsFragment", "API call failed: " + t.getMessage(), t);
-                showError("Network error: " + t.getMessage());
+                showError(error);
             }
         });
     }
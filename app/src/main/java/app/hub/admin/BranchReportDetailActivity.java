@@ -15,21 +15,30 @@ import androidx.recyclerview.widget.RecyclerView;
 import androidx.swiperefreshlayout.widget.SwipeRefreshLayout;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 import app.hub.R;
-import app.hub.api.ApiClient;
-import app.hub.api.ApiService;
 import app.hub.api.BranchTicketsResponse;
+import app.hub.api.TicketPageSources;
+import app.hub.common.NextPageScrollListener;
+import app.hub.common.PageLoader;
 import app.hub.manager.ManagerCompleteTicketsAdapter;
 import app.hub.manager.ManagerTicketDetailActivity;
 import app.hub.util.TokenManager;
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
 
 public class BranchReportDetailActivity extends AppCompatActivity {
 
+    // Timestamps are "yyyy-MM-dd HH:mm:ss" (or ISO), so they sort as strings
+    private static final Comparator<BranchTicketsResponse.Ticket> NEWEST_FIRST = (a, b) -> {
+        String left = a.getUpdatedAt() != null ? a.getUpdatedAt() : a.getCreatedAt();
+        String right = b.getUpdatedAt() != null ? b.getUpdatedAt() : b.getCreatedAt();
+        if (left == null || right == null) {
+            return left == null ? (right == null ? 0 : 1) : -1;
+        }
+        return right.compareTo(left);
+    };
+
     private TextView tvBranchName;
     private RecyclerView rvTickets;
     private SwipeRefreshLayout swipeRefreshLayout;
@@ -39,6 +48,7 @@ public class BranchReportDetailActivity extends AppCompatActivity {
     private ManagerCompleteTicketsAdapter adapter;
     private List<app.hub.api.TicketListResponse.TicketItem> ticketList;
     private TokenManager tokenManager;
+    private PageLoader<BranchTicketsResponse.Ticket> pageLoader;
     
     private int branchId;
     private String branchName;
@@ -106,70 +116,78 @@ public class BranchReportDetailActivity extends AppCompatActivity {
     }
 
     private void loadCompletedTickets() {
-        showLoading(true);
         tvEmptyState.setVisibility(View.GONE);
 
         String token = tokenManager.getToken();
         if (token == null) {
+            showLoading(false);
             showError("Authentication required");
             return;
         }
 
-        // Load both completed and cancelled tickets
-        ticketList.clear();
-        loadTicketsByStatus(token, "completed", () -> {
-            loadTicketsByStatus(token, "cancelled", () -> {
-                showLoading(false);
-                if (ticketList.isEmpty()) {
-                    tvEmptyState.setVisibility(View.VISIBLE);
-                    rvTickets.setVisibility(View.GONE);
-                } else {
-                    adapter.notifyDataSetChanged();
-                    tvEmptyState.setVisibility(View.GONE);
-                    rvTickets.setVisibility(View.VISIBLE);
-                }
-            });
-        });
-    }
+        if (pageLoader == null) {
+            // Completed and cancelled tickets are fetched side by side and shown newest first,
+            // a page at a time as the list scrolls
+            pageLoader = new PageLoader<>(PageLoader.merge(NEWEST_FIRST,
+                    TicketPageSources.branch(token, branchId, "completed"),
+                    TicketPageSources.branch(token, branchId, "cancelled")),
+                    new PageLoader.Listener<BranchTicketsResponse.Ticket>() {
+                        @Override
+                        public void onPageLoaded(List<BranchTicketsResponse.Ticket> page, int start, boolean first) {
+                            onTicketsPage(page, start, first);
+                        }
 
-    private void loadTicketsByStatus(String token, String status, Runnable onComplete) {
-        ApiService apiService = ApiClient.getApiService();
-        Call<BranchTicketsResponse> call = apiService.getBranchTickets(
-                "Bearer " + token, 
-                branchId, 
-                status
-        );
-
-        call.enqueue(new Callback<BranchTicketsResponse>() {
-            @Override
-            public void onResponse(Call<BranchTicketsResponse> call, Response<BranchTicketsResponse> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    BranchTicketsResponse ticketsResponse = response.body();
-                    
-                    if (ticketsResponse.isSuccess()) {
-                        List<BranchTicketsResponse.Ticket> tickets = ticketsResponse.getTickets();
-                        
-                        if (tickets != null && !tickets.isEmpty()) {
-                            for (BranchTicketsResponse.Ticket ticket : tickets) {
-                                ticketList.add(convertToTicketItem(ticket));
+                        @Override
+                        public void onLoadFailed(String message, boolean first) {
+                            Log.e("BranchReportDetail", "Failed to load tickets: " + message);
+                            showLoading(false);
+                            if (first) {
+                                showError(message);
+                                updateEmptyState();
                             }
                         }
-                    }
-                }
-                
-                if (onComplete != null) {
-                    onComplete.run();
-                }
-            }
+                    });
+            rvTickets.addOnScrollListener(new NextPageScrollListener(pageLoader));
+        }
 
-            @Override
-            public void onFailure(Call<BranchTicketsResponse> call, Throwable t) {
-                Log.e("BranchReportDetail", "API call failed for status " + status + ": " + t.getMessage(), t);
-                if (onComplete != null) {
-                    onComplete.run();
-                }
-            }
-        });
+        if (ticketList.isEmpty()) {
+            showLoading(true);
+        }
+        pageLoader.refresh();
+    }
+
+    private void onTicketsPage(List<BranchTicketsResponse.Ticket> page, int start, boolean first) {
+        showLoading(false);
+        List<app.hub.api.TicketListResponse.TicketItem> converted = new ArrayList<>(page.size());
+        for (BranchTicketsResponse.Ticket ticket : page) {
+            converted.add(convertToTicketItem(ticket));
+        }
+
+        if (first) {
+            ticketList.clear();
+            ticketList.addAll(converted);
+            adapter.notifyDataSetChanged();
+        } else {
+            ticketList.addAll(start, converted);
+            adapter.notifyItemRangeInserted(start, converted.size());
+        }
+        updateEmptyState();
+
+        // A short first page may not fill the screen, so no scroll would ask for the next one
+        LinearLayoutManager layoutManager = (LinearLayoutManager) rvTickets.getLayoutManager();
+        if (layoutManager != null) {
+            rvTickets.post(() -> pageLoader.onScrolled(layoutManager.findLastVisibleItemPosition()));
+        }
+    }
+
+    private void updateEmptyState() {
+        if (ticketList.isEmpty()) {
+            tvEmptyState.setVisibility(View.VISIBLE);
+            rvTickets.setVisibility(View.GONE);
+        } else {
+            tvEmptyState.setVisibility(View.GONE);
+            rvTickets.setVisibility(View.VISIBLE);
+        }
     }
 
     private app.hub.api.TicketListResponse.TicketItem convertToTicketItem(BranchTicketsResponse.Ticket ticket) {
@@ -14,16 +14,36 @@ import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 
 import app.hub.R;
 import app.hub.api.BranchTicketsResponse;
+import app.hub.common.RowDiffer;
 
 public class BranchTicketsAdapter extends RecyclerView.Adapter<BranchTicketsAdapter.ViewHolder> {
 
-    private List<BranchTicketsResponse.Ticket> tickets;
+    // Diffed off the main thread; only changed rows rebind
+    private final RowDiffer<BranchTicketsResponse.Ticket> tickets = new RowDiffer<>(this,
+            new RowDiffer.RowKeys<BranchTicketsResponse.Ticket>() {
+                @Override
+                public String keyOf(BranchTicketsResponse.Ticket ticket) {
+                    return ticket.getTicketId() != null ? ticket.getTicketId() : "id:" + ticket.getId();
+                }
+
+                @Override
+                public String statusOf(BranchTicketsResponse.Ticket ticket) {
+                    return ticket.getStatus() + "|" + ticket.getStatusColor();
+                }
+
+                @Override
+                public int contentOf(BranchTicketsResponse.Ticket ticket) {
+                    return Objects.hash(ticket.getServiceType(), ticket.getTitle(), ticket.getTicketId(),
+                            ticket.getCreatedAt());
+                }
+            });
 
     public BranchTicketsAdapter(List<BranchTicketsResponse.Ticket> tickets) {
-        this.tickets = tickets;
+        this.tickets.submitList(tickets);
     }
 
     @NonNull
@@ -34,6 +54,15 @@ public class BranchTicketsAdapter extends RecyclerView.Adapter<BranchTicketsAdap
         return new ViewHolder(view);
     }
 
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.contains(RowDiffer.PAYLOAD_STATUS)) {
+            holder.bindStatus(tickets.get(position));
+            return;
+        }
+        onBindViewHolder(holder, position);
+    }
+
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
         BranchTicketsResponse.Ticket ticket = tickets.get(position);
@@ -46,8 +75,7 @@ public class BranchTicketsAdapter extends RecyclerView.Adapter<BranchTicketsAdap
     }
 
     public void updateData(List<BranchTicketsResponse.Ticket> newTickets) {
-        this.tickets = newTickets;
-        notifyDataSetChanged();
+        tickets.submitList(newTickets);
     }
 
     static class ViewHolder extends RecyclerView.ViewHolder {
@@ -70,24 +98,7 @@ public class BranchTicketsAdapter extends RecyclerView.Adapter<BranchTicketsAdap
             // Set service type
             tvServiceType.setText(ticket.getServiceType());
 
-            // Set status with color
-            String status = ticket.getStatus();
-            tvStatus.setText("Status: " + status);
-            
-            // Set status color
-            String statusColor = ticket.getStatusColor();
-            if (statusColor != null && !statusColor.isEmpty()) {
-                try {
-                    tvStatus.setBackgroundColor(Color.parseColor(statusColor));
-                } catch (IllegalArgumentException e) {
-                    // Default color if parsing fails
-                    if ("Completed".equalsIgnoreCase(status)) {
-                        tvStatus.setBackgroundColor(Color.parseColor("#4CAF50"));
-                    } else if ("Cancelled".equalsIgnoreCase(status)) {
-                        tvStatus.setBackgroundColor(Color.parseColor("#F44336"));
-                    }
-                }
-            }
+            bindStatus(ticket);
 
             // Set unit type (extract from title if available)
             String title = ticket.getTitle();
@@ -119,5 +130,28 @@ public class BranchTicketsAdapter extends RecyclerView.Adapter<BranchTicketsAdap
                 tvDateValue.setText("N/A");
             }
         }
+
+        /**
+         * Status text and color; the only views a status change touches.
+         */
+        void bindStatus(BranchTicketsResponse.Ticket ticket) {
+            String status = ticket.getStatus();
+            tvStatus.setText("Status: " + status);
+            
+            // Set status color
+            String statusColor = ticket.getStatusColor();
+            if (statusColor != null && !statusColor.isEmpty()) {
+                try {
+                    tvStatus.setBackgroundColor(Color.parseColor(statusColor));
+                } catch (IllegalArgumentException e) {
+                    // Default color if parsing fails
+                    if ("Completed".equalsIgnoreCase(status)) {
+                        tvStatus.setBackgroundColor(Color.parseColor("#4CAF50"));
+                    } else if ("Cancelled".equalsIgnoreCase(status)) {
+                        tvStatus.setBackgroundColor(Color.parseColor("#F44336"));
+                    }
+                }
+            }
+        }
     }
 }
@@ -0,0 +1,81 @@
+package app.hub.api;
+
+import com.google.gson.annotations.SerializedName;
+import java.util.List;
+
+/**
+ * Everything the admin tabs show, in one response: per-branch report counts, the branch list and
+ * the manager roster.
+ */
+public class AdminSnapshotResponse {
+    @SerializedName("success")
+    private boolean success;
+
+    @SerializedName("message")
+    private String message;
+
+    @SerializedName("branch_reports")
+    private List<BranchReportsResponse.BranchReport> branchReports;
+
+    @SerializedName("branches")
+    private List<BranchResponse.Branch> branches;
+
+    @SerializedName("managers")
+    private List<EmployeeResponse.Employee> managers;
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    /**
+     * Null if this part could not be loaded.
+     */
+    public List<BranchReportsResponse.BranchReport> getBranchReports() {
+        return branchReports;
+    }
+
+    public void setBranchReports(List<BranchReportsResponse.BranchReport> branchReports) {
+        this.branchReports = branchReports;
+    }
+
+    /**
+     * Null if this part could not be loaded.
+     */
+    public List<BranchResponse.Branch> getBranches() {
+        return branches;
+    }
+
+    public void setBranches(List<BranchResponse.Branch> branches) {
+        this.branches = branches;
+    }
+
+    /**
+     * Employees with the manager role. Null if this part could not be loaded.
+     */
+    public List<EmployeeResponse.Employee> getManagers() {
+        return managers;
+    }
+
+    public void setManagers(List<EmployeeResponse.Employee> managers) {
+        this.managers = managers;
+    }
+
+    /**
+     * True when all three parts are present.
+     */
+    public boolean isComplete() {
+        return branchReports != null && branches != null && managers != null;
+    }
+}
@@ -1,17 +1,32 @@
 package app.hub.api;
 
+import android.content.Context;
 import android.util.Log;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
+import java.io.File;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
+import okhttp3.Cache;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.OkHttpClient;
-import okhttp3.logging.HttpLoggingInterceptor;
+import okhttp3.Protocol;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
 
+/**
+ * The app's one network stack: a single OkHttpClient (connection pool, dispatcher, HTTP cache)
+ * and a single Retrofit, with each service interface created once and reused.
+ *
+ * Reach it through ServiceHubApplication or the static getters here; don't build other
+ * OkHttpClients or Retrofits, so every request shares the same pooled connections.
+ */
 public class ApiClient {
     private static final String TAG = "ApiClient";
 
@@ -24,31 +39,101 @@ public class ApiClient {
     // Make sure to run: php artisan serve --host=0.0.0.0 --port=8000
     private static final String BASE_URL = "http://172.20.10.4:8000/";
 
+    // Disk-backed HTTP cache for ETag / Last-Modified revalidation
+    private static final String HTTP_CACHE_DIR = "http_cache";
+    private static final long HTTP_CACHE_SIZE = 10L * 1024 * 1024; // 10 MB
+
+    // Requests to our one API host run up to this many at a time (OkHttp's default is 5)
+    private static final int MAX_REQUESTS_PER_HOST = 8;
+    private static final int MAX_IDLE_CONNECTIONS = 8;
+    private static final long KEEP_ALIVE_MINUTES = 5;
+
+    // Kept across client rebuilds so open connections and queued calls carry over
+    private static final ConnectionPool connectionPool =
+            new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_MINUTES, TimeUnit.MINUTES);
+    private static final Dispatcher dispatcher = createDispatcher();
+
     private static Retrofit retrofit = null;
+    private static OkHttpClient httpClient = null;
+    private static final Map<Class<?>, Object> services = new HashMap<>();
+    private static Cache httpCache = null;
+    private static NetworkLogging networkLogging = NetworkLogging.forBuild();
 
-    public static Retrofit getClient() {
-        if (retrofit == null) {
-            // Create logging interceptor for debugging
-            HttpLoggingInterceptor loggingInterceptor = new HttpLoggingInterceptor();
-            loggingInterceptor.setLevel(HttpLoggingInterceptor.Level.BODY);
+    // Concurrent identical GETs share one request
+    private static final SingleFlightCallAdapterFactory singleFlight = new SingleFlightCallAdapterFactory();
+
+    /**
+     * Attach the disk cache. Call once from Application.onCreate, before the first request.
+     */
+    public static synchronized void init(Context context) {
+        if (httpCache == null && context != null) {
+            File cacheDir = new File(context.getApplicationContext().getCacheDir(), HTTP_CACHE_DIR);
+            httpCache = new Cache(cacheDir, HTTP_CACHE_SIZE);
+            reset(); // Rebuild with the cache attached
+        }
+    }
 
+    /**
+     * Change what the client logs, e.g. NetworkLogging.headersOnly() while chasing a bug. Applies
+     * to requests made after this call.
+     */
+    public static synchronized void setNetworkLogging(NetworkLogging logging) {
+        networkLogging = logging != null ? logging : NetworkLogging.disabled();
+        reset();
+    }
+
+    /**
+     * Drop all cached responses, e.g. on logout.
+     */
+    public static void clearHttpCache() {
+        final Cache cache = httpCache;
+        if (cache == null) {
+            return;
+        }
+        new Thread(() -> {
+            try {
+                cache.evictAll();
+            } catch (Exception e) {
+                Log.w(TAG, "Failed to clear HTTP cache: " + e.getMessage());
+            }
+        }).start();
+    }
+
+    public static synchronized Retrofit getClient() {
+        if (retrofit == null) {
             // Create OkHttpClient with longer timeouts for debugging
-            OkHttpClient okHttpClient = new OkHttpClient.Builder()
+            OkHttpClient.Builder clientBuilder = new OkHttpClient.Builder()
+                    .connectionPool(connectionPool)
+                    .dispatcher(dispatcher)
+                    // HTTP/2 is negotiated over TLS when the server offers it; plain http stays 1.1
+                    .protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
                     .connectTimeout(60, TimeUnit.SECONDS) // Connection timeout: 60 seconds
                     .readTimeout(60, TimeUnit.SECONDS) // Read timeout: 60 seconds
                     .writeTimeout(60, TimeUnit.SECONDS) // Write timeout: 60 seconds
                     .retryOnConnectionFailure(true) // Auto-retry on connection failure
-                    .addInterceptor(loggingInterceptor)
-                    .build();
+                    .addNetworkInterceptor(new HttpCachePolicy());
+
+            // Headers, sampled body previews and call timings in debug; nothing in release
+            networkLogging.install(clientBuilder);
+
+            if (httpCache != null) {
+                clientBuilder.cache(httpCache);
+            }
+
+            OkHttpClient okHttpClient = clientBuilder.build();
+            httpClient = okHttpClient;
 
+            // The big list responses are read by hand-written adapters instead of reflection
             Gson gson = new GsonBuilder()
                     .setLenient()
+                    .registerTypeAdapterFactory(new ListResponseAdapters())
                     .create();
 
             retrofit = new Retrofit.Builder()
                     .baseUrl(BASE_URL)
                     .client(okHttpClient)
                     .addConverterFactory(GsonConverterFactory.create(gson))
+                    .addCallAdapterFactory(singleFlight)
                     .build();
 
             Log.d(TAG, "Retrofit client initialized with BASE_URL: " + BASE_URL);
@@ -56,9 +141,42 @@ public class ApiClient {
         return retrofit;
     }
 
+    /**
+     * The shared client, for code that talks HTTP without Retrofit. Use newBuilder() on it to
+     * change settings while keeping the pool.
+     */
+    public static synchronized OkHttpClient getHttpClient() {
+        getClient();
+        return httpClient;
+    }
+
     public static ApiService getApiService() {
-        Log.d(TAG, "Creating ApiService with BASE_URL: " + BASE_URL);
-        return getClient().create(ApiService.class);
+        return create(ApiService.class);
+    }
+
+    /**
+     * The instance of a Retrofit service interface, created on first use.
+     */
+    public static synchronized <T> T create(Class<T> service) {
+        Retrofit client = getClient();
+        Object instance = services.get(service);
+        if (instance == null) {
+            instance = client.create(service);
+            services.put(service, instance);
+        }
+        return service.cast(instance);
+    }
+
+    private static void reset() {
+        retrofit = null;
+        httpClient = null;
+        services.clear();
+    }
+
+    private static Dispatcher createDispatcher() {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequestsPerHost(MAX_REQUESTS_PER_HOST);
+        return dispatcher;
     }
 
 }
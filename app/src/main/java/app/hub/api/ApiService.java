@@ -3,8 +3,11 @@ package app.hub.api;
 import com.servicehub.model.ChatRequest;
 import com.servicehub.model.ChatResponse;
 
+import java.util.List;
+
 import okhttp3.MultipartBody;
 import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.Body;
 import retrofit2.http.DELETE;
@@ -14,6 +17,7 @@ import retrofit2.http.Multipart;
 import retrofit2.http.POST;
 import retrofit2.http.PUT;
 import retrofit2.http.Part;
+import retrofit2.http.Streaming;
 
 public interface ApiService {
         @GET("api/v1/about")
@@ -71,9 +75,11 @@ public interface ApiService {
     Call<CreateTicketResponse> createTicket(@Header("Authorization") String token,
             @Body CreateTicketRequest request);
 
+    // The first photo goes in "image" as before; any more follow as "images[]", which the API
+    // does not read yet (see TicketAttachmentUploader.MAX_IMAGES)
     @Multipart
     @POST("api/v1/tickets")
-    Call<CreateTicketResponse> createTicketWithImage(
+    Call<CreateTicketResponse> createTicketWithImages(
             @Header("Authorization") String token,
             @Part("title") RequestBody title,
             @Part("description") RequestBody description,
@@ -85,7 +91,7 @@ public interface ApiService {
             @Part("latitude") RequestBody latitude,
             @Part("longitude") RequestBody longitude,
             @Part("amount") RequestBody amount,
-            @Part MultipartBody.Part image);
+            @Part List<MultipartBody.Part> images);
 
     @Multipart
     @POST("api/v1/profile/photo")
@@ -111,6 +117,10 @@ public interface ApiService {
     Call<UpdateLocationResponse> updateLocation(@Header("Authorization") String token,
             @Body UpdateLocationRequest request);
 
+    @POST("api/v1/update-location/batch")
+    Call<UpdateLocationResponse> updateLocationBatch(@Header("Authorization") String token,
+            @Body LocationBatchRequest request);
+
     @POST("api/v1/register-fcm-token")
     Call<FCMTokenResponse> registerFCMToken(@Header("Authorization") String token, @Body FCMTokenRequest request);
 
@@ -124,6 +134,11 @@ public interface ApiService {
     Call<TicketListResponse> getTickets(@Header("Authorization") String token,
             @retrofit2.http.Query("status") String status);
 
+    // Delta sync: only tickets changed since updatedSince (null = full list)
+    @GET("api/v1/tickets")
+    Call<TicketListResponse> getTicketsSince(@Header("Authorization") String token,
+            @retrofit2.http.Query("updated_since") String updatedSince);
+
     @GET("api/v1/tickets/{ticketId}")
     Call<TicketDetailResponse> getTicketDetail(@Header("Authorization") String token,
             @retrofit2.http.Path("ticketId") String ticketId);
@@ -131,6 +146,10 @@ public interface ApiService {
     @GET("api/v1/manager/tickets")
     Call<TicketListResponse> getManagerTickets(@Header("Authorization") String token);
 
+    @GET("api/v1/manager/tickets")
+    Call<TicketListResponse> getManagerTicketsSince(@Header("Authorization") String token,
+            @retrofit2.http.Query("updated_since") String updatedSince);
+
     @GET("api/v1/manager/dashboard")
     Call<DashboardStatsResponse> getManagerDashboard(@Header("Authorization") String token);
 
@@ -138,13 +157,22 @@ public interface ApiService {
     Call<UpdateTicketStatusResponse> updateTicketStatus(@Header("Authorization") String token,
             @retrofit2.http.Path("ticketId") String ticketId, @Body UpdateTicketStatusRequest request);
 
-        @GET("api/v1/technician/tickets")
+    @GET("api/v1/technician/tickets")
     Call<TicketListResponse> getEmployeeTickets(@Header("Authorization") String token);
 
-        @GET("api/v1/technician/tickets")
+    @GET("api/v1/technician/tickets")
+    Call<TicketListResponse> getEmployeeTicketsSince(@Header("Authorization") String token,
+            @retrofit2.http.Query("updated_since") String updatedSince);
+
+    @GET("api/v1/technician/tickets")
     Call<TicketListResponse> getEmployeeTicketsByStatus(@Header("Authorization") String token,
             @retrofit2.http.Query("status") String status);
 
+    // Same list as getEmployeeTickets, read while it downloads (see ListStreams)
+    @Streaming
+    @GET("api/v1/technician/tickets")
+    Call<ResponseBody> streamEmployeeTickets(@Header("Authorization") String token);
+
     @POST("api/v1/tickets/{ticketId}/accept")
     Call<TicketStatusResponse> acceptTicket(@Header("Authorization") String token,
             @retrofit2.http.Path("ticketId") String ticketId);
@@ -200,8 +228,20 @@ public interface ApiService {
     @GET("api/v1/branches/reports")
     Call<BranchReportsResponse> getBranchReports(@Header("Authorization") String token);
 
+    // Branch reports, branches and managers in one response for the admin dashboard
+    @GET("api/v1/admin/snapshot")
+    Call<AdminSnapshotResponse> getAdminSnapshot(@Header("Authorization") String token);
+
     @GET("api/v1/branches/{branchId}/tickets")
     Call<BranchTicketsResponse> getBranchTickets(@Header("Authorization") String token,
             @retrofit2.http.Path("branchId") int branchId,
             @retrofit2.http.Query("status") String status);
+
+    // Paged: cursor is null for the first page, then the response's next_cursor
+    @GET("api/v1/branches/{branchId}/tickets")
+    Call<BranchTicketsResponse> getBranchTicketsPage(@Header("Authorization") String token,
+            @retrofit2.http.Path("branchId") int branchId,
+            @retrofit2.http.Query("status") String status,
+            @retrofit2.http.Query("cursor") String cursor,
+            @retrofit2.http.Query("limit") int limit);
 }
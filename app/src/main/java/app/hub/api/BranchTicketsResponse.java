@@ -16,22 +16,67 @@ public class BranchTicketsResponse {
     @SerializedName("tickets")
     private List<Ticket> tickets;
 
+    // Paged endpoint only: cursor of the next page, absent on the last page
+    @SerializedName("next_cursor")
+    private String nextCursor;
+
+    @SerializedName("has_more")
+    private Boolean hasMore;
+
     public boolean isSuccess() {
         return success;
     }
 
+
+    public void setSuccess(boolean success) {
+
+        this.success = success;
+
+    }
+
     public String getMessage() {
         return message;
     }
 
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
     public BranchInfo getBranch() {
         return branch;
     }
 
+    public void setBranch(BranchInfo branch) {
+        this.branch = branch;
+    }
+
     public List<Ticket> getTickets() {
         return tickets;
     }
 
+    public void setTickets(List<Ticket> tickets) {
+        this.tickets = tickets;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public void setHasMore(Boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    /**
+     * Whether another page follows. A server without paging sends neither field: one page.
+     */
+    public boolean hasMore() {
+        return nextCursor != null && !nextCursor.isEmpty() && (hasMore == null || hasMore);
+    }
+
     public static class BranchInfo {
         @SerializedName("id")
         private int id;
@@ -46,13 +91,28 @@ public class BranchTicketsResponse {
             return id;
         }
 
+
+        public void setId(int id) {
+
+            this.id = id;
+
+        }
+
         public String getName() {
             return name;
         }
 
+        public void setName(String name) {
+            this.name = name;
+        }
+
         public String getLocation() {
             return location;
         }
+
+        public void setLocation(String location) {
+            this.location = location;
+        }
     }
 
     public static class Ticket {
@@ -111,68 +171,139 @@ public class BranchTicketsResponse {
             return id;
         }
 
+
+        public void setId(int id) {
+
+            this.id = id;
+
+        }
+
         public String getTicketId() {
             return ticketId;
         }
 
+        public void setTicketId(String ticketId) {
+            this.ticketId = ticketId;
+        }
+
         public String getTitle() {
             return title;
         }
 
+        public void setTitle(String title) {
+            this.title = title;
+        }
+
         public String getDescription() {
             return description;
         }
 
+        public void setDescription(String description) {
+            this.description = description;
+        }
+
         public String getServiceType() {
             return serviceType;
         }
 
+        public void setServiceType(String serviceType) {
+            this.serviceType = serviceType;
+        }
+
         public double getAmount() {
             return amount;
         }
 
+        public void setAmount(double amount) {
+            this.amount = amount;
+        }
+
         public String getAddress() {
             return address;
         }
 
+        public void setAddress(String address) {
+            this.address = address;
+        }
+
         public String getContact() {
             return contact;
         }
 
+        public void setContact(String contact) {
+            this.contact = contact;
+        }
+
         public String getPreferredDate() {
             return preferredDate;
         }
 
+        public void setPreferredDate(String preferredDate) {
+            this.preferredDate = preferredDate;
+        }
+
         public String getStatus() {
             return status;
         }
 
+        public void setStatus(String status) {
+            this.status = status;
+        }
+
         public String getStatusDetail() {
             return statusDetail;
         }
 
+        public void setStatusDetail(String statusDetail) {
+            this.statusDetail = statusDetail;
+        }
+
         public String getStatusColor() {
             return statusColor;
         }
 
+        public void setStatusColor(String statusColor) {
+            this.statusColor = statusColor;
+        }
+
         public String getCustomerName() {
             return customerName;
         }
 
+        public void setCustomerName(String customerName) {
+            this.customerName = customerName;
+        }
+
         public String getAssignedStaff() {
             return assignedStaff;
         }
 
+        public void setAssignedStaff(String assignedStaff) {
+            this.assignedStaff = assignedStaff;
+        }
+
         public String getImagePath() {
             return imagePath;
         }
 
+        public void setImagePath(String imagePath) {
+            this.imagePath = imagePath;
+        }
+
         public String getCreatedAt() {
             return createdAt;
         }
 
+        public void setCreatedAt(String createdAt) {
+            this.createdAt = createdAt;
+        }
+
         public String getUpdatedAt() {
             return updatedAt;
         }
+
+        public void setUpdatedAt(String updatedAt) {
+            this.updatedAt = updatedAt;
+        }
     }
 }
@@ -0,0 +1,147 @@
+package app.hub.api;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Response;
+
+/**
+ * Times the phases of one HTTP call and logs them as a single line when it ends:
+ *
+ * GET /api/v1/tickets 200 total=412ms dns=12 connect=85 tls=60 ttfb=301 body=24 bytes=18231
+ *
+ * A phase that didn't happen (a reused connection has no dns/connect/tls) is left out. ttfb runs
+ * from the start of the call to the first response header byte.
+ */
+class CallTimingListener extends EventListener {
+    private final NetworkLogging.Sink sink;
+    private final LongSupplier nanoClock;
+
+    private long callStart;
+    private long dnsStart = -1;
+    private long dnsEnd = -1;
+    private long connectStart = -1;
+    private long connectEnd = -1;
+    private long tlsStart = -1;
+    private long tlsEnd = -1;
+    private long responseHeadersStart = -1;
+    private long bodyStart = -1;
+    private long bodyEnd = -1;
+    private long bodyBytes = -1;
+    private int code = -1;
+
+    CallTimingListener(NetworkLogging.Sink sink, LongSupplier nanoClock) {
+        this.sink = sink;
+        this.nanoClock = nanoClock;
+    }
+
+    static EventListener.Factory factory(NetworkLogging.Sink sink) {
+        return call -> new CallTimingListener(sink, System::nanoTime);
+    }
+
+    @Override
+    public void callStart(Call call) {
+        callStart = nanoClock.getAsLong();
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName) {
+        dnsStart = nanoClock.getAsLong();
+    }
+
+    @Override
+    public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+        dnsEnd = nanoClock.getAsLong();
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+        connectStart = nanoClock.getAsLong();
+    }
+
+    @Override
+    public void secureConnectStart(Call call) {
+        tlsStart = nanoClock.getAsLong();
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, Handshake handshake) {
+        tlsEnd = nanoClock.getAsLong();
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+        connectEnd = nanoClock.getAsLong();
+    }
+
+    @Override
+    public void responseHeadersStart(Call call) {
+        if (responseHeadersStart < 0) {
+            responseHeadersStart = nanoClock.getAsLong();
+        }
+    }
+
+    @Override
+    public void responseHeadersEnd(Call call, Response response) {
+        code = response.code();
+    }
+
+    @Override
+    public void responseBodyStart(Call call) {
+        bodyStart = nanoClock.getAsLong();
+    }
+
+    @Override
+    public void responseBodyEnd(Call call, long byteCount) {
+        bodyEnd = nanoClock.getAsLong();
+        bodyBytes = byteCount;
+    }
+
+    @Override
+    public void callEnd(Call call) {
+        report(call, null);
+    }
+
+    @Override
+    public void callFailed(Call call, IOException ioe) {
+        report(call, ioe);
+    }
+
+    private void report(Call call, IOException failure) {
+        long end = nanoClock.getAsLong();
+        StringBuilder line = new StringBuilder()
+                .append(call.request().method()).append(' ').append(call.request().url().encodedPath())
+                .append(' ').append(failure != null ? "FAILED" : code >= 0 ? String.valueOf(code) : "-")
+                .append(" total=").append(millis(callStart, end)).append("ms");
+        phase(line, "dns", dnsStart, dnsEnd);
+        phase(line, "connect", connectStart, connectEnd);
+        phase(line, "tls", tlsStart, tlsEnd);
+        phase(line, "ttfb", callStart, responseHeadersStart);
+        phase(line, "body", bodyStart, bodyEnd);
+        if (bodyBytes >= 0) {
+            line.append(" bytes=").append(bodyBytes);
+        }
+        if (failure != null) {
+            line.append(" error=").append(failure.getMessage());
+        }
+        sink.log(line.toString());
+    }
+
+    private static void phase(StringBuilder line, String name, long start, long end) {
+        if (start >= 0 && end >= start) {
+            line.append(' ').append(name).append('=').append(millis(start, end));
+        }
+    }
+
+    private static long millis(long startNanos, long endNanos) {
+        return (endNanos - startNanos) / 1_000_000;
+    }
+}
@@ -50,7 +50,7 @@ public class DashboardStatsResponse {
     }
 
     // Stats class for workload statistics
-    public static class Stats {
+    public static class Stats implements Cloneable {
         @SerializedName("total_tickets")
         private int totalTickets;
 
@@ -105,10 +105,18 @@ public class DashboardStatsResponse {
         public void setCancelled(int cancelled) {
             this.cancelled = cancelled;
         }
+
+        public Stats copy() {
+            try {
+                return (Stats) super.clone();
+            } catch (CloneNotSupportedException e) {
+                throw new AssertionError(e);
+            }
+        }
     }
 
     // RecentTicket class for recent activity
-    public static class RecentTicket {
+    public static class RecentTicket implements Cloneable {
         @SerializedName("ticket_id")
         private String ticketId;
 
@@ -196,5 +204,13 @@ public class DashboardStatsResponse {
         public void setCreatedAt(String createdAt) {
             this.createdAt = createdAt;
         }
+
+        public RecentTicket copy() {
+            try {
+                return (RecentTicket) super.clone();
+            } catch (CloneNotSupportedException e) {
+                throw new AssertionError(e);
+            }
+        }
     }
 }
@@ -0,0 +1,90 @@
+package app.hub.api;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Network interceptor that applies a per-endpoint freshness policy to cached GET responses.
+ *
+ * OkHttp's Cache already sends If-None-Match / If-Modified-Since when a stored response has an
+ * ETag or Last-Modified validator, and turns a 304 into the cached body. The Laravel API does not
+ * send Cache-Control headers, so without this interceptor nothing would be stored at all.
+ *
+ * max-age 0 means "store, but revalidate on every request" - used for the ticket lists that the
+ * polling loops hit, so an unchanged list comes back as a small 304 instead of the full JSON.
+ */
+public class HttpCachePolicy implements Interceptor {
+
+    /**
+     * Path prefix (relative to the base URL) mapped to max-age in seconds. A prefix matches whole
+     * segments, and "*" matches any one segment. First match wins.
+     */
+    private static final Map<String, Integer> MAX_AGE_BY_PATH = new LinkedHashMap<>();
+
+    static {
+        MAX_AGE_BY_PATH.put("api/v1/branches/reports", 0);
+        // A branch's ticket list is refreshed by hand; it must not ride on the branch list's 10 minutes
+        MAX_AGE_BY_PATH.put("api/v1/branches/*/tickets", 0);
+        MAX_AGE_BY_PATH.put("api/v1/branches", 10 * 60);
+        MAX_AGE_BY_PATH.put("api/v1/technicians", 30);
+        MAX_AGE_BY_PATH.put("api/v1/manager/tickets", 0);
+        MAX_AGE_BY_PATH.put("api/v1/manager/dashboard", 0);
+        MAX_AGE_BY_PATH.put("api/v1/technician/tickets", 0);
+        MAX_AGE_BY_PATH.put("api/v1/technician/schedule", 0);
+        MAX_AGE_BY_PATH.put("api/v1/tickets", 0);
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        Response response = chain.proceed(request);
+
+        if (!"GET".equals(request.method()) || !response.isSuccessful()) {
+            return response;
+        }
+
+        Integer maxAge = maxAgeFor(request.url().encodedPath());
+        if (maxAge == null || response.header("Cache-Control") != null) {
+            // Not a cached endpoint, or the server already decided
+            return response;
+        }
+
+        return response.newBuilder()
+                .removeHeader("Pragma")
+                .header("Cache-Control", maxAge == 0 ? "no-cache" : "private, max-age=" + maxAge)
+                // Cache is keyed by URL only; make sure one account never sees another's list
+                .header("Vary", "Authorization")
+                .build();
+    }
+
+    static Integer maxAgeFor(String encodedPath) {
+        if (encodedPath == null) {
+            return null;
+        }
+        String path = encodedPath.startsWith("/") ? encodedPath.substring(1) : encodedPath;
+        String[] segments = path.split("/");
+        for (Map.Entry<String, Integer> entry : MAX_AGE_BY_PATH.entrySet()) {
+            if (matches(entry.getKey().split("/"), segments)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static boolean matches(String[] prefix, String[] segments) {
+        if (prefix.length > segments.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (!"*".equals(prefix[i]) && !prefix[i].equals(segments[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,560 @@
+package app.hub.api;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hand-written Gson adapters for the large list responses.
+ *
+ * Gson's reflective adapter looks up and sets every field through reflection and boxes each
+ * primitive; these read the JsonReader token by token straight into the models instead. They
+ * follow Gson's leniency for the fields the app uses: numbers may arrive as strings, null leaves a
+ * primitive at its default, and unknown names are skipped.
+ *
+ * The read*() methods also take an ItemListener that sees each list item as soon as it is
+ * parsed, which is what ListStreams uses to show rows before the whole body has arrived.
+ * Writing is left to Gson's reflective adapter; the app only serializes these for its own caches.
+ */
+public final class ListResponseAdapters implements TypeAdapterFactory {
+
+    /**
+     * Receives list items in response order, on the parsing thread.
+     */
+    public interface ItemListener<T> {
+        void onItem(T item);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        Class<? super T> raw = type.getRawType();
+        TypeAdapter<T> delegate = gson.getDelegateAdapter(this, type);
+        if (raw == TicketListResponse.class) {
+            return (TypeAdapter<T>) new Adapter<>((TypeAdapter<TicketListResponse>) delegate,
+                    reader -> readTicketList(reader, null));
+        }
+        if (raw == BranchTicketsResponse.class) {
+            return (TypeAdapter<T>) new Adapter<>((TypeAdapter<BranchTicketsResponse>) delegate,
+                    reader -> readBranchTickets(reader, null));
+        }
+        if (raw == PaymentHistoryResponse.class) {
+            return (TypeAdapter<T>) new Adapter<>((TypeAdapter<PaymentHistoryResponse>) delegate,
+                    reader -> readPaymentHistory(reader, null));
+        }
+        if (raw == EmployeeScheduleResponse.class) {
+            return (TypeAdapter<T>) new Adapter<>((TypeAdapter<EmployeeScheduleResponse>) delegate,
+                    reader -> readEmployeeSchedule(reader, null));
+        }
+        return null;
+    }
+
+    private interface Reader<T> {
+        T read(JsonReader reader) throws IOException;
+    }
+
+    private static final class Adapter<T> extends TypeAdapter<T> {
+        private final TypeAdapter<T> delegate;
+        private final Reader<T> reader;
+
+        Adapter(TypeAdapter<T> delegate, Reader<T> reader) {
+            this.delegate = delegate;
+            this.reader = reader;
+        }
+
+        @Override
+        public void write(JsonWriter out, T value) throws IOException {
+            delegate.write(out, value);
+        }
+
+        @Override
+        public T read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            return reader.read(in);
+        }
+    }
+
+    // ---- TicketListResponse ----
+
+    public static TicketListResponse readTicketList(JsonReader reader,
+            ItemListener<TicketListResponse.TicketItem> listener) throws IOException {
+        TicketListResponse response = new TicketListResponse();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "success":
+                    response.setSuccess(nextBoolean(reader));
+                    break;
+                case "message":
+                    response.setMessage(nextString(reader));
+                    break;
+                case "tickets":
+                    response.setTickets(readList(reader, ListResponseAdapters::readTicketItem, listener));
+                    break;
+                case "deleted_ticket_ids":
+                    response.setDeletedTicketIds(readList(reader, ListResponseAdapters::nextString, null));
+                    break;
+                case "server_time":
+                    response.setServerTime(nextString(reader));
+                    break;
+                case "next_cursor":
+                    response.setNextCursor(nextString(reader));
+                    break;
+                case "has_more":
+                    response.setHasMore(nextBooleanOrNull(reader));
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return response;
+    }
+
+    static TicketListResponse.TicketItem readTicketItem(JsonReader reader) throws IOException {
+        TicketListResponse.TicketItem item = new TicketListResponse.TicketItem();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "id":
+                    item.setId(nextInt(reader));
+                    break;
+                case "ticket_id":
+                    item.setTicketId(nextString(reader));
+                    break;
+                case "title":
+                    item.setTitle(nextString(reader));
+                    break;
+                case "description":
+                    item.setDescription(nextString(reader));
+                    break;
+                case "service_type":
+                    item.setServiceType(nextString(reader));
+                    break;
+                case "unit_type":
+                    item.setUnitType(nextString(reader));
+                    break;
+                case "address":
+                    item.setAddress(nextString(reader));
+                    break;
+                case "contact":
+                    item.setContact(nextString(reader));
+                    break;
+                case "status":
+                    item.setStatus(nextString(reader));
+                    break;
+                case "status_detail":
+                    item.setStatusDetail(nextString(reader));
+                    break;
+                case "status_color":
+                    item.setStatusColor(nextString(reader));
+                    break;
+                case "customer_name":
+                    item.setCustomerName(nextString(reader));
+                    break;
+                case "assigned_staff":
+                    item.setAssignedStaff(nextString(reader));
+                    break;
+                case "assigned_staff_phone":
+                    item.setAssignedStaffPhone(nextString(reader));
+                    break;
+                case "assigned_staff_photo":
+                    item.setAssignedStaffPhoto(nextString(reader));
+                    break;
+                case "branch":
+                    item.setBranch(nextString(reader));
+                    break;
+                case "image_path":
+                    item.setImagePath(nextString(reader));
+                    break;
+                case "created_at":
+                    item.setCreatedAt(nextString(reader));
+                    break;
+                case "updated_at":
+                    item.setUpdatedAt(nextString(reader));
+                    break;
+                case "scheduled_date":
+                    item.setScheduledDate(nextString(reader));
+                    break;
+                case "scheduled_time":
+                    item.setScheduledTime(nextString(reader));
+                    break;
+                case "schedule_notes":
+                    item.setScheduleNotes(nextString(reader));
+                    break;
+                case "latitude":
+                    item.setLatitude(nextDouble(reader));
+                    break;
+                case "longitude":
+                    item.setLongitude(nextDouble(reader));
+                    break;
+                case "amount":
+                    item.setAmount(nextDouble(reader));
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return item;
+    }
+
+    // ---- BranchTicketsResponse ----
+
+    public static BranchTicketsResponse readBranchTickets(JsonReader reader,
+            ItemListener<BranchTicketsResponse.Ticket> listener) throws IOException {
+        BranchTicketsResponse response = new BranchTicketsResponse();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "success":
+                    response.setSuccess(nextBoolean(reader));
+                    break;
+                case "message":
+                    response.setMessage(nextString(reader));
+                    break;
+                case "branch":
+                    response.setBranch(readBranchInfo(reader));
+                    break;
+                case "tickets":
+                    response.setTickets(readList(reader, ListResponseAdapters::readBranchTicket, listener));
+                    break;
+                case "next_cursor":
+                    response.setNextCursor(nextString(reader));
+                    break;
+                case "has_more":
+                    response.setHasMore(nextBooleanOrNull(reader));
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return response;
+    }
+
+    private static BranchTicketsResponse.BranchInfo readBranchInfo(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return null;
+        }
+        BranchTicketsResponse.BranchInfo branch = new BranchTicketsResponse.BranchInfo();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "id":
+                    branch.setId(nextInt(reader));
+                    break;
+                case "name":
+                    branch.setName(nextString(reader));
+                    break;
+                case "location":
+                    branch.setLocation(nextString(reader));
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return branch;
+    }
+
+    static BranchTicketsResponse.Ticket readBranchTicket(JsonReader reader) throws IOException {
+        BranchTicketsResponse.Ticket ticket = new BranchTicketsResponse.Ticket();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "id":
+                    ticket.setId(nextInt(reader));
+                    break;
+                case "ticket_id":
+                    ticket.setTicketId(nextString(reader));
+                    break;
+                case "title":
+                    ticket.setTitle(nextString(reader));
+                    break;
+                case "description":
+                    ticket.setDescription(nextString(reader));
+                    break;
+                case "service_type":
+                    ticket.setServiceType(nextString(reader));
+                    break;
+                case "amount":
+                    ticket.setAmount(nextDouble(reader));
+                    break;
+                case "address":
+                    ticket.setAddress(nextString(reader));
+                    break;
+                case "contact":
+                    ticket.setContact(nextString(reader));
+                    break;
+                case "preferred_date":
+                    ticket.setPreferredDate(nextString(reader));
+                    break;
+                case "status":
+                    ticket.setStatus(nextString(reader));
+                    break;
+                case "status_detail":
+                    ticket.setStatusDetail(nextString(reader));
+                    break;
+                case "status_color":
+                    ticket.setStatusColor(nextString(reader));
+                    break;
+                case "customer_name":
+                    ticket.setCustomerName(nextString(reader));
+                    break;
+                case "assigned_staff":
+                    ticket.setAssignedStaff(nextString(reader));
+                    break;
+                case "image_path":
+                    ticket.setImagePath(nextString(reader));
+                    break;
+                case "created_at":
+                    ticket.setCreatedAt(nextString(reader));
+                    break;
+                case "updated_at":
+                    ticket.setUpdatedAt(nextString(reader));
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return ticket;
+    }
+
+    // ---- PaymentHistoryResponse ----
+
+    public static PaymentHistoryResponse readPaymentHistory(JsonReader reader,
+            ItemListener<PaymentHistoryResponse.PaymentItem> listener) throws IOException {
+        PaymentHistoryResponse response = new PaymentHistoryResponse();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "success":
+                    response.setSuccess(nextBoolean(reader));
+                    break;
+                case "message":
+                    response.setMessage(nextString(reader));
+                    break;
+                case "payments":
+                    response.setPayments(readList(reader, ListResponseAdapters::readPaymentItem, listener));
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return response;
+    }
+
+    static PaymentHistoryResponse.PaymentItem readPaymentItem(JsonReader reader) throws IOException {
+        PaymentHistoryResponse.PaymentItem item = new PaymentHistoryResponse.PaymentItem();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "id":
+                    item.setId(nextInt(reader));
+                    break;
+                case "ticket_id":
+                    item.setTicketId(nextString(reader));
+                    break;
+                case "customer_name":
+                    item.setCustomerName(nextString(reader));
+                    break;
+                case "technician_name":
+                    item.setTechnicianName(nextString(reader));
+                    break;
+                case "payment_method":
+                    item.setPaymentMethod(nextString(reader));
+                    break;
+                case "amount":
+                    item.setAmount(nextDouble(reader));
+                    break;
+                case "status":
+                    item.setStatus(nextString(reader));
+                    break;
+                case "notes":
+                    item.setNotes(nextString(reader));
+                    break;
+                case "collected_at":
+                    item.setCollectedAt(nextString(reader));
+                    break;
+                case "submitted_at":
+                    item.setSubmittedAt(nextString(reader));
+                    break;
+                case "completed_at":
+                    item.setCompletedAt(nextString(reader));
+                    break;
+                case "created_at":
+                    item.setCreatedAt(nextString(reader));
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return item;
+    }
+
+    // ---- EmployeeScheduleResponse ----
+
+    public static EmployeeScheduleResponse readEmployeeSchedule(JsonReader reader,
+            ItemListener<EmployeeScheduleResponse.ScheduledTicket> listener) throws IOException {
+        EmployeeScheduleResponse response = new EmployeeScheduleResponse();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "success":
+                    response.setSuccess(nextBoolean(reader));
+                    break;
+                case "tickets":
+                    response.setTickets(readList(reader, ListResponseAdapters::readScheduledTicket, listener));
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return response;
+    }
+
+    static EmployeeScheduleResponse.ScheduledTicket readScheduledTicket(JsonReader reader) throws IOException {
+        EmployeeScheduleResponse.ScheduledTicket ticket = new EmployeeScheduleResponse.ScheduledTicket();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "ticket_id":
+                    ticket.setTicketId(nextString(reader));
+                    break;
+                case "title":
+                    ticket.setTitle(nextString(reader));
+                    break;
+                case "description":
+                    ticket.setDescription(nextString(reader));
+                    break;
+                case "scheduled_date":
+                    ticket.setScheduledDate(nextString(reader));
+                    break;
+                case "scheduled_time":
+                    ticket.setScheduledTime(nextString(reader));
+                    break;
+                case "schedule_notes":
+                    ticket.setScheduleNotes(nextString(reader));
+                    break;
+                case "status":
+                    ticket.setStatus(nextString(reader));
+                    break;
+                case "status_color":
+                    ticket.setStatusColor(nextString(reader));
+                    break;
+                case "customer_name":
+                    ticket.setCustomerName(nextString(reader));
+                    break;
+                case "address":
+                    ticket.setAddress(nextString(reader));
+                    break;
+                case "service_type":
+                    ticket.setServiceType(nextString(reader));
+                    break;
+                case "branch":
+                    ticket.setBranch(nextString(reader));
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return ticket;
+    }
+
+    // ---- Values ----
+
+    /**
+     * Reads an array (null stays null), handing each item to the listener as it completes.
+     * Null entries are kept, as Gson does.
+     */
+    private static <T> List<T> readList(JsonReader reader, Reader<T> itemReader, ItemListener<T> listener)
+            throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        List<T> items = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            T item;
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                item = null;
+            } else {
+                item = itemReader.read(reader);
+            }
+            items.add(item);
+            if (listener != null && item != null) {
+                listener.onItem(item);
+            }
+        }
+        reader.endArray();
+        return items;
+    }
+
+    private static String nextString(JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case NULL:
+                reader.nextNull();
+                return null;
+            case BOOLEAN:
+                return Boolean.toString(reader.nextBoolean());
+            case STRING:
+            case NUMBER:
+                return reader.nextString();
+            default:
+                throw new IOException("Expected a string but was " + reader.peek() + " at " + reader.getPath());
+        }
+    }
+
+    private static int nextInt(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return 0;
+        }
+        return reader.nextInt();
+    }
+
+    private static double nextDouble(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return 0;
+        }
+        return reader.nextDouble();
+    }
+
+    private static boolean nextBoolean(JsonReader reader) throws IOException {
+        Boolean value = nextBooleanOrNull(reader);
+        return value != null && value;
+    }
+
+    private static Boolean nextBooleanOrNull(JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case NULL:
+                reader.nextNull();
+                return null;
+            case STRING:
+                return Boolean.parseBoolean(reader.nextString());
+            default:
+                return reader.nextBoolean();
+        }
+    }
+}
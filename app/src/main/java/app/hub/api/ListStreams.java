@@ -0,0 +1,155 @@
+package app.hub.api;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Response;
+
+/**
+ * Parses a list response while it downloads and hands the items to the UI in batches.
+ *
+ * The call must return a @Streaming ResponseBody. It runs on a background thread, the body is
+ * read through ListResponseAdapters as it arrives, and every few items a batch is posted to the
+ * main thread. The first batch is small so the first rows appear early. onComplete() gets the
+ * whole parsed response (items included) once the body is done.
+ */
+public final class ListStreams {
+    private static final String TAG = "ListStreams";
+
+    static final int FIRST_BATCH_SIZE = 10;
+    static final int BATCH_SIZE = 50;
+
+    private static final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    public interface Listener<R, T> {
+        /**
+         * Items parsed since the last batch. first=true for the first batch of this response.
+         */
+        void onItems(List<T> batch, boolean first);
+
+        /**
+         * The body was read to the end.
+         */
+        void onComplete(R response);
+
+        void onError(String message);
+    }
+
+    /**
+     * Reads one response from the JsonReader, handing items to the listener as they're parsed.
+     */
+    public interface Parser<R, T> {
+        R parse(JsonReader reader, ListResponseAdapters.ItemListener<T> items) throws IOException;
+    }
+
+    private ListStreams() {
+    }
+
+    public static void tickets(Call<ResponseBody> call,
+            Listener<TicketListResponse, TicketListResponse.TicketItem> listener) {
+        enqueue(call, ListResponseAdapters::readTicketList, listener);
+    }
+
+    public static void branchTickets(Call<ResponseBody> call,
+            Listener<BranchTicketsResponse, BranchTicketsResponse.Ticket> listener) {
+        enqueue(call, ListResponseAdapters::readBranchTickets, listener);
+    }
+
+    public static void paymentHistory(Call<ResponseBody> call,
+            Listener<PaymentHistoryResponse, PaymentHistoryResponse.PaymentItem> listener) {
+        enqueue(call, ListResponseAdapters::readPaymentHistory, listener);
+    }
+
+    public static void employeeSchedule(Call<ResponseBody> call,
+            Listener<EmployeeScheduleResponse, EmployeeScheduleResponse.ScheduledTicket> listener) {
+        enqueue(call, ListResponseAdapters::readEmployeeSchedule, listener);
+    }
+
+    /**
+     * Runs the call and streams its body. Cancelling the call stops delivery.
+     */
+    public static <R, T> void enqueue(Call<ResponseBody> call, Parser<R, T> parser, Listener<R, T> listener) {
+        executor.execute(() -> {
+            Response<ResponseBody> response;
+            try {
+                response = call.execute();
+            } catch (IOException e) {
+                post(call, () -> listener.onError("Network error: " + e.getMessage()));
+                return;
+            }
+            if (!response.isSuccessful() || response.body() == null) {
+                if (response.errorBody() != null) {
+                    response.errorBody().close();
+                }
+                int code = response.code();
+                post(call, () -> listener.onError("Request failed (" + code + ")"));
+                return;
+            }
+
+            try (ResponseBody body = response.body(); JsonReader reader = new JsonReader(body.charStream())) {
+                reader.setLenient(true);
+                Batcher<T> batcher = new Batcher<>(call, listener);
+                R parsed = parser.parse(reader, batcher);
+                batcher.flush();
+                post(call, () -> listener.onComplete(parsed));
+            } catch (IOException | RuntimeException e) {
+                Log.w(TAG, "Failed to read " + call.request().url().encodedPath() + ": " + e.getMessage());
+                post(call, () -> listener.onError("Failed to read response"));
+            }
+        });
+    }
+
+    private static void post(Call<?> call, Runnable runnable) {
+        mainHandler.post(() -> {
+            if (!call.isCanceled()) {
+                runnable.run();
+            }
+        });
+    }
+
+    /**
+     * Collects items on the parsing thread and posts them in batches.
+     */
+    private static final class Batcher<T> implements ListResponseAdapters.ItemListener<T> {
+        private final Call<?> call;
+        private final Listener<?, T> listener;
+        private List<T> pending = new ArrayList<>();
+        private boolean first = true;
+
+        Batcher(Call<?> call, Listener<?, T> listener) {
+            this.call = call;
+            this.listener = listener;
+        }
+
+        @Override
+        public void onItem(T item) {
+            pending.add(item);
+            if (pending.size() >= (first ? FIRST_BATCH_SIZE : BATCH_SIZE)) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<T> batch = pending;
+            boolean firstBatch = first;
+            pending = new ArrayList<>();
+            first = false;
+            post(call, () -> listener.onItems(batch, firstBatch));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package app.hub.api;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.List;
+
+/**
+ * Body of the bulk location upload: several thinned GPS points recorded since the last upload.
+ */
+public class LocationBatchRequest {
+    @SerializedName("points")
+    private List<Point> points;
+
+    public LocationBatchRequest(List<Point> points) {
+        this.points = points;
+    }
+
+    public List<Point> getPoints() {
+        return points;
+    }
+
+    public static class Point {
+        @SerializedName("latitude")
+        private double latitude;
+
+        @SerializedName("longitude")
+        private double longitude;
+
+        @SerializedName("accuracy")
+        private float accuracy;
+
+        // Device time of the fix, epoch milliseconds
+        @SerializedName("recorded_at")
+        private long recordedAt;
+
+        @SerializedName("ticket_id")
+        private String ticketId;
+
+        public Point(double latitude, double longitude, float accuracy, long recordedAt, String ticketId) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.accuracy = accuracy;
+            this.recordedAt = recordedAt;
+            this.ticketId = ticketId;
+        }
+
+        public double getLatitude() {
+            return latitude;
+        }
+
+        public double getLongitude() {
+            return longitude;
+        }
+
+        public float getAccuracy() {
+            return accuracy;
+        }
+
+        public long getRecordedAt() {
+            return recordedAt;
+        }
+
+        public String getTicketId() {
+            return ticketId;
+        }
+    }
+}
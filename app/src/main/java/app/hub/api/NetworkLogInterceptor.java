@@ -0,0 +1,131 @@
+package app.hub.api;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Headers;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+
+/**
+ * Logs each call's request/response line and headers, and previews the bodies of sampled calls.
+ *
+ * Unlike HttpLoggingInterceptor at BODY level, it never reads a whole body: a request body is
+ * previewed only when it's text and no larger than the cap, and a response is previewed through
+ * peekBody(), which buffers at most the cap and leaves the body streaming to its reader.
+ */
+class NetworkLogInterceptor implements Interceptor {
+    private static final String[] REDACTED = { "Authorization", "Cookie", "Set-Cookie" };
+
+    private final int bodySampleEvery;
+    private final int previewBytes;
+    private final NetworkLogging.Sink sink;
+    private final AtomicLong calls = new AtomicLong();
+
+    NetworkLogInterceptor(int bodySampleEvery, int previewBytes, NetworkLogging.Sink sink) {
+        this.bodySampleEvery = bodySampleEvery;
+        this.previewBytes = previewBytes;
+        this.sink = sink;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        long n = calls.incrementAndGet();
+        boolean sampleBody = bodySampleEvery > 0 && previewBytes > 0 && (n - 1) % bodySampleEvery == 0;
+
+        StringBuilder line = new StringBuilder("--> ").append(request.method()).append(' ')
+                .append(request.url().encodedPath());
+        RequestBody requestBody = request.body();
+        if (requestBody != null) {
+            line.append(" (").append(describe(requestBody.contentType(), requestBody.contentLength())).append(')');
+        }
+        sink.log(line.toString());
+        logHeaders(request.headers());
+        if (sampleBody && requestBody != null) {
+            String preview = previewRequest(requestBody);
+            if (preview != null) {
+                sink.log(preview);
+            }
+        }
+
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (IOException e) {
+            sink.log("<-- FAILED " + request.url().encodedPath() + ": " + e.getMessage());
+            throw e;
+        }
+        long tookMs = (System.nanoTime() - start) / 1_000_000;
+
+        ResponseBody responseBody = response.body();
+        sink.log("<-- " + response.code() + " " + request.url().encodedPath() + " (" + tookMs + "ms"
+                + (response.cacheResponse() != null && response.networkResponse() == null ? ", cache" : "")
+                + (responseBody != null ? ", " + describe(responseBody.contentType(), responseBody.contentLength()) : "")
+                + ")");
+        logHeaders(response.headers());
+        if (sampleBody && responseBody != null && isText(responseBody.contentType())) {
+            ResponseBody peeked = response.peekBody(previewBytes);
+            sink.log(preview(peeked.bytes(), responseBody.contentType(), responseBody.contentLength()));
+        }
+        return response;
+    }
+
+    private void logHeaders(Headers headers) {
+        for (int i = 0; i < headers.size(); i++) {
+            String name = headers.name(i);
+            sink.log(name + ": " + (isRedacted(name) ? "██" : headers.value(i)));
+        }
+    }
+
+    private String previewRequest(RequestBody body) throws IOException {
+        long length = body.contentLength();
+        MediaType type = body.contentType();
+        // Writing a body out copies it; only do that for small text bodies
+        if (!isText(type) || length < 0 || length > previewBytes || body.isOneShot() || body.isDuplex()) {
+            return null;
+        }
+        Buffer buffer = new Buffer();
+        body.writeTo(buffer);
+        return preview(buffer.readByteArray(), type, length);
+    }
+
+    private String preview(byte[] bytes, MediaType type, long fullLength) {
+        Charset charset = type != null ? type.charset(StandardCharsets.UTF_8) : StandardCharsets.UTF_8;
+        String text = new String(bytes, charset);
+        boolean truncated = fullLength < 0 ? bytes.length >= previewBytes : fullLength > bytes.length;
+        return truncated ? text + "... (" + (fullLength >= 0 ? fullLength + " bytes" : "more") + ")" : text;
+    }
+
+    private static boolean isRedacted(String name) {
+        for (String redacted : REDACTED) {
+            if (redacted.equalsIgnoreCase(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean isText(MediaType type) {
+        if (type == null) {
+            return false;
+        }
+        String subtype = type.subtype().toLowerCase(Locale.US);
+        return "text".equals(type.type()) || subtype.contains("json") || subtype.contains("xml")
+                || subtype.equals("x-www-form-urlencoded");
+    }
+
+    private static String describe(MediaType type, long length) {
+        return (type != null ? type.type() + "/" + type.subtype() : "no type") + ", "
+                + (length >= 0 ? length + " bytes" : "unknown length");
+    }
+}
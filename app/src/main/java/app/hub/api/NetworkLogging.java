@@ -0,0 +1,97 @@
+package app.hub.api;
+
+import android.util.Log;
+
+import okhttp3.OkHttpClient;
+
+/**
+ * What the HTTP client logs, per build type.
+ *
+ * Release builds log nothing and time nothing. Debug builds log request/response lines and
+ * headers (credentials redacted), a size-capped preview of one body in every few calls, and one
+ * timing line per call (DNS, connect, TLS, time to first byte, body). Bodies are never buffered
+ * beyond the preview cap, and multipart/binary bodies are never previewed.
+ */
+public final class NetworkLogging {
+    static final String TAG = "Http";
+
+    public static final int DEFAULT_BODY_SAMPLE_EVERY = 5;
+    public static final int DEFAULT_PREVIEW_BYTES = 2048;
+
+    /**
+     * Receives log lines. The default writes to Logcat.
+     */
+    public interface Sink {
+        void log(String line);
+    }
+
+    static final Sink LOGCAT = line -> Log.d(TAG, line);
+
+    private final boolean headers;
+    private final int bodySampleEvery;
+    private final int previewBytes;
+    private final boolean timing;
+    private final Sink sink;
+
+    private NetworkLogging(boolean headers, int bodySampleEvery, int previewBytes, boolean timing, Sink sink) {
+        this.headers = headers;
+        this.bodySampleEvery = bodySampleEvery;
+        this.previewBytes = previewBytes;
+        this.timing = timing;
+        this.sink = sink;
+    }
+
+    /**
+     * Nothing logged, nothing timed.
+     */
+    public static NetworkLogging disabled() {
+        return new NetworkLogging(false, 0, 0, false, LOGCAT);
+    }
+
+    /**
+     * Request/response lines and headers plus call timings, no bodies.
+     */
+    public static NetworkLogging headersOnly() {
+        return new NetworkLogging(true, 0, 0, true, LOGCAT);
+    }
+
+    /**
+     * Headers and timings, plus a preview of at most previewBytes of the bodies of one call in
+     * every bodySampleEvery (1 = every call).
+     */
+    public static NetworkLogging sampledBodies(int bodySampleEvery, int previewBytes) {
+        return new NetworkLogging(true, bodySampleEvery, previewBytes, true, LOGCAT);
+    }
+
+    /**
+     * The default for this build: sampled bodies in debug, disabled in release.
+     */
+    public static NetworkLogging forBuild() {
+        return app.hub.BuildConfig.DEBUG
+                ? sampledBodies(DEFAULT_BODY_SAMPLE_EVERY, DEFAULT_PREVIEW_BYTES)
+                : disabled();
+    }
+
+    /**
+     * Same settings, different destination (e.g. a test).
+     */
+    public NetworkLogging withSink(Sink sink) {
+        return new NetworkLogging(headers, bodySampleEvery, previewBytes, timing, sink);
+    }
+
+    public boolean isEnabled() {
+        return headers || timing;
+    }
+
+    /**
+     * Adds the interceptor and event listener this configuration needs; none when disabled.
+     */
+    public void install(OkHttpClient.Builder builder) {
+        if (headers) {
+            builder.addInterceptor(new NetworkLogInterceptor(bodySampleEvery, previewBytes, sink));
+        }
+        if (timing) {
+            builder.eventListenerFactory(CallTimingListener.factory(sink));
+        }
+    }
+}
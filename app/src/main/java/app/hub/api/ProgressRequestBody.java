@@ -0,0 +1,59 @@
+package app.hub.api;
+
+import java.io.File;
+import java.io.IOException;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.Okio;
+import okio.Source;
+
+/**
+ * A file request body that reports each chunk as it is written to the socket.
+ *
+ * The listener is called on OkHttp's thread. A retried request writes the file again, so
+ * listeners that add up progress should start over when a new attempt begins.
+ */
+public class ProgressRequestBody extends RequestBody {
+    private static final long CHUNK_BYTES = 16 * 1024;
+
+    public interface Listener {
+        void onBytesWritten(long bytes);
+    }
+
+    private final File file;
+    private final MediaType contentType;
+    private final Listener listener;
+
+    public ProgressRequestBody(File file, MediaType contentType, Listener listener) {
+        this.file = file;
+        this.contentType = contentType;
+        this.listener = listener;
+    }
+
+    @Override
+    public MediaType contentType() {
+        return contentType;
+    }
+
+    @Override
+    public long contentLength() {
+        return file.length();
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+        try (Source source = Okio.source(file)) {
+            Buffer buffer = new Buffer();
+            long read;
+            while ((read = source.read(buffer, CHUNK_BYTES)) != -1) {
+                sink.write(buffer, read);
+                // Flushed per chunk so progress follows the network, not the write buffer
+                sink.flush();
+                listener.onBytesWritten(read);
+            }
+        }
+    }
+}
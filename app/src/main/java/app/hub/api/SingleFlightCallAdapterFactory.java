@@ -0,0 +1,244 @@
+package app.hub.api;
+
+import android.util.Log;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import okio.Timeout;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+
+/**
+ * Shares one in-flight request among all callers that enqueue the same GET at the same time.
+ *
+ * Calls are keyed by method, full URL (path and query) and Authorization header, so two accounts
+ * never share a response. The first caller's Call goes to the network; callers that enqueue an
+ * identical Call before it finishes join that flight and get the same result. Once a flight
+ * finishes, the next enqueue starts a new request.
+ *
+ * Only GET is shared - a POST/PUT/DELETE always runs on its own. Successful bodies are handed to
+ * every caller as the same object, so callers must copy lists before changing them.
+ */
+public class SingleFlightCallAdapterFactory extends CallAdapter.Factory {
+    private static final String TAG = "SingleFlight";
+
+    private final Map<String, Flight<?>> flights = new HashMap<>();
+
+    @Override
+    public CallAdapter<?, ?> get(Type returnType, Annotation[] annotations, Retrofit retrofit) {
+        if (getRawType(returnType) != Call.class) {
+            return null;
+        }
+        // Keep the default adapter (main-thread callbacks) underneath
+        @SuppressWarnings("unchecked")
+        CallAdapter<Object, Call<?>> delegate = (CallAdapter<Object, Call<?>>) retrofit.nextCallAdapter(this,
+                returnType, annotations);
+        return new CallAdapter<Object, Call<?>>() {
+            @Override
+            public Type responseType() {
+                return delegate.responseType();
+            }
+
+            @Override
+            public Call<?> adapt(Call<Object> call) {
+                Call<?> adapted = delegate.adapt(call);
+                if (!"GET".equals(call.request().method())) {
+                    return adapted;
+                }
+                return wrap(adapted);
+            }
+        };
+    }
+
+    private <T> Call<T> wrap(Call<T> call) {
+        return new SingleFlightCall<>(call);
+    }
+
+    /**
+     * Number of requests currently shared. For logging and tests.
+     */
+    synchronized int inFlightCount() {
+        return flights.size();
+    }
+
+    static String keyOf(Request request) {
+        String auth = request.header("Authorization");
+        // The header itself, not a hash of it: two tokens must never collide
+        return request.method() + " " + request.url() + "\n" + (auth != null ? auth : "");
+    }
+
+    /**
+     * One network request plus everyone waiting for it.
+     */
+    private static class Flight<T> {
+        final Call<T> call;
+        final List<Waiter<T>> waiters = new ArrayList<>();
+
+        Flight(Call<T> call) {
+            this.call = call;
+        }
+    }
+
+    private static class Waiter<T> {
+        final SingleFlightCall<T> owner;
+        final Callback<T> callback;
+
+        Waiter(SingleFlightCall<T> owner, Callback<T> callback) {
+            this.owner = owner;
+            this.callback = callback;
+        }
+    }
+
+    private final class SingleFlightCall<T> implements Call<T> {
+        private final Call<T> delegate;
+        private final String key;
+        private volatile boolean executed;
+        private volatile boolean canceled;
+
+        SingleFlightCall(Call<T> delegate) {
+            this.delegate = delegate;
+            this.key = keyOf(delegate.request());
+        }
+
+        @Override
+        public void enqueue(Callback<T> callback) {
+            if (executed) {
+                throw new IllegalStateException("Already executed.");
+            }
+            executed = true;
+
+            Flight<T> flight;
+            boolean start = false;
+            synchronized (SingleFlightCallAdapterFactory.this) {
+                @SuppressWarnings("unchecked")
+                Flight<T> existing = (Flight<T>) flights.get(key);
+                if (existing == null) {
+                    existing = new Flight<>(delegate);
+                    flights.put(key, existing);
+                    start = true;
+                } else {
+                    Log.d(TAG, "Joining in-flight request: " + delegate.request().url().encodedPath());
+                }
+                existing.waiters.add(new Waiter<>(this, callback));
+                flight = existing;
+            }
+
+            if (start) {
+                flight.call.enqueue(new Callback<T>() {
+                    @Override
+                    public void onResponse(Call<T> call, Response<T> response) {
+                        List<Waiter<T>> waiters = finish(flight);
+                        byte[] errorBytes = null;
+                        MediaType errorType = null;
+                        if (!response.isSuccessful() && response.errorBody() != null && waiters.size() > 1) {
+                            // An error body can only be read once - buffer it for every waiter
+                            try (ResponseBody errorBody = response.errorBody()) {
+                                errorType = errorBody.contentType();
+                                errorBytes = errorBody.bytes();
+                            } catch (IOException e) {
+                                errorBytes = new byte[0];
+                            }
+                        }
+                        for (Waiter<T> waiter : waiters) {
+                            Response<T> copy = errorBytes == null ? response
+                                    : Response.error(ResponseBody.create(errorBytes, errorType), response.raw());
+                            waiter.callback.onResponse(waiter.owner, copy);
+                        }
+                    }
+
+                    @Override
+                    public void onFailure(Call<T> call, Throwable t) {
+                        for (Waiter<T> waiter : finish(flight)) {
+                            waiter.callback.onFailure(waiter.owner, t);
+                        }
+                    }
+                });
+            }
+        }
+
+        private List<Waiter<T>> finish(Flight<T> flight) {
+            List<Waiter<T>> waiters;
+            synchronized (SingleFlightCallAdapterFactory.this) {
+                if (flights.get(key) == flight) {
+                    flights.remove(key);
+                }
+                waiters = new ArrayList<>(flight.waiters);
+                flight.waiters.clear();
+            }
+            // Callers that cancelled don't hear back, same as a plain Retrofit call
+            List<Waiter<T>> live = new ArrayList<>();
+            for (Waiter<T> waiter : waiters) {
+                if (!waiter.owner.canceled) {
+                    live.add(waiter);
+                }
+            }
+            return live;
+        }
+
+        @Override
+        public Response<T> execute() throws IOException {
+            // Synchronous calls already block their own thread; don't share them
+            executed = true;
+            return delegate.execute();
+        }
+
+        @Override
+        public boolean isExecuted() {
+            return executed;
+        }
+
+        @Override
+        public void cancel() {
+            canceled = true;
+            Flight<?> toCancel = null;
+            synchronized (SingleFlightCallAdapterFactory.this) {
+                Flight<?> flight = flights.get(key);
+                if (flight == null) {
+                    delegate.cancel();
+                    return;
+                }
+                flight.waiters.removeIf(waiter -> waiter.owner == this);
+                if (flight.waiters.isEmpty()) {
+                    // Nobody is left waiting - stop the network request
+                    flights.remove(key);
+                    toCancel = flight;
+                }
+            }
+            if (toCancel != null) {
+                toCancel.call.cancel();
+            }
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return canceled;
+        }
+
+        @Override
+        public Call<T> clone() {
+            return new SingleFlightCall<>(delegate.clone());
+        }
+
+        @Override
+        public Request request() {
+            return delegate.request();
+        }
+
+        @Override
+        public Timeout timeout() {
+            return delegate.timeout();
+        }
+    }
+}
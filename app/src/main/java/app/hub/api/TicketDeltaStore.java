@@ -0,0 +1,259 @@
+package app.hub.api;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Indexed local copy of a ticket list, kept up to date with incremental (delta) responses.
+ *
+ * Tickets are keyed by ticket_id (falling back to the numeric id), and the store remembers the
+ * newest updated_at it has seen as a high-water mark. The next request only asks for tickets
+ * changed since that mark; removed tickets arrive as tombstones in deleted_ticket_ids.
+ */
+public class TicketDeltaStore {
+
+    private static final Pattern TIMESTAMP = Pattern.compile(
+            "(\\d{4})-(\\d{2})-(\\d{2})[T ](\\d{2}):(\\d{2}):(\\d{2})(?:\\.(\\d+))?(?:Z|([+-])(\\d{2}):?(\\d{2}))?");
+
+    private final LinkedHashMap<String, TicketListResponse.TicketItem> tickets = new LinkedHashMap<>();
+    private String highWaterMark = null;
+
+    /**
+     * Result of applying a response: the full merged list plus what actually changed.
+     */
+    public static class MergeResult {
+        private final List<TicketListResponse.TicketItem> tickets;
+        private final List<TicketListResponse.TicketItem> changed;
+        private final Set<String> removedKeys;
+        private final boolean fullSync;
+
+        MergeResult(List<TicketListResponse.TicketItem> tickets, List<TicketListResponse.TicketItem> changed,
+                Set<String> removedKeys, boolean fullSync) {
+            this.tickets = tickets;
+            this.changed = changed;
+            this.removedKeys = removedKeys;
+            this.fullSync = fullSync;
+        }
+
+        public List<TicketListResponse.TicketItem> getTickets() {
+            return tickets;
+        }
+
+        public List<TicketListResponse.TicketItem> getChanged() {
+            return changed;
+        }
+
+        public Set<String> getRemovedKeys() {
+            return removedKeys;
+        }
+
+        public boolean isFullSync() {
+            return fullSync;
+        }
+
+        public boolean hasChanges() {
+            return fullSync || !changed.isEmpty() || !removedKeys.isEmpty();
+        }
+    }
+
+    /**
+     * Replace the whole store with a full list. Tickets that disappeared are reported as removed.
+     */
+    public synchronized MergeResult applyFull(List<TicketListResponse.TicketItem> incoming, String serverTime) {
+        Set<String> removed = new HashSet<>(tickets.keySet());
+        List<TicketListResponse.TicketItem> changed = new ArrayList<>();
+
+        tickets.clear();
+        highWaterMark = null;
+        if (incoming != null) {
+            for (TicketListResponse.TicketItem ticket : incoming) {
+                String key = keyOf(ticket);
+                if (key == null) {
+                    continue;
+                }
+                tickets.put(key, ticket);
+                removed.remove(key);
+                changed.add(ticket);
+                advanceMark(ticket.getUpdatedAt());
+            }
+        }
+        advanceMark(serverTime);
+
+        return new MergeResult(snapshot(), changed, removed, true);
+    }
+
+    /**
+     * Merge changed tickets and drop tombstoned ones. New tickets go to the top of the list,
+     * updated tickets keep their position.
+     */
+    public synchronized MergeResult applyDelta(List<TicketListResponse.TicketItem> incoming,
+            Collection<String> deletedTicketIds, String serverTime) {
+        List<TicketListResponse.TicketItem> changed = new ArrayList<>();
+        Set<String> removed = new HashSet<>();
+        LinkedHashMap<String, TicketListResponse.TicketItem> added = new LinkedHashMap<>();
+
+        if (incoming != null) {
+            for (TicketListResponse.TicketItem ticket : incoming) {
+                String key = keyOf(ticket);
+                if (key == null) {
+                    continue;
+                }
+                if (tickets.containsKey(key)) {
+                    tickets.put(key, ticket);
+                } else {
+                    added.put(key, ticket);
+                }
+                changed.add(ticket);
+                advanceMark(ticket.getUpdatedAt());
+            }
+        }
+
+        if (deletedTicketIds != null) {
+            for (String ticketId : deletedTicketIds) {
+                String key = keyOf(ticketId);
+                if (key == null) {
+                    continue;
+                }
+                boolean existed = tickets.remove(key) != null;
+                boolean justAdded = added.remove(key) != null;
+                if (existed || justAdded) {
+                    removed.add(key);
+                }
+            }
+            // A ticket changed and then deleted within the same delta is only a removal
+            for (int i = changed.size() - 1; i >= 0; i--) {
+                if (removed.contains(keyOf(changed.get(i)))) {
+                    changed.remove(i);
+                }
+            }
+        }
+
+        if (!added.isEmpty()) {
+            added.putAll(tickets);
+            tickets.clear();
+            tickets.putAll(added);
+        }
+        advanceMark(serverTime);
+
+        return new MergeResult(snapshot(), changed, removed, false);
+    }
+
+    /**
+     * Load previously persisted state without reporting it as a change.
+     */
+    public synchronized void seed(List<TicketListResponse.TicketItem> persisted, String persistedMark) {
+        tickets.clear();
+        if (persisted != null) {
+            for (TicketListResponse.TicketItem ticket : persisted) {
+                String key = keyOf(ticket);
+                if (key != null) {
+                    tickets.put(key, ticket);
+                }
+            }
+        }
+        highWaterMark = persistedMark;
+    }
+
+    public synchronized List<TicketListResponse.TicketItem> snapshot() {
+        return new ArrayList<>(tickets.values());
+    }
+
+    public synchronized TicketListResponse.TicketItem get(String ticketId) {
+        String key = keyOf(ticketId);
+        return key != null ? tickets.get(key) : null;
+    }
+
+    public synchronized String getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    public synchronized boolean isEmpty() {
+        return tickets.isEmpty();
+    }
+
+    public synchronized int size() {
+        return tickets.size();
+    }
+
+    public synchronized void clear() {
+        tickets.clear();
+        highWaterMark = null;
+    }
+
+    private void advanceMark(String updatedAt) {
+        if (updatedAt == null || updatedAt.isEmpty()) {
+            return;
+        }
+        if (highWaterMark == null || isAfter(updatedAt, highWaterMark)) {
+            highWaterMark = updatedAt; // Kept as the server wrote it, since it is sent back as-is
+        }
+    }
+
+    /**
+     * Compare as instants: updated_at and server_time need not share a format ("2024-01-05
+     * 10:00:00" vs "2024-01-05T09:00:00.000000Z"), so their text order is not their time order.
+     * Falls back to text order only when either can't be parsed.
+     */
+    static boolean isAfter(String candidate, String mark) {
+        Long candidateMs = parseMillis(candidate);
+        Long markMs = parseMillis(mark);
+        if (candidateMs != null && markMs != null) {
+            return candidateMs > markMs;
+        }
+        return candidate.compareTo(mark) > 0;
+    }
+
+    /**
+     * Epoch millis of "yyyy-MM-dd[T| ]HH:mm:ss[.fraction][Z|+hh:mm|+hhmm]", or null. A timestamp
+     * without a zone is read as UTC, the zone the API writes its plain timestamps in.
+     */
+    static Long parseMillis(String timestamp) {
+        Matcher m = TIMESTAMP.matcher(timestamp.trim());
+        if (!m.matches()) {
+            return null;
+        }
+        Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone("UTC"), Locale.US);
+        calendar.clear();
+        calendar.set(Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2)) - 1, Integer.parseInt(m.group(3)),
+                Integer.parseInt(m.group(4)), Integer.parseInt(m.group(5)), Integer.parseInt(m.group(6)));
+        long millis = calendar.getTimeInMillis();
+
+        String fraction = m.group(7);
+        if (fraction != null) {
+            millis += Integer.parseInt((fraction + "00").substring(0, 3));
+        }
+        String sign = m.group(8);
+        if (sign != null) {
+            int offsetMinutes = Integer.parseInt(m.group(9)) * 60 + Integer.parseInt(m.group(10));
+            millis -= ("-".equals(sign) ? -1 : 1) * offsetMinutes * 60_000L;
+        }
+        return millis;
+    }
+
+    public static String keyOf(TicketListResponse.TicketItem ticket) {
+        if (ticket == null) {
+            return null;
+        }
+        String key = keyOf(ticket.getTicketId());
+        if (key != null) {
+            return key;
+        }
+        return ticket.getId() > 0 ? "id:" + ticket.getId() : null;
+    }
+
+    public static String keyOf(String ticketId) {
+        if (ticketId == null || ticketId.trim().isEmpty()) {
+            return null;
+        }
+        return "ticket_id:" + ticketId;
+    }
+}
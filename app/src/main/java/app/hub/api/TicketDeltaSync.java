@@ -0,0 +1,147 @@
+package app.hub.api;
+
+import android.util.Log;
+
+import java.util.List;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Incremental ticket list sync for one endpoint (customer, manager or technician tickets).
+ *
+ * The first load, and one load every FULL_SYNC_INTERVAL, fetches the full list. Everything in
+ * between sends updated_since=<high-water mark> and merges the delta into a TicketDeltaStore.
+ * A server that ignores updated_since answers without deleted_ticket_ids; that response is
+ * treated as a full list, so the client stays correct against older backends.
+ */
+public class TicketDeltaSync {
+    private static final String TAG = "TicketDeltaSync";
+
+    // Periodic full reload to heal anything a missed tombstone left behind
+    private static final long FULL_SYNC_INTERVAL = 15 * 60 * 1000; // 15 minutes
+
+    public interface RequestFactory {
+        Call<TicketListResponse> create(ApiService apiService, String authToken, String updatedSince);
+    }
+
+    public interface SyncCallback {
+        void onSynced(TicketDeltaStore.MergeResult result);
+
+        void onError(String error);
+    }
+
+    private final RequestFactory requestFactory;
+    private final TicketDeltaStore store = new TicketDeltaStore();
+    private String syncedToken = null;
+    private long lastFullSyncTime = 0;
+
+    public TicketDeltaSync(RequestFactory requestFactory) {
+        this.requestFactory = requestFactory;
+    }
+
+    /**
+     * Fetch changes since the last sync and merge them.
+     *
+     * @param authToken full Authorization header value ("Bearer ...")
+     */
+    public void sync(String authToken, SyncCallback callback) {
+        final String since;
+        synchronized (this) {
+            if (authToken == null || !authToken.equals(syncedToken)) {
+                // Different account: never merge into another user's list
+                store.clear();
+                syncedToken = authToken;
+            }
+            boolean needsFull = store.isEmpty()
+                    || System.currentTimeMillis() - lastFullSyncTime > FULL_SYNC_INTERVAL;
+            since = needsFull ? null : store.getHighWaterMark();
+        }
+
+        Call<TicketListResponse> call = requestFactory.create(ApiClient.getApiService(), authToken, since);
+        call.enqueue(new Callback<TicketListResponse>() {
+            @Override
+            public void onResponse(Call<TicketListResponse> call, Response<TicketListResponse> response) {
+                if (!response.isSuccessful() || response.body() == null) {
+                    if (callback != null) {
+                        callback.onError("API error: " + response.code());
+                    }
+                    return;
+                }
+
+                TicketListResponse body = response.body();
+                if (!body.isSuccess()) {
+                    if (callback != null) {
+                        callback.onError(body.getMessage() != null ? body.getMessage() : "Unknown error");
+                    }
+                    return;
+                }
+
+                TicketDeltaStore.MergeResult result;
+                synchronized (TicketDeltaSync.this) {
+                    if (authToken != null && !authToken.equals(syncedToken)) {
+                        // Account switched while this request was in flight
+                        result = null;
+                    } else if (since == null || body.getDeletedTicketIds() == null) {
+                        result = store.applyFull(body.getTickets(), body.getServerTime());
+                        lastFullSyncTime = System.currentTimeMillis();
+                    } else {
+                        result = store.applyDelta(body.getTickets(), body.getDeletedTicketIds(),
+                                body.getServerTime());
+                    }
+                }
+
+                if (result == null) {
+                    if (callback != null) {
+                        callback.onError("Account changed during sync");
+                    }
+                    return;
+                }
+
+                Log.d(TAG, (result.isFullSync() ? "Full" : "Delta") + " sync: " + result.getChanged().size()
+                        + " changed, " + result.getRemovedKeys().size() + " removed, "
+                        + result.getTickets().size() + " total");
+
+                if (callback != null) {
+                    callback.onSynced(result);
+                }
+            }
+
+            @Override
+            public void onFailure(Call<TicketListResponse> call, Throwable t) {
+                Log.e(TAG, "Ticket sync failed: " + t.getMessage(), t);
+                if (callback != null) {
+                    callback.onError(t.getMessage());
+                }
+            }
+        });
+    }
+
+    /**
+     * Start from a persisted copy, so the first sync after a cold start can already be a delta.
+     */
+    public synchronized void seed(String authToken, List<TicketListResponse.TicketItem> tickets,
+            String highWaterMark, long lastFullSyncTime) {
+        syncedToken = authToken;
+        store.seed(tickets, highWaterMark);
+        this.lastFullSyncTime = lastFullSyncTime;
+    }
+
+    public TicketDeltaStore getStore() {
+        return store;
+    }
+
+    public synchronized long getLastFullSyncTime() {
+        return lastFullSyncTime;
+    }
+
+    /**
+     * Forget everything, so the next sync downloads the full list.
+     */
+    public synchronized void reset() {
+        store.clear();
+        syncedToken = null;
+        lastFullSyncTime = 0;
+    }
+}
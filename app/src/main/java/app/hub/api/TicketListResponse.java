@@ -13,6 +13,20 @@ public class TicketListResponse {
     @SerializedName("message")
     private String message;
 
+    // Delta sync: ticket_ids removed since the requested updated_since mark (null on full lists)
+    @SerializedName("deleted_ticket_ids")
+    private List<String> deletedTicketIds;
+
+    @SerializedName("server_time")
+    private String serverTime;
+
+    // Paged endpoints only: cursor of the next page, absent on the last page
+    @SerializedName("next_cursor")
+    private String nextCursor;
+
+    @SerializedName("has_more")
+    private Boolean hasMore;
+
     public boolean isSuccess() {
         return success;
     }
@@ -37,7 +51,42 @@ public class TicketListResponse {
         this.message = message;
     }
 
-    public static class TicketItem {
+    public List<String> getDeletedTicketIds() {
+        return deletedTicketIds;
+    }
+
+    public void setDeletedTicketIds(List<String> deletedTicketIds) {
+        this.deletedTicketIds = deletedTicketIds;
+    }
+
+    public String getServerTime() {
+        return serverTime;
+    }
+
+    public void setServerTime(String serverTime) {
+        this.serverTime = serverTime;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public void setHasMore(Boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    /**
+     * Whether another page follows. A server without paging sends neither field: one page.
+     */
+    public boolean hasMore() {
+        return nextCursor != null && !nextCursor.isEmpty() && (hasMore == null || hasMore);
+    }
+
+    public static class TicketItem implements Cloneable {
         @SerializedName("id")
         private int id;
 
@@ -80,6 +129,9 @@ public class TicketListResponse {
         @SerializedName("assigned_staff_phone")
         private String assignedStaffPhone;
 
+        @SerializedName("assigned_staff_photo")
+        private String assignedStaffPhoto;
+
         @SerializedName("branch")
         private String branch;
 
@@ -223,6 +275,14 @@ public class TicketListResponse {
             this.assignedStaffPhone = assignedStaffPhone;
         }
 
+        public String getAssignedStaffPhoto() {
+            return assignedStaffPhoto;
+        }
+
+        public void setAssignedStaffPhoto(String assignedStaffPhoto) {
+            this.assignedStaffPhoto = assignedStaffPhoto;
+        }
+
         public String getBranch() {
             return branch;
         }
@@ -302,6 +362,17 @@ public class TicketListResponse {
         public void setAmount(double amount) {
             this.amount = amount;
         }
+
+        /**
+         * A separate item with the same values, to change without touching lists that share this one.
+         */
+        public TicketItem copy() {
+            try {
+                return (TicketItem) super.clone();
+            } catch (CloneNotSupportedException e) {
+                throw new AssertionError(e);
+            }
+        }
     }
 
     /**
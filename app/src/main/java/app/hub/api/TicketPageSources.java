@@ -0,0 +1,50 @@
+package app.hub.api;
+
+import app.hub.common.PageLoader;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * PageLoader sources for the paged ticket endpoints.
+ *
+ * Only the branch history is paged. The customer, manager and technician lists sync deltas into
+ * TicketRepository and are searched on the device, so they keep loading the whole list.
+ *
+ * token is the raw token (without "Bearer "). A server that ignores cursor/limit answers with
+ * the whole list and no next_cursor, which reads as a single last page.
+ */
+public final class TicketPageSources {
+
+    private TicketPageSources() {
+    }
+
+    public static PageLoader.PageSource<BranchTicketsResponse.Ticket> branch(String token, int branchId,
+            String status) {
+        return (cursor, pageSize, callback) -> ApiClient.getApiService()
+                .getBranchTicketsPage("Bearer " + token, branchId, status, cursor, pageSize)
+                .enqueue(new Callback<BranchTicketsResponse>() {
+                    @Override
+                    public void onResponse(Call<BranchTicketsResponse> call, Response<BranchTicketsResponse> response) {
+                        BranchTicketsResponse body = response.body();
+                        if (!response.isSuccessful() || body == null || !body.isSuccess()) {
+                            callback.onError(errorMessage(response, body != null ? body.getMessage() : null));
+                            return;
+                        }
+                        callback.onPage(body.getTickets(), body.hasMore() ? body.getNextCursor() : null);
+                    }
+
+                    @Override
+                    public void onFailure(Call<BranchTicketsResponse> call, Throwable t) {
+                        callback.onError("Network error: " + t.getMessage());
+                    }
+                });
+    }
+
+    private static String errorMessage(Response<?> response, String message) {
+        if (message != null && !message.isEmpty()) {
+            return message;
+        }
+        return "Failed to load tickets (" + response.code() + ")";
+    }
+}
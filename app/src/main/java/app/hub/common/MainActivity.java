@@ -75,10 +75,14 @@ public class MainActivity extends AppCompatActivity {
         locationHelper = new LocationHelper(this);
         googleSignInHelper = new GoogleSignInHelper(this);
 
-        // Keep the splash screen visible for this Activity
-        splashScreen.setKeepOnScreenCondition(() -> {
-            checkLoginStatus();
-            return false;
+        // Keep the splash screen up while startup warms the dashboard's data, up to its deadline
+        StartupOrchestrator startup = StartupOrchestrator.get(this);
+        startup.start();
+        splashScreen.setKeepOnScreenCondition(() -> !startup.isSettled());
+        startup.whenSettled(() -> {
+            if (!isFinishing() && !isDestroyed()) {
+                checkLoginStatus();
+            }
         });
 
         // setupPasswordToggle(); // Handled by TextInputLayout in XML
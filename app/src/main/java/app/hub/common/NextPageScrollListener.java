@@ -0,0 +1,27 @@
+package app.hub.common;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Tells a PageLoader how far down a LinearLayoutManager list the user has scrolled.
+ */
+public class NextPageScrollListener extends RecyclerView.OnScrollListener {
+    private final PageLoader<?> loader;
+
+    public NextPageScrollListener(PageLoader<?> loader) {
+        this.loader = loader;
+    }
+
+    @Override
+    public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+        if (dy <= 0) {
+            return;
+        }
+        RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+        if (layoutManager instanceof LinearLayoutManager) {
+            loader.onScrolled(((LinearLayoutManager) layoutManager).findLastVisibleItemPosition());
+        }
+    }
+}
@@ -0,0 +1,356 @@
+package app.hub.common;
+
+import android.util.Log;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Loads a list one page at a time, Paging-library style, without the dependency.
+ *
+ * A PageSource fetches the page after a cursor (null for the first one). refresh() loads the
+ * first page; onScrolled() loads the next one once the user is within prefetchDistance rows of
+ * the end. One page is in flight at a time, and pages that belong to a list that was refreshed
+ * meanwhile are dropped. A failed page is retried on the next scroll or retry().
+ *
+ * All calls are expected on the main thread, and sources must call back on it.
+ */
+public class PageLoader<T> {
+    private static final String TAG = "PageLoader";
+
+    public static final int DEFAULT_PAGE_SIZE = 30;
+    public static final int DEFAULT_PREFETCH_DISTANCE = 10;
+
+    /**
+     * Fetches one page.
+     */
+    public interface PageSource<T> {
+        void load(String cursor, int pageSize, PageCallback<T> callback);
+    }
+
+    public interface PageCallback<T> {
+        /**
+         * @param nextCursor null when this was the last page
+         */
+        void onPage(List<T> items, String nextCursor);
+
+        void onError(String message);
+
+        /**
+         * Optional early look at the page while the rest of it is still loading; onPage follows
+         * with the whole page. PageLoader shows partial first pages and ignores the rest.
+         */
+        default void onPartial(List<T> items) {
+        }
+    }
+
+    public interface Listener<T> {
+        /**
+         * A page arrived. first=true means the list was replaced, otherwise the page was appended
+         * at position start.
+         */
+        void onPageLoaded(List<T> page, int start, boolean first);
+
+        void onLoadFailed(String message, boolean first);
+    }
+
+    private final PageSource<T> source;
+    private final int pageSize;
+    private final int prefetchDistance;
+    private final Listener<T> listener;
+
+    private final List<T> items = new ArrayList<>();
+    private String nextCursor = null;
+    private boolean endReached = true;
+    private boolean loading = false;
+    private boolean failed = false;
+    private boolean firstPageLoaded = false;
+    private int generation = 0;
+
+    public PageLoader(PageSource<T> source, Listener<T> listener) {
+        this(source, DEFAULT_PAGE_SIZE, DEFAULT_PREFETCH_DISTANCE, listener);
+    }
+
+    public PageLoader(PageSource<T> source, int pageSize, int prefetchDistance, Listener<T> listener) {
+        this.source = source;
+        this.pageSize = pageSize;
+        this.prefetchDistance = prefetchDistance;
+        this.listener = listener;
+    }
+
+    /**
+     * Start over from the first page. The current items stay until it arrives.
+     */
+    public void refresh() {
+        generation++;
+        nextCursor = null;
+        endReached = false;
+        loading = false;
+        failed = false;
+        firstPageLoaded = false;
+        load(true);
+    }
+
+    /**
+     * The last visible row changed; loads the next page when it's close to the end.
+     */
+    public void onScrolled(int lastVisiblePosition) {
+        if (lastVisiblePosition >= items.size() - 1 - prefetchDistance) {
+            loadNext();
+        }
+    }
+
+    public void retry() {
+        if (failed) {
+            loadNext();
+        }
+    }
+
+    public List<T> getItems() {
+        return Collections.unmodifiableList(items);
+    }
+
+    public boolean isLoading() {
+        return loading;
+    }
+
+    public boolean isEndReached() {
+        return endReached;
+    }
+
+    private void loadNext() {
+        if (loading || endReached) {
+            return;
+        }
+        load(!firstPageLoaded);
+    }
+
+    private void load(boolean first) {
+        loading = true;
+        failed = false;
+        int requestGeneration = generation;
+        String cursor = first ? null : nextCursor;
+
+        source.load(cursor, pageSize, new PageCallback<T>() {
+            @Override
+            public void onPage(List<T> page, String next) {
+                if (requestGeneration != generation) {
+                    return;
+                }
+                loading = false;
+                if (first) {
+                    items.clear();
+                    firstPageLoaded = true;
+                }
+                int start = items.size();
+                List<T> loaded = page != null ? page : Collections.<T>emptyList();
+                items.addAll(loaded);
+                nextCursor = next;
+                endReached = next == null || next.isEmpty();
+                Log.d(TAG, "Loaded " + loaded.size() + " items (" + items.size() + " total"
+                        + (endReached ? ", end" : "") + ")");
+                listener.onPageLoaded(loaded, start, first);
+            }
+
+            @Override
+            public void onPartial(List<T> page) {
+                if (requestGeneration != generation || !first || page == null) {
+                    return;
+                }
+                items.clear();
+                items.addAll(page);
+                listener.onPageLoaded(page, 0, true);
+            }
+
+            @Override
+            public void onError(String message) {
+                if (requestGeneration != generation) {
+                    return;
+                }
+                loading = false;
+                failed = true;
+                Log.w(TAG, "Page load failed: " + message);
+                listener.onLoadFailed(message, first);
+            }
+        });
+    }
+
+    /**
+     * One source after another, e.g. completed tickets then cancelled ones. The combined cursor
+     * is "index:cursor" of the source being read.
+     */
+    @SafeVarargs
+    public static <T> PageSource<T> concat(PageSource<T>... sources) {
+        return (cursor, pageSize, callback) -> {
+            int index = 0;
+            String inner = null;
+            if (cursor != null) {
+                int colon = cursor.indexOf(':');
+                index = Integer.parseInt(cursor.substring(0, colon));
+                inner = colon + 1 < cursor.length() ? cursor.substring(colon + 1) : null;
+            }
+            loadFrom(sources, index, inner, pageSize, callback);
+        };
+    }
+
+    private static <T> void loadFrom(PageSource<T>[] sources, int index, String cursor, int pageSize,
+            PageCallback<T> callback) {
+        sources[index].load(cursor, pageSize, new PageCallback<T>() {
+            @Override
+            public void onPage(List<T> items, String next) {
+                if (next != null && !next.isEmpty()) {
+                    callback.onPage(items, index + ":" + next);
+                } else if (index + 1 >= sources.length) {
+                    callback.onPage(items, null);
+                } else if (items == null || items.isEmpty()) {
+                    // Nothing to show from this source; don't wait for a scroll that can't happen
+                    loadFrom(sources, index + 1, null, pageSize, callback);
+                } else {
+                    callback.onPage(items, (index + 1) + ":");
+                }
+            }
+
+            @Override
+            public void onError(String message) {
+                callback.onError(message);
+            }
+
+            @Override
+            public void onPartial(List<T> items) {
+                callback.onPartial(items);
+            }
+        });
+    }
+
+    /**
+     * Several sources read side by side and merged into one list in the given order, e.g.
+     * completed and cancelled tickets by date. Each source must return its items in that order.
+     *
+     * Every round loads the next page of all sources that are running low at the same time
+     * (see ParallelFetch), and only emits items that can't be preceded by anything still
+     * unloaded. The first page is reported partially as soon as any source answers. A failed
+     * source fails the round; retrying reloads only what is still missing.
+     */
+    @SafeVarargs
+    public static <T> PageSource<T> merge(Comparator<? super T> order, PageSource<T>... sources) {
+        return new MergedSource<>(order, Arrays.asList(sources), new ParallelFetch<>());
+    }
+
+    static final class MergedSource<T> implements PageSource<T> {
+        private final Comparator<? super T> order;
+        private final List<PageSource<T>> sources;
+        private final ParallelFetch<T> fetch;
+
+        private final List<ArrayDeque<T>> buffers = new ArrayList<>();
+        private final String[] cursors;
+        private final boolean[] exhausted;
+        private int round = 0;
+
+        MergedSource(Comparator<? super T> order, List<PageSource<T>> sources, ParallelFetch<T> fetch) {
+            this.order = order;
+            this.sources = sources;
+            this.fetch = fetch;
+            this.cursors = new String[sources.size()];
+            this.exhausted = new boolean[sources.size()];
+            for (int i = 0; i < sources.size(); i++) {
+                buffers.add(new ArrayDeque<>());
+            }
+        }
+
+        @Override
+        public void load(String cursor, int pageSize, PageCallback<T> callback) {
+            boolean first = cursor == null;
+            if (first) {
+                // A new list: forget what the previous one had loaded
+                round++;
+                for (int i = 0; i < sources.size(); i++) {
+                    buffers.get(i).clear();
+                    cursors[i] = null;
+                    exhausted[i] = false;
+                }
+            }
+            int loadRound = round;
+
+            List<Integer> needed = new ArrayList<>();
+            List<PageSource<T>> needSources = new ArrayList<>();
+            List<String> needCursors = new ArrayList<>();
+            for (int i = 0; i < sources.size(); i++) {
+                if (!exhausted[i] && buffers.get(i).size() < pageSize) {
+                    needed.add(i);
+                    needSources.add(sources.get(i));
+                    needCursors.add(cursors[i]);
+                }
+            }
+            if (needed.isEmpty()) {
+                emit(pageSize, callback);
+                return;
+            }
+
+            fetch.start(needSources, needCursors, pageSize, order, new ParallelFetch.Listener<T>() {
+                @Override
+                public void onPartial(List<T> merged, int pending) {
+                    if (first && loadRound == round) {
+                        callback.onPartial(merged.size() > pageSize ? merged.subList(0, pageSize) : merged);
+                    }
+                }
+
+                @Override
+                public void onComplete(List<T> merged, List<List<T>> pages, List<String> nextCursors,
+                        List<String> errors) {
+                    if (loadRound != round) {
+                        return;
+                    }
+                    String error = null;
+                    for (int n = 0; n < needed.size(); n++) {
+                        int i = needed.get(n);
+                        if (errors.get(n) != null) {
+                            error = errors.get(n);
+                            continue;
+                        }
+                        buffers.get(i).addAll(pages.get(n));
+                        cursors[i] = nextCursors.get(n);
+                        exhausted[i] = cursors[i] == null || cursors[i].isEmpty();
+                    }
+                    if (error != null) {
+                        callback.onError(error);
+                    } else {
+                        emit(pageSize, callback);
+                    }
+                }
+            });
+        }
+
+        private void emit(int pageSize, PageCallback<T> callback) {
+            List<T> page = new ArrayList<>(pageSize);
+            while (page.size() < pageSize) {
+                int next = -1;
+                boolean blocked = false;
+                for (int i = 0; i < sources.size(); i++) {
+                    T head = buffers.get(i).peekFirst();
+                    if (head == null) {
+                        // An unloaded item of a running source could still come first
+                        blocked |= !exhausted[i];
+                        continue;
+                    }
+                    if (next < 0 || order.compare(head, buffers.get(next).peekFirst()) < 0) {
+                        next = i;
+                    }
+                }
+                if (blocked || next < 0) {
+                    break;
+                }
+                page.add(buffers.get(next).pollFirst());
+            }
+
+            boolean done = true;
+            for (int i = 0; i < sources.size(); i++) {
+                done &= exhausted[i] && buffers.get(i).isEmpty();
+            }
+            callback.onPage(page, done ? null : "merge:" + round);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package app.hub.common;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Loads one page from each of several sources at the same time and merges them in order.
+ *
+ * All loads start together, so the wait is the slowest source rather than the sum of them.
+ * Each page is sorted and merged into the results so far on a background thread, and the merged
+ * list is reported after every arrival (onPartial) and once all sources have answered
+ * (onComplete). start() again or cancel() drops whatever is still on its way.
+ *
+ * Call from the main thread; sources must call back on it, and the listener is called on it.
+ */
+public class ParallelFetch<T> {
+
+    public interface Listener<T> {
+        /**
+         * Some sources have answered. merged holds their items so far, in order.
+         */
+        void onPartial(List<T> merged, int pending);
+
+        /**
+         * Every source answered. pages.get(i) is source i's page, sorted (empty if it failed);
+         * nextCursors.get(i) is its next cursor (null if it has no more or failed);
+         * errors.get(i) is its error message, or null.
+         */
+        void onComplete(List<T> merged, List<List<T>> pages, List<String> nextCursors, List<String> errors);
+    }
+
+    private static final Executor SHARED_WORKER = Executors.newSingleThreadExecutor();
+
+    // Runs one task at a time, so the round state below is only touched from it
+    private final Executor worker;
+    private final Executor mainThread;
+
+    private volatile int generation = 0;
+
+    public ParallelFetch() {
+        this(SHARED_WORKER, new Executor() {
+            private final Handler handler = new Handler(Looper.getMainLooper());
+
+            @Override
+            public void execute(Runnable command) {
+                handler.post(command);
+            }
+        });
+    }
+
+    ParallelFetch(Executor worker, Executor mainThread) {
+        this.worker = worker;
+        this.mainThread = mainThread;
+    }
+
+    /**
+     * Load the page after cursors.get(i) from every sources.get(i).
+     */
+    public void start(List<PageLoader.PageSource<T>> sources, List<String> cursors, int pageSize,
+            Comparator<? super T> order, Listener<T> listener) {
+        int round = ++generation;
+        int count = sources.size();
+        Round<T> state = new Round<>(count);
+
+        if (count == 0) {
+            listener.onComplete(Collections.emptyList(), state.pages, state.nextCursors, state.errors);
+            return;
+        }
+
+        for (int i = 0; i < count; i++) {
+            int index = i;
+            sources.get(i).load(cursors.get(i), pageSize, new PageLoader.PageCallback<T>() {
+                @Override
+                public void onPage(List<T> items, String nextCursor) {
+                    List<T> page = new ArrayList<>(items != null ? items.size() : 0);
+                    if (items != null) {
+                        for (T item : items) {
+                            if (item != null) {
+                                page.add(item);
+                            }
+                        }
+                    }
+                    worker.execute(() -> {
+                        Collections.sort(page, order);
+                        arrived(state, index, page, nextCursor, null, order, round, listener);
+                    });
+                }
+
+                @Override
+                public void onError(String message) {
+                    worker.execute(() -> arrived(state, index, new ArrayList<>(), null,
+                            message != null ? message : "Failed", order, round, listener));
+                }
+            });
+        }
+    }
+
+    /**
+     * Stop reporting the current round.
+     */
+    public void cancel() {
+        generation++;
+    }
+
+    // Worker thread
+    private void arrived(Round<T> state, int index, List<T> page, String nextCursor, String error,
+            Comparator<? super T> order, int round, Listener<T> listener) {
+        if (round != generation || state.answered[index]) {
+            return;
+        }
+        state.answered[index] = true;
+        state.pending--;
+        state.pages.set(index, page);
+        state.nextCursors.set(index, nextCursor);
+        state.errors.set(index, error);
+        state.merged = merge(state.merged, page, order);
+
+        List<T> merged = state.merged;
+        int pending = state.pending;
+        if (pending > 0) {
+            mainThread.execute(() -> {
+                if (round == generation) {
+                    listener.onPartial(merged, pending);
+                }
+            });
+        } else {
+            List<List<T>> pages = Collections.unmodifiableList(state.pages);
+            List<String> nextCursors = Collections.unmodifiableList(state.nextCursors);
+            List<String> errors = Collections.unmodifiableList(state.errors);
+            mainThread.execute(() -> {
+                if (round == generation) {
+                    listener.onComplete(merged, pages, nextCursors, errors);
+                }
+            });
+        }
+    }
+
+    /**
+     * Merge of two sorted lists; ties keep a's items first.
+     */
+    static <T> List<T> merge(List<T> a, List<T> b, Comparator<? super T> order) {
+        List<T> merged = new ArrayList<>(a.size() + b.size());
+        int i = 0;
+        int j = 0;
+        while (i < a.size() && j < b.size()) {
+            if (order.compare(b.get(j), a.get(i)) < 0) {
+                merged.add(b.get(j++));
+            } else {
+                merged.add(a.get(i++));
+            }
+        }
+        merged.addAll(a.subList(i, a.size()));
+        merged.addAll(b.subList(j, b.size()));
+        return Collections.unmodifiableList(merged);
+    }
+
+    private static final class Round<T> {
+        final boolean[] answered;
+        final List<List<T>> pages;
+        final List<String> nextCursors;
+        final List<String> errors;
+        List<T> merged = Collections.emptyList();
+        int pending;
+
+        Round(int count) {
+            answered = new boolean[count];
+            pages = new ArrayList<>(Collections.nCopies(count, Collections.<T>emptyList()));
+            nextCursors = new ArrayList<>(Collections.nCopies(count, (String) null));
+            errors = new ArrayList<>(Collections.nCopies(count, (String) null));
+            pending = count;
+        }
+    }
+}
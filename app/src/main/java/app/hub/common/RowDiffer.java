@@ -0,0 +1,129 @@
+package app.hub.common;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.AdapterListUpdateCallback;
+import androidx.recyclerview.widget.AsyncDifferConfig;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * AsyncListDiffer for adapters whose items are mutable API models.
+ *
+ * Tickets are updated in place (delta merges, Firestore patches), so diffing the objects
+ * themselves would compare an item with itself. Each submitted item is therefore captured as a
+ * Row - key, status and a hash of the other displayed fields - on the calling thread, and the
+ * rows are diffed on a background thread.
+ *
+ * A row whose only change is its status is rebound with PAYLOAD_STATUS, so the adapter can
+ * update just the status chip instead of the whole row.
+ */
+public class RowDiffer<T> {
+    public static final Object PAYLOAD_STATUS = "status";
+
+    /**
+     * What identifies an item and what its row shows.
+     */
+    public interface RowKeys<T> {
+        /**
+         * Stable identity, e.g. ticket id. Null falls back to object identity.
+         */
+        String keyOf(T item);
+
+        String statusOf(T item);
+
+        /**
+         * Hash of every displayed field except the status.
+         */
+        int contentOf(T item);
+    }
+
+    static final class Row<T> {
+        final T item;
+        final String key;
+        final String status;
+        final int content;
+
+        Row(T item, RowKeys<T> keys) {
+            this.item = item;
+            String itemKey = keys.keyOf(item);
+            this.key = itemKey != null ? itemKey : "@" + System.identityHashCode(item);
+            this.status = keys.statusOf(item);
+            this.content = keys.contentOf(item);
+        }
+    }
+
+    private static final DiffUtil.ItemCallback<Row<?>> ROW_CALLBACK = new DiffUtil.ItemCallback<Row<?>>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Row<?> oldRow, @NonNull Row<?> newRow) {
+            return oldRow.key.equals(newRow.key);
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Row<?> oldRow, @NonNull Row<?> newRow) {
+            return oldRow.content == newRow.content && Objects.equals(oldRow.status, newRow.status);
+        }
+
+        @Nullable
+        @Override
+        public Object getChangePayload(@NonNull Row<?> oldRow, @NonNull Row<?> newRow) {
+            return oldRow.content == newRow.content ? PAYLOAD_STATUS : null;
+        }
+    };
+
+    private final RowKeys<T> keys;
+    private final AsyncListDiffer<Row<?>> differ;
+
+    public RowDiffer(RecyclerView.Adapter<?> adapter, RowKeys<T> keys) {
+        this.keys = keys;
+        this.differ = new AsyncListDiffer<>(new AdapterListUpdateCallback(adapter),
+                new AsyncDifferConfig.Builder<>(ROW_CALLBACK).build());
+    }
+
+    public void submitList(List<T> items) {
+        submitList(items, null);
+    }
+
+    /**
+     * Diff against the current list off the main thread, then apply. Call on the main thread.
+     *
+     * @param onCommitted runs once the list is displayed (may be null)
+     */
+    public void submitList(List<T> items, Runnable onCommitted) {
+        List<Row<?>> rows = new ArrayList<>(items != null ? items.size() : 0);
+        if (items != null) {
+            for (T item : items) {
+                if (item != null) {
+                    rows.add(new Row<>(item, keys));
+                }
+            }
+        }
+        differ.submitList(rows, onCommitted);
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int position) {
+        return (T) differ.getCurrentList().get(position).item;
+    }
+
+    public int size() {
+        return differ.getCurrentList().size();
+    }
+
+    /**
+     * The displayed items, in order.
+     */
+    public List<T> getItems() {
+        List<T> items = new ArrayList<>(size());
+        for (int i = 0; i < size(); i++) {
+            items.add(get(i));
+        }
+        return Collections.unmodifiableList(items);
+    }
+}
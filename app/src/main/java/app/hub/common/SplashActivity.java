@@ -2,8 +2,6 @@ package app.hub.common;
 
 import android.content.Intent;
 import android.os.Bundle;
-import android.os.Handler;
-import android.os.Looper;
 import androidx.appcompat.app.AppCompatActivity;
 import app.hub.IntroActivity;
 import app.hub.R;
@@ -11,15 +9,17 @@ import app.hub.onboarding.OnboardingPreferences;
 
 public class SplashActivity extends AppCompatActivity {
 
-    private static final int SPLASH_DELAY = 2000; // 2 seconds
+    private boolean navigated = false;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_splash);
 
-        // Use a Handler to delay the transition to the next screen
-        new Handler(Looper.getMainLooper()).postDelayed(this::navigateToNextScreen, SPLASH_DELAY);
+        // Move on as soon as startup has read the saved state and warmed the first screen's data
+        StartupOrchestrator startup = StartupOrchestrator.get(this);
+        startup.start();
+        startup.whenSettled(this::navigateToNextScreen);
     }
 
     /**
@@ -32,6 +32,10 @@ public class SplashActivity extends AppCompatActivity {
      * Requirements: 1.1, 6.2, 6.3
      */
     private void navigateToNextScreen() {
+        if (navigated || isFinishing() || isDestroyed()) {
+            return;
+        }
+        navigated = true;
         OnboardingPreferences prefs = new OnboardingPreferences(this);
         
         Intent intent;
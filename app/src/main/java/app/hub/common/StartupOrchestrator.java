@@ -0,0 +1,229 @@
+package app.hub.common;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import app.hub.admin.AdminDataManager;
+import app.hub.api.AdminSnapshotResponse;
+import app.hub.api.ApiClient;
+import app.hub.api.DashboardStatsResponse;
+import app.hub.api.EmployeeResponse;
+import app.hub.api.TicketDeltaStore;
+import app.hub.api.TicketListResponse;
+import app.hub.employee.EmployeeDataManager;
+import app.hub.manager.ManagerDataManager;
+import app.hub.onboarding.OnboardingPreferences;
+import app.hub.util.StartupTrace;
+import app.hub.util.TokenManager;
+
+/**
+ * Uses the splash screen to get the first dashboard's data on its way.
+ *
+ * start() reads the saved login and onboarding flag off the main thread, builds the HTTP client
+ * and, for a signed-in user, starts the same load the role's home screen makes. The home screen
+ * then joins the running request or finds the result cached. The splash is settled - and may move
+ * on - once that load finishes or DEADLINE_MS has passed, whichever is first. One per process.
+ */
+public final class StartupOrchestrator {
+    private static final String TAG = "StartupOrchestrator";
+    static final long DEADLINE_MS = 1200;
+
+    public static final class State {
+        public final boolean onboardingComplete;
+        public final boolean loggedIn;
+        public final String role;
+
+        State(boolean onboardingComplete, boolean loggedIn, String role) {
+            this.onboardingComplete = onboardingComplete;
+            this.loggedIn = loggedIn;
+            this.role = role;
+        }
+    }
+
+    private static StartupOrchestrator instance;
+
+    private final Context context;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final List<Runnable> waiting = new ArrayList<>();
+
+    // Main thread only
+    private boolean started = false;
+    private boolean settled = false;
+    private State state = null;
+
+    private StartupOrchestrator(Context context) {
+        this.context = context.getApplicationContext();
+    }
+
+    public static synchronized StartupOrchestrator get(Context context) {
+        if (instance == null) {
+            instance = new StartupOrchestrator(context);
+        }
+        return instance;
+    }
+
+    /**
+     * Begin startup work. Later calls do nothing. Main thread.
+     */
+    public void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+        StartupTrace.mark("startup_begin");
+        mainHandler.postDelayed(() -> settle("deadline"), DEADLINE_MS);
+
+        new Thread(() -> {
+            // The first read of each preferences file waits on disk
+            boolean onboardingComplete = new OnboardingPreferences(context).isOnboardingComplete();
+            TokenManager tokenManager = new TokenManager(context);
+            boolean loggedIn = tokenManager.isLoggedIn();
+            String role = loggedIn ? normalizeRole(tokenManager.getRole()) : null;
+
+            // Builds OkHttp, Gson and the Retrofit proxy here rather than on the first screen
+            ApiClient.getApiService();
+
+            State read = new State(onboardingComplete, loggedIn, role);
+            mainHandler.post(() -> {
+                state = read;
+                StartupTrace.setRole(role);
+                if (!loggedIn) {
+                    settle("signed out");
+                } else {
+                    prefetch(role, tokenManager);
+                }
+            });
+        }, "startup").start();
+    }
+
+    /**
+     * What start() read from preferences, or null while it is still reading.
+     */
+    public State getState() {
+        return state;
+    }
+
+    public boolean isSettled() {
+        return settled;
+    }
+
+    /**
+     * Run once startup has settled; right away if it already has. Main thread.
+     */
+    public void whenSettled(Runnable action) {
+        if (settled) {
+            action.run();
+        } else {
+            waiting.add(action);
+        }
+    }
+
+    /**
+     * Role names as MainActivity routes them: missing means customer, "employee" means technician.
+     */
+    static String normalizeRole(String role) {
+        if (role == null) {
+            return "customer";
+        }
+        String lower = role.toLowerCase(Locale.US);
+        return "employee".equals(lower) ? "technician" : lower;
+    }
+
+    private void prefetch(String role, TokenManager tokenManager) {
+        Log.d(TAG, "Prefetching for " + role);
+        switch (role) {
+            case "admin" -> AdminDataManager.loadSnapshot(context, false,
+                    new AdminDataManager.DataCallback<AdminSnapshotResponse>() {
+                        @Override
+                        public void onSuccess(AdminSnapshotResponse data) {
+                            settle("admin snapshot");
+                        }
+
+                        @Override
+                        public void onError(String error) {
+                            settle("admin snapshot failed");
+                        }
+                    });
+            case "manager" -> ManagerDataManager.loadAllData(context, new ManagerDataManager.DataLoadCallback() {
+                @Override
+                public void onEmployeesLoaded(String branchName, List<EmployeeResponse.Employee> employees) {
+                }
+
+                @Override
+                public void onTicketsLoaded(List<TicketListResponse.TicketItem> tickets) {
+                }
+
+                @Override
+                public void onDashboardStatsLoaded(DashboardStatsResponse.Stats stats,
+                        List<DashboardStatsResponse.RecentTicket> recentTickets) {
+                }
+
+                @Override
+                public void onLoadComplete() {
+                    settle("manager data");
+                }
+
+                @Override
+                public void onLoadError(String error) {
+                    settle("manager data failed");
+                }
+            });
+            // Tickets persisted by the last session count: they are enough to draw the first rows
+            case "technician" -> EmployeeDataManager.loadTickets(context, false,
+                    new EmployeeDataManager.DataCallback<List<TicketListResponse.TicketItem>>() {
+                        @Override
+                        public void onSuccess(List<TicketListResponse.TicketItem> data) {
+                            settle("technician tickets");
+                        }
+
+                        @Override
+                        public void onError(String error) {
+                            settle("technician tickets failed");
+                        }
+                    });
+            // Into the repository the customer home counts from: the home shows these tickets and
+            // only syncs what changed since, instead of fetching the full list a second time
+            default -> TicketRepository.getInstance(context).load(TicketRepository.Scope.CUSTOMER,
+                    "Bearer " + tokenManager.getToken(), new TicketRepository.Callback() {
+                        @Override
+                        public void onCached(List<TicketListResponse.TicketItem> tickets) {
+                            settle("customer tickets from disk");
+                        }
+
+                        @Override
+                        public void onSynced(TicketDeltaStore.MergeResult result) {
+                            settle("customer tickets");
+                        }
+
+                        @Override
+                        public void onError(String error) {
+                            settle("customer tickets failed");
+                        }
+                    });
+        }
+    }
+
+    private void settle(String reason) {
+        if (Looper.myLooper() != Looper.getMainLooper()) {
+            mainHandler.post(() -> settle(reason));
+            return;
+        }
+        if (settled) {
+            return;
+        }
+        settled = true;
+        StartupTrace.mark("splash_settled");
+        Log.d(TAG, "Startup settled: " + reason);
+        List<Runnable> actions = new ArrayList<>(waiting);
+        waiting.clear();
+        for (Runnable action : actions) {
+            action.run();
+        }
+    }
+}
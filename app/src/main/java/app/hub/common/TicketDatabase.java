@@ -0,0 +1,275 @@
+package app.hub.common;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.util.Log;
+
+import com.google.gson.Gson;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import app.hub.api.TicketDeltaStore;
+import app.hub.api.TicketListResponse;
+
+/**
+ * SQLite storage for ticket lists, so screens can render from disk before the network answers.
+ *
+ * Rows are scoped by list (customer / manager / technician) and account, so one device never shows
+ * another user's tickets. The full TicketItem is kept as JSON; the columns used for filtering are
+ * copied out and indexed.
+ */
+public class TicketDatabase extends SQLiteOpenHelper {
+    private static final String TAG = "TicketDatabase";
+
+    private static final String DATABASE_NAME = "tickets.db";
+    private static final int DATABASE_VERSION = 1;
+
+    static final String TABLE_TICKETS = "tickets";
+    static final String TABLE_SYNC_STATE = "sync_state";
+
+    private static final String COL_SCOPE = "scope";
+    private static final String COL_ACCOUNT = "account";
+    private static final String COL_TICKET_KEY = "ticket_key";
+    private static final String COL_TICKET_ID = "ticket_id";
+    private static final String COL_POSITION = "position";
+    private static final String COL_PAYLOAD = "payload";
+    private static final String COL_HIGH_WATER_MARK = "high_water_mark";
+    private static final String COL_LAST_FULL_SYNC = "last_full_sync";
+
+    /**
+     * Indexed columns that can be filtered on.
+     */
+    public enum Column {
+        STATUS("status"),
+        BRANCH("branch"),
+        ASSIGNED_STAFF("assigned_staff"),
+        CUSTOMER_EMAIL("customer_email"),
+        UPDATED_AT("updated_at");
+
+        final String name;
+
+        Column(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * Persisted delta-sync position for one list.
+     */
+    public static class SyncState {
+        public final String highWaterMark;
+        public final long lastFullSyncTime;
+
+        SyncState(String highWaterMark, long lastFullSyncTime) {
+            this.highWaterMark = highWaterMark;
+            this.lastFullSyncTime = lastFullSyncTime;
+        }
+    }
+
+    private final Gson gson = new Gson();
+
+    public TicketDatabase(Context context) {
+        this(context, DATABASE_NAME);
+    }
+
+    /**
+     * @param name database file name, or null for an in-memory database (tests)
+     */
+    TicketDatabase(Context context, String name) {
+        super(context, name, null, DATABASE_VERSION);
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE_TICKETS + " ("
+                + COL_SCOPE + " TEXT NOT NULL, "
+                + COL_ACCOUNT + " TEXT NOT NULL, "
+                + COL_TICKET_KEY + " TEXT NOT NULL, "
+                + COL_TICKET_ID + " TEXT, "
+                + Column.STATUS.name + " TEXT, "
+                + Column.BRANCH.name + " TEXT, "
+                + Column.ASSIGNED_STAFF.name + " TEXT, "
+                + Column.CUSTOMER_EMAIL.name + " TEXT, "
+                + Column.UPDATED_AT.name + " TEXT, "
+                + COL_POSITION + " INTEGER NOT NULL, "
+                + COL_PAYLOAD + " TEXT NOT NULL, "
+                + "PRIMARY KEY (" + COL_SCOPE + ", " + COL_ACCOUNT + ", " + COL_TICKET_KEY + "))");
+        db.execSQL("CREATE INDEX idx_tickets_status ON " + TABLE_TICKETS
+                + " (" + COL_ACCOUNT + ", " + COL_SCOPE + ", " + Column.STATUS.name + ")");
+        db.execSQL("CREATE INDEX idx_tickets_branch ON " + TABLE_TICKETS + " (" + Column.BRANCH.name + ")");
+        db.execSQL("CREATE INDEX idx_tickets_assigned_staff ON " + TABLE_TICKETS
+                + " (" + Column.ASSIGNED_STAFF.name + ")");
+        db.execSQL("CREATE INDEX idx_tickets_customer_email ON " + TABLE_TICKETS
+                + " (" + Column.CUSTOMER_EMAIL.name + ")");
+        db.execSQL("CREATE INDEX idx_tickets_updated_at ON " + TABLE_TICKETS + " (" + Column.UPDATED_AT.name + ")");
+
+        db.execSQL("CREATE TABLE " + TABLE_SYNC_STATE + " ("
+                + COL_SCOPE + " TEXT NOT NULL, "
+                + COL_ACCOUNT + " TEXT NOT NULL, "
+                + COL_HIGH_WATER_MARK + " TEXT, "
+                + COL_LAST_FULL_SYNC + " INTEGER NOT NULL DEFAULT 0, "
+                + "PRIMARY KEY (" + COL_SCOPE + ", " + COL_ACCOUNT + "))");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        // Pure cache - rebuilding it only costs one full sync
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_TICKETS);
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_SYNC_STATE);
+        onCreate(db);
+    }
+
+    /**
+     * Tickets of one list in display order.
+     */
+    public List<TicketListResponse.TicketItem> loadTickets(String scope, String account) {
+        return query(COL_SCOPE + " = ? AND " + COL_ACCOUNT + " = ?", new String[] { scope, account });
+    }
+
+    /**
+     * Tickets of one list whose indexed column equals value (case-insensitive).
+     */
+    public List<TicketListResponse.TicketItem> loadTicketsWhere(String scope, String account, Column column,
+            String value) {
+        return query(COL_SCOPE + " = ? AND " + COL_ACCOUNT + " = ? AND " + column.name + " = ? COLLATE NOCASE",
+                new String[] { scope, account, value });
+    }
+
+    public SyncState loadSyncState(String scope, String account) {
+        try (Cursor cursor = getReadableDatabase().query(TABLE_SYNC_STATE,
+                new String[] { COL_HIGH_WATER_MARK, COL_LAST_FULL_SYNC },
+                COL_SCOPE + " = ? AND " + COL_ACCOUNT + " = ?", new String[] { scope, account },
+                null, null, null)) {
+            if (cursor.moveToFirst()) {
+                return new SyncState(cursor.getString(0), cursor.getLong(1));
+            }
+        }
+        return new SyncState(null, 0);
+    }
+
+    /**
+     * Write a merge result in one transaction. A full sync replaces the list; a delta upserts the
+     * changed tickets (new ones go to the top, like TicketDeltaStore) and deletes tombstones.
+     */
+    public void applyMerge(String scope, String account, TicketDeltaStore.MergeResult result,
+            String customerEmail, String highWaterMark, long lastFullSyncTime) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            String[] listArgs = new String[] { scope, account };
+            String listWhere = COL_SCOPE + " = ? AND " + COL_ACCOUNT + " = ?";
+
+            if (result.isFullSync()) {
+                db.delete(TABLE_TICKETS, listWhere, listArgs);
+                int position = 0;
+                for (TicketListResponse.TicketItem ticket : result.getTickets()) {
+                    insertTicket(db, scope, account, ticket, customerEmail, position++);
+                }
+            } else {
+                for (String key : result.getRemovedKeys()) {
+                    db.delete(TABLE_TICKETS, listWhere + " AND " + COL_TICKET_KEY + " = ?",
+                            new String[] { scope, account, key });
+                }
+
+                List<TicketListResponse.TicketItem> added = new ArrayList<>();
+                for (TicketListResponse.TicketItem ticket : result.getChanged()) {
+                    String key = TicketDeltaStore.keyOf(ticket);
+                    if (key == null) {
+                        continue;
+                    }
+                    ContentValues values = toValues(ticket, customerEmail);
+                    int updated = db.update(TABLE_TICKETS, values, listWhere + " AND " + COL_TICKET_KEY + " = ?",
+                            new String[] { scope, account, key });
+                    if (updated == 0) {
+                        added.add(ticket);
+                    }
+                }
+
+                // Same order as the in-memory store: first added ticket ends up on top
+                int position = minPosition(db, scope, account) - added.size();
+                for (TicketListResponse.TicketItem ticket : added) {
+                    insertTicket(db, scope, account, ticket, customerEmail, position++);
+                }
+            }
+
+            ContentValues state = new ContentValues();
+            state.put(COL_SCOPE, scope);
+            state.put(COL_ACCOUNT, account);
+            state.put(COL_HIGH_WATER_MARK, highWaterMark);
+            state.put(COL_LAST_FULL_SYNC, lastFullSyncTime);
+            db.insertWithOnConflict(TABLE_SYNC_STATE, null, state, SQLiteDatabase.CONFLICT_REPLACE);
+
+            db.setTransactionSuccessful();
+        } catch (Exception e) {
+            Log.e(TAG, "Failed to persist tickets for " + scope, e);
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Remove everything stored for an account (logout).
+     */
+    public void clearAccount(String account) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.delete(TABLE_TICKETS, COL_ACCOUNT + " = ?", new String[] { account });
+        db.delete(TABLE_SYNC_STATE, COL_ACCOUNT + " = ?", new String[] { account });
+    }
+
+    private List<TicketListResponse.TicketItem> query(String selection, String[] args) {
+        List<TicketListResponse.TicketItem> tickets = new ArrayList<>();
+        try (Cursor cursor = getReadableDatabase().query(TABLE_TICKETS, new String[] { COL_PAYLOAD },
+                selection, args, null, null, COL_POSITION + " ASC")) {
+            while (cursor.moveToNext()) {
+                TicketListResponse.TicketItem ticket = gson.fromJson(cursor.getString(0),
+                        TicketListResponse.TicketItem.class);
+                if (ticket != null) {
+                    tickets.add(ticket);
+                }
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Failed to read tickets", e);
+        }
+        return tickets;
+    }
+
+    private void insertTicket(SQLiteDatabase db, String scope, String account, TicketListResponse.TicketItem ticket,
+            String customerEmail, int position) {
+        String key = TicketDeltaStore.keyOf(ticket);
+        if (key == null) {
+            return;
+        }
+        ContentValues values = toValues(ticket, customerEmail);
+        values.put(COL_SCOPE, scope);
+        values.put(COL_ACCOUNT, account);
+        values.put(COL_TICKET_KEY, key);
+        values.put(COL_POSITION, position);
+        db.insertWithOnConflict(TABLE_TICKETS, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+    }
+
+    private ContentValues toValues(TicketListResponse.TicketItem ticket, String customerEmail) {
+        ContentValues values = new ContentValues();
+        values.put(COL_TICKET_ID, ticket.getTicketId());
+        values.put(Column.STATUS.name, ticket.getStatus());
+        values.put(Column.BRANCH.name, ticket.getBranch());
+        values.put(Column.ASSIGNED_STAFF.name, ticket.getAssignedStaff());
+        values.put(Column.CUSTOMER_EMAIL.name, customerEmail);
+        values.put(Column.UPDATED_AT.name, ticket.getUpdatedAt());
+        values.put(COL_PAYLOAD, gson.toJson(ticket));
+        return values;
+    }
+
+    private int minPosition(SQLiteDatabase db, String scope, String account) {
+        try (Cursor cursor = db.rawQuery("SELECT MIN(" + COL_POSITION + ") FROM " + TABLE_TICKETS
+                + " WHERE " + COL_SCOPE + " = ? AND " + COL_ACCOUNT + " = ?", new String[] { scope, account })) {
+            if (cursor.moveToFirst() && !cursor.isNull(0)) {
+                return cursor.getInt(0);
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,209 @@
+package app.hub.common;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import app.hub.api.TicketDeltaStore;
+import app.hub.api.TicketDeltaSync;
+import app.hub.api.TicketListResponse;
+import app.hub.util.TokenManager;
+
+/**
+ * Offline-first ticket lists shared by the customer, manager and technician screens.
+ *
+ * The first load after a cold start reads the last synced list from disk and hands it to the
+ * screen straight away, then reconciles with the API in the background through TicketDeltaSync.
+ * Every merge is written back to TicketDatabase on a single background thread.
+ */
+public class TicketRepository {
+    private static final String TAG = "TicketRepository";
+
+    public enum Scope {
+        CUSTOMER, MANAGER, TECHNICIAN
+    }
+
+    public interface Callback {
+        /**
+         * Persisted tickets from the previous session. Only called when memory was empty.
+         */
+        void onCached(List<TicketListResponse.TicketItem> tickets);
+
+        void onSynced(TicketDeltaStore.MergeResult result);
+
+        void onError(String error);
+    }
+
+    private static TicketRepository instance;
+
+    private final TicketDatabase database;
+    private final Context context;
+    private final ExecutorService diskExecutor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Map<Scope, TicketDeltaSync> syncs = new EnumMap<>(Scope.class);
+    private final Map<Scope, String> hydratedAccounts = new EnumMap<>(Scope.class);
+
+    private TicketRepository(Context context) {
+        this.context = context.getApplicationContext();
+        this.database = new TicketDatabase(this.context);
+
+        syncs.put(Scope.CUSTOMER, new TicketDeltaSync(
+                (apiService, authToken, updatedSince) -> apiService.getTicketsSince(authToken, updatedSince)));
+        syncs.put(Scope.MANAGER, new TicketDeltaSync(
+                (apiService, authToken, updatedSince) -> apiService.getManagerTicketsSince(authToken, updatedSince)));
+        syncs.put(Scope.TECHNICIAN, new TicketDeltaSync(
+                (apiService, authToken, updatedSince) -> apiService.getEmployeeTicketsSince(authToken, updatedSince)));
+    }
+
+    public static synchronized TicketRepository getInstance(Context context) {
+        if (instance == null) {
+            instance = new TicketRepository(context);
+        }
+        return instance;
+    }
+
+    /**
+     * Deliver persisted tickets if memory is empty, then sync with the API and persist the result.
+     *
+     * @param authToken full Authorization header value ("Bearer ...")
+     */
+    public void load(Scope scope, String authToken, Callback callback) {
+        String account = currentAccount();
+        TicketDeltaSync sync = syncs.get(scope);
+
+        boolean needsHydration;
+        synchronized (this) {
+            needsHydration = account != null && !account.equals(hydratedAccounts.get(scope));
+            if (needsHydration) {
+                hydratedAccounts.put(scope, account);
+            }
+        }
+
+        if (!needsHydration) {
+            syncFromApi(scope, account, authToken, callback);
+            return;
+        }
+
+        diskExecutor.execute(() -> {
+            List<TicketListResponse.TicketItem> persisted = database.loadTickets(scope.name(), account);
+            TicketDatabase.SyncState state = database.loadSyncState(scope.name(), account);
+            mainHandler.post(() -> {
+                if (!persisted.isEmpty()) {
+                    sync.seed(authToken, persisted, state.highWaterMark, state.lastFullSyncTime);
+                    Log.d(TAG, "Rendering " + persisted.size() + " " + scope + " tickets from disk");
+                    if (callback != null) {
+                        callback.onCached(sync.getStore().snapshot());
+                    }
+                }
+                syncFromApi(scope, account, authToken, callback);
+            });
+        });
+    }
+
+    /**
+     * Tickets currently held in memory for a scope (empty before the first load).
+     */
+    public List<TicketListResponse.TicketItem> snapshot(Scope scope) {
+        return syncs.get(scope).getStore().snapshot();
+    }
+
+    /**
+     * Forget the in-memory copy so the next load is a full sync. Disk is kept as the offline copy
+     * until that sync replaces it.
+     */
+    public void reset(Scope scope) {
+        syncs.get(scope).reset();
+    }
+
+    /**
+     * Reset only if the repository exists - for static caches that have no Context at hand.
+     */
+    public static void resetIfCreated(Scope scope) {
+        TicketRepository repository;
+        synchronized (TicketRepository.class) {
+            repository = instance;
+        }
+        if (repository != null) {
+            repository.reset(scope);
+        }
+    }
+
+    /**
+     * Query the persisted copy by an indexed column. Callback runs on the main thread.
+     */
+    public void query(Scope scope, TicketDatabase.Column column, String value,
+            QueryCallback callback) {
+        String account = currentAccount();
+        if (account == null) {
+            callback.onResult(new ArrayList<>());
+            return;
+        }
+        diskExecutor.execute(() -> {
+            List<TicketListResponse.TicketItem> tickets = database.loadTicketsWhere(scope.name(), account,
+                    column, value);
+            mainHandler.post(() -> callback.onResult(tickets));
+        });
+    }
+
+    public interface QueryCallback {
+        void onResult(List<TicketListResponse.TicketItem> tickets);
+    }
+
+    /**
+     * Drop everything persisted for an account (logout).
+     */
+    public void clearAccount(String email) {
+        String account = normalizeAccount(email);
+        synchronized (this) {
+            hydratedAccounts.clear();
+        }
+        for (TicketDeltaSync sync : syncs.values()) {
+            sync.reset();
+        }
+        if (account != null) {
+            diskExecutor.execute(() -> database.clearAccount(account));
+        }
+    }
+
+    private void syncFromApi(Scope scope, String account, String authToken, Callback callback) {
+        TicketDeltaSync sync = syncs.get(scope);
+        sync.sync(authToken, new TicketDeltaSync.SyncCallback() {
+            @Override
+            public void onSynced(TicketDeltaStore.MergeResult result) {
+                if (account != null && result.hasChanges()) {
+                    String mark = sync.getStore().getHighWaterMark();
+                    long lastFullSync = sync.getLastFullSyncTime();
+                    String customerEmail = scope == Scope.CUSTOMER ? account : null;
+                    diskExecutor.execute(() -> database.applyMerge(scope.name(), account, result,
+                            customerEmail, mark, lastFullSync));
+                }
+                if (callback != null) {
+                    callback.onSynced(result);
+                }
+            }
+
+            @Override
+            public void onError(String error) {
+                if (callback != null) {
+                    callback.onError(error);
+                }
+            }
+        });
+    }
+
+    private String currentAccount() {
+        return normalizeAccount(new TokenManager(context).getEmail());
+    }
+
+    private static String normalizeAccount(String email) {
+        return email != null && !email.trim().isEmpty() ? email.trim().toLowerCase() : null;
+    }
+}
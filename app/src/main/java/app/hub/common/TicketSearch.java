@@ -0,0 +1,116 @@
+package app.hub.common;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import app.hub.api.TicketListResponse;
+import app.hub.util.RefreshScheduler;
+
+/**
+ * Runs ticket list filtering off the main thread.
+ *
+ * setTickets() re-indexes (once per data change), setFilter() re-queries right away and
+ * setQuery() re-queries after the user pauses typing for DEBOUNCE_MS. Results come back on the
+ * main thread, ready for an adapter's submitList(). Queries superseded before they start are
+ * skipped, and results that arrive after a newer request was made are dropped.
+ *
+ * All public methods are expected on the main thread.
+ */
+public class TicketSearch {
+    private static final String TAG = "TicketSearch";
+
+    static final long DEBOUNCE_MS = 150;
+
+    public interface Listener {
+        void onResults(List<TicketListResponse.TicketItem> results);
+    }
+
+    private final Listener listener;
+    private final RefreshScheduler.Clock clock;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final ExecutorService worker = Executors.newSingleThreadExecutor();
+    private final Runnable debouncedQuery = this::submit;
+
+    private String filter = TicketSearchIndex.FILTER_ALL;
+    private String text = "";
+    private List<TicketSearchIndex.Doc> pendingDocs;
+
+    // Worker-thread state
+    private TicketSearchIndex index = TicketSearchIndex.EMPTY;
+
+    // Bumped on every request; stale queries and results are skipped
+    private volatile int generation = 0;
+    private boolean shutdown = false;
+
+    public TicketSearch(Listener listener) {
+        this.listener = listener;
+        this.clock = new RefreshScheduler.HandlerClock();
+    }
+
+    /**
+     * The ticket list (or paid set) changed.
+     */
+    public void setTickets(Collection<TicketListResponse.TicketItem> tickets, Set<String> paidTicketIds) {
+        pendingDocs = TicketSearchIndex.capture(tickets, paidTicketIds);
+        clock.cancel(debouncedQuery);
+        submit();
+    }
+
+    public void setFilter(String filter) {
+        this.filter = filter;
+        clock.cancel(debouncedQuery);
+        submit();
+    }
+
+    public void setQuery(String text) {
+        String normalized = text != null ? text.trim() : "";
+        if (normalized.equals(this.text)) {
+            return;
+        }
+        this.text = normalized;
+        clock.cancel(debouncedQuery);
+        clock.postDelayed(debouncedQuery, DEBOUNCE_MS);
+    }
+
+    public void shutdown() {
+        clock.cancel(debouncedQuery);
+        shutdown = true;
+        worker.shutdownNow();
+    }
+
+    private void submit() {
+        if (shutdown) {
+            return;
+        }
+        int requestGeneration = ++generation;
+        List<TicketSearchIndex.Doc> docs = pendingDocs;
+        pendingDocs = null;
+        String queryFilter = filter;
+        String queryText = text;
+
+        worker.execute(() -> {
+            if (docs != null) {
+                index = TicketSearchIndex.build(docs);
+            }
+            if (requestGeneration != generation) {
+                return;
+            }
+            List<TicketListResponse.TicketItem> result = index.query(queryFilter, queryText);
+            Log.d(TAG, "Filtered " + result.size() + " of " + index.size() + " tickets (filter: " + queryFilter
+                    + ", search: '" + queryText + "')");
+
+            mainHandler.post(() -> {
+                if (!shutdown && requestGeneration == generation) {
+                    listener.onResults(result);
+                }
+            });
+        });
+    }
+}
@@ -0,0 +1,217 @@
+package app.hub.common;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import app.hub.api.TicketListResponse;
+
+/**
+ * Immutable search index over a ticket list, rebuilt once per data change instead of rescanning
+ * every ticket on every keystroke.
+ *
+ * - Title, ticket id, service type and description are split into lower-case word tokens kept in
+ *   a sorted map, so a query word matches any token it is a prefix of. Ticket id tokens are also
+ *   indexed by suffix, so "0042" finds "TCK-000042".
+ * - Status filters (the tabs) are precomputed buckets with the same rules the tabs always had.
+ *
+ * Build it from capture() on the main thread, then build()/query() anywhere.
+ */
+public final class TicketSearchIndex {
+    public static final String FILTER_ALL = "all";
+    public static final String FILTER_ACTIVE = "active";
+    public static final String FILTER_PENDING = "pending";
+    public static final String FILTER_IN_PROGRESS = "in progress";
+    public static final String FILTER_COMPLETED = "completed";
+    public static final String FILTER_CANCELLED = "cancelled";
+    public static final String FILTER_REJECTED = "rejected";
+
+    private static final Set<String> GROUP_FILTERS = new HashSet<>(Arrays.asList(
+            FILTER_ACTIVE, FILTER_PENDING, FILTER_IN_PROGRESS, FILTER_COMPLETED, FILTER_CANCELLED, FILTER_REJECTED));
+
+    /**
+     * The fields of one ticket the index needs, read once on the caller's thread so the index
+     * never touches the (mutable) ticket objects afterwards.
+     */
+    public static final class Doc {
+        final TicketListResponse.TicketItem ticket;
+        final String status;
+        final String ticketId;
+        final String[] text;
+        final boolean paid;
+
+        Doc(TicketListResponse.TicketItem ticket, boolean paid) {
+            this.ticket = ticket;
+            this.status = ticket.getStatus();
+            this.ticketId = ticket.getTicketId();
+            this.text = new String[] { ticket.getTitle(), ticket.getServiceType(), ticket.getDescription() };
+            this.paid = paid;
+        }
+    }
+
+    public static final TicketSearchIndex EMPTY = build(Collections.emptyList());
+
+    private final List<Doc> docs;
+    private final TreeMap<String, BitSet> tokens = new TreeMap<>();
+    private final Map<String, BitSet> buckets = new HashMap<>();
+
+    private TicketSearchIndex(List<Doc> docs) {
+        this.docs = docs;
+        for (int i = 0; i < docs.size(); i++) {
+            Doc doc = docs.get(i);
+            for (String field : doc.text) {
+                for (String token : tokenize(field)) {
+                    add(tokens, token, i);
+                }
+            }
+            for (String token : tokenize(doc.ticketId)) {
+                for (int start = 0; start < token.length(); start++) {
+                    add(tokens, token.substring(start), i);
+                }
+            }
+            for (String bucket : bucketsFor(doc.status, doc.paid)) {
+                add(buckets, bucket, i);
+            }
+        }
+    }
+
+    /**
+     * Read the indexed fields of each ticket. Call on the thread that owns the tickets.
+     */
+    public static List<Doc> capture(Collection<TicketListResponse.TicketItem> tickets, Set<String> paidTicketIds) {
+        List<Doc> docs = new ArrayList<>(tickets.size());
+        for (TicketListResponse.TicketItem ticket : tickets) {
+            if (ticket == null) {
+                continue;
+            }
+            String ticketId = ticket.getTicketId();
+            boolean paid = ticketId != null && paidTicketIds != null && paidTicketIds.contains(ticketId);
+            docs.add(new Doc(ticket, paid));
+        }
+        return docs;
+    }
+
+    public static TicketSearchIndex build(List<Doc> docs) {
+        return new TicketSearchIndex(new ArrayList<>(docs));
+    }
+
+    public int size() {
+        return docs.size();
+    }
+
+    /**
+     * Tickets in the given status filter whose indexed words start with every word of the query,
+     * in list order.
+     */
+    public List<TicketListResponse.TicketItem> query(String filter, String text) {
+        BitSet matches = new BitSet(docs.size());
+        String normalizedFilter = filter != null ? filter.toLowerCase(Locale.ROOT).trim() : FILTER_ALL;
+        if (normalizedFilter.equals(FILTER_ALL)) {
+            matches.set(0, docs.size());
+        } else {
+            BitSet bucket = buckets.get(normalizedFilter);
+            if (bucket != null) {
+                matches.or(bucket);
+            }
+        }
+
+        for (String word : tokenize(text)) {
+            if (matches.isEmpty()) {
+                break;
+            }
+            BitSet withWord = new BitSet(docs.size());
+            SortedMap<String, BitSet> prefixed = tokens.subMap(word, word + Character.MAX_VALUE);
+            for (BitSet positions : prefixed.values()) {
+                withWord.or(positions);
+            }
+            matches.and(withWord);
+        }
+
+        List<TicketListResponse.TicketItem> tickets = new ArrayList<>(matches.cardinality());
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+            tickets.add(docs.get(i).ticket);
+        }
+        return Collections.unmodifiableList(tickets);
+    }
+
+    /**
+     * Lower-case letter/digit runs.
+     */
+    static List<String> tokenize(String value) {
+        List<String> result = new ArrayList<>();
+        if (value == null) {
+            return result;
+        }
+        String lower = value.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                result.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The status filters a ticket shows up under.
+     */
+    static List<String> bucketsFor(String rawStatus, boolean paid) {
+        List<String> result = new ArrayList<>();
+        if (rawStatus == null) {
+            return result;
+        }
+        String status = rawStatus.toLowerCase(Locale.ROOT).trim();
+        // Normalize "Open" to "Pending" for filtering (same as display logic)
+        if (status.equals("open")) {
+            status = "pending";
+        }
+
+        boolean inProgress = status.contains("progress") || status.equals("active") || status.equals("accepted")
+                || status.equals("assigned") || status.equals("ongoing");
+        if (inProgress || status.equals("pending") || status.equals("scheduled")) {
+            result.add(FILTER_ACTIVE);
+        }
+        if (inProgress) {
+            result.add(FILTER_IN_PROGRESS);
+        }
+        if (status.equals("pending") || status.equals("scheduled")) {
+            result.add(FILTER_PENDING);
+        }
+        if (paid || status.equals("completed") || status.equals("closed") || status.equals("resolved")
+                || status.equals("paid")) {
+            result.add(FILTER_COMPLETED);
+        }
+        if (status.equals("cancelled") || status.equals("rejected")) {
+            result.add(FILTER_CANCELLED);
+            result.add(FILTER_REJECTED);
+        }
+        // Any other filter name matches its status exactly
+        if (!GROUP_FILTERS.contains(status)) {
+            result.add(status);
+        }
+        return result;
+    }
+
+    private static void add(Map<String, BitSet> map, String key, int position) {
+        BitSet positions = map.get(key);
+        if (positions == null) {
+            positions = new BitSet();
+            map.put(key, positions);
+        }
+        positions.set(position);
+    }
+}
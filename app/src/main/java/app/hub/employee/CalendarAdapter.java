@@ -11,7 +11,6 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.google.android.material.card.MaterialCardView;
 
-import java.util.Calendar;
 import java.util.List;
 
 import app.hub.R;
@@ -34,6 +33,8 @@ public class CalendarAdapter extends RecyclerView.Adapter<CalendarAdapter.Calend
         private int year;
         private boolean isCurrentMonth;
         private boolean isSelected;
+        private boolean isToday;
+        private int epochDay = ScheduleIndex.NO_DAY;
         private List<EmployeeScheduleResponse.ScheduledTicket> scheduledTickets;
 
         public CalendarDay(int dayOfMonth, int month, int year, boolean isCurrentMonth) {
@@ -70,6 +71,22 @@ public class CalendarAdapter extends RecyclerView.Adapter<CalendarAdapter.Calend
             isSelected = selected;
         }
 
+        public boolean isToday() {
+            return isToday;
+        }
+
+        public void setToday(boolean today) {
+            isToday = today;
+        }
+
+        public int getEpochDay() {
+            return epochDay;
+        }
+
+        public void setEpochDay(int epochDay) {
+            this.epochDay = epochDay;
+        }
+
         public List<EmployeeScheduleResponse.ScheduledTicket> getScheduledTickets() {
             return scheduledTickets;
         }
@@ -108,12 +125,17 @@ public class CalendarAdapter extends RecyclerView.Adapter<CalendarAdapter.Calend
 
         holder.itemView.setOnClickListener(v -> {
             if (onDayClickListener != null && day.isCurrentMonth()) {
-                // Clear previous selection
-                for (CalendarDay d : calendarDays) {
-                    d.setSelected(false);
+                // Clear previous selection - only the two cells involved are rebound
+                for (int i = 0; i < calendarDays.size(); i++) {
+                    if (calendarDays.get(i).isSelected() && calendarDays.get(i) != day) {
+                        calendarDays.get(i).setSelected(false);
+                        notifyItemChanged(i);
+                    }
+                }
+                if (!day.isSelected()) {
+                    day.setSelected(true);
+                    notifyItemChanged(holder.getBindingAdapterPosition());
                 }
-                day.setSelected(true);
-                notifyDataSetChanged();
                 onDayClickListener.onDayClick(day);
             }
         });
@@ -164,10 +186,7 @@ public class CalendarAdapter extends RecyclerView.Adapter<CalendarAdapter.Calend
             cardDay.setStrokeColor(Color.parseColor("#EEEEEE"));
 
             // Highlight today
-            Calendar today = Calendar.getInstance();
-            if (day.getDayOfMonth() == today.get(Calendar.DAY_OF_MONTH) &&
-                    day.getMonth() == today.get(Calendar.MONTH) &&
-                    day.getYear() == today.get(Calendar.YEAR)) {
+            if (day.isToday()) {
                 cardDay.setCardBackgroundColor(Color.parseColor("#E8F5E8"));
                 cardDay.setStrokeColor(Color.parseColor("#4CAF50"));
                 cardDay.setStrokeWidth(2);
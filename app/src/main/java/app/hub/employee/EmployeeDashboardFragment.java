@@ -18,6 +18,8 @@ import app.hub.R;
 import app.hub.api.ApiClient;
 import app.hub.api.ApiService;
 import app.hub.api.TicketListResponse;
+import app.hub.util.RefreshScheduler;
+import app.hub.util.StartupTrace;
 import app.hub.util.TokenManager;
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -162,6 +164,7 @@ public class EmployeeDashboardFragment extends Fragment {
         if (firebaseEmployeeListener != null) {
             firebaseEmployeeListener.stopListening();
         }
+        RefreshScheduler.getInstance().cancel(RefreshScheduler.KEY_TECHNICIAN_TICKETS, this);
     }
 
     private void setupRealtimeListener() {
@@ -172,9 +175,15 @@ public class EmployeeDashboardFragment extends Fragment {
         firebaseEmployeeListener.setOnScheduleChangeListener(new FirebaseEmployeeListener.OnScheduleChangeListener() {
             @Override
             public void onScheduleChanged() {
-                if (!isAdded())
-                    return;
-                loadAllTickets();
+                // Several documents often change together - refresh once per burst
+                RefreshScheduler.getInstance().request(RefreshScheduler.KEY_TECHNICIAN_TICKETS,
+                        EmployeeDashboardFragment.this, done -> {
+                            if (isAdded()) {
+                                loadAllTickets(done);
+                            } else {
+                                done.run();
+                            }
+                        });
             }
 
             @Override
@@ -190,60 +199,61 @@ public class EmployeeDashboardFragment extends Fragment {
      * and schedules
      */
     private void loadAllTickets() {
-        if (!isAdded() || getContext() == null)
-            return;
+        loadAllTickets(null);
+    }
 
-        TokenManager tokenManager = new TokenManager(requireContext());
-        String token = tokenManager.getToken();
-        if (token == null)
+    /**
+     * @param done run once the shared load has finished (may be null)
+     */
+    private void loadAllTickets(Runnable done) {
+        if (!isAdded() || getContext() == null) {
+            if (done != null)
+                done.run();
             return;
+        }
 
-        ApiService apiService = ApiClient.getApiService();
-        Call<TicketListResponse> call = apiService.getEmployeeTickets("Bearer " + token);
-
-        call.enqueue(new Callback<TicketListResponse>() {
-            @Override
-            public void onResponse(Call<TicketListResponse> call, Response<TicketListResponse> response) {
-                if (!isAdded() || getContext() == null)
-                    return;
-
-                // Stop refresh animation
-                if (swipeRefreshLayout != null) {
-                    swipeRefreshLayout.setRefreshing(false);
-                }
-
-                if (response.isSuccessful() && response.body() != null && response.body().isSuccess()) {
-                    List<TicketListResponse.TicketItem> allTickets = response.body().getTickets();
-                    List<TicketListResponse.TicketItem> safeTickets = allTickets != null ? allTickets
-                            : new ArrayList<>();
-
-                    // Cache all tickets
-                    cachedTodayWork = new ArrayList<>(safeTickets);
-                    cachedScheduleTickets = new ArrayList<>(safeTickets);
-
-                    // Display both sections
-                    displayTodayWork(safeTickets);
-                    displayAssignedSchedules(safeTickets);
-                } else {
-                    displayTodayWork(new ArrayList<>());
-                    displayAssignedSchedules(new ArrayList<>());
-                }
-            }
-
-            @Override
-            public void onFailure(Call<TicketListResponse> call, Throwable t) {
-                if (!isAdded() || getContext() == null)
-                    return;
-
-                // Stop refresh animation
-                if (swipeRefreshLayout != null) {
-                    swipeRefreshLayout.setRefreshing(false);
-                }
+        // Shared technician list: renders persisted tickets first, then the synced ones
+        EmployeeDataManager.loadTickets(requireContext(), true,
+                new EmployeeDataManager.DataCallback<List<TicketListResponse.TicketItem>>() {
+                    @Override
+                    public void onSuccess(List<TicketListResponse.TicketItem> tickets) {
+                        // Persisted tickets come first; only the synced list ends the load
+                        if (done != null && !EmployeeDataManager.isLoadingTickets())
+                            done.run();
+                        if (!isAdded() || getContext() == null)
+                            return;
+
+                        // Stop refresh animation
+                        if (swipeRefreshLayout != null) {
+                            swipeRefreshLayout.setRefreshing(false);
+                        }
+
+                        // Cache all tickets
+                        cachedTodayWork = new ArrayList<>(tickets);
+                        cachedScheduleTickets = new ArrayList<>(tickets);
+
+                        // Display both sections
+                        displayTodayWork(tickets);
+                        displayAssignedSchedules(tickets);
+                    }
 
-                displayTodayWork(new ArrayList<>());
-                displayAssignedSchedules(new ArrayList<>());
-            }
-        });
+                    @Override
+                    public void onError(String error) {
+                        if (done != null)
+                            done.run();
+                        if (!isAdded() || getContext() == null)
+                            return;
+
+                        // Stop refresh animation
+                        if (swipeRefreshLayout != null) {
+                            swipeRefreshLayout.setRefreshing(false);
+                        }
+
+                        List<TicketListResponse.TicketItem> lastKnown = EmployeeDataManager.getCachedTickets();
+                        displayTodayWork(lastKnown);
+                        displayAssignedSchedules(lastKnown);
+                    }
+                });
     }
 
     private void loadAssignedSchedules() {
@@ -420,6 +430,8 @@ public class EmployeeDashboardFragment extends Fragment {
             }
         }
 
+        StartupTrace.firstTicketRow(getActivity());
+
         if (todayWork.isEmpty()) {
             TextView emptyView = new TextView(getContext());
             emptyView.setText("No work scheduled for today.");
@@ -9,7 +9,9 @@ import java.util.List;
 import app.hub.api.ApiClient;
 import app.hub.api.ApiService;
 import app.hub.api.EmployeeScheduleResponse;
+import app.hub.api.TicketDeltaStore;
 import app.hub.api.TicketListResponse;
+import app.hub.common.TicketRepository;
 import app.hub.util.TokenManager;
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -33,10 +35,12 @@ public class EmployeeDataManager {
     
     // Loading flags
     private static boolean isLoadingTickets = false;
+    private static final List<DataCallback<List<TicketListResponse.TicketItem>>> pendingTicketCallbacks = new ArrayList<>();
     private static boolean isLoadingSchedule = false;
     
     /**
-     * Load tickets with caching
+     * Load tickets with caching. On a cold start onSuccess can run twice: first with the tickets
+     * persisted by the last session, then with the synced list.
      */
     public static void loadTickets(Context context, boolean forceRefresh, DataCallback<List<TicketListResponse.TicketItem>> callback) {
         long currentTime = System.currentTimeMillis();
@@ -51,9 +55,12 @@ public class EmployeeDataManager {
             return;
         }
         
-        // Prevent multiple simultaneous loads
+        // Prevent multiple simultaneous loads - late callers get the result of the running one
+        if (callback != null) {
+            pendingTicketCallbacks.add(callback);
+        }
         if (isLoadingTickets) {
-            Log.d(TAG, "Already loading tickets, skipping");
+            Log.d(TAG, "Already loading tickets, queuing callback");
             return;
         }
         
@@ -63,55 +70,59 @@ public class EmployeeDataManager {
         
         if (token == null) {
             isLoadingTickets = false;
-            if (callback != null) {
-                callback.onError("No auth token");
+            for (DataCallback<List<TicketListResponse.TicketItem>> cb : drainTicketCallbacks()) {
+                cb.onError("No auth token");
             }
             return;
         }
         
-        ApiService apiService = ApiClient.getApiService();
-        Call<TicketListResponse> call = apiService.getEmployeeTickets(token);
-        
-        call.enqueue(new Callback<TicketListResponse>() {
+        TicketRepository.getInstance(context).load(TicketRepository.Scope.TECHNICIAN, token,
+                new TicketRepository.Callback() {
             @Override
-            public void onResponse(Call<TicketListResponse> call, Response<TicketListResponse> response) {
+            public void onCached(List<TicketListResponse.TicketItem> tickets) {
+                Log.d(TAG, "Showing persisted tickets: " + tickets.size());
+                for (DataCallback<List<TicketListResponse.TicketItem>> cb : new ArrayList<>(pendingTicketCallbacks)) {
+                    cb.onSuccess(new ArrayList<>(tickets));
+                }
+            }
+
+            @Override
+            public void onSynced(TicketDeltaStore.MergeResult result) {
                 isLoadingTickets = false;
+                cachedTickets = new ArrayList<>(result.getTickets());
+                lastTicketLoadTime = System.currentTimeMillis();
                 
-                if (response.isSuccessful() && response.body() != null) {
-                    TicketListResponse ticketResponse = response.body();
-                    
-                    if (ticketResponse.isSuccess() && ticketResponse.getTickets() != null) {
-                        cachedTickets = new ArrayList<>(ticketResponse.getTickets());
-                        lastTicketLoadTime = System.currentTimeMillis();
-                        
-                        Log.d(TAG, "Tickets loaded and cached: " + cachedTickets.size());
-                        
-                        if (callback != null) {
-                            callback.onSuccess(new ArrayList<>(cachedTickets));
-                        }
-                    } else {
-                        if (callback != null) {
-                            callback.onError("API returned no tickets");
-                        }
-                    }
-                } else {
-                    if (callback != null) {
-                        callback.onError("API error: " + response.code());
-                    }
+                Log.d(TAG, "Tickets loaded and cached: " + cachedTickets.size());
+                
+                for (DataCallback<List<TicketListResponse.TicketItem>> cb : drainTicketCallbacks()) {
+                    cb.onSuccess(new ArrayList<>(cachedTickets));
                 }
             }
             
             @Override
-            public void onFailure(Call<TicketListResponse> call, Throwable t) {
+            public void onError(String error) {
                 isLoadingTickets = false;
-                Log.e(TAG, "Failed to load tickets", t);
+                Log.e(TAG, "Failed to load tickets: " + error);
                 
-                if (callback != null) {
-                    callback.onError(t.getMessage());
+                for (DataCallback<List<TicketListResponse.TicketItem>> cb : drainTicketCallbacks()) {
+                    cb.onError(error);
                 }
             }
         });
     }
+
+    /**
+     * True while a ticket load runs. A callback that sees false has had its last call.
+     */
+    public static boolean isLoadingTickets() {
+        return isLoadingTickets;
+    }
+
+    private static List<DataCallback<List<TicketListResponse.TicketItem>>> drainTicketCallbacks() {
+        List<DataCallback<List<TicketListResponse.TicketItem>>> callbacks = new ArrayList<>(pendingTicketCallbacks);
+        pendingTicketCallbacks.clear();
+        return callbacks;
+    }
     
     /**
      * Load schedule with caching
@@ -188,6 +199,7 @@ public class EmployeeDataManager {
      */
     public static void clearCache() {
         cachedTickets = null;
+        TicketRepository.resetIfCreated(TicketRepository.Scope.TECHNICIAN);
         cachedSchedule = null;
         lastTicketLoadTime = 0;
         lastScheduleLoadTime = 0;
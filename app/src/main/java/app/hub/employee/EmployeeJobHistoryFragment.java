@@ -30,11 +30,11 @@ import java.text.SimpleDateFormat;
 import app.hub.R;
 import app.hub.api.ApiClient;
 import app.hub.api.ApiService;
+import app.hub.api.ListStreams;
 import app.hub.api.TicketListResponse;
 import app.hub.util.TokenManager;
+import okhttp3.ResponseBody;
 import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
 
 public class EmployeeJobHistoryFragment extends Fragment {
 
@@ -55,6 +55,7 @@ public class EmployeeJobHistoryFragment extends Fragment {
     private Calendar endDate;
     private String statusFilter = "completed";
     private ShimmerFrameLayout jobHistoryShimmer;
+    private Call<ResponseBody> historyCall;
 
     @Override
     public View onCreateView(@NonNull LayoutInflater inflater, ViewGroup container,
@@ -83,7 +84,7 @@ public class EmployeeJobHistoryFragment extends Fragment {
             btnBack.setOnClickListener(v -> navigateBack());
         }
 
-        adapter = new EmployeeTicketsAdapter(filteredTickets);
+        adapter = new EmployeeTicketsAdapter();
         adapter.setOnTicketClickListener(ticket -> {
             Intent intent = new Intent(getContext(), EmployeeTicketDetailActivity.class);
             intent.putExtra("ticket_id", ticket.getTicketId());
@@ -97,6 +98,15 @@ public class EmployeeJobHistoryFragment extends Fragment {
         loadHistoryTickets();
     }
 
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+        if (historyCall != null) {
+            historyCall.cancel();
+            historyCall = null;
+        }
+    }
+
     private void setupFilters() {
         statusFilter = "completed";
 
@@ -147,8 +157,7 @@ public class EmployeeJobHistoryFragment extends Fragment {
 
     private void loadHistoryTickets() {
         setLoading(true);
-        filteredTickets.clear();
-        adapter.notifyDataSetChanged();
+        // Keep the current rows while reloading; the new list is diffed against them
         String token = tokenManager.getToken();
         if (token == null) {
             setLoading(false);
@@ -156,44 +165,74 @@ public class EmployeeJobHistoryFragment extends Fragment {
             return;
         }
 
+        if (historyCall != null) {
+            historyCall.cancel();
+        }
         ApiService apiService = ApiClient.getApiService();
-        Call<TicketListResponse> call = apiService.getEmployeeTickets("Bearer " + token);
-        call.enqueue(new Callback<TicketListResponse>() {
+        Call<ResponseBody> call = apiService.streamEmployeeTickets("Bearer " + token);
+        historyCall = call;
+        // Rows are shown batch by batch while the (possibly long) history downloads; each batch
+        // is filtered on its own, so the work stays proportional to what arrived
+        boolean[] received = {false};
+        ListStreams.tickets(call, new ListStreams.Listener<TicketListResponse, TicketListResponse.TicketItem>() {
             @Override
-            public void onResponse(@NonNull Call<TicketListResponse> call,
-                    @NonNull Response<TicketListResponse> response) {
+            public void onItems(List<TicketListResponse.TicketItem> batch, boolean first) {
                 if (!isAdded()) return;
-                allTickets.clear();
-                if (response.isSuccessful() && response.body() != null && response.body().isSuccess()) {
-                    if (response.body().getTickets() != null) {
-                        allTickets.addAll(response.body().getTickets());
-                    }
+                if (first) {
+                    received[0] = true;
+                    allTickets.clear();
+                    filteredTickets.clear();
+                    setLoading(false);
+                }
+                allTickets.addAll(batch);
+                addMatching(batch);
+                adapter.submitList(filteredTickets);
+            }
+
+            @Override
+            public void onComplete(TicketListResponse response) {
+                if (!isAdded()) return;
+                historyCall = null;
+                if (!received[0]) {
+                    // An empty history sends no batches; drop the rows of the previous load
+                    allTickets.clear();
+                    filteredTickets.clear();
+                    adapter.submitList(filteredTickets);
                 }
-                applyFilters();
                 setLoading(false);
+                // The batches are already shown; only the final empty state was pending
+                showEmptyState(filteredTickets.isEmpty());
             }
 
             @Override
-            public void onFailure(@NonNull Call<TicketListResponse> call, @NonNull Throwable t) {
+            public void onError(String message) {
                 if (!isAdded()) return;
+                historyCall = null;
                 setLoading(false);
-                showEmptyState(true);
+                showEmptyState(allTickets.isEmpty());
             }
         });
     }
 
+    /**
+     * Re-filter everything, for when a filter changed.
+     */
     private void applyFilters() {
         filteredTickets.clear();
+        addMatching(allTickets);
 
-        for (TicketListResponse.TicketItem ticket : allTickets) {
+        adapter.submitList(filteredTickets);
+        // While more rows are still downloading, an empty filter result isn't final yet
+        showEmptyState(filteredTickets.isEmpty() && historyCall == null);
+    }
+
+    private void addMatching(List<TicketListResponse.TicketItem> tickets) {
+        for (TicketListResponse.TicketItem ticket : tickets) {
             if (!matchesStatus(ticket)) continue;
             if (!matchesTechnician(ticket)) continue;
             if (!matchesDate(ticket)) continue;
             filteredTickets.add(ticket);
         }
-
-        adapter.notifyDataSetChanged();
-        showEmptyState(filteredTickets.isEmpty());
     }
 
     private boolean matchesStatus(TicketListResponse.TicketItem ticket) {
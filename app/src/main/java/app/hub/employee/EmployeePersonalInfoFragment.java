@@ -1,8 +1,6 @@
 package app.hub.employee;
 
 import android.content.Intent;
-import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.net.Uri;
 import android.os.Bundle;
 import android.provider.MediaStore;
@@ -32,8 +30,6 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Locale;
@@ -47,6 +43,7 @@ import app.hub.api.UpdateProfileRequest;
 import app.hub.api.UserResponse;
 import app.hub.api.DeleteAccountRequest;
 import app.hub.api.DeleteAccountResponse;
+import app.hub.util.ImageLoader;
 import app.hub.util.TokenManager;
 import okhttp3.MediaType;
 import okhttp3.MultipartBody;
@@ -72,6 +69,7 @@ public class EmployeePersonalInfoFragment extends Fragment {
     private TextInputLayout layoutLastName;
     private MaterialButton btnSave;
     private ShapeableImageView imgProfile;
+    private String profilePhotoUrl;
     private MaterialButton btnEditPhoto;
     private View personalInfoContent;
     private View profileLoading;
@@ -256,13 +254,9 @@ public class EmployeePersonalInfoFragment extends Fragment {
         }
 
         String profilePhoto = data.getProfilePhoto();
-        if (profilePhoto != null && !profilePhoto.trim().isEmpty()) {
+        if (imgProfile != null && profilePhoto != null && !profilePhoto.trim().isEmpty()) {
             loadProfileImageFromUrl(profilePhoto);
         }
-
-        if (imgProfile != null && data.getProfilePhoto() != null && !data.getProfilePhoto().isEmpty()) {
-            loadProfileImageFromUrl(data.getProfilePhoto());
-        }
     }
 
     private void setupGenderDropdown() {
@@ -407,10 +401,9 @@ public class EmployeePersonalInfoFragment extends Fragment {
                     @NonNull Response<ProfilePhotoResponse> response) {
                 if (!isAdded()) return;
                 if (response.isSuccessful()) {
-                    if (imgProfile != null) {
-                        imgProfile.setImageURI(imageUri);
-                    }
+                    forgetProfilePhoto();
                     saveProfileImage(imageUri);
+                    loadCachedProfileImage();
                     
                     // Clear manager cache so updated photo shows immediately
                     app.hub.manager.ManagerDataManager.clearEmployeeCache();
@@ -443,7 +436,9 @@ public class EmployeePersonalInfoFragment extends Fragment {
             public void onResponse(@NonNull Call<ProfilePhotoResponse> call,
                     @NonNull Response<ProfilePhotoResponse> response) {
                 if (!isAdded()) return;
+                forgetProfilePhoto();
                 if (imgProfile != null) {
+                    ImageLoader.get(imgProfile.getContext()).cancel(imgProfile);
                     imgProfile.setImageResource(R.mipmap.ic_launchericons_round);
                 }
                 clearCachedProfileImage();
@@ -484,37 +479,21 @@ public class EmployeePersonalInfoFragment extends Fragment {
     }
 
     private void loadProfileImageFromUrl(String url) {
-        new Thread(() -> {
-            try {
-                HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
-                connection.connect();
-                if (connection.getResponseCode() == HttpURLConnection.HTTP_OK) {
-                    InputStream input = connection.getInputStream();
-                    Bitmap bitmap = BitmapFactory.decodeStream(input);
-                    if (bitmap != null && getActivity() != null) {
-                        getActivity().runOnUiThread(() -> {
-                            if (imgProfile != null) {
-                                imgProfile.setImageBitmap(bitmap);
-                            }
-                        });
-                        saveProfileBitmap(bitmap);
-                    }
-                    input.close();
-                }
-            } catch (Exception ignored) {
-            }
-        }).start();
+        if (getContext() == null) {
+            return;
+        }
+        profilePhotoUrl = url;
+        ImageLoader.get(requireContext())
+                .load(url)
+                .keepCopy(tokenManager.getProfileImageFile(requireContext()))
+                .into(imgProfile);
     }
 
-    private void saveProfileBitmap(Bitmap bitmap) {
-        if (bitmap == null) return;
-        try {
-            File imageFile = tokenManager.getProfileImageFile(requireContext());
-            FileOutputStream outputStream = new FileOutputStream(imageFile);
-            bitmap.compress(Bitmap.CompressFormat.JPEG, 90, outputStream);
-            outputStream.flush();
-            outputStream.close();
-        } catch (IOException ignored) {
+    // Keeps the replaced or removed photo from coming back out of the image cache
+    private void forgetProfilePhoto() {
+        if (profilePhotoUrl != null && getContext() != null) {
+            ImageLoader.get(requireContext()).evict(profilePhotoUrl);
+            profilePhotoUrl = null;
         }
     }
 
@@ -538,15 +517,12 @@ public class EmployeePersonalInfoFragment extends Fragment {
     }
 
     private void loadCachedProfileImage() {
-        try {
-            File imageFile = tokenManager.getProfileImageFile(requireContext());
-            if (imageFile.exists() && imgProfile != null) {
-                Bitmap bitmap = BitmapFactory.decodeFile(imageFile.getAbsolutePath());
-                if (bitmap != null) {
-                    imgProfile.setImageBitmap(bitmap);
-                }
-            }
-        } catch (Exception ignored) {
+        if (imgProfile == null || getContext() == null) {
+            return;
+        }
+        File imageFile = tokenManager.getProfileImageFile(requireContext());
+        if (imageFile.exists()) {
+            ImageLoader.get(requireContext()).load(imageFile).into(imgProfile);
         }
     }
 
@@ -21,9 +21,6 @@ import com.google.android.material.textfield.TextInputEditText;
 import com.google.android.material.textfield.TextInputLayout;
 
 import java.io.File;
-import java.io.InputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
 
 import app.hub.R;
 import app.hub.api.ApiClient;
@@ -32,6 +29,7 @@ import app.hub.api.ChangePasswordRequest;
 import app.hub.api.ChangePasswordResponse;
 import app.hub.common.MainActivity;
 import app.hub.common.ProfileAboutUsFragment;
+import app.hub.util.ImageLoader;
 import app.hub.util.LoadingDialog;
 import app.hub.util.TokenManager;
 import app.hub.util.UiPreferences;
@@ -227,50 +225,22 @@ public class EmployeeProfileFragment extends Fragment {
     }
 
     private void loadProfileImageFromUrl(String url) {
-        new Thread(() -> {
-            try {
-                HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
-                connection.connect();
-                if (connection.getResponseCode() == HttpURLConnection.HTTP_OK) {
-                    InputStream input = connection.getInputStream();
-                    android.graphics.Bitmap bitmap = android.graphics.BitmapFactory.decodeStream(input);
-                    if (bitmap != null && getActivity() != null) {
-                        getActivity().runOnUiThread(() -> {
-                            if (imgProfile != null) {
-                                imgProfile.setImageBitmap(bitmap);
-                            }
-                        });
-                        saveProfileImage(bitmap);
-                    }
-                    input.close();
-                }
-            } catch (Exception ignored) {
-            }
-        }).start();
-    }
-
-    private void saveProfileImage(android.graphics.Bitmap bitmap) {
-        if (bitmap == null) return;
-        try {
-            File imageFile = tokenManager.getProfileImageFile(requireContext());
-            java.io.FileOutputStream outputStream = new java.io.FileOutputStream(imageFile);
-            bitmap.compress(android.graphics.Bitmap.CompressFormat.JPEG, 90, outputStream);
-            outputStream.flush();
-            outputStream.close();
-        } catch (Exception ignored) {
+        if (getContext() == null) {
+            return;
         }
+        ImageLoader.get(requireContext())
+                .load(url)
+                .keepCopy(tokenManager.getProfileImageFile(requireContext()))
+                .into(imgProfile);
     }
 
     private void loadCachedProfileImage() {
-        try {
-            File imageFile = tokenManager.getProfileImageFile(requireContext());
-            if (imageFile.exists() && imgProfile != null) {
-                android.graphics.Bitmap bitmap = android.graphics.BitmapFactory.decodeFile(imageFile.getAbsolutePath());
-                if (bitmap != null) {
-                    imgProfile.setImageBitmap(bitmap);
-                }
-            }
-        } catch (Exception ignored) {
+        if (imgProfile == null || getContext() == null) {
+            return;
+        }
+        File imageFile = tokenManager.getProfileImageFile(requireContext());
+        if (imageFile.exists()) {
+            ImageLoader.get(requireContext()).load(imageFile).into(imgProfile);
         }
     }
 
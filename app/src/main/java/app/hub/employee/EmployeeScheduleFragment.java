@@ -11,7 +11,6 @@ import android.widget.ProgressBar;
 import android.widget.TextView;
 import android.widget.Toast;
 
-import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
 import androidx.recyclerview.widget.GridLayoutManager;
 import androidx.recyclerview.widget.LinearLayoutManager;
@@ -20,22 +19,19 @@ import androidx.swiperefreshlayout.widget.SwipeRefreshLayout;
 
 import com.facebook.shimmer.ShimmerFrameLayout;
 
-import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Calendar;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
+import java.util.TimeZone;
 
 import app.hub.R;
 import app.hub.api.ApiClient;
 import app.hub.api.ApiService;
 import app.hub.api.EmployeeScheduleResponse;
+import app.hub.util.RefreshScheduler;
 import app.hub.util.TokenManager;
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -61,12 +57,15 @@ public class EmployeeScheduleFragment extends Fragment {
     private CalendarAdapter calendarAdapter;
     private DailyScheduleAdapter dailyScheduleAdapter;
     private final List<CalendarAdapter.CalendarDay> calendarDays = new ArrayList<>();
-    private final Map<String, List<EmployeeScheduleResponse.ScheduledTicket>> allBufferedTickets = new HashMap<>();
-    private final Map<String, List<EmployeeScheduleResponse.ScheduledTicket>> scheduledTicketsMap = new HashMap<>();
+    // Rebuilt on every load; month grids are cached inside it
+    private ScheduleIndex scheduleIndex = new ScheduleIndex(null, ScheduleIndex.today());
+    private ScheduleIndex.MonthGrid shownGrid;
+    private SimpleDateFormat monthYearFormat;
+    private SimpleDateFormat selectedDateFormat;
 
     private TokenManager tokenManager;
     private FirebaseEmployeeListener firebaseListener;
-    private String selectedDateKey;
+    private int selectedDay = ScheduleIndex.NO_DAY;
 
     @Override
     public View onCreateView(LayoutInflater inflater, ViewGroup container,
@@ -75,6 +74,10 @@ public class EmployeeScheduleFragment extends Fragment {
 
         tokenManager = new TokenManager(requireContext());
         currentCalendar = Calendar.getInstance();
+        monthYearFormat = new SimpleDateFormat("MMMM yyyy", Locale.getDefault());
+        // Epoch days are formatted as UTC midnight
+        selectedDateFormat = new SimpleDateFormat("EEEE, MMM d, yyyy", Locale.getDefault());
+        selectedDateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
 
         swipeRefreshLayout = rootView.findViewById(R.id.swipeRefreshLayout);
         rvCalendarGrid = rootView.findViewById(R.id.rvCalendarGrid);
@@ -109,8 +112,8 @@ public class EmployeeScheduleFragment extends Fragment {
         rvCalendarGrid.setAdapter(calendarAdapter);
 
         calendarAdapter.setOnDayClickListener(day -> {
-            selectedDateKey = day.getDateKey();
-            updateDailyListForDateKey(selectedDateKey);
+            selectedDay = day.getEpochDay();
+            updateDailyList(selectedDay);
         });
 
         rvDailyJobs.setLayoutManager(new LinearLayoutManager(getContext()));
@@ -134,7 +137,15 @@ public class EmployeeScheduleFragment extends Fragment {
             @Override
             public void onScheduleChanged() {
                 android.util.Log.d("EmployeeSchedule", "Schedule changed detected via Firebase");
-                loadScheduleData();
+                // Several documents often change together - refresh once per burst
+                RefreshScheduler.getInstance().request(RefreshScheduler.KEY_TECHNICIAN_SCHEDULE,
+                        EmployeeScheduleFragment.this, done -> {
+                            if (isAdded()) {
+                                loadScheduleData(false, done);
+                            } else {
+                                done.run();
+                            }
+                        });
             }
 
             @Override
@@ -145,16 +156,15 @@ public class EmployeeScheduleFragment extends Fragment {
     }
 
     private void setupClickListeners() {
+        // The schedule holds every month, so flipping months only redraws from the index
         btnPreviousMonth.setOnClickListener(v -> {
             currentCalendar.add(Calendar.MONTH, -1);
             updateCalendar();
-            loadScheduleData();
         });
 
         btnNextMonth.setOnClickListener(v -> {
             currentCalendar.add(Calendar.MONTH, 1);
             updateCalendar();
-            loadScheduleData();
         });
     }
 
@@ -163,125 +173,55 @@ public class EmployeeScheduleFragment extends Fragment {
     }
 
     private void updateCalendar() {
-        calendarDays.clear();
+        ScheduleIndex.MonthGrid grid = scheduleIndex.monthGrid(
+                currentCalendar.get(Calendar.YEAR), currentCalendar.get(Calendar.MONTH));
 
-        Calendar calendar = (Calendar) currentCalendar.clone();
-        calendar.set(Calendar.DAY_OF_MONTH, 1);
-
-        int firstDayOfWeek = calendar.get(Calendar.DAY_OF_WEEK) - 1;
-        for (int i = 0; i < firstDayOfWeek; i++) {
-            calendarDays.add(new CalendarAdapter.CalendarDay(0, 0, 0, false));
-        }
-
-        int daysInMonth = calendar.getActualMaximum(Calendar.DAY_OF_MONTH);
-        int currentMonth = calendar.get(Calendar.MONTH);
-        int currentYear = calendar.get(Calendar.YEAR);
-
-        for (int day = 1; day <= daysInMonth; day++) {
-            CalendarAdapter.CalendarDay calendarDay = new CalendarAdapter.CalendarDay(
-                    day, currentMonth, currentYear, true);
-
-            String dateKey = calendarDay.getDateKey();
-            if (scheduledTicketsMap.containsKey(dateKey)) {
-                calendarDay.setScheduledTickets(scheduledTicketsMap.get(dateKey));
-            }
-
-            calendarDays.add(calendarDay);
-        }
-
-        while (calendarDays.size() < 42) {
-            calendarDays.add(new CalendarAdapter.CalendarDay(0, 0, 0, false));
+        if (!grid.contains(selectedDay)) {
+            int today = ScheduleIndex.today();
+            selectedDay = grid.contains(today) ? today : grid.getFirstDay();
         }
 
-        SimpleDateFormat monthYearFormat = new SimpleDateFormat("MMMM yyyy", Locale.getDefault());
-        tvMonthYear.setText(monthYearFormat.format(calendar.getTime()));
-
-        ensureSelectedDateKey();
-        applySelectionToCalendar();
-        calendarAdapter.notifyDataSetChanged();
-        updateDailyListForDateKey(selectedDateKey);
-    }
-
-    private void ensureSelectedDateKey() {
-        if (selectedDateKey == null || !isDateKeyInCurrentMonth(selectedDateKey)) {
-            String todayKey = getTodayDateKey();
-            if (isDateKeyInCurrentMonth(todayKey)) {
-                selectedDateKey = todayKey;
+        if (grid != shownGrid) {
+            int previousSize = calendarDays.size();
+            calendarDays.clear();
+            calendarDays.addAll(grid.getDays());
+            applySelectionToCalendar(grid);
+            if (previousSize == calendarDays.size()) {
+                calendarAdapter.notifyItemRangeChanged(0, calendarDays.size());
             } else {
-                selectedDateKey = getFirstDayKey(currentCalendar);
+                calendarAdapter.notifyDataSetChanged();
             }
+            tvMonthYear.setText(monthYearFormat.format(currentCalendar.getTime()));
+            shownGrid = grid;
+        } else {
+            applySelectionToCalendar(grid);
         }
-    }
-
-    private boolean isDateKeyInCurrentMonth(String dateKey) {
-        int[] parts = parseDateKey(dateKey);
-        if (parts == null) {
-            return false;
-        }
-        int year = parts[0];
-        int month = parts[1];
-        return year == currentCalendar.get(Calendar.YEAR)
-                && month == currentCalendar.get(Calendar.MONTH) + 1;
-    }
-
-    private int[] parseDateKey(String dateKey) {
-        if (dateKey == null) {
-            return null;
-        }
-        String[] parts = dateKey.split("-");
-        if (parts.length != 3) {
-            return null;
-        }
-        try {
-            int year = Integer.parseInt(parts[0]);
-            int month = Integer.parseInt(parts[1]);
-            int day = Integer.parseInt(parts[2]);
-            return new int[] { year, month, day };
-        } catch (NumberFormatException ex) {
-            return null;
-        }
-    }
 
-    private String getFirstDayKey(Calendar calendar) {
-        int year = calendar.get(Calendar.YEAR);
-        int month = calendar.get(Calendar.MONTH) + 1;
-        return String.format(Locale.getDefault(), "%04d-%02d-01", year, month);
+        updateDailyList(selectedDay);
     }
 
-    private String getTodayDateKey() {
-        Calendar today = Calendar.getInstance();
-        return String.format(Locale.getDefault(), "%04d-%02d-%02d",
-                today.get(Calendar.YEAR),
-                today.get(Calendar.MONTH) + 1,
-                today.get(Calendar.DAY_OF_MONTH));
-    }
-
-    private void applySelectionToCalendar() {
-        for (CalendarAdapter.CalendarDay day : calendarDays) {
-            if (day.isCurrentMonth()) {
-                day.setSelected(day.getDateKey().equals(selectedDateKey));
-            } else {
-                day.setSelected(false);
+    /**
+     * Mark the selected day in a grid; cached grids may still carry an old selection.
+     */
+    private void applySelectionToCalendar(ScheduleIndex.MonthGrid grid) {
+        int selectedPosition = grid.positionOf(selectedDay);
+        for (int day = grid.getFirstDay(); day < grid.getFirstDay() + grid.getDaysInMonth(); day++) {
+            int position = grid.positionOf(day);
+            CalendarAdapter.CalendarDay cell = calendarDays.get(position);
+            boolean selected = position == selectedPosition;
+            if (cell.isSelected() != selected) {
+                cell.setSelected(selected);
+                if (grid == shownGrid) {
+                    calendarAdapter.notifyItemChanged(position);
+                }
             }
         }
     }
 
-    private void updateDailyListForDateKey(@Nullable String dateKey) {
-        if (dateKey == null) {
-            tvSelectedDate.setText("Select a date");
-            tvSelectedCount.setText("");
-            tvDailyEmpty.setVisibility(View.VISIBLE);
-            rvDailyJobs.setVisibility(View.GONE);
-            dailyScheduleAdapter.setTickets(new ArrayList<>());
-            return;
-        }
-
-        List<EmployeeScheduleResponse.ScheduledTicket> tickets = scheduledTicketsMap.get(dateKey);
-        if (tickets == null) {
-            tickets = new ArrayList<>();
-        }
+    private void updateDailyList(int epochDay) {
+        List<EmployeeScheduleResponse.ScheduledTicket> tickets = scheduleIndex.ticketsOn(epochDay);
 
-        tvSelectedDate.setText(formatDateKey(dateKey));
+        tvSelectedDate.setText(selectedDateFormat.format(new Date(ScheduleIndex.toUtcMillis(epochDay))));
         tvSelectedCount.setText(tickets.size() + (tickets.size() == 1 ? " job" : " jobs"));
 
         if (tickets.isEmpty()) {
@@ -295,55 +235,23 @@ public class EmployeeScheduleFragment extends Fragment {
         dailyScheduleAdapter.setTickets(tickets);
     }
 
-    private String formatDateKey(String dateKey) {
-        SimpleDateFormat inputFormat = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault());
-        SimpleDateFormat outputFormat = new SimpleDateFormat("EEEE, MMM d, yyyy", Locale.getDefault());
-        try {
-            String normalized = normalizeDateKey(dateKey);
-            return outputFormat.format(inputFormat.parse(normalized));
-        } catch (ParseException e) {
-            return dateKey;
-        }
-    }
-
-    private String normalizeDateKey(String rawDate) {
-        if (rawDate == null) {
-            return null;
-        }
-
-        String trimmed = rawDate.trim();
-        String[] patterns = {
-                "yyyy-MM-dd",
-                "yyyy-MM-dd HH:mm:ss",
-                "yyyy-MM-dd'T'HH:mm:ss",
-                "yyyy/MM/dd"
-        };
-        SimpleDateFormat outputFormat = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault());
-
-        for (String pattern : patterns) {
-            SimpleDateFormat inputFormat = new SimpleDateFormat(pattern, Locale.getDefault());
-            inputFormat.setLenient(false);
-            try {
-                return outputFormat.format(inputFormat.parse(trimmed));
-            } catch (ParseException ignored) {
-                // Try next pattern.
-            }
-        }
-
-        if (trimmed.length() >= 10) {
-            return trimmed.substring(0, 10);
-        }
-
-        return trimmed;
-    }
-
     private void loadScheduleData() {
         loadScheduleData(false);
     }
 
     private void loadScheduleData(boolean preserveUi) {
+        loadScheduleData(preserveUi, null);
+    }
+
+    /**
+     * @param done run when the request has finished, either way (may be null)
+     */
+    private void loadScheduleData(boolean preserveUi, Runnable done) {
         String token = tokenManager.getToken();
         if (token == null) {
+            if (done != null) {
+                done.run();
+            }
             Toast.makeText(getContext(), "You are not logged in.", Toast.LENGTH_SHORT).show();
             if (swipeRefreshLayout != null) {
                 swipeRefreshLayout.setRefreshing(false);
@@ -364,6 +272,9 @@ public class EmployeeScheduleFragment extends Fragment {
         call.enqueue(new Callback<EmployeeScheduleResponse>() {
             @Override
             public void onResponse(Call<EmployeeScheduleResponse> call, Response<EmployeeScheduleResponse> response) {
+                if (done != null) {
+                    done.run();
+                }
                 if (swipeRefreshLayout != null) {
                     swipeRefreshLayout.setRefreshing(false);
                 }
@@ -395,6 +306,9 @@ public class EmployeeScheduleFragment extends Fragment {
 
             @Override
             public void onFailure(Call<EmployeeScheduleResponse> call, Throwable t) {
+                if (done != null) {
+                    done.run();
+                }
                 if (swipeRefreshLayout != null) {
                     swipeRefreshLayout.setRefreshing(false);
                 }
@@ -408,42 +322,17 @@ public class EmployeeScheduleFragment extends Fragment {
     }
 
     private void processScheduleData(List<EmployeeScheduleResponse.ScheduledTicket> tickets) {
-        allBufferedTickets.clear();
-        if (tickets != null) {
-            for (EmployeeScheduleResponse.ScheduledTicket ticket : tickets) {
-                if (ticket.getScheduledDate() != null) {
-                    String dateKey = normalizeDateKey(ticket.getScheduledDate());
-                    if (!allBufferedTickets.containsKey(dateKey)) {
-                        allBufferedTickets.put(dateKey, new ArrayList<>());
-                    }
-                    allBufferedTickets.get(dateKey).add(ticket);
-                }
-            }
-        }
-
-        rebuildScheduleMap();
-    }
+        // Dates and times are parsed and each day sorted here, once per load
+        scheduleIndex = new ScheduleIndex(tickets, ScheduleIndex.today());
+        shownGrid = null;
 
-    private void rebuildScheduleMap() {
-        scheduledTicketsMap.clear();
-
-        if (allBufferedTickets.isEmpty()) {
+        if (scheduleIndex.isEmpty()) {
             showEmptyState();
-            updateCalendar();
-            return;
-        }
-
-        hideEmptyState();
-        for (Map.Entry<String, List<EmployeeScheduleResponse.ScheduledTicket>> entry : allBufferedTickets.entrySet()) {
-            String dateKey = entry.getKey();
-            List<EmployeeScheduleResponse.ScheduledTicket> dayTickets = entry.getValue();
-            if (dayTickets != null && !dayTickets.isEmpty()) {
-                Collections.sort(dayTickets, Comparator.comparingInt(this::parseTimeToMinutes));
-                scheduledTicketsMap.put(dateKey, dayTickets);
-            }
+        } else {
+            hideEmptyState();
         }
 
-        android.util.Log.d("EmployeeSchedule", "Schedule entries: " + scheduledTicketsMap.size());
+        android.util.Log.d("EmployeeSchedule", "Schedule entries: " + scheduleIndex.dayCount());
         updateCalendar();
     }
 
@@ -485,35 +374,6 @@ public class EmployeeScheduleFragment extends Fragment {
         }
     }
 
-    private int parseTimeToMinutes(EmployeeScheduleResponse.ScheduledTicket ticket) {
-        if (ticket == null || ticket.getScheduledTime() == null) {
-            return Integer.MAX_VALUE;
-        }
-
-        String rawTime = ticket.getScheduledTime().trim();
-        String[] patterns = {
-                "HH:mm",
-                "HH:mm:ss",
-                "hh:mm a",
-                "h:mm a"
-        };
-
-        for (String pattern : patterns) {
-            SimpleDateFormat inputFormat = new SimpleDateFormat(pattern, Locale.getDefault());
-            inputFormat.setLenient(false);
-            try {
-                Date parsed = inputFormat.parse(rawTime);
-                Calendar calendar = Calendar.getInstance();
-                calendar.setTime(parsed);
-                return calendar.get(Calendar.HOUR_OF_DAY) * 60 + calendar.get(Calendar.MINUTE);
-            } catch (ParseException ignored) {
-                // Try next pattern.
-            }
-        }
-
-        return Integer.MAX_VALUE;
-    }
-
     @Override
     public void onResume() {
         super.onResume();
@@ -529,5 +389,6 @@ public class EmployeeScheduleFragment extends Fragment {
         if (firebaseListener != null) {
             firebaseListener.stopListening();
         }
+        RefreshScheduler.getInstance().cancel(RefreshScheduler.KEY_TECHNICIAN_SCHEDULE, this);
     }
 }
@@ -31,6 +31,7 @@ import app.hub.api.UpdateTicketStatusRequest;
 import app.hub.api.UpdateTicketStatusResponse;
 import app.hub.api.CompleteWorkRequest;
 import app.hub.api.CompleteWorkResponse;
+import app.hub.util.GeocodingService;
 import app.hub.util.TokenManager;
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -907,30 +908,25 @@ public class EmployeeTicketDetailActivity extends AppCompatActivity
     }
 
     private void geocodeAndShowLocation(String addressStr) {
-        new Thread(() -> {
-            try {
-                android.location.Geocoder geocoder = new android.location.Geocoder(this, java.util.Locale.getDefault());
-                java.util.List<android.location.Address> addresses = geocoder.getFromLocationName(addressStr, 1);
-
-                if (addresses != null && !addresses.isEmpty()) {
-                    android.location.Address location = addresses.get(0);
-                    double lat = location.getLatitude();
-                    double lng = location.getLongitude();
-
-                    // Update UI on main thread
-                    runOnUiThread(() -> {
-                        // Update the stored coordinates
-                        this.customerLatitude = lat;
-                        this.customerLongitude = lng;
-                        showLocationOnMap(lat, lng);
-                    });
-                } else {
-                    runOnUiThread(this::hideMap);
+        GeocodingService.getInstance(this).geocode(addressStr, new GeocodingService.Callback() {
+            @Override
+            public void onGeocoded(double lat, double lng) {
+                if (isFinishing()) {
+                    return;
                 }
-            } catch (java.io.IOException e) {
-                runOnUiThread(this::hideMap);
+                // Update the stored coordinates
+                customerLatitude = lat;
+                customerLongitude = lng;
+                showLocationOnMap(lat, lng);
             }
-        }).start();
+
+            @Override
+            public void onNotFound() {
+                if (!isFinishing()) {
+                    hideMap();
+                }
+            }
+        });
     }
 
     @Override
@@ -16,21 +16,50 @@ import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 
 import app.hub.R;
+import app.hub.api.TicketDeltaStore;
 import app.hub.api.TicketListResponse;
+import app.hub.common.RowDiffer;
 
 public class EmployeeTicketsAdapter extends RecyclerView.Adapter<EmployeeTicketsAdapter.EmployeeTicketViewHolder> {
 
-    private List<TicketListResponse.TicketItem> tickets;
+    // Diffed off the main thread; only changed rows rebind
+    private final RowDiffer<TicketListResponse.TicketItem> tickets = new RowDiffer<>(this,
+            new RowDiffer.RowKeys<TicketListResponse.TicketItem>() {
+                @Override
+                public String keyOf(TicketListResponse.TicketItem ticket) {
+                    return TicketDeltaStore.keyOf(ticket);
+                }
+
+                @Override
+                public String statusOf(TicketListResponse.TicketItem ticket) {
+                    return ticket.getStatus() + "|" + ticket.getStatusColor();
+                }
+
+                @Override
+                public int contentOf(TicketListResponse.TicketItem ticket) {
+                    return Objects.hash(ticket.getTitle(), ticket.getTicketId(), ticket.getServiceType(),
+                            ticket.getDescription(), ticket.getCustomerName(), ticket.getAddress(),
+                            ticket.getUpdatedAt(), ticket.getCreatedAt(), ticket.getScheduledDate(),
+                            ticket.getScheduledTime(), ticket.getScheduleNotes());
+                }
+            });
     private OnTicketClickListener onTicketClickListener;
 
     public interface OnTicketClickListener {
         void onTicketClick(TicketListResponse.TicketItem ticket);
     }
 
-    public EmployeeTicketsAdapter(List<TicketListResponse.TicketItem> tickets) {
-        this.tickets = tickets;
+    public EmployeeTicketsAdapter() {
+    }
+
+    /**
+     * Show a new list. Rows are matched by ticket id; a status-only change just restyles the chip.
+     */
+    public void submitList(List<TicketListResponse.TicketItem> newTickets) {
+        tickets.submitList(newTickets);
     }
 
     public void setOnTicketClickListener(OnTicketClickListener listener) {
@@ -42,20 +71,31 @@ public class EmployeeTicketsAdapter extends RecyclerView.Adapter<EmployeeTickets
     public EmployeeTicketViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View view = LayoutInflater.from(parent.getContext())
                 .inflate(R.layout.item_employee_ticket, parent, false);
-        return new EmployeeTicketViewHolder(view);
-    }
-
-    @Override
-    public void onBindViewHolder(@NonNull EmployeeTicketViewHolder holder, int position) {
-        TicketListResponse.TicketItem ticket = tickets.get(position);
-        holder.bind(ticket);
+        EmployeeTicketViewHolder holder = new EmployeeTicketViewHolder(view);
 
-        // Set click listener
+        // Looked up when clicked, so status-only rebinds can't leave the listener on an old copy
         holder.itemView.setOnClickListener(v -> {
-            if (onTicketClickListener != null) {
-                onTicketClickListener.onTicketClick(ticket);
+            int position = holder.getBindingAdapterPosition();
+            if (onTicketClickListener != null && position != RecyclerView.NO_POSITION
+                    && position < tickets.size()) {
+                onTicketClickListener.onTicketClick(tickets.get(position));
             }
         });
+        return holder;
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull EmployeeTicketViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.contains(RowDiffer.PAYLOAD_STATUS)) {
+            holder.bindStatus(tickets.get(position));
+            return;
+        }
+        onBindViewHolder(holder, position);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull EmployeeTicketViewHolder holder, int position) {
+        holder.bind(tickets.get(position));
     }
 
     @Override
@@ -97,27 +137,12 @@ public class EmployeeTicketsAdapter extends RecyclerView.Adapter<EmployeeTickets
             tvTitle.setText(getTitleOrTicketId(ticket));
             tvTicketId.setText(ticket.getTicketId());
             tvServiceType.setText(buildServiceText(ticket));
-            tvStatus.setText(buildStatusText(ticket));
+            bindStatus(ticket);
             tvDescription.setText(ticket.getDescription());
             tvCustomerName
                     .setText("Customer: " + (ticket.getCustomerName() != null ? ticket.getCustomerName() : "Unknown"));
             tvAddress.setText("Location: " + (ticket.getAddress() != null ? ticket.getAddress() : "Not specified"));
 
-            // Set status color/tint
-            String statusColor = ticket.getStatusColor();
-            if (statusColor != null && !statusColor.isEmpty()) {
-                try {
-                    int color = Color.parseColor(statusColor);
-                    tvStatus.setBackgroundTintList(ColorStateList.valueOf(color));
-                    tvStatus.setTextColor(Color.WHITE);
-                } catch (IllegalArgumentException e) {
-                    // Fallback to default colors based on status
-                    setStatusColors(tvStatus, ticket.getStatus());
-                }
-            } else {
-                setStatusColors(tvStatus, ticket.getStatus());
-            }
-
             // Format date
             String formattedDate = formatDate(getHistoryDate(ticket));
             tvDate.setText("Completed: " + formattedDate);
@@ -142,6 +167,28 @@ public class EmployeeTicketsAdapter extends RecyclerView.Adapter<EmployeeTickets
             }
         }
 
+        /**
+         * Status text and tint; the only views a status change touches.
+         */
+        void bindStatus(TicketListResponse.TicketItem ticket) {
+            tvStatus.setText(buildStatusText(ticket));
+
+            // Set status color/tint
+            String statusColor = ticket.getStatusColor();
+            if (statusColor != null && !statusColor.isEmpty()) {
+                try {
+                    int color = Color.parseColor(statusColor);
+                    tvStatus.setBackgroundTintList(ColorStateList.valueOf(color));
+                    tvStatus.setTextColor(Color.WHITE);
+                } catch (IllegalArgumentException e) {
+                    // Fallback to default colors based on status
+                    setStatusColors(tvStatus, ticket.getStatus());
+                }
+            } else {
+                setStatusColors(tvStatus, ticket.getStatus());
+            }
+        }
+
         private void setStatusColors(TextView textView, String status) {
             if (status == null)
                 return;
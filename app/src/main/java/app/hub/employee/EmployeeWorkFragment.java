@@ -46,6 +46,8 @@ import app.hub.api.TicketListResponse;
 import app.hub.api.UpdateTicketStatusRequest;
 import app.hub.api.UpdateTicketStatusResponse;
 import app.hub.map.EmployeeMapActivity;
+import app.hub.util.GeocodingService;
+import app.hub.util.RefreshScheduler;
 import app.hub.util.TokenManager;
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -960,8 +962,18 @@ public class EmployeeWorkFragment extends Fragment implements OnMapReadyCallback
     }
 
     private int getSavedStep(String ticketId) {
-        SharedPreferences prefs = requireContext().getSharedPreferences(PREFS_NAME,
-                android.content.Context.MODE_PRIVATE);
+        return getSavedStep(requireContext(), ticketId);
+    }
+
+    /**
+     * Last step the technician reached on a ticket (STEP_ASSIGNED..STEP_COMPLETED), e.g. for
+     * picking a location sampling rate outside this screen.
+     */
+    public static int getSavedStep(android.content.Context context, String ticketId) {
+        if (ticketId == null) {
+            return STEP_ASSIGNED;
+        }
+        SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, android.content.Context.MODE_PRIVATE);
         return prefs.getInt(ticketId, STEP_ASSIGNED);
     }
 
@@ -1353,31 +1365,25 @@ public class EmployeeWorkFragment extends Fragment implements OnMapReadyCallback
             return;
         }
 
-        new Thread(() -> {
-            try {
-                android.location.Geocoder geocoder = new android.location.Geocoder(getContext(),
-                        java.util.Locale.getDefault());
-                java.util.List<android.location.Address> addresses = geocoder.getFromLocationName(query, 1);
-
-                if (addresses != null && !addresses.isEmpty()) {
-                    android.location.Address location = addresses.get(0);
-                    double lat = location.getLatitude();
-                    double lng = location.getLongitude();
-                    if (getActivity() != null) {
-                        getActivity().runOnUiThread(() -> {
-                            if (isCustomer) {
-                                customerLatLng = new LatLng(lat, lng);
-                            } else {
-                                branchLatLng = new LatLng(lat, lng);
-                            }
-                            renderMapMarkers();
-                        });
-                    }
+        GeocodingService.getInstance(getContext()).geocode(query, new GeocodingService.Callback() {
+            @Override
+            public void onGeocoded(double lat, double lng) {
+                if (!isAdded()) {
+                    return;
                 }
-            } catch (java.io.IOException ignored) {
+                if (isCustomer) {
+                    customerLatLng = new LatLng(lat, lng);
+                } else {
+                    branchLatLng = new LatLng(lat, lng);
+                }
+                renderMapMarkers();
+            }
+
+            @Override
+            public void onNotFound() {
                 // Keep map as-is on failure.
             }
-        }).start();
+        });
     }
 
     private void renderMapMarkers() {
@@ -1567,34 +1573,67 @@ public class EmployeeWorkFragment extends Fragment implements OnMapReadyCallback
                 @Override
                 public void onTicketAssigned(String ticketId) {
                     android.util.Log.i("EmployeeWork", "Firebase: New ticket assigned - " + ticketId);
-                    // Refresh tickets immediately
-                    if (isAdded()) {
-                        loadAssignedTickets(true);
-                    }
+                    requestTicketRefresh();
                 }
 
                 @Override
                 public void onTicketUpdated(String ticketId) {
                     android.util.Log.i("EmployeeWork", "Firebase: Ticket updated - " + ticketId);
-                    // Refresh tickets immediately
-                    if (isAdded()) {
-                        loadAssignedTickets(true);
-                    }
+                    requestTicketRefresh();
                 }
 
                 @Override
                 public void onTicketRemoved(String ticketId) {
                     android.util.Log.i("EmployeeWork", "Firebase: Ticket removed - " + ticketId);
-                    // Refresh tickets immediately
-                    if (isAdded()) {
-                        loadAssignedTickets(true);
-                    }
+                    requestTicketRefresh();
                 }
             });
         }
         firebaseListener.startListening();
     }
     
+    /**
+     * Coalesce Firebase-triggered reloads so a burst of changes costs one API call, shared with
+     * the dashboard when both are listening
+     */
+    private void requestTicketRefresh() {
+        RefreshScheduler.getInstance().request(RefreshScheduler.KEY_TECHNICIAN_TICKETS, this, done -> {
+            if (isAdded() && getContext() != null) {
+                refreshAssignedTickets(done);
+            } else {
+                done.run();
+            }
+        });
+    }
+
+    /**
+     * Reload through EmployeeDataManager so a refresh running for another screen is joined
+     */
+    private void refreshAssignedTickets(Runnable done) {
+        EmployeeDataManager.loadTickets(requireContext(), true,
+                new EmployeeDataManager.DataCallback<List<TicketListResponse.TicketItem>>() {
+                    @Override
+                    public void onSuccess(List<TicketListResponse.TicketItem> tickets) {
+                        // Persisted tickets come first; only the synced list ends the load
+                        if (!EmployeeDataManager.isLoadingTickets()) {
+                            done.run();
+                        }
+                        if (!isAdded() || getContext() == null) {
+                            return;
+                        }
+                        assignedTickets.clear();
+                        assignedTickets.addAll(tickets);
+                        updateActiveJobUi();
+                    }
+
+                    @Override
+                    public void onError(String error) {
+                        done.run();
+                        android.util.Log.e("EmployeeWork", "Background refresh failed: " + error);
+                    }
+                });
+    }
+
     /**
      * Stop Firebase listener
      */
@@ -1602,6 +1641,7 @@ public class EmployeeWorkFragment extends Fragment implements OnMapReadyCallback
         if (firebaseListener != null) {
             firebaseListener.stopListening();
         }
+        RefreshScheduler.getInstance().cancel(RefreshScheduler.KEY_TECHNICIAN_TICKETS, this);
     }
 
     private void startAutoRefresh() {
@@ -0,0 +1,308 @@
+package app.hub.employee;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import app.hub.api.EmployeeScheduleResponse;
+
+/**
+ * A technician's schedule, indexed for the calendar.
+ *
+ * Built once per schedule load: every ticket's date and time are parsed once, tickets are
+ * bucketed by epoch day (days since 1970-01-01) and each day is sorted by time. Month grids are
+ * built the first time a month is shown and kept, so flipping between months is a lookup.
+ *
+ * Dates are plain calendar days with no time zone; month is 0-based like Calendar.MONTH.
+ */
+public class ScheduleIndex {
+    /** Minutes for a ticket without a usable time; sorts after every real time. */
+    public static final int NO_TIME = Integer.MAX_VALUE;
+    /** Epoch day for a missing or unreadable date. */
+    public static final int NO_DAY = Integer.MIN_VALUE;
+
+    static final int GRID_CELLS = 42;
+    private static final long DAY_MS = 24L * 60 * 60 * 1000;
+
+    private final Map<Integer, List<EmployeeScheduleResponse.ScheduledTicket>> byDay = new HashMap<>();
+    private final Map<Integer, MonthGrid> grids = new HashMap<>();
+    private final int today;
+
+    public ScheduleIndex(List<EmployeeScheduleResponse.ScheduledTicket> tickets, int today) {
+        this.today = today;
+        if (tickets == null) {
+            return;
+        }
+
+        Map<Integer, List<Entry>> entries = new HashMap<>();
+        for (EmployeeScheduleResponse.ScheduledTicket ticket : tickets) {
+            int day = ticket != null ? parseDate(ticket.getScheduledDate()) : NO_DAY;
+            if (day == NO_DAY) {
+                continue;
+            }
+            List<Entry> dayEntries = entries.get(day);
+            if (dayEntries == null) {
+                dayEntries = new ArrayList<>();
+                entries.put(day, dayEntries);
+            }
+            dayEntries.add(new Entry(ticket, parseTime(ticket.getScheduledTime())));
+        }
+
+        for (Map.Entry<Integer, List<Entry>> bucket : entries.entrySet()) {
+            List<Entry> dayEntries = bucket.getValue();
+            // Stable, so tickets at the same time keep the server's order
+            Collections.sort(dayEntries, (a, b) -> Integer.compare(a.minutes, b.minutes));
+            List<EmployeeScheduleResponse.ScheduledTicket> sorted = new ArrayList<>(dayEntries.size());
+            for (Entry entry : dayEntries) {
+                sorted.add(entry.ticket);
+            }
+            byDay.put(bucket.getKey(), Collections.unmodifiableList(sorted));
+        }
+    }
+
+    /**
+     * Today's epoch day in the device's time zone.
+     */
+    public static int today() {
+        Calendar now = Calendar.getInstance();
+        return epochDay(now.get(Calendar.YEAR), now.get(Calendar.MONTH), now.get(Calendar.DAY_OF_MONTH));
+    }
+
+    public boolean isEmpty() {
+        return byDay.isEmpty();
+    }
+
+    /**
+     * Number of days with at least one ticket.
+     */
+    public int dayCount() {
+        return byDay.size();
+    }
+
+    /**
+     * The day's tickets, sorted by time. Never null.
+     */
+    public List<EmployeeScheduleResponse.ScheduledTicket> ticketsOn(int epochDay) {
+        List<EmployeeScheduleResponse.ScheduledTicket> tickets = byDay.get(epochDay);
+        return tickets != null ? tickets : Collections.emptyList();
+    }
+
+    /**
+     * The 6x7 calendar grid for a month, built on first use.
+     */
+    public MonthGrid monthGrid(int year, int month) {
+        int key = year * 12 + month;
+        MonthGrid grid = grids.get(key);
+        if (grid == null) {
+            grid = new MonthGrid(year, month);
+            grids.put(key, grid);
+        }
+        return grid;
+    }
+
+    public class MonthGrid {
+        private final int year;
+        private final int month;
+        private final int firstDay;
+        private final int daysInMonth;
+        private final int offset;
+        private final List<CalendarAdapter.CalendarDay> days;
+
+        MonthGrid(int year, int month) {
+            this.year = year;
+            this.month = month;
+            this.firstDay = epochDay(year, month, 1);
+            this.daysInMonth = daysInMonth(year, month);
+            // 1970-01-01 was a Thursday; Sunday is the first column
+            this.offset = Math.floorMod(firstDay + 4, 7);
+
+            List<CalendarAdapter.CalendarDay> cells = new ArrayList<>(GRID_CELLS);
+            for (int i = 0; i < offset; i++) {
+                cells.add(new CalendarAdapter.CalendarDay(0, 0, 0, false));
+            }
+            for (int dayOfMonth = 1; dayOfMonth <= daysInMonth; dayOfMonth++) {
+                int epochDay = firstDay + dayOfMonth - 1;
+                CalendarAdapter.CalendarDay cell = new CalendarAdapter.CalendarDay(dayOfMonth, month, year, true);
+                cell.setEpochDay(epochDay);
+                cell.setToday(epochDay == today);
+                List<EmployeeScheduleResponse.ScheduledTicket> tickets = byDay.get(epochDay);
+                if (tickets != null) {
+                    cell.setScheduledTickets(tickets);
+                }
+                cells.add(cell);
+            }
+            while (cells.size() < GRID_CELLS) {
+                cells.add(new CalendarAdapter.CalendarDay(0, 0, 0, false));
+            }
+            this.days = Collections.unmodifiableList(cells);
+        }
+
+        public int getYear() {
+            return year;
+        }
+
+        public int getMonth() {
+            return month;
+        }
+
+        public int getFirstDay() {
+            return firstDay;
+        }
+
+        public int getDaysInMonth() {
+            return daysInMonth;
+        }
+
+        public List<CalendarAdapter.CalendarDay> getDays() {
+            return days;
+        }
+
+        public boolean contains(int epochDay) {
+            return epochDay >= firstDay && epochDay < firstDay + daysInMonth;
+        }
+
+        /**
+         * Grid position of a day of this month, or -1.
+         */
+        public int positionOf(int epochDay) {
+            return contains(epochDay) ? offset + epochDay - firstDay : -1;
+        }
+    }
+
+    /**
+     * Midnight UTC of the day, for formatting with a UTC formatter.
+     */
+    public static long toUtcMillis(int epochDay) {
+        return epochDay * DAY_MS;
+    }
+
+    static int epochDay(int year, int month, int dayOfMonth) {
+        // Days from civil date, proleptic Gregorian (H. Hinnant's algorithm)
+        int y = month < 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int shiftedMonth = (month + 10) % 12; // March = 0
+        int dayOfYear = (153 * shiftedMonth + 2) / 5 + dayOfMonth - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    static int daysInMonth(int year, int month) {
+        switch (month) {
+            case Calendar.FEBRUARY:
+                boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+                return leap ? 29 : 28;
+            case Calendar.APRIL:
+            case Calendar.JUNE:
+            case Calendar.SEPTEMBER:
+            case Calendar.NOVEMBER:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * Epoch day of "yyyy-MM-dd" or "yyyy/MM/dd", with anything after the date (a time) ignored.
+     * NO_DAY if it is not a real date.
+     */
+    static int parseDate(String raw) {
+        if (raw == null) {
+            return NO_DAY;
+        }
+        String s = raw.trim();
+        int[] pos = { 0 };
+        int year = readNumber(s, pos, 4);
+        if (year < 0 || !skipSeparator(s, pos)) {
+            return NO_DAY;
+        }
+        int month = readNumber(s, pos, 2);
+        if (month < 1 || month > 12 || !skipSeparator(s, pos)) {
+            return NO_DAY;
+        }
+        int day = readNumber(s, pos, 2);
+        if (day < 1 || day > daysInMonth(year, month - 1)) {
+            return NO_DAY;
+        }
+        if (pos[0] < s.length() && Character.isDigit(s.charAt(pos[0]))) {
+            return NO_DAY;
+        }
+        return epochDay(year, month - 1, day);
+    }
+
+    /**
+     * Minutes after midnight of "HH:mm", "HH:mm:ss" or "h:mm AM". NO_TIME if it is not a time.
+     */
+    static int parseTime(String raw) {
+        if (raw == null) {
+            return NO_TIME;
+        }
+        String s = raw.trim();
+        int[] pos = { 0 };
+        int hour = readNumber(s, pos, 2);
+        if (hour < 0 || pos[0] >= s.length() || s.charAt(pos[0]++) != ':') {
+            return NO_TIME;
+        }
+        int start = pos[0];
+        int minute = readNumber(s, pos, 2);
+        if (minute < 0 || minute > 59 || pos[0] - start != 2) {
+            return NO_TIME;
+        }
+        if (pos[0] < s.length() && s.charAt(pos[0]) == ':') {
+            pos[0]++;
+            start = pos[0];
+            int second = readNumber(s, pos, 2);
+            if (second < 0 || second > 59 || pos[0] - start != 2) {
+                return NO_TIME;
+            }
+        }
+
+        String rest = s.substring(pos[0]).trim();
+        if (rest.isEmpty()) {
+            return hour <= 23 ? hour * 60 + minute : NO_TIME;
+        }
+        if (hour < 1 || hour > 12) {
+            return NO_TIME;
+        }
+        if (rest.equalsIgnoreCase("AM")) {
+            return (hour % 12) * 60 + minute;
+        }
+        if (rest.equalsIgnoreCase("PM")) {
+            return (hour % 12 + 12) * 60 + minute;
+        }
+        return NO_TIME;
+    }
+
+    // Reads up to maxDigits digits at pos[0]; -1 if there are none
+    private static int readNumber(String s, int[] pos, int maxDigits) {
+        int value = 0;
+        int digits = 0;
+        while (pos[0] < s.length() && digits < maxDigits && Character.isDigit(s.charAt(pos[0]))) {
+            value = value * 10 + (s.charAt(pos[0]) - '0');
+            pos[0]++;
+            digits++;
+        }
+        return digits > 0 ? value : -1;
+    }
+
+    private static boolean skipSeparator(String s, int[] pos) {
+        if (pos[0] < s.length() && (s.charAt(pos[0]) == '-' || s.charAt(pos[0]) == '/')) {
+            pos[0]++;
+            return true;
+        }
+        return false;
+    }
+
+    private static final class Entry {
+        final EmployeeScheduleResponse.ScheduledTicket ticket;
+        final int minutes;
+
+        Entry(EmployeeScheduleResponse.ScheduledTicket ticket, int minutes) {
+            this.ticket = ticket;
+            this.minutes = minutes;
+        }
+    }
+}
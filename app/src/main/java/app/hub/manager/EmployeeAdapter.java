@@ -1,5 +1,6 @@
 package app.hub.manager;
 
+import android.content.Context;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -9,16 +10,20 @@ import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.google.android.material.imageview.ShapeableImageView;
-import com.squareup.picasso.Picasso;
 
 import java.util.List;
 
 import app.hub.R;
 import app.hub.api.EmployeeResponse;
+import app.hub.util.ImageLoader;
 
 public class EmployeeAdapter extends RecyclerView.Adapter<EmployeeAdapter.EmployeeViewHolder> {
 
+    // Avatars are decoded at this size, like the old Picasso resize(200, 200)
+    private static final int AVATAR_SIZE_PX = 200;
+
     private List<EmployeeResponse.Employee> employees;
+    private Context context;
 
     public EmployeeAdapter(List<EmployeeResponse.Employee> employees) {
         this.employees = employees;
@@ -52,42 +57,26 @@ public class EmployeeAdapter extends RecyclerView.Adapter<EmployeeAdapter.Employ
         // Set branch
         holder.employeeStatus.setText(employee.getBranch() != null ? employee.getBranch() : "No Branch");
         
-        // Load profile image with Picasso - optimized for smooth loading
-        String imageUrl = employee.getProfilePhoto();
-        
-        // Make displayName final for use in callback
-        final String finalDisplayName = displayName;
-        
-        android.util.Log.d("EmployeeAdapter", "Employee: " + finalDisplayName + ", Profile Photo URL: " + imageUrl);
-        
-        if (imageUrl != null && !imageUrl.isEmpty()) {
-            android.util.Log.d("EmployeeAdapter", "Loading image from: " + imageUrl);
-            
-            // Use Picasso with optimized settings for smooth loading
-            Picasso.get()
-                .load(imageUrl)
+        // Profile image from memory or disk cache when seen before, sampled to the row's size
+        ImageLoader.get(holder.itemView.getContext())
+                .load(employee.getProfilePhoto())
                 .placeholder(R.drawable.profile_icon)
                 .error(R.drawable.profile_icon)
-                .resize(200, 200) // Resize to reasonable size for performance
-                .centerCrop()
-                .priority(com.squareup.picasso.Picasso.Priority.HIGH)
-                .into(holder.employeeImage, new com.squareup.picasso.Callback() {
-                    @Override
-                    public void onSuccess() {
-                        android.util.Log.d("EmployeeAdapter", "Image loaded successfully for: " + finalDisplayName);
-                    }
-
-                    @Override
-                    public void onError(Exception e) {
-                        android.util.Log.e("EmployeeAdapter", "Failed to load image for: " + finalDisplayName + ", Error: " + e.getMessage());
-                        // Set default icon on error
-                        holder.employeeImage.setImageResource(R.drawable.profile_icon);
-                    }
-                });
-        } else {
-            android.util.Log.d("EmployeeAdapter", "No profile photo URL for: " + finalDisplayName);
-            holder.employeeImage.setImageResource(R.drawable.profile_icon);
-        }
+                .resize(AVATAR_SIZE_PX, AVATAR_SIZE_PX)
+                .into(holder.employeeImage);
+    }
+
+    @Override
+    public void onViewRecycled(@NonNull EmployeeViewHolder holder) {
+        super.onViewRecycled(holder);
+        ImageLoader.get(holder.itemView.getContext()).cancel(holder.employeeImage);
+    }
+
+    @Override
+    public void onAttachedToRecyclerView(@NonNull RecyclerView recyclerView) {
+        super.onAttachedToRecyclerView(recyclerView);
+        context = recyclerView.getContext().getApplicationContext();
+        preloadImages();
     }
 
     @Override
@@ -107,7 +96,7 @@ public class EmployeeAdapter extends RecyclerView.Adapter<EmployeeAdapter.Employ
      * Preload images in background for smooth scrolling
      */
     private void preloadImages() {
-        if (employees == null) return;
+        if (context == null || employees == null) return;
         
         // Preload first 10 images
         int preloadCount = Math.min(employees.size(), 10);
@@ -116,12 +105,8 @@ public class EmployeeAdapter extends RecyclerView.Adapter<EmployeeAdapter.Employ
             String imageUrl = employee.getProfilePhoto();
             
             if (imageUrl != null && !imageUrl.isEmpty()) {
-                // Preload into Picasso cache
-                Picasso.get()
-                    .load(imageUrl)
-                    .resize(200, 200)
-                    .centerCrop()
-                    .fetch();
+                // Download ahead so the row shows it from disk
+                ImageLoader.get(context).load(imageUrl).fetch();
             }
         }
     }
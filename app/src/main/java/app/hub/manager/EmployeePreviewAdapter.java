@@ -3,7 +3,6 @@ package app.hub.manager;
 import android.content.Context;
 import android.graphics.Color;
 import com.google.android.material.imageview.ShapeableImageView;
-import com.squareup.picasso.Picasso;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -17,9 +16,13 @@ import java.util.List;
 
 import app.hub.R;
 import app.hub.api.EmployeeResponse;
+import app.hub.util.ImageLoader;
 
 public class EmployeePreviewAdapter extends RecyclerView.Adapter<EmployeePreviewAdapter.ViewHolder> {
 
+    // Avatars are decoded at this size, like the old Picasso resize(200, 200)
+    private static final int AVATAR_SIZE_PX = 200;
+
     private Context context;
     private List<EmployeeResponse.Employee> employees;
 
@@ -49,12 +52,8 @@ public class EmployeePreviewAdapter extends RecyclerView.Adapter<EmployeePreview
             String imageUrl = employee.getProfilePhoto();
             
             if (imageUrl != null && !imageUrl.isEmpty()) {
-                // Preload into Picasso cache
-                Picasso.get()
-                    .load(imageUrl)
-                    .resize(200, 200)
-                    .centerCrop()
-                    .fetch();
+                // Download ahead so the row shows it from disk
+                ImageLoader.get(context).load(imageUrl).fetch();
             }
         }
     }
@@ -93,43 +92,22 @@ public class EmployeePreviewAdapter extends RecyclerView.Adapter<EmployeePreview
             // Ignore tinting errors
         }
 
-        // Load profile image with Picasso - optimized for smooth loading
+        // Profile image from memory or disk cache when seen before, sampled to the row's size
         if (holder.employeeImage != null) {
-            String imageUrl = employee.getProfilePhoto();
-            
-            // Make displayName final for use in callback
-            final String finalDisplayName = displayName;
-            
-            android.util.Log.d("EmployeePreview", "Employee: " + finalDisplayName + ", Profile Photo URL: " + imageUrl);
-            
-            if (imageUrl != null && !imageUrl.isEmpty()) {
-                android.util.Log.d("EmployeePreview", "Loading image from: " + imageUrl);
-                
-                // Use Picasso with optimized settings for smooth loading
-                Picasso.get()
-                    .load(imageUrl)
+            ImageLoader.get(context)
+                    .load(employee.getProfilePhoto())
                     .placeholder(R.drawable.profile_icon)
                     .error(R.drawable.profile_icon)
-                    .resize(200, 200) // Resize to reasonable size for performance
-                    .centerCrop()
-                    .priority(com.squareup.picasso.Picasso.Priority.HIGH)
-                    .into(holder.employeeImage, new com.squareup.picasso.Callback() {
-                        @Override
-                        public void onSuccess() {
-                            android.util.Log.d("EmployeePreview", "Image loaded successfully for: " + finalDisplayName);
-                        }
-
-                        @Override
-                        public void onError(Exception e) {
-                            android.util.Log.e("EmployeePreview", "Failed to load image for: " + finalDisplayName + ", Error: " + e.getMessage());
-                            // Set default icon on error
-                            holder.employeeImage.setImageResource(R.drawable.profile_icon);
-                        }
-                    });
-            } else {
-                android.util.Log.d("EmployeePreview", "No profile photo URL for: " + finalDisplayName);
-                holder.employeeImage.setImageResource(R.drawable.profile_icon);
-            }
+                    .resize(AVATAR_SIZE_PX, AVATAR_SIZE_PX)
+                    .into(holder.employeeImage);
+        }
+    }
+
+    @Override
+    public void onViewRecycled(@NonNull ViewHolder holder) {
+        super.onViewRecycled(holder);
+        if (holder.employeeImage != null) {
+            ImageLoader.get(context).cancel(holder.employeeImage);
         }
     }
 
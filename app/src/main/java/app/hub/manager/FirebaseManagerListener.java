@@ -4,6 +4,7 @@ import android.content.Context;
 import android.util.Log;
 
 import com.google.firebase.firestore.DocumentChange;
+import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.ListenerRegistration;
 import com.google.firebase.firestore.QuerySnapshot;
@@ -11,14 +12,12 @@ import com.google.firebase.firestore.QuerySnapshot;
 import java.util.ArrayList;
 import java.util.List;
 
-import app.hub.api.DashboardStatsResponse;
-import app.hub.api.EmployeeResponse;
-import app.hub.api.TicketListResponse;
+import app.hub.util.RefreshScheduler;
 import app.hub.util.TokenManager;
 
 /**
  * Firebase real-time listener for manager data
- * Listens to Firestore changes and updates ManagerDataManager cache
+ * Listens to Firestore changes and patches the ManagerDataManager cache in place
  */
 public class FirebaseManagerListener {
     private static final String TAG = "FirebaseManagerListener";
@@ -92,8 +91,8 @@ public class FirebaseManagerListener {
                         return;
                     }
 
-                    if (snapshots == null || snapshots.isEmpty()) {
-                        Log.d(TAG, "No tickets in Firestore for branch: " + branchName);
+                    if (snapshots == null || snapshots.getDocumentChanges().isEmpty()) {
+                        Log.d(TAG, "No ticket changes in Firestore for branch: " + branchName);
                         if (connectionStateListener != null) {
                             connectionStateListener.onConnected();
                         }
@@ -102,27 +101,23 @@ public class FirebaseManagerListener {
 
                     Log.i(TAG, "Received ticket updates from Firestore: " + snapshots.size() + " tickets");
 
-                    // Process changes
+                    // Patch the cache from the changes themselves; only tickets the cache can't
+                    // patch are fetched from the API
+                    List<ManagerDataManager.TicketChange> changes = new ArrayList<>();
                     for (DocumentChange dc : snapshots.getDocumentChanges()) {
-                        String ticketId = dc.getDocument().getString("ticketId");
-                        String status = dc.getDocument().getString("status");
-
-                        switch (dc.getType()) {
-                            case ADDED:
-                                Log.d(TAG, "New ticket: " + ticketId + " (" + status + ")");
-                                break;
-                            case MODIFIED:
-                                Log.d(TAG, "Modified ticket: " + ticketId + " (" + status + ")");
-                                break;
-                            case REMOVED:
-                                Log.d(TAG, "Removed ticket: " + ticketId);
-                                break;
-                        }
+                        ManagerDataManager.TicketChange change = toTicketChange(dc);
+                        Log.d(TAG, change.getType() + " ticket: " + change.getTicketId()
+                                + " (" + change.getStatus() + ")");
+                        changes.add(change);
                     }
 
-                    // Refresh all manager data from API to get complete data and update stats
-                    // Firebase gives us the signal, API gives us the full data
-                    refreshDataFromApi();
+                    List<String> needsFetch = ManagerDataManager.applyTicketChanges(changes);
+                    if (!needsFetch.isEmpty()) {
+                        Log.d(TAG, "Fetching " + needsFetch.size() + " tickets missing from cache");
+                        // Bursts of unknown tickets share one coalesced sync
+                        RefreshScheduler.getInstance().request(RefreshScheduler.KEY_MANAGER_TICKETS,
+                                done -> ManagerDataManager.syncTickets(context, done));
+                    }
 
                     if (connectionStateListener != null) {
                         connectionStateListener.onConnected();
@@ -130,39 +125,44 @@ public class FirebaseManagerListener {
                 });
     }
 
-    /**
-     * Refresh tickets and dashboard stats from API when Firestore signals a change
-     */
-    private void refreshDataFromApi() {
-        Log.d(TAG, "Refreshing all manager data from API due to Firestore change");
-
-        ManagerDataManager.loadAllData(context, new ManagerDataManager.DataLoadCallback() {
-            @Override
-            public void onEmployeesLoaded(String branchName, List<EmployeeResponse.Employee> employees) {
-                // Already updated in cache by ManagerDataManager
-            }
-
-            @Override
-            public void onTicketsLoaded(List<TicketListResponse.TicketItem> tickets) {
-                Log.i(TAG, "Tickets refreshed from API: " + tickets.size() + " tickets");
-            }
+    private ManagerDataManager.TicketChange toTicketChange(DocumentChange dc) {
+        DocumentSnapshot doc = dc.getDocument();
+        String ticketId = doc.getString("ticketId");
+        if (ticketId == null || ticketId.isEmpty()) {
+            ticketId = doc.getId();
+        }
 
-            @Override
-            public void onDashboardStatsLoaded(DashboardStatsResponse.Stats stats,
-                    List<DashboardStatsResponse.RecentTicket> recentTickets) {
-                Log.i(TAG, "Dashboard stats refreshed from API");
-            }
+        ManagerDataManager.TicketChange.Type type;
+        switch (dc.getType()) {
+            case ADDED:
+                type = ManagerDataManager.TicketChange.Type.ADDED;
+                break;
+            case REMOVED:
+                type = ManagerDataManager.TicketChange.Type.REMOVED;
+                break;
+            default:
+                type = ManagerDataManager.TicketChange.Type.MODIFIED;
+                break;
+        }
 
-            @Override
-            public void onLoadComplete() {
-                Log.d(TAG, "Full data refresh complete");
-            }
+        return new ManagerDataManager.TicketChange(type, ticketId,
+                getStringField(doc, "status"),
+                getStringField(doc, "assigned_staff", "assignedStaff"),
+                getStringField(doc, "scheduled_date", "scheduledDate"),
+                getStringField(doc, "scheduled_time", "scheduledTime"));
+    }
 
-            @Override
-            public void onLoadError(String error) {
-                Log.e(TAG, "Failed to refresh data from API: " + error);
+    /**
+     * Backend and app write slightly different field names - take the first one present
+     */
+    private String getStringField(DocumentSnapshot doc, String... fields) {
+        for (String field : fields) {
+            Object value = doc.get(field);
+            if (value instanceof String && !((String) value).isEmpty()) {
+                return (String) value;
             }
-        });
+        }
+        return null;
     }
 
     /**
@@ -186,6 +186,7 @@ public class FirebaseManagerListener {
         }
 
         isListening = false;
+        RefreshScheduler.getInstance().cancel(RefreshScheduler.KEY_MANAGER_TICKETS);
 
         if (connectionStateListener != null) {
             connectionStateListener.onDisconnected();
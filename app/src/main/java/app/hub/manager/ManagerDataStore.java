@@ -0,0 +1,743 @@
+package app.hub.manager;
+
+import android.content.Context;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+import app.hub.api.ApiClient;
+import app.hub.api.DashboardStatsResponse;
+import app.hub.api.EmployeeResponse;
+import app.hub.api.TicketDeltaStore;
+import app.hub.api.TicketListResponse;
+import app.hub.common.TicketRepository;
+import app.hub.util.WeakListeners;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * State behind ManagerDataManager.
+ *
+ * All cached data lives in one immutable Snapshot that is swapped atomically, so a reader always
+ * sees employees, tickets and dashboard counters from the same moment and never a list that is
+ * being changed. Writers (API answers, real-time patches, cache clears) build the next snapshot
+ * under one lock; readers do not lock.
+ *
+ * Each part (employees, tickets, dashboard) has at most one fetch running. A load asking for a
+ * part that is already being fetched joins that fetch; a forced load starts a new one, and the
+ * older fetch can no longer overwrite its result. Every load gets exactly one onLoadComplete
+ * (or onLoadError), however the fetches it waits on end.
+ *
+ * Listeners are held weakly: a fragment that forgets to unregister is still collected.
+ */
+final class ManagerDataStore {
+    private static final String TAG = "ManagerDataStore";
+
+    enum Part {
+        EMPLOYEES, TICKETS, DASHBOARD
+    }
+
+    static final Set<Part> ALL = Collections.unmodifiableSet(EnumSet.allOf(Part.class));
+
+    /**
+     * Where the data comes from. The default calls the API; tests pass their own.
+     */
+    interface Backend {
+        /**
+         * Fetch one part. Must end with exactly one answer.onLoaded(); failures are answered with
+         * whatever should be shown instead (the app keeps tabs usable without toasts).
+         */
+        void fetch(Context context, Part part, String token, Answer answer);
+    }
+
+    interface Answer {
+        /**
+         * Tickets from the previous session, shown while the fetch is still running.
+         */
+        void onCached(List<TicketListResponse.TicketItem> tickets);
+
+        /**
+         * @param partial a snapshot holding only the fetched part
+         */
+        void onLoaded(Snapshot partial);
+    }
+
+    /**
+     * Immutable view of everything cached. A null field means that part is not loaded.
+     */
+    static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(null, null, null, null, null);
+
+        final String branchName;
+        final List<EmployeeResponse.Employee> employees;
+        final List<TicketListResponse.TicketItem> tickets;
+        final DashboardStatsResponse.Stats stats;
+        final List<DashboardStatsResponse.RecentTicket> recentTickets;
+
+        // Takes ownership of stats; lists are copied
+        private Snapshot(String branchName, List<EmployeeResponse.Employee> employees,
+                List<TicketListResponse.TicketItem> tickets, DashboardStatsResponse.Stats stats,
+                List<DashboardStatsResponse.RecentTicket> recentTickets) {
+            this.branchName = branchName;
+            this.employees = frozen(employees);
+            this.tickets = frozen(tickets);
+            this.stats = stats;
+            this.recentTickets = frozen(recentTickets);
+        }
+
+        static Snapshot employees(String branchName, List<EmployeeResponse.Employee> employees) {
+            return new Snapshot(branchName, employees != null ? employees : new ArrayList<>(), null, null, null);
+        }
+
+        static Snapshot tickets(List<TicketListResponse.TicketItem> tickets) {
+            return new Snapshot(null, null, tickets != null ? tickets : new ArrayList<>(), null, null);
+        }
+
+        static Snapshot dashboard(DashboardStatsResponse.Stats stats,
+                List<DashboardStatsResponse.RecentTicket> recentTickets) {
+            return new Snapshot(null, null, null,
+                    stats != null ? stats.copy() : new DashboardStatsResponse.Stats(),
+                    recentTickets != null ? recentTickets : new ArrayList<>());
+        }
+
+        boolean has(Part part) {
+            switch (part) {
+                case EMPLOYEES:
+                    return employees != null;
+                case TICKETS:
+                    return tickets != null;
+                default:
+                    return stats != null;
+            }
+        }
+
+        boolean isComplete() {
+            return employees != null && tickets != null && stats != null;
+        }
+
+        /**
+         * This snapshot with one part taken from another.
+         */
+        Snapshot with(Part part, Snapshot from) {
+            switch (part) {
+                case EMPLOYEES:
+                    return new Snapshot(from.branchName, from.employees, tickets, stats, recentTickets);
+                case TICKETS:
+                    return new Snapshot(branchName, employees, from.tickets, stats, recentTickets);
+                default:
+                    return new Snapshot(branchName, employees, tickets, from.stats, from.recentTickets);
+            }
+        }
+
+        Snapshot without(Part part) {
+            return with(part, EMPTY);
+        }
+
+        private static <T> List<T> frozen(List<T> list) {
+            return list != null ? Collections.unmodifiableList(new ArrayList<>(list)) : null;
+        }
+    }
+
+    private final Backend backend;
+    private final LongSupplier clock;
+    private final long cacheDuration;
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>(Snapshot.EMPTY);
+
+    // Guarded by lock
+    private final Object lock = new Object();
+    private final Map<Part, Fetch> inFlight = new EnumMap<>(Part.class);
+    private final Map<Part, Long> loadedAt = new EnumMap<>(Part.class);
+    private final Map<Part, Long> publishedSeq = new EnumMap<>(Part.class);
+    private long fetchSeq = 0;
+    private int generation = 0;
+
+    final WeakListeners<ManagerDataManager.EmployeeDataChangeListener> employeeListeners = new WeakListeners<>();
+    final WeakListeners<ManagerDataManager.TicketDataChangeListener> ticketListeners = new WeakListeners<>();
+    final WeakListeners<ManagerDataManager.DashboardDataChangeListener> dashboardListeners = new WeakListeners<>();
+
+    ManagerDataStore(Backend backend, LongSupplier clock, long cacheDuration) {
+        this.backend = backend;
+        this.clock = clock;
+        this.cacheDuration = cacheDuration;
+    }
+
+    Snapshot snapshot() {
+        return current.get();
+    }
+
+    /**
+     * Load parts, from cache where fresh unless forced. The callback may be called on this thread
+     * (cached parts) or on the thread the backend answers on.
+     */
+    void load(Context context, String token, Set<Part> parts, boolean force,
+            ManagerDataManager.DataLoadCallback callback) {
+        if (token == null) {
+            if (callback != null) {
+                callback.onLoadError("Not authenticated");
+            }
+            return;
+        }
+
+        Load load = new Load(callback, parts);
+        List<Part> fromCache = new ArrayList<>();
+        List<Fetch> started = new ArrayList<>();
+        Snapshot cached;
+        synchronized (lock) {
+            cached = current.get();
+            long now = clock.getAsLong();
+            for (Part part : parts) {
+                Fetch running = inFlight.get(part);
+                if (!force && running != null) {
+                    running.loads.add(load);
+                } else if (!force && cached.has(part) && now - loadedAt(part) <= cacheDuration) {
+                    fromCache.add(part);
+                } else {
+                    Fetch fetch = new Fetch(part, ++fetchSeq, generation);
+                    fetch.loads.add(load);
+                    inFlight.put(part, fetch);
+                    started.add(fetch);
+                }
+            }
+        }
+
+        if (!fromCache.isEmpty()) {
+            Log.d(TAG, "Using fresh cached " + fromCache);
+        }
+        for (Part part : fromCache) {
+            deliver(load, part, cached);
+        }
+        for (Fetch fetch : started) {
+            Log.d(TAG, "Fetching " + fetch.part + (force ? " (forced)" : ""));
+            backend.fetch(context, fetch.part, token, fetch);
+        }
+    }
+
+    /**
+     * Drop all cached data. Fetches still running complete their loads but are not published.
+     */
+    void clearAll() {
+        synchronized (lock) {
+            generation++;
+            inFlight.clear();
+            loadedAt.clear();
+            current.set(Snapshot.EMPTY);
+        }
+        Log.d(TAG, "All cache cleared");
+    }
+
+    void clear(Part part) {
+        synchronized (lock) {
+            loadedAt.remove(part);
+            current.set(current.get().without(part));
+        }
+        Log.d(TAG, part + " cache cleared");
+    }
+
+    // Real-time and optimistic patches. Tickets and counters are copied before they are changed,
+    // so lists already handed out never change under their readers.
+
+    List<String> applyTicketChanges(List<ManagerDataManager.TicketChange> changes) {
+        List<String> needsFetch = new ArrayList<>();
+        if (changes == null || changes.isEmpty()) {
+            return needsFetch;
+        }
+
+        boolean ticketsChanged = false;
+        boolean dashboardChanged = false;
+        synchronized (lock) {
+            Snapshot snapshot = current.get();
+            List<TicketListResponse.TicketItem> tickets = copyOf(snapshot.tickets);
+            DashboardStatsResponse.Stats stats = snapshot.stats != null ? snapshot.stats.copy() : null;
+            List<DashboardStatsResponse.RecentTicket> recent = copyOf(snapshot.recentTickets);
+
+            for (ManagerDataManager.TicketChange change : changes) {
+                String ticketId = change != null ? change.getTicketId() : null;
+                if (ticketId == null || ticketId.trim().isEmpty()) {
+                    continue;
+                }
+                int index = indexOfTicket(tickets, ticketId);
+
+                if (change.getType() == ManagerDataManager.TicketChange.Type.REMOVED) {
+                    if (index >= 0) {
+                        TicketListResponse.TicketItem removed = tickets.remove(index);
+                        adjustStatusCounter(stats, removed.getStatus(), -1);
+                        adjustTotalCounter(stats, -1);
+                        ticketsChanged = true;
+                        dashboardChanged = true;
+                    }
+                    dashboardChanged |= removeRecentByTicketId(recent, ticketId);
+                    continue;
+                }
+
+                String status = change.getStatus();
+                if (index < 0 || status == null) {
+                    // New to us, or the document doesn't carry enough to patch with. Counters are
+                    // left alone: the first snapshot reports every ticket as ADDED, including ones
+                    // the counters already hold, so the sync refetches them instead.
+                    needsFetch.add(ticketId);
+                    continue;
+                }
+
+                TicketListResponse.TicketItem ticket = tickets.get(index).copy();
+                String oldStatus = ticket.getStatus();
+                boolean changed = false;
+                if (!status.equalsIgnoreCase(oldStatus != null ? oldStatus : "")) {
+                    ticket.setStatus(status);
+                    adjustStatusCounter(stats, oldStatus, -1);
+                    adjustStatusCounter(stats, status, 1);
+                    dashboardChanged = true;
+                    changed = true;
+
+                    int recentIndex = indexOfRecent(recent, ticketId);
+                    if (recentIndex >= 0) {
+                        DashboardStatsResponse.RecentTicket patched = recent.get(recentIndex).copy();
+                        patched.setStatus(status);
+                        recent.set(recentIndex, patched);
+                    }
+                }
+                if (change.getAssignedStaff() != null && !change.getAssignedStaff().equals(ticket.getAssignedStaff())) {
+                    ticket.setAssignedStaff(change.getAssignedStaff());
+                    changed = true;
+                }
+                if (change.getScheduledDate() != null && !change.getScheduledDate().equals(ticket.getScheduledDate())) {
+                    ticket.setScheduledDate(change.getScheduledDate());
+                    changed = true;
+                }
+                if (change.getScheduledTime() != null && !change.getScheduledTime().equals(ticket.getScheduledTime())) {
+                    ticket.setScheduledTime(change.getScheduledTime());
+                    changed = true;
+                }
+                if (changed) {
+                    tickets.set(index, ticket);
+                    ticketsChanged = true;
+                }
+            }
+
+            if (ticketsChanged || dashboardChanged) {
+                current.set(new Snapshot(snapshot.branchName, snapshot.employees, tickets, stats, recent));
+            }
+        }
+
+        Log.d(TAG, "Applied " + changes.size() + " ticket changes, " + needsFetch.size() + " need API fetch");
+
+        if (ticketsChanged) {
+            notifyListeners(Part.TICKETS);
+        }
+        if (dashboardChanged) {
+            notifyListeners(Part.DASHBOARD);
+        }
+        return needsFetch;
+    }
+
+    /**
+     * Set a ticket's status (and assignment, where given). With assignment the ticket also moves to
+     * the top of the recent list.
+     */
+    void patchTicket(String ticketId, String status, boolean assigned, String assignedStaff,
+            String scheduledDate, String scheduledTime) {
+        boolean updated = false;
+        synchronized (lock) {
+            Snapshot snapshot = current.get();
+            List<TicketListResponse.TicketItem> tickets = copyOf(snapshot.tickets);
+            List<DashboardStatsResponse.RecentTicket> recent = copyOf(snapshot.recentTickets);
+
+            TicketListResponse.TicketItem matched = null;
+            int index = indexOfTicket(tickets, ticketId);
+            if (index >= 0) {
+                matched = tickets.get(index).copy();
+                matched.setStatus(status);
+                if (assigned) {
+                    if (assignedStaff != null) {
+                        matched.setAssignedStaff(assignedStaff);
+                    }
+                    if (scheduledDate != null) {
+                        matched.setScheduledDate(scheduledDate);
+                    }
+                    if (scheduledTime != null) {
+                        matched.setScheduledTime(scheduledTime);
+                    }
+                    if (matched.getStatusColor() == null || matched.getStatusColor().isEmpty()) {
+                        matched.setStatusColor("#2196F3");
+                    }
+                }
+                tickets.set(index, matched);
+                updated = true;
+            }
+
+            int recentIndex = indexOfRecent(recent, ticketId);
+            DashboardStatsResponse.RecentTicket targetRecent = null;
+            if (recentIndex >= 0) {
+                targetRecent = recent.get(recentIndex).copy();
+                targetRecent.setStatus(status);
+                if (assigned && (targetRecent.getStatusColor() == null || targetRecent.getStatusColor().isEmpty())) {
+                    targetRecent.setStatusColor("#2196F3");
+                }
+                recent.set(recentIndex, targetRecent);
+                updated = true;
+            } else if (assigned && matched != null) {
+                targetRecent = toRecent(matched);
+            }
+
+            if (assigned && targetRecent != null) {
+                if (recent == null) {
+                    recent = new ArrayList<>();
+                }
+                removeRecentByTicketId(recent, ticketId);
+                recent.add(0, targetRecent);
+            }
+
+            if (updated || assigned) {
+                current.set(new Snapshot(snapshot.branchName, snapshot.employees, tickets, snapshot.stats, recent));
+            }
+        }
+
+        if (updated || assigned) {
+            notifyListeners(Part.TICKETS);
+            notifyListeners(Part.DASHBOARD);
+        }
+    }
+
+    private static DashboardStatsResponse.RecentTicket toRecent(TicketListResponse.TicketItem ticket) {
+        DashboardStatsResponse.RecentTicket recent = new DashboardStatsResponse.RecentTicket();
+        recent.setTicketId(ticket.getTicketId());
+        recent.setStatus(ticket.getStatus());
+        recent.setStatusColor(ticket.getStatusColor());
+        recent.setCustomerName(ticket.getCustomerName());
+        recent.setServiceType(ticket.getServiceType());
+        recent.setDescription(ticket.getDescription());
+        recent.setAddress(ticket.getAddress());
+        recent.setCreatedAt(ticket.getCreatedAt());
+        return recent;
+    }
+
+    /**
+     * Call the part's listeners with the latest snapshot. Runs outside the lock.
+     */
+    void notifyListeners(Part part) {
+        Snapshot snapshot = current.get();
+        switch (part) {
+            case EMPLOYEES:
+                if (snapshot.branchName == null || snapshot.employees == null) {
+                    return;
+                }
+                for (ManagerDataManager.EmployeeDataChangeListener listener : employeeListeners.get()) {
+                    listener.onEmployeeDataChanged(snapshot.branchName, new ArrayList<>(snapshot.employees));
+                }
+                break;
+            case TICKETS:
+                if (snapshot.tickets == null) {
+                    return;
+                }
+                for (ManagerDataManager.TicketDataChangeListener listener : ticketListeners.get()) {
+                    listener.onTicketDataChanged(new ArrayList<>(snapshot.tickets));
+                }
+                break;
+            default:
+                for (ManagerDataManager.DashboardDataChangeListener listener : dashboardListeners.get()) {
+                    listener.onDashboardDataChanged(
+                            snapshot.stats != null ? snapshot.stats.copy() : null,
+                            snapshot.recentTickets != null ? new ArrayList<>(snapshot.recentTickets) : new ArrayList<>());
+                }
+                break;
+        }
+    }
+
+    private long loadedAt(Part part) {
+        Long time = loadedAt.get(part);
+        return time != null ? time : Long.MIN_VALUE / 2;
+    }
+
+    /**
+     * Hand one part to a load, completing it when that was the last part it waited for.
+     */
+    private static void deliver(Load load, Part part, Snapshot snapshot) {
+        synchronized (load) {
+            if (!load.waiting.remove(part)) {
+                return;
+            }
+            ManagerDataManager.DataLoadCallback callback = load.callback;
+            if (callback != null) {
+                switch (part) {
+                    case EMPLOYEES:
+                        callback.onEmployeesLoaded(snapshot.branchName, new ArrayList<>(snapshot.employees));
+                        break;
+                    case TICKETS:
+                        callback.onTicketsLoaded(new ArrayList<>(snapshot.tickets));
+                        break;
+                    default:
+                        callback.onDashboardStatsLoaded(snapshot.stats.copy(), new ArrayList<>(snapshot.recentTickets));
+                        break;
+                }
+            }
+            if (load.waiting.isEmpty() && callback != null) {
+                callback.onLoadComplete();
+            }
+        }
+    }
+
+    /**
+     * One caller's request, waiting on a set of parts.
+     */
+    private static final class Load {
+        final ManagerDataManager.DataLoadCallback callback;
+        final Set<Part> waiting;
+
+        Load(ManagerDataManager.DataLoadCallback callback, Set<Part> parts) {
+            this.callback = callback;
+            this.waiting = parts.isEmpty() ? EnumSet.noneOf(Part.class) : EnumSet.copyOf(parts);
+        }
+    }
+
+    /**
+     * One fetch of one part, and the loads waiting on it.
+     */
+    private final class Fetch implements Answer {
+        final Part part;
+        final long seq;
+        final int generation;
+        final List<Load> loads = new ArrayList<>(); // guarded by lock
+
+        Fetch(Part part, long seq, int generation) {
+            this.part = part;
+            this.seq = seq;
+            this.generation = generation;
+        }
+
+        @Override
+        public void onCached(List<TicketListResponse.TicketItem> tickets) {
+            synchronized (lock) {
+                if (!isLatest() || current.get().has(Part.TICKETS)) {
+                    return;
+                }
+                current.set(current.get().with(Part.TICKETS, Snapshot.tickets(tickets)));
+            }
+            notifyListeners(Part.TICKETS);
+        }
+
+        @Override
+        public void onLoaded(Snapshot partial) {
+            boolean published = false;
+            boolean cleared;
+            List<Load> waiting;
+            synchronized (lock) {
+                if (inFlight.get(part) == this) {
+                    inFlight.remove(part);
+                }
+                waiting = new ArrayList<>(loads);
+                loads.clear();
+
+                cleared = generation != ManagerDataStore.this.generation;
+                if (!cleared && seq > publishedSeq(part)) {
+                    current.set(current.get().with(part, partial));
+                    publishedSeq.put(part, seq);
+                    loadedAt.put(part, clock.getAsLong());
+                    published = true;
+                }
+            }
+
+            if (published) {
+                notifyListeners(part);
+            } else {
+                Log.d(TAG, "Not publishing " + part + (cleared ? ", cache was cleared" : ", newer data is in"));
+            }
+
+            // Loads get the newest data; after a clear they get what this fetch brought
+            Snapshot source = cleared ? partial : current.get();
+            if (!source.has(part)) {
+                source = partial;
+            }
+            for (Load load : waiting) {
+                deliver(load, part, source);
+            }
+        }
+
+        // Nothing newer has been started or published for this part since this fetch began
+        private boolean isLatest() {
+            return generation == ManagerDataStore.this.generation && inFlight.get(part) == this
+                    && seq > publishedSeq(part);
+        }
+
+        private long publishedSeq(Part part) {
+            Long published = publishedSeq.get(part);
+            return published != null ? published : 0;
+        }
+    }
+
+    private static <T> List<T> copyOf(List<T> list) {
+        return list != null ? new ArrayList<>(list) : null;
+    }
+
+    private static int indexOfTicket(List<TicketListResponse.TicketItem> tickets, String ticketId) {
+        if (tickets == null || ticketId == null) {
+            return -1;
+        }
+        for (int i = 0; i < tickets.size(); i++) {
+            TicketListResponse.TicketItem ticket = tickets.get(i);
+            if (ticket != null && ticketId.equals(ticket.getTicketId())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOfRecent(List<DashboardStatsResponse.RecentTicket> recent, String ticketId) {
+        if (recent == null || ticketId == null) {
+            return -1;
+        }
+        for (int i = 0; i < recent.size(); i++) {
+            DashboardStatsResponse.RecentTicket ticket = recent.get(i);
+            if (ticket != null && ticketId.equals(ticket.getTicketId())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean removeRecentByTicketId(List<DashboardStatsResponse.RecentTicket> recent, String ticketId) {
+        if (recent == null || ticketId == null) {
+            return false;
+        }
+        boolean removed = false;
+        for (int i = recent.size() - 1; i >= 0; i--) {
+            DashboardStatsResponse.RecentTicket ticket = recent.get(i);
+            if (ticket != null && ticketId.equals(ticket.getTicketId())) {
+                recent.remove(i);
+                removed = true;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Move one ticket in or out of the dashboard counter matching its status.
+     */
+    private static void adjustStatusCounter(DashboardStatsResponse.Stats stats, String status, int delta) {
+        if (stats == null || status == null) {
+            return;
+        }
+
+        String normalized = status.trim().toLowerCase().replace('_', ' ');
+        if (normalized.contains("cancel") || normalized.contains("reject")) {
+            stats.setCancelled(Math.max(0, stats.getCancelled() + delta));
+        } else if (normalized.contains("complete") || normalized.contains("done") || normalized.contains("paid")) {
+            stats.setCompleted(Math.max(0, stats.getCompleted() + delta));
+        } else if (normalized.contains("pending") || normalized.equals("new") || normalized.equals("open")) {
+            stats.setPending(Math.max(0, stats.getPending() + delta));
+        } else {
+            // in progress, ongoing, scheduled, assigned, accepted
+            stats.setInProgress(Math.max(0, stats.getInProgress() + delta));
+        }
+    }
+
+    private static void adjustTotalCounter(DashboardStatsResponse.Stats stats, int delta) {
+        if (stats != null) {
+            stats.setTotalTickets(Math.max(0, stats.getTotalTickets() + delta));
+        }
+    }
+
+    /**
+     * The app's backend: the manager endpoints, and TicketRepository for tickets.
+     */
+    static final class ApiBackend implements Backend {
+        @Override
+        public void fetch(Context context, Part part, String token, Answer answer) {
+            switch (part) {
+                case EMPLOYEES:
+                    fetchEmployees(token, answer);
+                    break;
+                case TICKETS:
+                    fetchTickets(context, token, answer);
+                    break;
+                default:
+                    fetchDashboard(token, answer);
+                    break;
+            }
+        }
+
+        private void fetchEmployees(String token, Answer answer) {
+            ApiClient.getApiService().getEmployees("Bearer " + token).enqueue(new Callback<EmployeeResponse>() {
+                @Override
+                public void onResponse(Call<EmployeeResponse> call, Response<EmployeeResponse> response) {
+                    Log.d(TAG, "Employees API response code: " + response.code());
+                    EmployeeResponse body = response.body();
+                    if (response.isSuccessful() && body != null && body.isSuccess()) {
+                        String branchName = body.getBranch() != null ? body.getBranch() : "No Branch Assigned";
+                        List<EmployeeResponse.Employee> employees = body.getEmployees();
+                        Log.d(TAG, "Technicians loaded: " + (employees != null ? employees.size() : 0)
+                                + " in branch: " + branchName);
+                        answer.onLoaded(Snapshot.employees(branchName, employees));
+                    } else {
+                        Log.e(TAG, "Technician API failed - Code: " + response.code()
+                                + (body != null ? ", message: " + body.getMessage() : ""));
+                        // Don't show error toast - just use empty list
+                        answer.onLoaded(Snapshot.employees("No Branch Assigned", null));
+                    }
+                }
+
+                @Override
+                public void onFailure(Call<EmployeeResponse> call, Throwable t) {
+                    Log.e(TAG, "Technician API network error: " + t.getMessage(), t);
+                    answer.onLoaded(Snapshot.employees("No Branch Assigned", null));
+                }
+            });
+        }
+
+        private void fetchTickets(Context context, String token, Answer answer) {
+            TicketRepository repository = TicketRepository.getInstance(context);
+            repository.load(TicketRepository.Scope.MANAGER, "Bearer " + token, new TicketRepository.Callback() {
+                @Override
+                public void onCached(List<TicketListResponse.TicketItem> tickets) {
+                    // Show last session's tickets while the API call is in flight
+                    answer.onCached(tickets);
+                }
+
+                @Override
+                public void onSynced(TicketDeltaStore.MergeResult result) {
+                    Log.d(TAG, "Tickets loaded: " + result.getTickets().size());
+                    answer.onLoaded(Snapshot.tickets(result.getTickets()));
+                }
+
+                @Override
+                public void onError(String error) {
+                    Log.e(TAG, "Ticket sync failed: " + error);
+                    // Don't show error toast - keep the last synced list (empty if none)
+                    answer.onLoaded(Snapshot.tickets(repository.snapshot(TicketRepository.Scope.MANAGER)));
+                }
+            });
+        }
+
+        private void fetchDashboard(String token, Answer answer) {
+            ApiClient.getApiService().getManagerDashboard("Bearer " + token).enqueue(new Callback<DashboardStatsResponse>() {
+                @Override
+                public void onResponse(Call<DashboardStatsResponse> call, Response<DashboardStatsResponse> response) {
+                    Log.d(TAG, "Dashboard API response code: " + response.code());
+                    DashboardStatsResponse body = response.body();
+                    if (response.isSuccessful() && body != null && body.isSuccess()) {
+                        answer.onLoaded(Snapshot.dashboard(body.getStats(), body.getRecentTickets()));
+                    } else {
+                        Log.e(TAG, "Dashboard API failed - Code: " + response.code()
+                                + (body != null ? ", message: " + body.getMessage() : ""));
+                        // Don't show error toast - just use empty data
+                        answer.onLoaded(Snapshot.dashboard(null, null));
+                    }
+                }
+
+                @Override
+                public void onFailure(Call<DashboardStatsResponse> call, Throwable t) {
+                    Log.e(TAG, "Dashboard API network error: " + t.getMessage(), t);
+                    answer.onLoaded(Snapshot.dashboard(null, null));
+                }
+            });
+        }
+    }
+}
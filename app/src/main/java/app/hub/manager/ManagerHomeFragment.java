@@ -24,6 +24,7 @@ import app.hub.R;
 import app.hub.api.DashboardStatsResponse;
 import app.hub.api.EmployeeResponse;
 import app.hub.api.TicketListResponse;
+import app.hub.util.StartupTrace;
 
 public class ManagerHomeFragment extends Fragment implements ManagerDataManager.EmployeeDataChangeListener,
     ManagerDataManager.DashboardDataChangeListener,
@@ -114,11 +115,11 @@ public class ManagerHomeFragment extends Fragment implements ManagerDataManager.
         }
 
         if (!recentTickets.isEmpty()) {
-            recentActivityAdapter.setRecentTickets(limitRecentTickets(recentTickets));
+            showRecentTickets(limitRecentTickets(recentTickets));
         } else {
             List<DashboardStatsResponse.RecentTicket> fallback = buildRecentTicketsFromTickets(
                     ManagerDataManager.getCachedTickets(), RECENT_TICKETS_LIMIT);
-            recentActivityAdapter.setRecentTickets(fallback);
+            showRecentTickets(fallback);
         }
     }
 
@@ -205,11 +206,11 @@ public class ManagerHomeFragment extends Fragment implements ManagerDataManager.
                     getActivity().runOnUiThread(() -> {
                         updateDashboardStats(stats);
                         if (recentTickets != null && !recentTickets.isEmpty()) {
-                            recentActivityAdapter.setRecentTickets(limitRecentTickets(recentTickets));
+                            showRecentTickets(limitRecentTickets(recentTickets));
                         } else {
                             List<DashboardStatsResponse.RecentTicket> fallback = buildRecentTicketsFromTickets(
                                     ManagerDataManager.getCachedTickets(), RECENT_TICKETS_LIMIT);
-                            recentActivityAdapter.setRecentTickets(fallback);
+                            showRecentTickets(fallback);
                         }
                     });
                 }
@@ -223,6 +224,13 @@ public class ManagerHomeFragment extends Fragment implements ManagerDataManager.
         });
     }
 
+    private void showRecentTickets(List<DashboardStatsResponse.RecentTicket> recentTickets) {
+        recentActivityAdapter.setRecentTickets(recentTickets);
+        if (!recentTickets.isEmpty()) {
+            StartupTrace.firstTicketRow(getActivity());
+        }
+    }
+
     private void loadEmployeeData() {
         List<EmployeeResponse.Employee> employees = ManagerDataManager.getCachedEmployees();
         if (!employees.isEmpty()) {
@@ -265,11 +273,11 @@ public class ManagerHomeFragment extends Fragment implements ManagerDataManager.
                     updateDashboardStats(stats);
                 }
                 if (recentTickets != null && !recentTickets.isEmpty()) {
-                    recentActivityAdapter.setRecentTickets(limitRecentTickets(recentTickets));
+                    showRecentTickets(limitRecentTickets(recentTickets));
                 } else {
                     List<DashboardStatsResponse.RecentTicket> fallback = buildRecentTicketsFromTickets(
                             ManagerDataManager.getCachedTickets(), RECENT_TICKETS_LIMIT);
-                    recentActivityAdapter.setRecentTickets(fallback);
+                    showRecentTickets(fallback);
                 }
             });
         }
@@ -282,7 +290,7 @@ public class ManagerHomeFragment extends Fragment implements ManagerDataManager.
                 List<DashboardStatsResponse.RecentTicket> fallback = buildRecentTicketsFromTickets(
                         tickets, RECENT_TICKETS_LIMIT);
                 if (!fallback.isEmpty()) {
-                    recentActivityAdapter.setRecentTickets(fallback);
+                    showRecentTickets(fallback);
                 }
             });
         }
@@ -2,7 +2,6 @@ package app.hub.manager;
 
 import android.content.Intent;
 import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.os.Bundle;
 import android.widget.TextView;
 import android.widget.Toast;
@@ -19,14 +18,11 @@ import com.google.android.material.button.MaterialButton;
 import com.google.android.material.imageview.ShapeableImageView;
 
 import java.io.File;
-import java.io.FileOutputStream;
-import java.io.InputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
 
 import app.hub.R;
 import app.hub.common.MainActivity;
 import app.hub.employee.EmployeePersonalInfoFragment;
+import app.hub.util.ImageLoader;
 import app.hub.util.LoadingDialog;
 import app.hub.util.TokenManager;
 import app.hub.util.UiPreferences;
@@ -192,6 +188,7 @@ public class ManagerProfileFragment extends Fragment {
                     loadProfileImageFromUrl(data.getProfilePhoto());
                 } else {
                     if (imgProfile != null) {
+                        ImageLoader.get(imgProfile.getContext()).cancel(imgProfile);
                         imgProfile.setImageResource(R.mipmap.ic_launchericons_round);
                     }
                     clearCachedProfileImage();
@@ -233,56 +230,33 @@ public class ManagerProfileFragment extends Fragment {
     }
 
     private void loadProfileImage() {
-        try {
-            File imageFile = tokenManager.getProfileImageFile(requireContext());
-            if (imageFile.exists() && imgProfile != null) {
-                Bitmap bitmap = BitmapFactory.decodeFile(imageFile.getAbsolutePath());
-                if (bitmap != null) {
-                    imgProfile.setImageBitmap(bitmap);
-                }
-            }
-        } catch (Exception ignored) {
+        if (imgProfile == null || getContext() == null) {
+            return;
+        }
+        File imageFile = tokenManager.getProfileImageFile(requireContext());
+        if (imageFile.exists()) {
+            ImageLoader.get(requireContext()).load(imageFile).into(imgProfile);
         }
     }
 
     private void loadProfileImageFromUrl(String imageUrl) {
-        if (imageUrl == null || imageUrl.isEmpty() || imgProfile == null) {
+        if (imageUrl == null || imageUrl.isEmpty() || imgProfile == null || getContext() == null) {
             return;
         }
 
-        new Thread(() -> {
-            try {
-                URL url = new URL(imageUrl);
-                HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-                connection.setDoInput(true);
-                connection.connect();
-                InputStream input = connection.getInputStream();
-                Bitmap bitmap = BitmapFactory.decodeStream(input);
-                if (bitmap != null && getActivity() != null) {
-                    getActivity().runOnUiThread(() -> {
-                        if (imgProfile != null) {
-                            imgProfile.setImageBitmap(bitmap);
-                            saveProfileImage(bitmap);
-                        }
-                    });
-                }
-            } catch (Exception e) {
-                loadProfileImage();
-            }
-        }).start();
-    }
+        ImageLoader.get(requireContext())
+                .load(imageUrl)
+                .keepCopy(tokenManager.getProfileImageFile(requireContext()))
+                .into(imgProfile, new ImageLoader.Callback() {
+                    @Override
+                    public void onSuccess(Bitmap bitmap) {
+                    }
 
-    private void saveProfileImage(Bitmap bitmap) {
-        if (bitmap == null) return;
-        try {
-            File imageFile = tokenManager.getProfileImageFile(requireContext());
-            FileOutputStream fos = new FileOutputStream(imageFile);
-            bitmap.compress(Bitmap.CompressFormat.JPEG, 90, fos);
-            fos.flush();
-            fos.close();
-        } catch (Exception e) {
-            // Ignore cache write errors.
-        }
+                    @Override
+                    public void onError(Exception e) {
+                        loadProfileImage();
+                    }
+                });
     }
 
     private void clearCachedProfileImage() {
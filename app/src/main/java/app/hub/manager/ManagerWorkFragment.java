@@ -164,7 +164,7 @@ public class ManagerWorkFragment extends Fragment implements TicketDataChangeLis
     }
 
     private void setupRecyclerView() {
-        adapter = new ManagerTicketsAdapter(filteredTickets);
+        adapter = new ManagerTicketsAdapter();
         rvWorkLoadList.setLayoutManager(new LinearLayoutManager(getContext()));
         rvWorkLoadList.setAdapter(adapter);
 
@@ -359,16 +359,12 @@ public class ManagerWorkFragment extends Fragment implements TicketDataChangeLis
 
         android.util.Log.d("ManagerWork", "Filtered tickets count: " + filteredTickets.size());
 
-        // Force RecyclerView to be visible and refresh
         if (rvWorkLoadList != null) {
             rvWorkLoadList.setVisibility(View.VISIBLE);
-            rvWorkLoadList.post(() -> {
-                adapter.notifyDataSetChanged();
-                android.util.Log.d("ManagerWork", "RecyclerView forced refresh completed");
-            });
         }
 
-        adapter.notifyDataSetChanged();
+        // Diffed in the background; unchanged rows keep their views and scroll position
+        adapter.submitList(filteredTickets);
     }
 
     private boolean isPendingOrOngoingTicket(String status) {
@@ -0,0 +1,206 @@
+package app.hub.map;
+
+import android.util.Log;
+
+/**
+ * Picks how often (and how precisely) to sample the technician's location from the job phase and
+ * the measured speed.
+ *
+ * - En route: fast sampling while driving, slower in traffic or on foot, slow when stopped.
+ * - On site / working: rare, low-power fixes; the technician isn't going anywhere.
+ * - Completed: no sampling at all.
+ * A technician who is clearly driving before arriving gets the driving profile, since the step
+ * buttons are often tapped late. Once on site the phase caps sampling at the moving profile, so a
+ * speed left over from the drive can't keep the fast request running through the visit.
+ *
+ * There is no displacement filter: fixes keep coming at the interval while parked, which is what
+ * brings the measured speed back down and keeps LocationUploadQueue's heartbeat going.
+ *
+ * Speed bands use hysteresis so a speed hovering around a threshold doesn't flap the request.
+ */
+public class AdaptiveLocationSampler {
+    private static final String TAG = "AdaptiveLocation";
+
+    // Speed thresholds (m/s) to move up a band; moving down needs to drop below HYSTERESIS x threshold
+    static final float DRIVING_SPEED_MPS = 8f; // ~29 km/h
+    static final float MOVING_SPEED_MPS = 1.5f; // brisk walk / crawling traffic
+    static final float HYSTERESIS = 0.7f;
+
+    // Weight of the newest speed sample in the moving average
+    private static final float SPEED_SMOOTHING = 0.4f;
+
+    /**
+     * Job phases, in the same order as EmployeeWorkFragment's step machine.
+     */
+    public enum JobPhase {
+        ASSIGNED, EN_ROUTE, ON_SITE, WORKING, COMPLETED;
+
+        /**
+         * Map an EmployeeWorkFragment step (STEP_ASSIGNED..STEP_COMPLETED) to a phase.
+         */
+        public static JobPhase fromWorkStep(int step) {
+            JobPhase[] phases = values();
+            if (step < 0) {
+                return ASSIGNED;
+            }
+            return step < phases.length ? phases[step] : COMPLETED;
+        }
+    }
+
+    enum SpeedBand {
+        STOPPED, MOVING, DRIVING
+    }
+
+    /**
+     * Priority values match com.google.android.gms.location.Priority.
+     */
+    public static final int PRIORITY_HIGH_ACCURACY = 100;
+    public static final int PRIORITY_BALANCED_POWER_ACCURACY = 102;
+    public static final int PRIORITY_LOW_POWER = 104;
+
+    /**
+     * A location request configuration. enabled=false means: stop requesting updates.
+     */
+    public static class Sample {
+        public final boolean enabled;
+        public final int priority;
+        public final long intervalMs;
+        public final long fastestIntervalMs;
+
+        Sample(boolean enabled, int priority, long intervalMs) {
+            this.enabled = enabled;
+            this.priority = priority;
+            this.intervalMs = intervalMs;
+            this.fastestIntervalMs = intervalMs / 2;
+        }
+
+        boolean sameAs(Sample other) {
+            return other != null && enabled == other.enabled && priority == other.priority
+                    && intervalMs == other.intervalMs;
+        }
+
+        @Override
+        public String toString() {
+            return enabled ? "priority=" + priority + " interval=" + intervalMs + "ms" : "off";
+        }
+    }
+
+    static final Sample OFF = new Sample(false, PRIORITY_LOW_POWER, 0);
+    static final Sample DRIVING = new Sample(true, PRIORITY_HIGH_ACCURACY, 5000);
+    static final Sample MOVING = new Sample(true, PRIORITY_HIGH_ACCURACY, 15000);
+    static final Sample STOPPED_EN_ROUTE = new Sample(true, PRIORITY_BALANCED_POWER_ACCURACY, 30000);
+    static final Sample WAITING_TO_LEAVE = new Sample(true, PRIORITY_BALANCED_POWER_ACCURACY, 60000);
+    static final Sample ON_SITE = new Sample(true, PRIORITY_BALANCED_POWER_ACCURACY, 120000);
+    static final Sample WORKING = new Sample(true, PRIORITY_LOW_POWER, 300000);
+
+    private JobPhase phase = JobPhase.EN_ROUTE;
+    private SpeedBand band = SpeedBand.STOPPED;
+    private float smoothedSpeed = 0f;
+    private boolean hasSpeed = false;
+    private double lastLat, lastLng;
+    private long lastTime = -1;
+    private Sample current;
+
+    public AdaptiveLocationSampler() {
+        current = decide();
+    }
+
+    /**
+     * The phase changed. Returns true if the location request should be re-issued.
+     */
+    public boolean setPhase(JobPhase phase) {
+        this.phase = phase;
+        return update();
+    }
+
+    /**
+     * A new fix arrived. Speed comes from the fix if the provider reports it, otherwise from the
+     * distance to the previous fix. Returns true if the location request should be re-issued.
+     */
+    public boolean onLocation(double latitude, double longitude, long timeMs, boolean fixHasSpeed,
+            float fixSpeedMps) {
+        float speed;
+        if (fixHasSpeed) {
+            speed = fixSpeedMps;
+        } else if (lastTime >= 0 && timeMs > lastTime) {
+            double meters = LocationUploadQueue.distanceMeters(lastLat, lastLng, latitude, longitude);
+            speed = (float) (meters / ((timeMs - lastTime) / 1000.0));
+        } else {
+            speed = -1;
+        }
+        lastLat = latitude;
+        lastLng = longitude;
+        lastTime = timeMs;
+
+        if (speed >= 0) {
+            smoothedSpeed = hasSpeed ? SPEED_SMOOTHING * speed + (1 - SPEED_SMOOTHING) * smoothedSpeed : speed;
+            hasSpeed = true;
+            band = nextBand(band, smoothedSpeed);
+        }
+        return update();
+    }
+
+    public Sample getSample() {
+        return current;
+    }
+
+    public JobPhase getPhase() {
+        return phase;
+    }
+
+    float getSmoothedSpeed() {
+        return smoothedSpeed;
+    }
+
+    SpeedBand getBand() {
+        return band;
+    }
+
+    private boolean update() {
+        Sample next = decide();
+        if (next.sameAs(current)) {
+            return false;
+        }
+        Log.d(TAG, "Sampling " + current + " -> " + next + " (phase " + phase + ", " + band + ")");
+        current = next;
+        return true;
+    }
+
+    private Sample decide() {
+        if (phase == JobPhase.COMPLETED) {
+            return OFF;
+        }
+        switch (phase) {
+            case ASSIGNED:
+                return band == SpeedBand.DRIVING ? DRIVING : band == SpeedBand.MOVING ? MOVING : WAITING_TO_LEAVE;
+            case EN_ROUTE:
+                return band == SpeedBand.DRIVING ? DRIVING : band == SpeedBand.MOVING ? MOVING : STOPPED_EN_ROUTE;
+            case ON_SITE:
+                return band == SpeedBand.DRIVING ? MOVING : ON_SITE;
+            case WORKING:
+            default:
+                return band == SpeedBand.DRIVING ? MOVING : WORKING;
+        }
+    }
+
+    static SpeedBand nextBand(SpeedBand band, float speed) {
+        switch (band) {
+            case DRIVING:
+                if (speed >= DRIVING_SPEED_MPS * HYSTERESIS) {
+                    return SpeedBand.DRIVING;
+                }
+                return speed >= MOVING_SPEED_MPS * HYSTERESIS ? SpeedBand.MOVING : SpeedBand.STOPPED;
+            case MOVING:
+                if (speed >= DRIVING_SPEED_MPS) {
+                    return SpeedBand.DRIVING;
+                }
+                return speed >= MOVING_SPEED_MPS * HYSTERESIS ? SpeedBand.MOVING : SpeedBand.STOPPED;
+            case STOPPED:
+            default:
+                if (speed >= DRIVING_SPEED_MPS) {
+                    return SpeedBand.DRIVING;
+                }
+                return speed >= MOVING_SPEED_MPS ? SpeedBand.MOVING : SpeedBand.STOPPED;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import android.graphics.Color;
 import android.location.Location;
 import android.os.Bundle;
 import android.os.Handler;
+import android.os.Looper;
 import android.widget.Button;
 import android.widget.TextView;
 import android.widget.Toast;
@@ -35,15 +36,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 import app.hub.R;
-import app.hub.api.ApiClient;
-import app.hub.api.ApiService;
-import app.hub.api.UpdateLocationRequest;
-import app.hub.api.UpdateLocationResponse;
+import app.hub.employee.EmployeeWorkFragment;
 import app.hub.util.GooglePlayServicesUtils;
-import app.hub.util.TokenManager;
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
 
 public class EmployeeMapActivity extends AppCompatActivity implements OnMapReadyCallback {
 
@@ -56,7 +50,8 @@ public class EmployeeMapActivity extends AppCompatActivity implements OnMapReady
     private FusedLocationProviderClient fusedLocationClient;
     private LocationCallback locationCallback;
     private LocationRequest locationRequest;
-    private TokenManager tokenManager;
+    private LocationUploadQueue locationUploadQueue;
+    private final AdaptiveLocationSampler locationSampler = new AdaptiveLocationSampler();
     
     private Marker employeeMarker, customerMarker;
     private Polyline routePolyline;
@@ -79,6 +74,7 @@ public class EmployeeMapActivity extends AppCompatActivity implements OnMapReady
         customerLongitude = getIntent().getDoubleExtra("customer_longitude", 0.0);
         customerAddress = getIntent().getStringExtra("customer_address");
         ticketId = getIntent().getStringExtra("ticket_id");
+        refreshJobPhase();
 
         initViews();
         MapsInitializer.initialize(getApplicationContext());
@@ -93,7 +89,7 @@ public class EmployeeMapActivity extends AppCompatActivity implements OnMapReady
         btnBack = findViewById(R.id.btnBack);
         btnStartNavigation = findViewById(R.id.btnStartNavigation);
 
-        tokenManager = new TokenManager(this);
+        locationUploadQueue = LocationUploadQueue.getInstance(this);
 
         if (customerAddress != null) {
             tvCustomerAddress.setText(customerAddress);
@@ -115,11 +111,8 @@ public class EmployeeMapActivity extends AppCompatActivity implements OnMapReady
         fusedLocationClient = LocationServices.getFusedLocationProviderClient(this);
         locationUpdateHandler = new Handler();
         
-        // Create location request
-        locationRequest = LocationRequest.create()
-                .setPriority(LocationRequest.PRIORITY_HIGH_ACCURACY)
-                .setInterval(5000) // 5 seconds
-                .setFastestInterval(2000); // 2 seconds
+        // Priority and interval follow the job phase and driving speed
+        locationRequest = buildLocationRequest(locationSampler.getSample());
 
         // Create location callback
         locationCallback = new LocationCallback() {
@@ -130,12 +123,54 @@ public class EmployeeMapActivity extends AppCompatActivity implements OnMapReady
                 Location location = locationResult.getLastLocation();
                 if (location != null) {
                     updateEmployeeLocation(new LatLng(location.getLatitude(), location.getLongitude()));
-                    updateLocationOnServer(location.getLatitude(), location.getLongitude());
+                    updateLocationOnServer(location);
+                    if (locationSampler.onLocation(location.getLatitude(), location.getLongitude(),
+                            location.getTime(), location.hasSpeed(), location.getSpeed())) {
+                        applySamplingChange();
+                    }
                 }
             }
         };
     }
 
+    private LocationRequest buildLocationRequest(AdaptiveLocationSampler.Sample sample) {
+        return LocationRequest.create()
+                .setPriority(sample.priority)
+                .setInterval(sample.intervalMs)
+                .setFastestInterval(sample.fastestIntervalMs);
+    }
+
+    /**
+     * Re-read the technician's step for this ticket (set in EmployeeWorkFragment).
+     */
+    private void refreshJobPhase() {
+        int step = EmployeeWorkFragment.getSavedStep(this, ticketId);
+        if (locationSampler.setPhase(AdaptiveLocationSampler.JobPhase.fromWorkStep(step))) {
+            applySamplingChange();
+        }
+    }
+
+    /**
+     * Replace the active location request after the sampler picked a new rate.
+     */
+    private void applySamplingChange() {
+        if (fusedLocationClient == null || locationCallback == null || mMap == null) {
+            return; // startLocationUpdates() picks up the current sample
+        }
+        AdaptiveLocationSampler.Sample sample = locationSampler.getSample();
+        if (!sample.enabled) {
+            fusedLocationClient.removeLocationUpdates(locationCallback);
+            return;
+        }
+        if (ActivityCompat.checkSelfPermission(this,
+                Manifest.permission.ACCESS_FINE_LOCATION) != PackageManager.PERMISSION_GRANTED) {
+            return;
+        }
+        locationRequest = buildLocationRequest(sample);
+        // Same callback: the fused provider replaces the previous request
+        fusedLocationClient.requestLocationUpdates(locationRequest, locationCallback, Looper.getMainLooper());
+    }
+
     @Override
     public void onMapReady(GoogleMap googleMap) {
         mMap = googleMap;
@@ -162,13 +197,18 @@ public class EmployeeMapActivity extends AppCompatActivity implements OnMapReady
         }
 
         mMap.setMyLocationEnabled(true);
-        fusedLocationClient.requestLocationUpdates(locationRequest, locationCallback, null);
+        if (!locationSampler.getSample().enabled) {
+            // Job finished - no tracking, the map only shows the customer location
+            return;
+        }
+        locationRequest = buildLocationRequest(locationSampler.getSample());
+        fusedLocationClient.requestLocationUpdates(locationRequest, locationCallback, Looper.getMainLooper());
         
         // Get current location immediately
         fusedLocationClient.getLastLocation().addOnSuccessListener(location -> {
             if (location != null) {
                 updateEmployeeLocation(new LatLng(location.getLatitude(), location.getLongitude()));
-                updateLocationOnServer(location.getLatitude(), location.getLongitude());
+                updateLocationOnServer(location);
             }
         });
     }
@@ -243,25 +283,10 @@ public class EmployeeMapActivity extends AppCompatActivity implements OnMapReady
                 .geodesic(true));
     }
 
-    private void updateLocationOnServer(double latitude, double longitude) {
-        String token = tokenManager.getToken();
-        if (token == null) return;
-
-        UpdateLocationRequest request = new UpdateLocationRequest(latitude, longitude);
-        ApiService apiService = ApiClient.getApiService();
-        Call<UpdateLocationResponse> call = apiService.updateLocation("Bearer " + token, request);
-
-        call.enqueue(new Callback<UpdateLocationResponse>() {
-            @Override
-            public void onResponse(Call<UpdateLocationResponse> call, Response<UpdateLocationResponse> response) {
-                // Location updated successfully (silent)
-            }
-
-            @Override
-            public void onFailure(Call<UpdateLocationResponse> call, Throwable t) {
-                // Handle error silently for now
-            }
-        });
+    private void updateLocationOnServer(Location location) {
+        // Thinned and uploaded in batches - not one request per fix
+        locationUploadQueue.offer(location.getLatitude(), location.getLongitude(), location.getAccuracy(),
+                location.getTime(), ticketId);
     }
 
     private void startNavigation() {
@@ -280,6 +305,7 @@ public class EmployeeMapActivity extends AppCompatActivity implements OnMapReady
     @Override
     protected void onResume() {
         super.onResume();
+        refreshJobPhase();
         if (mMap != null) {
             startLocationUpdates();
         }
@@ -291,6 +317,10 @@ public class EmployeeMapActivity extends AppCompatActivity implements OnMapReady
         if (fusedLocationClient != null && locationCallback != null) {
             fusedLocationClient.removeLocationUpdates(locationCallback);
         }
+        // Send what is buffered - no new fixes arrive until the screen is back
+        if (locationUploadQueue != null) {
+            locationUploadQueue.flushNow();
+        }
     }
 
     @Override
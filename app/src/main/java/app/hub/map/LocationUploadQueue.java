@@ -0,0 +1,430 @@
+package app.hub.map;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import app.hub.api.ApiClient;
+import app.hub.api.LocationBatchRequest;
+import app.hub.api.UpdateLocationRequest;
+import app.hub.api.UpdateLocationResponse;
+import app.hub.util.RefreshScheduler;
+import app.hub.util.TokenManager;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Buffers technician GPS fixes and uploads them in batches.
+ *
+ * - Thinning: a fix closer than MIN_DISTANCE_M to the last kept one is dropped, unless
+ *   MAX_SILENCE_MS passed (a heartbeat so the server knows the technician is still there).
+ * - Batching: kept points are sent together once BATCH_SIZE are buffered or the oldest one has
+ *   waited FLUSH_INTERVAL_MS. One upload is in flight at a time.
+ * - Retry: failed uploads keep their points and back off up to MAX_RETRY_MS.
+ * - Persistence: unsent points are saved, so a restart uploads them instead of losing them.
+ * - Accounts: points belong to the account signed in when they were recorded. They are only ever
+ *   sent under that account; if another account is signed in by then they are dropped. Logging
+ *   out clears the queue (see clear(Context)).
+ *
+ * All calls are expected on the main thread.
+ */
+public class LocationUploadQueue {
+    private static final String TAG = "LocationUploadQueue";
+
+    static final double MIN_DISTANCE_M = 25;
+    static final long MAX_SILENCE_MS = 60 * 1000; // 1 minute
+    static final int BATCH_SIZE = 10;
+    static final int MAX_BATCH_SIZE = 50;
+    static final long FLUSH_INTERVAL_MS = 30 * 1000; // 30 seconds
+    static final long MAX_RETRY_MS = 5 * 60 * 1000; // 5 minutes
+    static final int MAX_PENDING = 500; // Oldest points are dropped beyond this
+
+    /**
+     * Where unsent points survive process death.
+     */
+    public interface Store {
+        /**
+         * The account the saved points were recorded under, or null if there are none.
+         */
+        String loadAccount();
+
+        List<LocationBatchRequest.Point> load();
+
+        void save(String account, List<LocationBatchRequest.Point> points);
+    }
+
+    /**
+     * The signed-in account, or null when signed out.
+     */
+    public interface AccountSource {
+        String currentAccount();
+    }
+
+    /**
+     * Sends one batch to the server.
+     */
+    public interface Uploader {
+        void upload(List<LocationBatchRequest.Point> points, UploadCallback callback);
+    }
+
+    public interface UploadCallback {
+        void onUploaded();
+
+        /**
+         * @param retryable false if the server rejected the points for good (they are dropped)
+         */
+        void onFailed(boolean retryable);
+    }
+
+    private static LocationUploadQueue instance;
+
+    private final RefreshScheduler.Clock clock;
+    private final Store store;
+    private final Uploader uploader;
+    private final AccountSource accounts;
+    private final List<LocationBatchRequest.Point> pending = new ArrayList<>();
+    private final Runnable flushRunnable = this::flush;
+
+    private String account = null; // Who recorded the pending points
+    private LocationBatchRequest.Point lastKept = null;
+    private boolean flushScheduled = false;
+    private boolean uploading = false;
+    private long retryDelayMs = FLUSH_INTERVAL_MS;
+
+    LocationUploadQueue(RefreshScheduler.Clock clock, Store store, Uploader uploader, AccountSource accounts) {
+        this.clock = clock;
+        this.store = store;
+        this.uploader = uploader;
+        this.accounts = accounts;
+
+        List<LocationBatchRequest.Point> saved = store.load();
+        if (saved == null || saved.isEmpty()) {
+            return;
+        }
+        String savedAccount = store.loadAccount();
+        if (savedAccount == null || !savedAccount.equals(accounts.currentAccount())) {
+            // Never upload another technician's trail under this account
+            Log.d(TAG, "Dropping " + saved.size() + " location points recorded by another account");
+            store.save(null, new ArrayList<>());
+            return;
+        }
+        Log.d(TAG, "Restored " + saved.size() + " unsent location points");
+        account = savedAccount;
+        pending.addAll(saved);
+        lastKept = saved.get(saved.size() - 1);
+        scheduleFlush(0);
+    }
+
+    public static synchronized LocationUploadQueue getInstance(Context context) {
+        if (instance == null) {
+            Context appContext = context.getApplicationContext();
+            TokenManager tokenManager = new TokenManager(appContext);
+            instance = new LocationUploadQueue(new RefreshScheduler.HandlerClock(),
+                    new PrefsStore(appContext), new ApiUploader(appContext), tokenManager::getEmail);
+        }
+        return instance;
+    }
+
+    /**
+     * Forget every unsent point, in memory and on disk. Called on logout.
+     */
+    public static synchronized void clear(Context context) {
+        if (instance != null) {
+            instance.clear();
+        } else {
+            new PrefsStore(context.getApplicationContext()).save(null, new ArrayList<>());
+        }
+    }
+
+    void clear() {
+        if (flushScheduled) {
+            clock.cancel(flushRunnable);
+            flushScheduled = false;
+        }
+        pending.clear();
+        lastKept = null;
+        account = null;
+        retryDelayMs = FLUSH_INTERVAL_MS;
+        store.save(null, new ArrayList<>());
+    }
+
+    /**
+     * Offer a new fix. Returns false if it was thinned out.
+     */
+    public boolean offer(double latitude, double longitude, float accuracy, long recordedAt, String ticketId) {
+        String current = accounts.currentAccount();
+        if (current == null) {
+            return false; // Signed out: there is nobody to send it for
+        }
+        if (!current.equals(account)) {
+            dropOtherAccount();
+            account = current;
+        }
+
+        LocationBatchRequest.Point point = new LocationBatchRequest.Point(latitude, longitude, accuracy,
+                recordedAt, ticketId);
+        if (!shouldKeep(point)) {
+            return false;
+        }
+
+        lastKept = point;
+        pending.add(point);
+        if (pending.size() > MAX_PENDING) {
+            pending.subList(0, pending.size() - MAX_PENDING).clear();
+        }
+        store.save(account, new ArrayList<>(pending));
+
+        if (pending.size() >= BATCH_SIZE && retryDelayMs == FLUSH_INTERVAL_MS) {
+            flush();
+        } else {
+            scheduleFlush(retryDelayMs);
+        }
+        return true;
+    }
+
+    /**
+     * Upload whatever is buffered now, e.g. when the map screen goes to the background.
+     */
+    public void flushNow() {
+        if (flushScheduled) {
+            clock.cancel(flushRunnable);
+            flushScheduled = false;
+        }
+        flush();
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    boolean isUploading() {
+        return uploading;
+    }
+
+    private boolean shouldKeep(LocationBatchRequest.Point point) {
+        if (lastKept == null) {
+            return true;
+        }
+        if (point.getRecordedAt() - lastKept.getRecordedAt() >= MAX_SILENCE_MS) {
+            return true;
+        }
+        if (point.getTicketId() != null && !point.getTicketId().equals(lastKept.getTicketId())) {
+            return true;
+        }
+        return distanceMeters(lastKept.getLatitude(), lastKept.getLongitude(),
+                point.getLatitude(), point.getLongitude()) >= MIN_DISTANCE_M;
+    }
+
+    private void scheduleFlush(long delayMs) {
+        if (flushScheduled || uploading) {
+            return;
+        }
+        flushScheduled = true;
+        clock.postDelayed(flushRunnable, delayMs);
+    }
+
+    private void flush() {
+        flushScheduled = false;
+        if (uploading || pending.isEmpty()) {
+            return;
+        }
+        if ((account == null || !account.equals(accounts.currentAccount()))) {
+            dropOtherAccount();
+            return;
+        }
+
+        List<LocationBatchRequest.Point> batch = new ArrayList<>(
+                pending.subList(0, Math.min(pending.size(), MAX_BATCH_SIZE)));
+        uploading = true;
+        Log.d(TAG, "Uploading " + batch.size() + " location points (" + pending.size() + " buffered)");
+
+        uploader.upload(batch, new UploadCallback() {
+            @Override
+            public void onUploaded() {
+                uploading = false;
+                retryDelayMs = FLUSH_INTERVAL_MS;
+                removeSent(batch);
+                if (pending.size() >= BATCH_SIZE) {
+                    flush();
+                } else if (!pending.isEmpty()) {
+                    scheduleFlush(FLUSH_INTERVAL_MS);
+                }
+            }
+
+            @Override
+            public void onFailed(boolean retryable) {
+                uploading = false;
+                if (!retryable) {
+                    Log.w(TAG, "Server rejected " + batch.size() + " location points, dropping them");
+                    removeSent(batch);
+                    scheduleFlush(retryDelayMs);
+                    return;
+                }
+                retryDelayMs = Math.min(retryDelayMs * 2, MAX_RETRY_MS);
+                Log.w(TAG, "Location upload failed, retrying in " + retryDelayMs + " ms");
+                scheduleFlush(retryDelayMs);
+            }
+        });
+    }
+
+    private void removeSent(List<LocationBatchRequest.Point> batch) {
+        // Identity comparison: points trimmed by MAX_PENDING (or cleared) meanwhile are simply not found
+        pending.removeAll(batch);
+        store.save(account, new ArrayList<>(pending));
+    }
+
+    private void dropOtherAccount() {
+        if (!pending.isEmpty()) {
+            Log.w(TAG, "Dropping " + pending.size() + " location points recorded by another account");
+        }
+        pending.clear();
+        lastKept = null;
+        account = null;
+        retryDelayMs = FLUSH_INTERVAL_MS;
+        store.save(null, new ArrayList<>());
+    }
+
+    /**
+     * Great-circle distance in meters (haversine), good enough at street scale.
+     */
+    static double distanceMeters(double lat1, double lng1, double lat2, double lng2) {
+        double earthRadius = 6371000;
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * earthRadius * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+
+    /**
+     * Unsent points in SharedPreferences, with the account that recorded them.
+     */
+    static class PrefsStore implements Store {
+        private static final String PREF_NAME = "location_upload_queue";
+        private static final String KEY_POINTS = "points";
+        private static final String KEY_ACCOUNT = "account";
+
+        private final SharedPreferences prefs;
+        private final Gson gson = new Gson();
+
+        PrefsStore(Context context) {
+            prefs = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
+        }
+
+        @Override
+        public String loadAccount() {
+            return prefs.getString(KEY_ACCOUNT, null);
+        }
+
+        @Override
+        public List<LocationBatchRequest.Point> load() {
+            String json = prefs.getString(KEY_POINTS, null);
+            if (json == null) {
+                return new ArrayList<>();
+            }
+            try {
+                List<LocationBatchRequest.Point> points = gson.fromJson(json,
+                        new TypeToken<List<LocationBatchRequest.Point>>() {
+                        }.getType());
+                return points != null ? points : new ArrayList<>();
+            } catch (Exception e) {
+                Log.w(TAG, "Discarding unreadable location queue: " + e.getMessage());
+                return new ArrayList<>();
+            }
+        }
+
+        @Override
+        public void save(String account, List<LocationBatchRequest.Point> points) {
+            if (account == null || points.isEmpty()) {
+                prefs.edit().clear().apply();
+                return;
+            }
+            prefs.edit()
+                    .putString(KEY_ACCOUNT, account)
+                    .putString(KEY_POINTS, gson.toJson(points))
+                    .apply();
+        }
+    }
+
+    /**
+     * Uploads through the bulk endpoint. Against a backend without it (404) the newest point is
+     * sent through the single-point endpoint instead - that server only keeps the latest location.
+     */
+    static class ApiUploader implements Uploader {
+        private final TokenManager tokenManager;
+        private boolean bulkUnsupported = false;
+
+        ApiUploader(Context context) {
+            tokenManager = new TokenManager(context);
+        }
+
+        @Override
+        public void upload(List<LocationBatchRequest.Point> points, UploadCallback callback) {
+            String token = tokenManager.getAuthToken();
+            if (token == null) {
+                callback.onFailed(true);
+                return;
+            }
+            if (bulkUnsupported) {
+                uploadLatest(token, points, callback);
+                return;
+            }
+
+            ApiClient.getApiService().updateLocationBatch(token, new LocationBatchRequest(points))
+                    .enqueue(new Callback<UpdateLocationResponse>() {
+                        @Override
+                        public void onResponse(Call<UpdateLocationResponse> call,
+                                Response<UpdateLocationResponse> response) {
+                            if (response.isSuccessful()) {
+                                callback.onUploaded();
+                            } else if (response.code() == 404 || response.code() == 405) {
+                                Log.d(TAG, "Bulk location endpoint not available, using single updates");
+                                bulkUnsupported = true;
+                                uploadLatest(token, points, callback);
+                            } else {
+                                callback.onFailed(isRetryable(response.code()));
+                            }
+                        }
+
+                        @Override
+                        public void onFailure(Call<UpdateLocationResponse> call, Throwable t) {
+                            Log.w(TAG, "Location batch upload failed: " + t.getMessage());
+                            callback.onFailed(true);
+                        }
+                    });
+        }
+
+        private void uploadLatest(String token, List<LocationBatchRequest.Point> points, UploadCallback callback) {
+            LocationBatchRequest.Point latest = points.get(points.size() - 1);
+            UpdateLocationRequest request = new UpdateLocationRequest(latest.getLatitude(), latest.getLongitude());
+            ApiClient.getApiService().updateLocation(token, request).enqueue(new Callback<UpdateLocationResponse>() {
+                @Override
+                public void onResponse(Call<UpdateLocationResponse> call, Response<UpdateLocationResponse> response) {
+                    if (response.isSuccessful()) {
+                        callback.onUploaded();
+                    } else {
+                        callback.onFailed(isRetryable(response.code()));
+                    }
+                }
+
+                @Override
+                public void onFailure(Call<UpdateLocationResponse> call, Throwable t) {
+                    callback.onFailed(true);
+                }
+            });
+        }
+
+        private static boolean isRetryable(int code) {
+            // Validation errors won't succeed on retry; auth, throttling and server errors might
+            return code != 400 && code != 422;
+        }
+    }
+}
@@ -5,7 +5,6 @@ import android.animation.ValueAnimator;
 import android.content.Intent;
 import android.content.pm.PackageManager;
 import android.location.Address;
-import android.location.Geocoder;
 import android.location.Location;
 import android.os.Bundle;
 import android.util.Log;
@@ -31,11 +30,9 @@ import com.google.android.gms.maps.SupportMapFragment;
 import com.google.android.gms.maps.model.LatLng;
 import com.google.android.gms.tasks.CancellationTokenSource;
 
-import java.io.IOException;
-import java.util.List;
-import java.util.Locale;
 
 import app.hub.R;
+import app.hub.util.GeocodingService;
 import app.hub.util.GooglePlayServicesUtils;
 import app.hub.util.LocationUtils;
 
@@ -424,12 +421,8 @@ public class MapSelectionActivity extends AppCompatActivity implements OnMapRead
     private void getAddressFromCoordinates(LatLng latLng) {
         tvSelectedAddress.setText("Loading address...");
 
-        new Thread(() -> {
-            try {
-                Geocoder geocoder = new Geocoder(MapSelectionActivity.this, Locale.getDefault());
-                List<Address> addresses = geocoder.getFromLocation(latLng.latitude, latLng.longitude, 1);
-
-                runOnUiThread(() -> {
+        GeocodingService.getInstance(this).reverseGeocode(latLng.latitude, latLng.longitude, 1,
+                addresses -> {
                     if (addresses != null && !addresses.isEmpty()) {
                         Address address = addresses.get(0);
                         StringBuilder addressBuilder = new StringBuilder();
@@ -472,22 +465,12 @@ public class MapSelectionActivity extends AppCompatActivity implements OnMapRead
                         selectedAddress = addressBuilder.toString();
                         tvSelectedAddress.setText(selectedAddress);
                     } else {
-                        // Fallback only if Geocoder returns nothing
+                        // Fallback if Geocoder returns nothing or fails
                         selectedAddress = String.format("Coordinates: %.6f, %.6f",
                                 latLng.latitude, latLng.longitude);
                         tvSelectedAddress.setText(selectedAddress);
                     }
                 });
-            } catch (IOException e) {
-                Log.e(TAG, "Error getting address", e);
-                runOnUiThread(() -> {
-                    // Fallback on network error
-                    selectedAddress = String.format("Coordinates: %.6f, %.6f",
-                            latLng.latitude, latLng.longitude);
-                    tvSelectedAddress.setText(selectedAddress);
-                });
-            }
-        }).start();
     }
 
     @Override
@@ -659,16 +642,11 @@ public class MapSelectionActivity extends AppCompatActivity implements OnMapRead
     private void getAccurateAddressWithRealPlusCode(LatLng latLng) {
         tvSelectedAddress.setText("Getting precise location...");
         
-        new Thread(() -> {
-            try {
-                // Generate the REAL Plus Code for this exact location
-                String realPlusCode = generateRealPlusCode(latLng);
-                
-                // Try to get address but don't trust it if it's far away
-                Geocoder geocoder = new Geocoder(MapSelectionActivity.this, Locale.getDefault());
-                List<Address> addresses = geocoder.getFromLocation(latLng.latitude, latLng.longitude, 3);
-                
-                runOnUiThread(() -> {
+        // Try to get address but don't trust it if it's far away
+        GeocodingService.getInstance(this).reverseGeocode(latLng.latitude, latLng.longitude, 3,
+                addresses -> {
+                    // Generate the REAL Plus Code for this exact location
+                    String realPlusCode = generateRealPlusCode(latLng);
                     String finalAddress;
                     
                     if (addresses != null && !addresses.isEmpty()) {
@@ -708,16 +686,6 @@ public class MapSelectionActivity extends AppCompatActivity implements OnMapRead
                     tvSelectedAddress.setText(selectedAddress);
                     Log.d(TAG, "Final address: " + finalAddress);
                 });
-                
-            } catch (Exception e) {
-                Log.e(TAG, "Error getting accurate address", e);
-                runOnUiThread(() -> {
-                    String realPlusCode = generateRealPlusCode(latLng);
-                    selectedAddress = realPlusCode + ", Philippines";
-                    tvSelectedAddress.setText(selectedAddress);
-                });
-            }
-        }).start();
     }
 
     // Generate accurate Plus Code using Google's official Open Location Code library
@@ -6,6 +6,7 @@ import android.util.Log;
 import com.google.firebase.firestore.DocumentChange;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.MetadataChanges;
 
 import app.hub.util.TokenManager;
 
@@ -27,7 +28,15 @@ public class CustomerFirebaseListener {
         void onTicketStatusChanged(String ticketId, String newStatus);
     }
 
+    /**
+     * Reports whether the listener is receiving live data, so callers can stop polling.
+     */
+    public interface ConnectionListener {
+        void onConnectionChanged(boolean live);
+    }
+
     private TicketChangeListener changeListener;
+    private ConnectionListener connectionListener;
 
     public CustomerFirebaseListener(Context context) {
         this.context = context.getApplicationContext();
@@ -39,6 +48,10 @@ public class CustomerFirebaseListener {
         this.changeListener = listener;
     }
 
+    public void setConnectionListener(ConnectionListener listener) {
+        this.connectionListener = listener;
+    }
+
     /**
      * Start listening to Firestore for tickets belonging to this customer
      */
@@ -51,6 +64,7 @@ public class CustomerFirebaseListener {
         int customerId = tokenManager.getUserIdInt();
         if (customerId <= 0) {
             Log.w(TAG, "Invalid customer ID, cannot start Firebase listener");
+            notifyConnection(false);
             return;
         }
 
@@ -60,12 +74,16 @@ public class CustomerFirebaseListener {
         // Listen to tickets belonging to this customer
         ticketListener = firestore.collection("tickets")
                 .whereEqualTo("customerId", customerId)
-                .addSnapshotListener((snapshots, error) -> {
+                .addSnapshotListener(MetadataChanges.INCLUDE, (snapshots, error) -> {
                     if (error != null) {
                         Log.e(TAG, "Ticket listener error", error);
+                        notifyConnection(false);
                         return;
                     }
 
+                    // Snapshots served from the local cache mean the device is offline
+                    notifyConnection(snapshots != null && !snapshots.getMetadata().isFromCache());
+
                     if (snapshots == null || snapshots.isEmpty()) {
                         Log.d(TAG, "No tickets in Firestore for customer: " + customerId);
                         return;
@@ -119,6 +137,13 @@ public class CustomerFirebaseListener {
         }
 
         isListening = false;
+        notifyConnection(false);
+    }
+
+    private void notifyConnection(boolean live) {
+        if (connectionListener != null) {
+            connectionListener.onConnectionChanged(live);
+        }
     }
 
     /**
@@ -53,7 +53,7 @@ public class PaymentSelectionActivity extends AppCompatActivity {
 
         // Initialize TokenManager and ApiService
         tokenManager = new TokenManager(this);
-        apiService = ApiClient.getClient().create(ApiService.class);
+        apiService = ApiClient.getApiService();
 
         // Get data from intent
         Intent intent = getIntent();
@@ -28,12 +28,11 @@ import com.google.android.material.datepicker.CalendarConstraints;
 import com.google.android.material.datepicker.MaterialDatePicker;
 import com.google.firebase.firestore.FirebaseFirestore;
 
-import java.io.File;
-import java.io.FileOutputStream;
-import java.io.InputStream;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.TimeZone;
@@ -48,7 +47,6 @@ import app.hub.api.TicketListResponse;
 import app.hub.map.MapSelectionActivity;
 import app.hub.util.TokenManager;
 import okhttp3.MediaType;
-import okhttp3.MultipartBody;
 import okhttp3.RequestBody;
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -61,7 +59,6 @@ public class ServiceSelectActivity extends AppCompatActivity {
     private static final SimpleDateFormat DATE_FORMAT_DISPLAY = new SimpleDateFormat("MMM dd, yyyy",
             Locale.getDefault());
     private static final int PICK_IMAGE_REQUEST = 1002;
-    private static final int MAX_IMAGE_SIZE_MB = 5;
 
     private EditText fullNameInput, contactInput, landmarkInput, descriptionInput, dateInput;
     private TextView amountView;
@@ -587,35 +584,17 @@ public class ServiceSelectActivity extends AppCompatActivity {
         if (requestCode == PICK_IMAGE_REQUEST && resultCode == RESULT_OK && data != null && data.getData() != null) {
             Uri selectedUri = data.getData();
             
-            // Check file size
-            try {
-                InputStream inputStream = getContentResolver().openInputStream(selectedUri);
-                if (inputStream != null) {
-                    int fileSize = inputStream.available();
-                    inputStream.close();
-                    
-                    int fileSizeMB = fileSize / (1024 * 1024);
-                    if (fileSizeMB > MAX_IMAGE_SIZE_MB) {
-                        Toast.makeText(this, "Image size must be less than " + MAX_IMAGE_SIZE_MB + "MB", Toast.LENGTH_LONG).show();
-                        return;
-                    }
-                    
-                    // Assign to the appropriate slot
-                    if (currentImageSlot == 1) {
-                        selectedImageUri1 = selectedUri;
-                    } else if (currentImageSlot == 2) {
-                        selectedImageUri2 = selectedUri;
-                    }
-                    
-                    updateImagePreviews();
-                    
-                    int imageCount = (selectedImageUri1 != null ? 1 : 0) + (selectedImageUri2 != null ? 1 : 0);
-                    Toast.makeText(this, "Image " + imageCount + " added (" + fileSizeMB + "MB)", Toast.LENGTH_SHORT).show();
-                }
-            } catch (Exception e) {
-                Log.e(TAG, "Error checking file size", e);
-                Toast.makeText(this, "Error selecting image", Toast.LENGTH_SHORT).show();
+            // Photos are shrunk before upload, so the size on the phone doesn't matter here
+            if (currentImageSlot == 1) {
+                selectedImageUri1 = selectedUri;
+            } else if (currentImageSlot == 2) {
+                selectedImageUri2 = selectedUri;
             }
+
+            updateImagePreviews();
+
+            int imageCount = (selectedImageUri1 != null ? 1 : 0) + (selectedImageUri2 != null ? 1 : 0);
+            Toast.makeText(this, "Image " + imageCount + " added", Toast.LENGTH_SHORT).show();
         }
     }
 
@@ -824,121 +803,70 @@ public class ServiceSelectActivity extends AppCompatActivity {
     private void createTicketWithImage(ApiService apiService, String authToken, String fullName, 
             String fullDescription, String serviceType, String fullAddress, String contact, String preferredDate,
             double amount) {
-        
-        try {
-            // Use the first available image (prioritize image 1)
-            Uri imageToUpload = selectedImageUri1 != null ? selectedImageUri1 : selectedImageUri2;
-            
-            if (imageToUpload == null) {
-                // Fallback to no image
-                createTicketWithoutImage(apiService, authToken, fullName, fullDescription, serviceType, fullAddress,
-                    contact, preferredDate, amount);
-                return;
-            }
-            
-            // Get the file from URI
-            InputStream inputStream = getContentResolver().openInputStream(imageToUpload);
-            if (inputStream == null) {
-                Toast.makeText(this, "Failed to read image file", Toast.LENGTH_SHORT).show();
-                submitButton.setEnabled(true);
-                submitButton.setText("Submit");
-                return;
-            }
-
-            // Get the actual MIME type from the content resolver
-            String mimeType = getContentResolver().getType(imageToUpload);
-            if (mimeType == null) {
-                mimeType = "image/jpeg"; // Default fallback
-            }
-            
-            // Determine file extension
-            String extension = ".jpg";
-            if (mimeType.contains("png")) {
-                extension = ".png";
-            } else if (mimeType.contains("gif")) {
-                extension = ".gif";
-            }
-
-            // Create a temporary file with proper extension
-            File tempFile = new File(getCacheDir(), "upload_" + System.currentTimeMillis() + extension);
-            FileOutputStream outputStream = new FileOutputStream(tempFile);
-            
-            byte[] buffer = new byte[4096];
-            int bytesRead;
-            while ((bytesRead = inputStream.read(buffer)) != -1) {
-                outputStream.write(buffer, 0, bytesRead);
-            }
-            
-            outputStream.close();
-            inputStream.close();
-
-            Log.d(TAG, "Image prepared: " + tempFile.getName() + ", size: " + tempFile.length() + " bytes, type: " + mimeType);
-
-            // Add note about second image if present
-            String finalDescription = fullDescription;
-            if (selectedImageUri1 != null && selectedImageUri2 != null) {
-                finalDescription += "\n\nNote: 2 images attached (only first image uploaded due to API limitation)";
-            }
-
-            // Create RequestBody instances
-            RequestBody titleBody = RequestBody.create(MediaType.parse("text/plain"), fullName);
-            RequestBody descriptionBody = RequestBody.create(MediaType.parse("text/plain"), finalDescription);
-            RequestBody addressBody = RequestBody.create(MediaType.parse("text/plain"), fullAddress);
-            RequestBody contactBody = RequestBody.create(MediaType.parse("text/plain"), contact);
-            RequestBody serviceTypeBody = RequestBody.create(MediaType.parse("text/plain"), serviceType);
-            RequestBody unitTypeBody = RequestBody.create(MediaType.parse("text/plain"), 
-                    getSelectedUnitTypesString());
-            RequestBody preferredDateBody = RequestBody.create(MediaType.parse("text/plain"), 
-                    preferredDate != null ? preferredDate : "");
-            RequestBody latitudeBody = RequestBody.create(MediaType.parse("text/plain"), 
-                    String.valueOf(selectedLatitude));
-            RequestBody longitudeBody = RequestBody.create(MediaType.parse("text/plain"), 
-                    String.valueOf(selectedLongitude));
-                RequestBody amountBody = RequestBody.create(MediaType.parse("text/plain"),
-                    String.valueOf(amount));
-
-            // Create image part with proper MIME type
-            RequestBody imageBody = RequestBody.create(MediaType.parse(mimeType), tempFile);
-            MultipartBody.Part imagePart = MultipartBody.Part.createFormData("image", tempFile.getName(), imageBody);
-
-            Log.d(TAG, "Sending ticket with image: title=" + fullName + ", service=" + serviceType);
-
-            // Make the API call
-            Call<CreateTicketResponse> call = apiService.createTicketWithImage(
-                    authToken, titleBody, descriptionBody, addressBody, contactBody, 
-                    serviceTypeBody, unitTypeBody, preferredDateBody, latitudeBody, longitudeBody, amountBody,
-                    imagePart);
-            
-            final File finalTempFile = tempFile;
-            call.enqueue(new Callback<CreateTicketResponse>() {
-                @Override
-                public void onResponse(Call<CreateTicketResponse> call, Response<CreateTicketResponse> response) {
-                    // Delete temp file
-                    if (finalTempFile.exists()) {
-                        finalTempFile.delete();
+        List<Uri> images = new ArrayList<>();
+        if (selectedImageUri1 != null) {
+            images.add(selectedImageUri1);
+        }
+        if (selectedImageUri2 != null) {
+            images.add(selectedImageUri2);
+        }
+
+        // Add note about photos the API can't take yet
+        String finalDescription = fullDescription;
+        if (images.size() > TicketAttachmentUploader.MAX_IMAGES) {
+            finalDescription += "\n\nNote: " + images.size() + " images attached (only first image uploaded due to API limitation)";
+        }
+
+        // Create RequestBody instances
+        RequestBody titleBody = RequestBody.create(MediaType.parse("text/plain"), fullName);
+        RequestBody descriptionBody = RequestBody.create(MediaType.parse("text/plain"), finalDescription);
+        RequestBody addressBody = RequestBody.create(MediaType.parse("text/plain"), fullAddress);
+        RequestBody contactBody = RequestBody.create(MediaType.parse("text/plain"), contact);
+        RequestBody serviceTypeBody = RequestBody.create(MediaType.parse("text/plain"), serviceType);
+        RequestBody unitTypeBody = RequestBody.create(MediaType.parse("text/plain"), 
+                getSelectedUnitTypesString());
+        RequestBody preferredDateBody = RequestBody.create(MediaType.parse("text/plain"), 
+                preferredDate != null ? preferredDate : "");
+        RequestBody latitudeBody = RequestBody.create(MediaType.parse("text/plain"), 
+                String.valueOf(selectedLatitude));
+        RequestBody longitudeBody = RequestBody.create(MediaType.parse("text/plain"), 
+                String.valueOf(selectedLongitude));
+        RequestBody amountBody = RequestBody.create(MediaType.parse("text/plain"),
+                String.valueOf(amount));
+
+        Log.d(TAG, "Sending ticket with " + Math.min(images.size(), TicketAttachmentUploader.MAX_IMAGES)
+                + " of " + images.size() + " image(s): title=" + fullName + ", service=" + serviceType);
+
+        // Photos are shrunk before sending; a 3G connection that drops mid-upload gets another try
+        new TicketAttachmentUploader(this).upload(images,
+                parts -> apiService.createTicketWithImages(
+                        authToken, titleBody, descriptionBody, addressBody, contactBody,
+                        serviceTypeBody, unitTypeBody, preferredDateBody, latitudeBody, longitudeBody, amountBody,
+                        parts),
+                new TicketAttachmentUploader.Listener() {
+                    @Override
+                    public void onPreparing() {
+                        submitButton.setText("Preparing photos...");
                     }
-                    if (response.isSuccessful() && response.body() != null) {
-                        pushTicketToFirestore(response.body());
+
+                    @Override
+                    public void onProgress(int percent) {
+                        submitButton.setText("Uploading " + percent + "%");
                     }
-                    handleTicketCreationResponse(response);
-                }
 
-                @Override
-                public void onFailure(Call<CreateTicketResponse> call, Throwable t) {
-                    // Delete temp file
-                    if (finalTempFile.exists()) {
-                        finalTempFile.delete();
+                    @Override
+                    public void onResponse(Response<CreateTicketResponse> response) {
+                        if (response.isSuccessful() && response.body() != null) {
+                            pushTicketToFirestore(response.body());
+                        }
+                        handleTicketCreationResponse(response);
                     }
-                    handleTicketCreationFailure(t);
-                }
-            });
 
-        } catch (Exception e) {
-            Log.e(TAG, "Error preparing image upload", e);
-            Toast.makeText(this, "Error preparing image: " + e.getMessage(), Toast.LENGTH_LONG).show();
-            submitButton.setEnabled(true);
-            submitButton.setText("Submit");
-        }
+                    @Override
+                    public void onFailure(Throwable t) {
+                        handleTicketCreationFailure(t);
+                    }
+                });
     }
 
 
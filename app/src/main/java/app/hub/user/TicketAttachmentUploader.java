@@ -0,0 +1,174 @@
+package app.hub.user;
+
+import android.content.Context;
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import app.hub.api.CreateTicketResponse;
+import app.hub.api.ProgressRequestBody;
+import app.hub.util.ImageCompressor;
+import okhttp3.MediaType;
+import okhttp3.MultipartBody;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Sends a new ticket with its photos: shrinks them off the main thread, reports upload
+ * progress and tries again when the connection drops part way through.
+ *
+ * A retry only happens while the photos were still being sent. Once every byte has gone out the
+ * server may already have made the ticket, so a failure then is reported instead of risking a
+ * duplicate.
+ */
+final class TicketAttachmentUploader {
+    private static final String TAG = "TicketAttachmentUpload";
+    private static final String UPLOAD_DIR = "ticket_uploads";
+    private static final MediaType JPEG = MediaType.parse("image/jpeg");
+    static final int MAX_ATTEMPTS = 3;
+    // The API stores only the "image" part today. Raise this once it reads "images[]" as well;
+    // until then further photos would be uploaded only to be thrown away.
+    static final int MAX_IMAGES = 1;
+    private static final long RETRY_DELAY_MS = 2000;
+
+    // One at a time: a handful of full-size decodes side by side can run a phone out of memory
+    private static final ExecutorService preparer = Executors.newSingleThreadExecutor();
+
+    interface CallFactory {
+        Call<CreateTicketResponse> create(List<MultipartBody.Part> images);
+    }
+
+    interface Listener {
+        void onPreparing();
+
+        void onProgress(int percent);
+
+        void onResponse(Response<CreateTicketResponse> response);
+
+        void onFailure(Throwable t);
+    }
+
+    private final Context context;
+    private final int maxDimension;
+    private final int quality;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    TicketAttachmentUploader(Context context) {
+        this(context, ImageCompressor.DEFAULT_MAX_DIMENSION, ImageCompressor.DEFAULT_QUALITY);
+    }
+
+    TicketAttachmentUploader(Context context, int maxDimension, int quality) {
+        this.context = context.getApplicationContext();
+        this.maxDimension = maxDimension;
+        this.quality = quality;
+    }
+
+    void upload(List<Uri> images, CallFactory factory, Listener listener) {
+        listener.onPreparing();
+        List<Uri> sources = new ArrayList<>(images.subList(0, Math.min(images.size(), MAX_IMAGES)));
+        preparer.execute(() -> {
+            List<File> files = new ArrayList<>();
+            try {
+                File directory = new File(context.getCacheDir(), UPLOAD_DIR);
+                if (!directory.exists() && !directory.mkdirs()) {
+                    throw new IOException("Could not create " + directory);
+                }
+                long stamp = System.currentTimeMillis();
+                for (int i = 0; i < sources.size(); i++) {
+                    File output = new File(directory, "ticket_" + stamp + "_" + (i + 1) + ".jpg");
+                    files.add(ImageCompressor.compress(context.getContentResolver(), sources.get(i), output,
+                            maxDimension, quality));
+                }
+            } catch (IOException | RuntimeException e) {
+                Log.e(TAG, "Could not prepare photos", e);
+                delete(files);
+                mainHandler.post(() -> listener.onFailure(e));
+                return;
+            }
+            mainHandler.post(() -> new Upload(files, factory, listener).attempt(1));
+        });
+    }
+
+    static String partName(int index) {
+        return index == 0 ? "image" : "images[]";
+    }
+
+    private static void delete(List<File> files) {
+        for (File file : files) {
+            file.delete();
+        }
+    }
+
+    private final class Upload {
+        private final List<File> files;
+        private final CallFactory factory;
+        private final Listener listener;
+        private final long totalBytes;
+        private final AtomicLong sentBytes = new AtomicLong();
+        private int lastPercent = -1;
+
+        Upload(List<File> files, CallFactory factory, Listener listener) {
+            this.files = files;
+            this.factory = factory;
+            this.listener = listener;
+            long total = 0;
+            for (File file : files) {
+                total += file.length();
+            }
+            this.totalBytes = Math.max(1, total);
+        }
+
+        void attempt(int attempt) {
+            sentBytes.set(0);
+            List<MultipartBody.Part> parts = new ArrayList<>();
+            for (int i = 0; i < files.size(); i++) {
+                File file = files.get(i);
+                ProgressRequestBody body = new ProgressRequestBody(file, JPEG, this::onBytesWritten);
+                parts.add(MultipartBody.Part.createFormData(partName(i), file.getName(), body));
+            }
+
+            Log.d(TAG, "Sending " + files.size() + " photo(s), " + totalBytes + " bytes, attempt " + attempt);
+            factory.create(parts).enqueue(new Callback<CreateTicketResponse>() {
+                @Override
+                public void onResponse(Call<CreateTicketResponse> call, Response<CreateTicketResponse> response) {
+                    delete(files);
+                    listener.onResponse(response);
+                }
+
+                @Override
+                public void onFailure(Call<CreateTicketResponse> call, Throwable t) {
+                    boolean cutOff = t instanceof IOException && !call.isCanceled()
+                            && sentBytes.get() < totalBytes;
+                    if (cutOff && attempt < MAX_ATTEMPTS) {
+                        Log.d(TAG, "Upload cut off after " + sentBytes.get() + " bytes, retrying: " + t.getMessage());
+                        mainHandler.postDelayed(() -> attempt(attempt + 1), RETRY_DELAY_MS * attempt);
+                        return;
+                    }
+                    delete(files);
+                    listener.onFailure(t);
+                }
+            });
+        }
+
+        // Called on OkHttp's thread for every chunk
+        private void onBytesWritten(long bytes) {
+            int percent = (int) Math.min(100, sentBytes.addAndGet(bytes) * 100 / totalBytes);
+            mainHandler.post(() -> {
+                if (percent != lastPercent) {
+                    lastPercent = percent;
+                    listener.onProgress(percent);
+                }
+            });
+        }
+    }
+}
@@ -12,15 +12,36 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import app.hub.R;
+import app.hub.api.TicketDeltaStore;
 import app.hub.api.TicketListResponse;
+import app.hub.common.RowDiffer;
 
 public class TicketsAdapter extends RecyclerView.Adapter<TicketsAdapter.TicketViewHolder> {
 
     private Set<String> pendingPaymentTicketIds = Collections.emptySet();
     private Set<String> paidTicketIds = Collections.emptySet();
-    private List<TicketListResponse.TicketItem> tickets;
+    // Diffed off the main thread; only changed rows rebind
+    private final RowDiffer<TicketListResponse.TicketItem> tickets = new RowDiffer<>(this,
+            new RowDiffer.RowKeys<TicketListResponse.TicketItem>() {
+                @Override
+                public String keyOf(TicketListResponse.TicketItem ticket) {
+                    return TicketDeltaStore.keyOf(ticket);
+                }
+
+                @Override
+                public String statusOf(TicketListResponse.TicketItem ticket) {
+                    return ticket.getStatus();
+                }
+
+                @Override
+                public int contentOf(TicketListResponse.TicketItem ticket) {
+                    return Objects.hash(ticket.getTicketId(), ticket.getServiceType(), ticket.getDescription(),
+                            ticket.getScheduleNotes(), ticket.getAddress());
+                }
+            });
     private OnTicketClickListener onTicketClickListener;
     private OnPaymentClickListener onPaymentClickListener;
 
@@ -32,8 +53,14 @@ public class TicketsAdapter extends RecyclerView.Adapter<TicketsAdapter.TicketVi
         void onPaymentClick(TicketListResponse.TicketItem ticket);
     }
 
-    public TicketsAdapter(List<TicketListResponse.TicketItem> tickets) {
-        this.tickets = tickets;
+    public TicketsAdapter() {
+    }
+
+    /**
+     * Show a new list. Rows are matched by ticket id; a status-only change just restyles the chip.
+     */
+    public void submitList(List<TicketListResponse.TicketItem> newTickets) {
+        tickets.submitList(newTickets);
     }
 
     public void setOnTicketClickListener(OnTicketClickListener listener) {
@@ -57,24 +84,12 @@ public class TicketsAdapter extends RecyclerView.Adapter<TicketsAdapter.TicketVi
     public TicketViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View view = LayoutInflater.from(parent.getContext())
                 .inflate(R.layout.item_ticket, parent, false);
-        return new TicketViewHolder(view);
-    }
+        TicketViewHolder holder = new TicketViewHolder(view);
 
-    @Override
-    public void onBindViewHolder(@NonNull TicketViewHolder holder, int position) {
-        if (position < 0 || position >= tickets.size()) {
-            android.util.Log.w("TicketsAdapter", "Invalid position: " + position + ", tickets size: " + tickets.size());
-            return;
-        }
-
-        TicketListResponse.TicketItem ticket = tickets.get(position);
-        android.util.Log.d("TicketsAdapter", "Binding ticket at position " + position + ": " +
-                (ticket != null ? ticket.getTicketId() : "null"));
-
-        holder.bind(ticket);
-
-        // Set click listener
+        // Set once; the ticket is looked up when clicked, so status-only rebinds can't leave a
+        // listener holding an old copy
         holder.itemView.setOnClickListener(v -> {
+            TicketListResponse.TicketItem ticket = ticketAt(holder);
             if (onTicketClickListener != null && ticket != null) {
                 android.util.Log.d("TicketsAdapter", "Ticket clicked: " + ticket.getTicketId());
                 onTicketClickListener.onTicketClick(ticket);
@@ -83,16 +98,50 @@ public class TicketsAdapter extends RecyclerView.Adapter<TicketsAdapter.TicketVi
 
         if (holder.btnPayNow != null) {
             holder.btnPayNow.setOnClickListener(v -> {
+                TicketListResponse.TicketItem ticket = ticketAt(holder);
                 if (onPaymentClickListener != null && ticket != null) {
                     onPaymentClickListener.onPaymentClick(ticket);
                 }
             });
         }
+        return holder;
+    }
+
+    private TicketListResponse.TicketItem ticketAt(TicketViewHolder holder) {
+        int position = holder.getBindingAdapterPosition();
+        if (position == RecyclerView.NO_POSITION || position >= tickets.size()) {
+            return null;
+        }
+        return tickets.get(position);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull TicketViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.contains(RowDiffer.PAYLOAD_STATUS) && position >= 0 && position < tickets.size()) {
+            // Status-only change: the click listeners look the ticket up themselves
+            holder.bindStatus(tickets.get(position));
+            return;
+        }
+        onBindViewHolder(holder, position);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull TicketViewHolder holder, int position) {
+        if (position < 0 || position >= tickets.size()) {
+            android.util.Log.w("TicketsAdapter", "Invalid position: " + position + ", tickets size: " + tickets.size());
+            return;
+        }
+
+        TicketListResponse.TicketItem ticket = tickets.get(position);
+        android.util.Log.d("TicketsAdapter", "Binding ticket at position " + position + ": " +
+                (ticket != null ? ticket.getTicketId() : "null"));
+
+        holder.bind(ticket);
     }
 
     @Override
     public int getItemCount() {
-        int count = tickets != null ? tickets.size() : 0;
+        int count = tickets.size();
         android.util.Log.d("TicketsAdapter", "getItemCount: " + count);
         return count;
     }
@@ -153,6 +202,18 @@ public class TicketsAdapter extends RecyclerView.Adapter<TicketsAdapter.TicketVi
                 tvTicketId.setVisibility(View.GONE);
             }
 
+            bindStatus(ticket);
+        }
+
+        /**
+         * Status chip and pay button; the only views a status change touches.
+         */
+        void bindStatus(TicketListResponse.TicketItem ticket) {
+            if (ticket == null) {
+                return;
+            }
+            String ticketId = ticket.getTicketId();
+
             // Normalize status: "Open" should display as "Pending" with orange color
             String status = ticket.getStatus();
             String normalizedStatus = normalizeStatus(status);
@@ -9,8 +9,10 @@ import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 
 import java.util.List;
+import java.util.Objects;
 
 import app.hub.R;
+import app.hub.common.RowDiffer;
 
 public class UserAddressAdapter extends RecyclerView.Adapter<UserAddressAdapter.ViewHolder> {
 
@@ -59,11 +61,26 @@ public class UserAddressAdapter extends RecyclerView.Adapter<UserAddressAdapter.
         void onEdit(AddressItem item);
     }
 
-    private final List<AddressItem> addressList;
+    // Diffed off the main thread; the default badge plays the part of a row status
+    private final RowDiffer<AddressItem> addressList = new RowDiffer<>(this, new RowDiffer.RowKeys<AddressItem>() {
+        @Override
+        public String keyOf(AddressItem item) {
+            return item.id;
+        }
+
+        @Override
+        public String statusOf(AddressItem item) {
+            return String.valueOf(item.isDefault);
+        }
+
+        @Override
+        public int contentOf(AddressItem item) {
+            return Objects.hash(item.name, item.phone, item.getDisplayDetails());
+        }
+    });
     private OnAddressActionListener actionListener;
 
-    public UserAddressAdapter(List<AddressItem> addressList) {
-        this.addressList = addressList;
+    public UserAddressAdapter() {
     }
 
     public void setOnAddressActionListener(OnAddressActionListener actionListener) {
@@ -71,11 +88,7 @@ public class UserAddressAdapter extends RecyclerView.Adapter<UserAddressAdapter.
     }
 
     public void setItems(List<AddressItem> items) {
-        addressList.clear();
-        if (items != null) {
-            addressList.addAll(items);
-        }
-        notifyDataSetChanged();
+        addressList.submitList(items);
     }
 
     @NonNull
@@ -83,7 +96,27 @@ public class UserAddressAdapter extends RecyclerView.Adapter<UserAddressAdapter.
     public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View view = LayoutInflater.from(parent.getContext())
                 .inflate(R.layout.item_user_address, parent, false);
-        return new ViewHolder(view);
+        ViewHolder holder = new ViewHolder(view);
+
+        // Looked up when clicked, so a default-only rebind can't leave the listener on an old copy
+        holder.btnEdit.setOnClickListener(v -> {
+            int position = holder.getBindingAdapterPosition();
+            if (actionListener != null && position != RecyclerView.NO_POSITION
+                    && position < addressList.size()) {
+                actionListener.onEdit(addressList.get(position));
+            }
+        });
+        return holder;
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.contains(RowDiffer.PAYLOAD_STATUS)) {
+            // Only the default address moved
+            holder.btnDefaultBadge.setVisibility(addressList.get(position).isDefault ? View.VISIBLE : View.GONE);
+            return;
+        }
+        onBindViewHolder(holder, position);
     }
 
     @Override
@@ -93,17 +126,11 @@ public class UserAddressAdapter extends RecyclerView.Adapter<UserAddressAdapter.
         holder.tvPhone.setText(item.phone);
         holder.tvAddressDetails.setText(item.getDisplayDetails());
         holder.btnDefaultBadge.setVisibility(item.isDefault ? View.VISIBLE : View.GONE);
-
-        holder.btnEdit.setOnClickListener(v -> {
-            if (actionListener != null) {
-                actionListener.onEdit(item);
-            }
-        });
     }
 
     @Override
     public int getItemCount() {
-        return addressList != null ? addressList.size() : 0;
+        return addressList.size();
     }
 
     public static class ViewHolder extends RecyclerView.ViewHolder {
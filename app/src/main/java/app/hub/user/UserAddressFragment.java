@@ -21,7 +21,6 @@ public class UserAddressFragment extends Fragment {
 
     private FirestoreManager firestoreManager;
     private UserAddressAdapter adapter;
-    private final List<UserAddressAdapter.AddressItem> items = new ArrayList<>();
 
     public UserAddressFragment() {
         // Required empty public constructor
@@ -44,7 +43,7 @@ public class UserAddressFragment extends Fragment {
         RecyclerView rvAddresses = view.findViewById(R.id.rvAddresses);
         com.google.android.material.button.MaterialButton btnAddAddress = view.findViewById(R.id.btnAddAddress);
 
-        adapter = new UserAddressAdapter(items);
+        adapter = new UserAddressAdapter();
         adapter.setOnAddressActionListener(this::openEditAddress);
         rvAddresses.setLayoutManager(new LinearLayoutManager(getContext()));
         rvAddresses.setAdapter(adapter);
@@ -23,8 +23,11 @@ import com.google.android.material.floatingactionbutton.FloatingActionButton;
 import app.hub.R;
 import app.hub.api.ApiClient;
 import app.hub.api.ApiService;
+import app.hub.api.TicketDeltaStore;
 import app.hub.api.TicketListResponse;
 import app.hub.api.UserResponse;
+import app.hub.common.TicketRepository;
+import app.hub.util.StartupTrace;
 import app.hub.util.TokenManager;
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -96,7 +99,7 @@ public class UserHomeFragment extends Fragment {
         updateDots(0); // Initialize dots
         loadBranchInfo();
         setupServiceButtonListeners();
-        loadTicketCounts();
+        // Counts load in onResume, which always follows
 
         return view;
     }
@@ -287,24 +290,30 @@ public class UserHomeFragment extends Fragment {
             return;
         }
 
-        ApiService apiService = ApiClient.getApiService();
-        Call<TicketListResponse> call = apiService.getTickets(token);
-        call.enqueue(new Callback<TicketListResponse>() {
+        // Shared with the tickets tab and the splash prefetch: tickets already synced are counted
+        // at once, and the sync below only asks for what changed since
+        TicketRepository repository = TicketRepository.getInstance(requireContext());
+        List<TicketListResponse.TicketItem> synced = repository.snapshot(TicketRepository.Scope.CUSTOMER);
+        if (!synced.isEmpty()) {
+            updateTicketCounts(synced);
+        }
+
+        repository.load(TicketRepository.Scope.CUSTOMER, "Bearer " + token, new TicketRepository.Callback() {
             @Override
-            public void onResponse(@NonNull Call<TicketListResponse> call, @NonNull Response<TicketListResponse> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    TicketListResponse ticketResponse = response.body();
-                    if (ticketResponse.isSuccess() && ticketResponse.getTickets() != null) {
-                        updateTicketCounts(ticketResponse.getTickets());
-                    }
-                } else {
-                    Log.e(TAG, "Failed to fetch tickets: " + response.code());
+            public void onCached(List<TicketListResponse.TicketItem> cached) {
+                updateTicketCounts(cached);
+            }
+
+            @Override
+            public void onSynced(TicketDeltaStore.MergeResult result) {
+                if (synced.isEmpty() || result.hasChanges()) {
+                    updateTicketCounts(result.getTickets());
                 }
             }
 
             @Override
-            public void onFailure(@NonNull Call<TicketListResponse> call, @NonNull Throwable t) {
-                Log.e(TAG, "API call failed for tickets: " + t.getMessage());
+            public void onError(String error) {
+                Log.e(TAG, "Failed to fetch tickets: " + error);
             }
         });
     }
@@ -346,6 +355,7 @@ public class UserHomeFragment extends Fragment {
                 if (tvCompletedTicketsCount != null) {
                     tvCompletedTicketsCount.setText(String.valueOf(finalCompletedCount));
                 }
+                StartupTrace.firstTicketRow(getActivity());
             });
         }
     }
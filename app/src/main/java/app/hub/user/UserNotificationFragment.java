@@ -44,6 +44,10 @@ import app.hub.api.ApiClient;
 import app.hub.api.ApiService;
 import app.hub.api.TicketListResponse;
 import app.hub.common.FirestoreManager;
+import app.hub.util.GeocodingService;
+import app.hub.util.NotificationAvatars;
+import app.hub.util.RealtimeSync;
+import app.hub.util.RefreshScheduler;
 import app.hub.util.TokenManager;
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -54,7 +58,9 @@ import retrofit2.Response;
  */
 public class UserNotificationFragment extends Fragment implements OnMapReadyCallback {
 
-    private static final long AUTO_REFRESH_INTERVAL_MS = 15000;
+    // Resuming within this window reuses the last result instead of reloading
+    private static final long MIN_RESUME_REFRESH_MS = 15000;
+    private static final String REFRESH_KEY = "customer_activity";
 
     private View emptyStateContainer;
     private View trackingContainer;
@@ -76,8 +82,9 @@ public class UserNotificationFragment extends Fragment implements OnMapReadyCall
     private MaterialButton btnPendingPayment;
     private Handler locationUpdateHandler;
     private Runnable locationUpdateRunnable;
-    private Handler autoRefreshHandler;
-    private Runnable autoRefreshRunnable;
+    // Push-first refresh: polls only while the Firestore stream is down
+    private RealtimeSync realtimeSync;
+    private CustomerFirebaseListener customerFirebaseListener;
     private FirebaseFirestore firestore;
     private ListenerRegistration ticketListener;
     private FirestoreManager firestoreManager;
@@ -117,6 +124,7 @@ public class UserNotificationFragment extends Fragment implements OnMapReadyCall
         }
 
         startPendingPaymentsListener();
+        startRealtimeUpdates();
         loadTickets(false);
     }
 
@@ -126,14 +134,17 @@ public class UserNotificationFragment extends Fragment implements OnMapReadyCall
         if (shouldRefreshNow()) {
             loadTickets(false);
         }
-        startAutoRefresh();
+        if (realtimeSync != null) {
+            realtimeSync.start();
+        }
     }
 
     @Override
     public void onPause() {
         super.onPause();
-        if (autoRefreshHandler != null && autoRefreshRunnable != null) {
-            autoRefreshHandler.removeCallbacks(autoRefreshRunnable);
+        // No polling while the app is in the background
+        if (realtimeSync != null) {
+            realtimeSync.stop();
         }
     }
 
@@ -156,7 +167,17 @@ public class UserNotificationFragment extends Fragment implements OnMapReadyCall
     }
 
     private void loadTickets(boolean showSpinner) {
+        loadTickets(showSpinner, null);
+    }
+
+    /**
+     * @param done told whether the shown ticket changed, for the polling backoff (may be null)
+     */
+    private void loadTickets(boolean showSpinner, RealtimeSync.Done done) {
         if (isLoadingTickets) {
+            if (done != null) {
+                done.onRefreshed(false);
+            }
             return;
         }
         android.util.Log.d("UserNotification", "Loading tickets...");
@@ -167,8 +188,12 @@ public class UserNotificationFragment extends Fragment implements OnMapReadyCall
             showEmptyState();
             if (swipeRefreshLayout != null)
                 swipeRefreshLayout.setRefreshing(false);
+            if (done != null) {
+                done.onRefreshed(false);
+            }
             return;
         }
+        final String previousSignature = ticketSignature(currentTicket);
 
         isLoadingTickets = true;
         lastRefreshMs = System.currentTimeMillis();
@@ -208,6 +233,10 @@ public class UserNotificationFragment extends Fragment implements OnMapReadyCall
                     if (inProgress != null) {
                         android.util.Log.d("UserNotification", "Found in-progress ticket: " + inProgress.getTicketId());
                         currentTicket = inProgress;
+                        // A technician is on it; have their photo ready for the payment notification
+                        if (getContext() != null) {
+                            NotificationAvatars.get(getContext()).prefetch(inProgress.getAssignedStaffPhoto());
+                        }
                         showTrackingView();
                     } else if (pendingPaymentTicket != null) {
                         android.util.Log.d("UserNotification", "Found pending payment ticket: "
@@ -230,6 +259,9 @@ public class UserNotificationFragment extends Fragment implements OnMapReadyCall
                     }
                     showEmptyState();
                 }
+                if (done != null) {
+                    done.onRefreshed(!previousSignature.equals(ticketSignature(currentTicket)));
+                }
             }
 
             @Override
@@ -239,6 +271,9 @@ public class UserNotificationFragment extends Fragment implements OnMapReadyCall
                     swipeRefreshLayout.setRefreshing(false);
                 showEmptyState();
                 android.util.Log.e("UserNotification", "Failed to load activity: " + t.getMessage(), t);
+                if (done != null) {
+                    done.onRefreshed(false);
+                }
             }
         });
     }
@@ -539,38 +574,27 @@ public class UserNotificationFragment extends Fragment implements OnMapReadyCall
     }
 
     private void geocodeAddressAndShowMap(String address) {
-        new Thread(() -> {
-            try {
-                android.location.Geocoder geocoder = new android.location.Geocoder(getContext(),
-                        java.util.Locale.getDefault());
-                java.util.List<android.location.Address> addresses = geocoder.getFromLocationName(address, 1);
-
-                if (addresses != null && !addresses.isEmpty()) {
-                    android.location.Address location = addresses.get(0);
-                    double lat = location.getLatitude();
-                    double lng = location.getLongitude();
-
-                    android.util.Log.d("UserNotification", "Geocoded address to: lat=" + lat + ", lng=" + lng);
-
-                    // Update UI on main thread
-                    if (getActivity() != null) {
-                        getActivity().runOnUiThread(() -> showMarkersOnMap(lat, lng));
-                    }
-                } else {
-                    android.util.Log.e("UserNotification", "Geocoding failed - no results");
-                    // Fallback to default
-                    if (getActivity() != null) {
-                        getActivity().runOnUiThread(() -> showMarkersOnMap(14.5995, 120.9842));
-                    }
+        if (getContext() == null) {
+            return;
+        }
+        GeocodingService.getInstance(getContext()).geocode(address, new GeocodingService.Callback() {
+            @Override
+            public void onGeocoded(double lat, double lng) {
+                android.util.Log.d("UserNotification", "Geocoded address to: lat=" + lat + ", lng=" + lng);
+                if (isAdded()) {
+                    showMarkersOnMap(lat, lng);
                 }
-            } catch (java.io.IOException e) {
-                android.util.Log.e("UserNotification", "Geocoding error: " + e.getMessage(), e);
+            }
+
+            @Override
+            public void onNotFound() {
+                android.util.Log.e("UserNotification", "Geocoding failed - no results");
                 // Fallback to default
-                if (getActivity() != null) {
-                    getActivity().runOnUiThread(() -> showMarkersOnMap(14.5995, 120.9842));
+                if (isAdded()) {
+                    showMarkersOnMap(14.5995, 120.9842);
                 }
             }
-        }).start();
+        });
     }
 
     private void showMarkersOnMap(double customerLat, double customerLng) {
@@ -913,38 +937,83 @@ public class UserNotificationFragment extends Fragment implements OnMapReadyCall
         if (locationUpdateHandler != null && locationUpdateRunnable != null) {
             locationUpdateHandler.removeCallbacks(locationUpdateRunnable);
         }
-        // Stop auto-refresh
-        if (autoRefreshHandler != null && autoRefreshRunnable != null) {
-            autoRefreshHandler.removeCallbacks(autoRefreshRunnable);
-        }
+        // Stop real-time updates and fallback polling
+        stopRealtimeUpdates();
         stopTicketListener();
         stopPendingPaymentListeners();
     }
 
-    private void startAutoRefresh() {
-        autoRefreshHandler = new Handler(Looper.getMainLooper());
-        autoRefreshRunnable = new Runnable() {
+    /**
+     * Refresh when the customer's tickets change in Firestore or an FCM message arrives.
+     * The API is only polled (with backoff) while the Firestore stream is down.
+     */
+    private void startRealtimeUpdates() {
+        realtimeSync = new RealtimeSync(REFRESH_KEY, requireContext(), done -> {
+            if (isAdded() && getContext() != null) {
+                android.util.Log.d("UserNotification", "Refreshing activity in background");
+                loadTickets(false, done);
+            } else {
+                done.onRefreshed(false);
+            }
+        });
+
+        customerFirebaseListener = new CustomerFirebaseListener(requireContext());
+        customerFirebaseListener.setChangeListener(new CustomerFirebaseListener.TicketChangeListener() {
             @Override
-            public void run() {
-                // Silently refresh in background (no loading indicator)
-                if (isAdded() && getContext() != null && shouldRefreshNow()) {
-                    android.util.Log.d("UserNotification", "Auto-refreshing tickets in background");
-                    loadTickets();
-                }
+            public void onTicketUpdated(String ticketId) {
+                requestActivityRefresh();
+            }
 
-                // Schedule next refresh in background
-                if (autoRefreshHandler != null) {
-                    autoRefreshHandler.postDelayed(this, AUTO_REFRESH_INTERVAL_MS);
-                }
+            @Override
+            public void onTicketStatusChanged(String ticketId, String newStatus) {
+                requestActivityRefresh();
             }
-        };
+        });
+        customerFirebaseListener.setConnectionListener(live -> {
+            if (realtimeSync == null) {
+                return;
+            }
+            if (live) {
+                realtimeSync.onStreamConnected();
+            } else {
+                realtimeSync.onStreamDisconnected();
+            }
+        });
+        customerFirebaseListener.startListening();
+    }
+
+    private void requestActivityRefresh() {
+        // A status change fires two callbacks per document - reload once
+        RefreshScheduler.getInstance().request(RefreshScheduler.KEY_CUSTOMER_TICKETS, this, done -> {
+            if (isAdded()) {
+                loadTickets(false, changed -> done.run());
+            } else {
+                done.run();
+            }
+        });
+    }
+
+    private void stopRealtimeUpdates() {
+        if (realtimeSync != null) {
+            realtimeSync.stop();
+            realtimeSync = null;
+        }
+        if (customerFirebaseListener != null) {
+            customerFirebaseListener.stopListening();
+            customerFirebaseListener = null;
+        }
+        RefreshScheduler.getInstance().cancel(RefreshScheduler.KEY_CUSTOMER_TICKETS, this);
+    }
 
-        // Start auto-refresh after the interval
-        autoRefreshHandler.postDelayed(autoRefreshRunnable, AUTO_REFRESH_INTERVAL_MS);
+    private static String ticketSignature(TicketListResponse.TicketItem ticket) {
+        if (ticket == null) {
+            return "";
+        }
+        return ticket.getTicketId() + "|" + ticket.getStatus() + "|" + ticket.getUpdatedAt();
     }
 
     private boolean shouldRefreshNow() {
-        return System.currentTimeMillis() - lastRefreshMs > AUTO_REFRESH_INTERVAL_MS;
+        return System.currentTimeMillis() - lastRefreshMs > MIN_RESUME_REFRESH_MS;
     }
 
     private void openPendingPayment() {
@@ -995,7 +1064,7 @@ public class UserNotificationFragment extends Fragment implements OnMapReadyCall
                         serviceType,
                         amount,
                         customerId,
-                        null);
+                        currentTicket.getAssignedStaffPhoto());
 
                 // Remember this notification
                 lastNotificationTicketId = currentTicketId;
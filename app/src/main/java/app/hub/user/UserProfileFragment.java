@@ -1,8 +1,8 @@
 package app.hub.user;
 
+import android.content.Context;
 import android.content.Intent;
 import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.net.Uri;
 import android.os.Bundle;
 import android.provider.MediaStore;
@@ -36,6 +36,8 @@ import app.hub.common.MainActivity;
 import app.hub.common.PersonalInfoActivity;
 import app.hub.common.ProfileAboutUsFragment;
 import app.hub.employee.EmployeePersonalInfoFragment;
+import app.hub.util.ImageCompressor;
+import app.hub.util.ImageLoader;
 import app.hub.util.LoadingDialog;
 import app.hub.util.TokenManager;
 import app.hub.util.UiPreferences;
@@ -44,8 +46,6 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
 
 import okhttp3.MediaType;
 import okhttp3.MultipartBody;
@@ -62,6 +62,7 @@ import app.hub.common.FirestoreManager;
 
 public class UserProfileFragment extends Fragment {
     private static final String TAG = "UserProfileFragment";
+    private static final int PROFILE_IMAGE_SIZE = 500;
 
     private TokenManager tokenManager;
     private FirestoreManager firestoreManager;
@@ -72,6 +73,7 @@ public class UserProfileFragment extends Fragment {
     private String connectionStatus;
     private TextView tvName, tvUsername, tvBranch;
     private ShapeableImageView imgProfile;
+    private String profilePhotoUrl;
     private Uri cameraImageUri;
     private ActivityResultLauncher<Intent> galleryLauncher;
     private ActivityResultLauncher<Intent> cameraLauncher;
@@ -258,6 +260,7 @@ public class UserProfileFragment extends Fragment {
             if (imgProfile != null && getActivity() != null) {
                 getActivity().runOnUiThread(() -> {
                     if (imgProfile != null) {
+                        ImageLoader.get(imgProfile.getContext()).cancel(imgProfile);
                         imgProfile.setImageResource(R.mipmap.ic_launchericons_round);
                     }
                 });
@@ -778,74 +781,40 @@ public class UserProfileFragment extends Fragment {
     }
 
     private void setProfileImage(Uri imageUri) {
-        try {
-            Bitmap bitmap = getBitmapFromUri(imageUri);
-            if (bitmap != null && imgProfile != null) {
-                imgProfile.setImageBitmap(bitmap);
-                saveProfileImage(bitmap);
-                uploadProfilePhotoToServer(imageUri);
+        Context context = requireContext().getApplicationContext();
+        File imageFile = tokenManager.getProfileImageFile(context);
+        // A camera photo is several MB: sample it down on a worker, never decode it full size here
+        new Thread(() -> {
+            try {
+                ImageCompressor.compress(context.getContentResolver(), imageUri, imageFile,
+                        PROFILE_IMAGE_SIZE, 90);
+            } catch (IOException e) {
+                Log.w(TAG, "Could not load picked photo", e);
+                if (getActivity() != null) {
+                    getActivity().runOnUiThread(() -> showToast("Error loading image: " + e.getMessage()));
+                }
+                return;
             }
-        } catch (Exception e) {
-            showToast("Error loading image: " + e.getMessage());
-        }
-    }
-
-    private Bitmap getBitmapFromUri(Uri uri) {
-        try {
-            InputStream inputStream = requireContext().getContentResolver().openInputStream(uri);
-            Bitmap bitmap = BitmapFactory.decodeStream(inputStream);
-            if (inputStream != null) {
-                inputStream.close();
+            if (getActivity() != null) {
+                getActivity().runOnUiThread(() -> {
+                    if (!isAdded()) {
+                        return;
+                    }
+                    loadProfileImage();
+                    uploadProfilePhotoToServer(imageUri);
+                });
             }
-            return resizeBitmap(bitmap, 500, 500);
-        } catch (Exception e) {
-            return null;
-        }
-    }
-
-    private Bitmap resizeBitmap(Bitmap bitmap, int maxWidth, int maxHeight) {
-        if (bitmap == null)
-            return null;
-
-        int width = bitmap.getWidth();
-        int height = bitmap.getHeight();
-
-        if (width <= maxWidth && height <= maxHeight) {
-            return bitmap;
-        }
-
-        float scale = Math.min((float) maxWidth / width, (float) maxHeight / height);
-        int newWidth = Math.round(width * scale);
-        int newHeight = Math.round(height * scale);
-
-        return Bitmap.createScaledBitmap(bitmap, newWidth, newHeight, true);
-    }
-
-    private void saveProfileImage(Bitmap bitmap) {
-        try {
-            File imageFile = tokenManager.getProfileImageFile(requireContext());
-            FileOutputStream fos = new FileOutputStream(imageFile);
-            bitmap.compress(Bitmap.CompressFormat.JPEG, 90, fos);
-            fos.flush();
-            fos.close();
-        } catch (Exception e) {
-            // Handle error silently or log it
-        }
+        }, "profile-photo").start();
     }
 
     private void loadProfileImage() {
-        // First try to load from API (will be set in processUserData)
-        // If not available, fallback to local cache
-        try {
-            File imageFile = tokenManager.getProfileImageFile(requireContext());
-            if (imageFile.exists() && imgProfile != null) {
-                Bitmap bitmap = BitmapFactory.decodeFile(imageFile.getAbsolutePath());
-                if (bitmap != null) {
-                    imgProfile.setImageBitmap(bitmap);
-                }
-            }
-        } catch (Exception e) {
-            // Handle error silently
+        // The API photo replaces this once processUserData loads it
+        if (imgProfile == null || getContext() == null) {
+            return;
+        }
+        File imageFile = tokenManager.getProfileImageFile(requireContext());
+        if (imageFile.exists()) {
+            ImageLoader.get(requireContext()).load(imageFile).into(imgProfile);
         }
     }
 
@@ -887,6 +856,7 @@ public class UserProfileFragment extends Fragment {
                         if (photoResponse.getData() != null && photoResponse.getData().getProfilePhoto() != null) {
                             // Photo uploaded successfully
                             showToast("Profile photo saved");
+                            forgetProfilePhoto();
                             // Reload user data to get updated profile photo URL
                             fetchUserData();
                         } else {
@@ -932,34 +902,34 @@ public class UserProfileFragment extends Fragment {
     }
 
     private void loadProfileImageFromUrl(String imageUrl) {
-        if (imageUrl == null || imageUrl.isEmpty() || imgProfile == null) {
+        if (imageUrl == null || imageUrl.isEmpty() || imgProfile == null || getContext() == null) {
             return;
         }
 
-        // Load image from URL in background thread
-        new Thread(() -> {
-            try {
-                URL url = new URL(imageUrl);
-                HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-                connection.setDoInput(true);
-                connection.connect();
-                InputStream input = connection.getInputStream();
-                Bitmap bitmap = BitmapFactory.decodeStream(input);
-
-                if (bitmap != null && getActivity() != null) {
-                    getActivity().runOnUiThread(() -> {
-                        if (imgProfile != null) {
-                            imgProfile.setImageBitmap(bitmap);
-                            // Also save locally for offline access
-                            saveProfileImage(bitmap);
-                        }
-                    });
-                }
-            } catch (Exception e) {
-                // Fallback to local image if URL loading fails
-                loadProfileImage();
-            }
-        }).start();
+        // Cached on disk, with a copy kept as the offline profile photo
+        profilePhotoUrl = imageUrl;
+        ImageLoader.get(requireContext())
+                .load(imageUrl)
+                .keepCopy(tokenManager.getProfileImageFile(requireContext()))
+                .into(imgProfile, new ImageLoader.Callback() {
+                    @Override
+                    public void onSuccess(Bitmap bitmap) {
+                    }
+
+                    @Override
+                    public void onError(Exception e) {
+                        // Fallback to local image if URL loading fails
+                        loadProfileImage();
+                    }
+                });
+    }
+
+    // Keeps the replaced or removed photo from coming back out of the image cache
+    private void forgetProfilePhoto() {
+        if (profilePhotoUrl != null && getContext() != null) {
+            ImageLoader.get(requireContext()).evict(profilePhotoUrl);
+            profilePhotoUrl = null;
+        }
     }
 
     private void deleteProfilePhoto() {
@@ -978,6 +948,7 @@ public class UserProfileFragment extends Fragment {
                 if (response.isSuccessful() && response.body() != null && response.body().isSuccess()) {
                     // Photo deleted successfully
                     showToast("Profile photo removed");
+                    forgetProfilePhoto();
 
                     // Clear local cache
                     try {
@@ -993,6 +964,7 @@ public class UserProfileFragment extends Fragment {
                     if (imgProfile != null && getActivity() != null) {
                         getActivity().runOnUiThread(() -> {
                             if (imgProfile != null) {
+                                ImageLoader.get(imgProfile.getContext()).cancel(imgProfile);
                                 imgProfile.setImageResource(R.mipmap.ic_launchericons_round);
                             }
                         });
@@ -25,17 +25,18 @@ import java.util.ArrayList;
 import java.util.List;
 
 import app.hub.R;
-import app.hub.api.ApiClient;
-import app.hub.api.ApiService;
+import app.hub.api.TicketDeltaStore;
 import app.hub.api.TicketListResponse;
+import app.hub.common.TicketRepository;
+import app.hub.common.TicketSearch;
 import app.hub.employee.EmployeeTicketDetailActivity;
+import app.hub.util.RealtimeSync;
+import app.hub.util.RefreshScheduler;
 import app.hub.util.TokenManager;
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
 
 public class UserTicketsFragment extends Fragment {
     private static final String TAG = "UserTicketsFragment";
+    private static final String REFRESH_KEY = "customer_tickets";
 
     private RecyclerView recyclerView;
 
@@ -53,9 +54,11 @@ public class UserTicketsFragment extends Fragment {
     private TextView tabRecent, tabPending, tabInProgress, tabCompleted;
     private EditText etSearch;
 
-    // Auto-refresh mechanism
-    private android.os.Handler autoRefreshHandler;
-    private Runnable autoRefreshRunnable;
+    // Status/text filtering over an index rebuilt per data change, queried off the main thread
+    private TicketSearch ticketSearch;
+
+    // Push-first refresh: polls only while the Firestore stream is down
+    private RealtimeSync realtimeSync;
     private CustomerFirebaseListener customerFirebaseListener;
 
     /** Pending ticket for instant display after creation (cleared after shown) */
@@ -96,9 +99,7 @@ public class UserTicketsFragment extends Fragment {
         if (pending != null) {
             pendingNewTicket = null;
             allTickets.add(0, pending);
-            tickets.add(0, pending);
-            if (adapter != null)
-                adapter.notifyItemInserted(0);
+            reindexTickets();
             Log.d(TAG, "Showing new ticket instantly: " + pending.getTicketId());
         }
 
@@ -109,8 +110,9 @@ public class UserTicketsFragment extends Fragment {
         }
         loadTickets(pending != null);
 
-        // Start auto-refresh and Firebase listener
-        startAutoRefresh();
+        // Real-time updates; fallback polling runs only between onResume and onPause
+        realtimeSync = new RealtimeSync(REFRESH_KEY, requireContext(),
+                done -> loadTickets(true, done));
         startCustomerFirebaseListener();
     }
 
@@ -123,6 +125,7 @@ public class UserTicketsFragment extends Fragment {
         firestoreManager = new FirestoreManager(getContext());
         tickets = new ArrayList<>();
         allTickets = new ArrayList<>();
+        ticketSearch = new TicketSearch(this::onSearchResults);
 
         // Start listening to Firestore
         firestoreManager.listenToMyTickets(new FirestoreManager.TicketListListener() {
@@ -194,6 +197,8 @@ public class UserTicketsFragment extends Fragment {
                             adapter.setPaidTicketIds(paidTicketIds);
                             adapter.notifyDataSetChanged();
                         }
+                        // Paid tickets count as completed
+                        reindexTickets();
                     });
                 }
             }
@@ -236,7 +241,7 @@ public class UserTicketsFragment extends Fragment {
         }
 
         // Initialize adapter with empty list
-        adapter = new TicketsAdapter(tickets);
+        adapter = new TicketsAdapter();
         adapter.setPendingPaymentTicketIds(pendingPaymentTicketIds);
         adapter.setPaidTicketIds(paidTicketIds);
 
@@ -298,102 +303,90 @@ public class UserTicketsFragment extends Fragment {
     }
 
     private void loadTickets(boolean silentRefresh) {
+        loadTickets(silentRefresh, null);
+    }
+
+    /**
+     * @param done told whether anything changed, for the polling backoff (may be null)
+     */
+    private void loadTickets(boolean silentRefresh, RealtimeSync.Done done) {
         String token = tokenManager.getToken();
         if (token == null) {
             Log.e("UserTickets", "No token found - user not logged in");
             if (swipeRefreshLayout != null) {
                 swipeRefreshLayout.setRefreshing(false);
             }
+            if (done != null) {
+                done.onRefreshed(false);
+            }
             return;
         }
 
         Log.d(TAG, "Loading tickets for user");
 
-        ApiService apiService = ApiClient.getApiService();
-        Call<TicketListResponse> call = apiService.getTickets("Bearer " + token);
+        // Shared repository: re-opening the tab only fetches changed tickets, and a cold start
+        // shows the tickets persisted by the last session before the network answers
+        TicketRepository.getInstance(requireContext()).load(TicketRepository.Scope.CUSTOMER, "Bearer " + token,
+                new TicketRepository.Callback() {
+            @Override
+            public void onCached(List<TicketListResponse.TicketItem> cached) {
+                if (!isAdded()) {
+                    return;
+                }
+                Log.d(TAG, "Showing " + cached.size() + " persisted tickets");
+                if (allTickets != null && allTickets.isEmpty()) {
+                    mergeTickets(cached);
+                }
+            }
 
-        call.enqueue(new Callback<TicketListResponse>() {
             @Override
-            public void onResponse(Call<TicketListResponse> call, Response<TicketListResponse> response) {
+            public void onSynced(TicketDeltaStore.MergeResult result) {
                 if (swipeRefreshLayout != null) {
                     swipeRefreshLayout.setRefreshing(false);
                 }
+                if (done != null) {
+                    done.onRefreshed(result.hasChanges());
+                }
+                if (!isAdded()) {
+                    return;
+                }
 
-                Log.d(TAG, "API Response - Code: " + response.code());
-
-                if (response.isSuccessful() && response.body() != null) {
-                    TicketListResponse ticketResponse = response.body();
-
-                    if (ticketResponse.isSuccess()) {
-                        List<TicketListResponse.TicketItem> newTickets = ticketResponse.getTickets();
-                        int ticketCount = (newTickets != null) ? newTickets.size() : 0;
-                        Log.d(TAG, "Tickets received: " + ticketCount);
-
-                        // Merge new tickets with existing ones instead of clearing
-                        if (newTickets != null) {
-                            mergeTickets(newTickets);
-                        } else {
-                            // Only clear if explicitly empty/null response which implies no tickets
-                            if (allTickets != null)
-                                allTickets.clear();
-                            if (tickets != null)
-                                tickets.clear();
-                            if (adapter != null)
-                                adapter.notifyDataSetChanged();
-                        }
-
-                        // Filter is already called inside mergeTickets
-                        // filterTickets();
+                Log.d(TAG, "Tickets received: " + result.getChanged().size() + " changed, "
+                        + result.getRemovedKeys().size() + " removed");
 
-                        // Adapter update is already called inside mergeTickets
-                        // if (adapter != null) {
-                        // adapter.notifyDataSetChanged();
-                        // }
+                if (allTickets != null && allTickets.isEmpty()) {
+                    // Fresh view: show everything synced so far, not just this delta
+                    mergeTickets(result.getTickets());
+                    return;
+                }
+                if (!result.hasChanges()) {
+                    // Nothing changed since the last sync - keep the list as it is
+                    return;
+                }
 
-                        // No popups/toasts here – UI updates silently
-                    } else {
-                        String message = ticketResponse.getMessage();
-                        Log.e("UserTickets", "API returned success=false. Message: " + message);
-                    }
+                removeTickets(result.getRemovedKeys());
+                if (result.isFullSync() && result.getTickets().isEmpty()) {
+                    // Only clear if the full list is explicitly empty
+                    if (allTickets != null)
+                        allTickets.clear();
+                    reindexTickets();
                 } else {
-                    Log.e("UserTickets", "Response not successful - Code: " + response.code());
-
-                    String errorMessage = "Failed to load tickets";
-                    if (response.errorBody() != null) {
-                        try {
-                            String errorBody = response.errorBody().string();
-                            Log.e("UserTickets", "Error body: " + errorBody);
-                            errorMessage = "Server error: " + errorBody;
-                        } catch (Exception e) {
-                            errorMessage = "Server error (Code: " + response.code() + ")";
-                        }
-                    }
-                    // Log only, no popup
-                    Log.e("UserTickets", errorMessage);
+                    // Filter and adapter update happen inside mergeTickets
+                    mergeTickets(result.getChanged());
                 }
             }
 
             @Override
-            public void onFailure(Call<TicketListResponse> call, Throwable t) {
+            public void onError(String error) {
                 if (swipeRefreshLayout != null) {
                     swipeRefreshLayout.setRefreshing(false);
                 }
-
-                Log.e("UserTickets", "Network error: " + t.getMessage(), t);
-
-                String errorMessage;
-                if (t instanceof java.net.ConnectException) {
-                    errorMessage = "Cannot connect to server. Please check your internet connection.";
-                } else if (t instanceof java.net.SocketTimeoutException) {
-                    errorMessage = "Request timed out. Please try again.";
-                } else if (t instanceof java.net.UnknownHostException) {
-                    errorMessage = "Cannot reach server. Please check your internet connection.";
-                } else {
-                    errorMessage = "Network error: " + t.getMessage();
+                if (done != null) {
+                    done.onRefreshed(false);
                 }
 
                 // Log only, no popup
-                Log.e("UserTickets", errorMessage);
+                Log.e("UserTickets", "Failed to load tickets: " + error);
             }
         });
     }
@@ -446,7 +439,9 @@ public class UserTicketsFragment extends Fragment {
         selectedTab.setTypeface(null, android.graphics.Typeface.BOLD);
 
         // Apply filter
-        filterTickets();
+        if (ticketSearch != null) {
+            ticketSearch.setFilter(filter);
+        }
 
         Log.d(TAG, "Filter selected: " + filter);
     }
@@ -475,7 +470,10 @@ public class UserTicketsFragment extends Fragment {
 
             @Override
             public void onTextChanged(CharSequence s, int start, int before, int count) {
-                filterTickets();
+                // Debounced: the query runs once typing pauses
+                if (ticketSearch != null) {
+                    ticketSearch.setQuery(s.toString());
+                }
             }
 
             @Override
@@ -484,105 +482,28 @@ public class UserTicketsFragment extends Fragment {
         });
     }
 
-    private void filterTickets() {
-        if (allTickets == null || allTickets.isEmpty()) {
+    /**
+     * Rebuild the search index after allTickets (or the paid set) changed; the current filter and
+     * search text are re-applied and the result arrives in onSearchResults().
+     */
+    private void reindexTickets() {
+        if (ticketSearch == null || allTickets == null) {
             return;
         }
+        ticketSearch.setTickets(allTickets, paidTicketIds);
+    }
 
-        String searchQuery = "";
-        if (etSearch != null) {
-            searchQuery = etSearch.getText().toString().toLowerCase().trim();
-        }
-
-        List<TicketListResponse.TicketItem> filteredTickets = new ArrayList<>();
-
-        for (TicketListResponse.TicketItem ticket : allTickets) {
-            boolean matchesFilter = false;
-            boolean matchesSearch = true;
-
-            // Apply status filter (exact match, case-insensitive)
-            if (currentFilter.equals("all")) {
-                matchesFilter = true;
-            } else {
-                String ticketStatus = ticket.getStatus();
-                if (ticketStatus != null) {
-                    String normalizedStatus = ticketStatus.toLowerCase().trim();
-                    String normalizedFilter = currentFilter.toLowerCase().trim();
-
-                    // Normalize "Open" to "Pending" for filtering (same as display logic)
-                    if (normalizedStatus.equals("open")) {
-                        normalizedStatus = "pending";
-                    }
-
-                    // Handle "in progress" filter matching "In Progress" status
-                        if (normalizedFilter.equals("active")) {
-                        matchesFilter = normalizedStatus.equals("pending") ||
-                            normalizedStatus.equals("scheduled") ||
-                                normalizedStatus.equals("in progress") ||
-                                normalizedStatus.equals("in-progress") ||
-                                normalizedStatus.contains("progress") ||
-                                normalizedStatus.equals("active") ||
-                                normalizedStatus.equals("accepted") ||
-                                normalizedStatus.equals("assigned") ||
-                                normalizedStatus.equals("ongoing");
-                    } else if (normalizedFilter.equals("in progress")) {
-                        matchesFilter = normalizedStatus.equals("in progress") ||
-                                normalizedStatus.equals("in-progress") ||
-                                normalizedStatus.contains("progress") ||
-                                normalizedStatus.equals("active") ||
-                                normalizedStatus.equals("accepted") ||
-                                normalizedStatus.equals("assigned") ||
-                                normalizedStatus.equals("ongoing");
-                    } else if (normalizedFilter.equals("completed")) {
-                        boolean isCompleted = normalizedStatus.equals("completed")
-                                || normalizedStatus.equals("closed")
-                                || normalizedStatus.equals("resolved")
-                                || normalizedStatus.equals("paid");
-                        String ticketId = ticket.getTicketId();
-                        boolean isPaid = ticketId != null && paidTicketIds.contains(ticketId);
-                        matchesFilter = isCompleted || isPaid;
-                    } else {
-                        // Exact match for other statuses (pending, etc.)
-                        matchesFilter = normalizedStatus.equals(normalizedFilter)
-                            || (normalizedFilter.equals("pending") && normalizedStatus.equals("scheduled"));
-
-                        // Handle "cancelled" filter if we add a tab for it, or ensures it doesn't show
-                        // in other tabs
-                        if (normalizedFilter.equals("cancelled") || normalizedFilter.equals("rejected")) {
-                            matchesFilter = normalizedStatus.equals("cancelled") || normalizedStatus.equals("rejected");
-                        }
-                    }
-                }
-            }
-
-            // Apply search filter
-            if (!searchQuery.isEmpty()) {
-                String title = ticket.getTitle();
-                String ticketId = ticket.getTicketId();
-                String serviceType = ticket.getServiceType();
-                String description = ticket.getDescription();
-
-                matchesSearch = (title != null && title.toLowerCase().contains(searchQuery)) ||
-                        (ticketId != null && ticketId.toLowerCase().contains(searchQuery)) ||
-                        (serviceType != null && serviceType.toLowerCase().contains(searchQuery)) ||
-                        (description != null && description.toLowerCase().contains(searchQuery));
-            }
-
-            if (matchesFilter && matchesSearch) {
-                filteredTickets.add(ticket);
-            }
+    private void onSearchResults(List<TicketListResponse.TicketItem> results) {
+        if (tickets == null) {
+            return;
         }
-
-        // Update the displayed tickets
+        // Update the displayed tickets; the adapter diffs and rebinds only changed rows
         tickets.clear();
-        tickets.addAll(filteredTickets);
-
+        tickets.addAll(results);
         if (adapter != null) {
-            adapter.notifyDataSetChanged();
+            adapter.submitList(results);
         }
-
-        Log.d(TAG, "Filtered tickets: " + filteredTickets.size() + " (filter: " + currentFilter
-                + ", search: '" + searchQuery + "')");
+        Log.d(TAG, "Filtered tickets: " + results.size() + " (filter: " + currentFilter + ")");
     }
 
     @Override
@@ -592,6 +513,18 @@ public class UserTicketsFragment extends Fragment {
         // Refresh tickets when fragment resumes to catch updates from branch managers
         // This ensures tickets are updated when edited by branch managers
         loadTickets(true); // Silent refresh to avoid toast spam
+        if (realtimeSync != null) {
+            realtimeSync.start();
+        }
+    }
+
+    @Override
+    public void onPause() {
+        super.onPause();
+        // No polling while the app is in the background
+        if (realtimeSync != null) {
+            realtimeSync.stop();
+        }
     }
 
     @Override
@@ -622,9 +555,7 @@ public class UserTicketsFragment extends Fragment {
             return;
         allTickets.clear();
         allTickets.addAll(ticketsFromActivity);
-        filterTickets();
-        if (adapter != null)
-            adapter.notifyDataSetChanged();
+        reindexTickets();
     }
 
     private void mergeTickets(List<TicketListResponse.TicketItem> incomingTickets) {
@@ -658,10 +589,19 @@ public class UserTicketsFragment extends Fragment {
             }
         }
 
-        filterTickets();
-        if (adapter != null) {
-            adapter.notifyDataSetChanged();
+        reindexTickets();
+    }
+
+    private void removeTickets(java.util.Set<String> removedKeys) {
+        if (removedKeys == null || removedKeys.isEmpty() || allTickets == null) {
+            return;
+        }
+        for (int i = allTickets.size() - 1; i >= 0; i--) {
+            if (removedKeys.contains(getTicketKey(allTickets.get(i)))) {
+                allTickets.remove(i);
+            }
         }
+        reindexTickets();
     }
 
     private TicketListResponse.TicketItem findTicketByKey(String ticketKey) {
@@ -683,17 +623,7 @@ public class UserTicketsFragment extends Fragment {
     }
 
     private String getTicketKey(TicketListResponse.TicketItem ticket) {
-        if (ticket == null) {
-            return null;
-        }
-        String ticketId = ticket.getTicketId();
-        if (ticketId != null && !ticketId.isEmpty()) {
-            return "ticket_id:" + ticketId;
-        }
-        if (ticket.getId() > 0) {
-            return "id:" + ticket.getId();
-        }
-        return null;
+        return TicketDeltaStore.keyOf(ticket);
     }
 
     private void mergeTicketFields(TicketListResponse.TicketItem target, TicketListResponse.TicketItem source) {
@@ -736,42 +666,6 @@ public class UserTicketsFragment extends Fragment {
         }
     }
 
-    /**
-     * Start auto-refresh polling for customer tickets
-     */
-    private void startAutoRefresh() {
-        autoRefreshHandler = new android.os.Handler(android.os.Looper.getMainLooper());
-        autoRefreshRunnable = new Runnable() {
-            @Override
-            public void run() {
-                // Silently refresh in background (preserve UI)
-                if (isAdded() && getContext() != null) {
-                    Log.d(TAG, "Auto-refreshing customer tickets in background");
-                    loadTickets(true);
-                }
-
-                // Schedule next refresh in 5 seconds (customer polling)
-                if (autoRefreshHandler != null) {
-                    autoRefreshHandler.postDelayed(this, 5000);
-                }
-            }
-        };
-
-        // Start auto-refresh after 5 seconds
-        autoRefreshHandler.postDelayed(autoRefreshRunnable, 5000);
-        Log.d(TAG, "Auto-refresh started for customer tickets");
-    }
-
-    /**
-     * Stop auto-refresh polling
-     */
-    private void stopAutoRefresh() {
-        if (autoRefreshHandler != null && autoRefreshRunnable != null) {
-            autoRefreshHandler.removeCallbacks(autoRefreshRunnable);
-            Log.d(TAG, "Auto-refresh stopped");
-        }
-    }
-
     /**
      * Start Firebase real-time listener for customer tickets
      */
@@ -782,19 +676,23 @@ public class UserTicketsFragment extends Fragment {
                 @Override
                 public void onTicketUpdated(String ticketId) {
                     Log.i(TAG, "Firebase: Customer ticket updated - " + ticketId);
-                    // Refresh tickets immediately
-                    if (isAdded()) {
-                        loadTickets(true);
-                    }
+                    requestTicketRefresh();
                 }
 
                 @Override
                 public void onTicketStatusChanged(String ticketId, String newStatus) {
                     Log.i(TAG, "Firebase: Ticket status changed - " + ticketId + " -> " + newStatus);
-                    // Refresh tickets immediately
-                    if (isAdded()) {
-                        loadTickets(true);
-                    }
+                    requestTicketRefresh();
+                }
+            });
+            customerFirebaseListener.setConnectionListener(live -> {
+                if (realtimeSync == null) {
+                    return;
+                }
+                if (live) {
+                    realtimeSync.onStreamConnected();
+                } else {
+                    realtimeSync.onStreamDisconnected();
                 }
             });
         }
@@ -802,6 +700,19 @@ public class UserTicketsFragment extends Fragment {
         Log.d(TAG, "Customer Firebase listener started");
     }
 
+    /**
+     * Coalesce Firebase-triggered reloads - a status change fires two callbacks per document
+     */
+    private void requestTicketRefresh() {
+        RefreshScheduler.getInstance().request(RefreshScheduler.KEY_CUSTOMER_TICKETS, this, done -> {
+            if (isAdded()) {
+                loadTickets(true, changed -> done.run());
+            } else {
+                done.run();
+            }
+        });
+    }
+
     /**
      * Stop Firebase listener
      */
@@ -810,14 +721,23 @@ public class UserTicketsFragment extends Fragment {
             customerFirebaseListener.stopListening();
             Log.d(TAG, "Customer Firebase listener stopped");
         }
+        RefreshScheduler.getInstance().cancel(RefreshScheduler.KEY_CUSTOMER_TICKETS, this);
     }
 
     @Override
     public void onDestroyView() {
         super.onDestroyView();
+
+        if (ticketSearch != null) {
+            ticketSearch.shutdown();
+            ticketSearch = null;
+        }
         
-        // Stop auto-refresh
-        stopAutoRefresh();
+        // Stop fallback polling
+        if (realtimeSync != null) {
+            realtimeSync.stop();
+            realtimeSync = null;
+        }
         
         // Stop Firebase listeners
         if (firestoreManager != null) {
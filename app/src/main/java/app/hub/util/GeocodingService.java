@@ -0,0 +1,395 @@
+package app.hub.util;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.location.Address;
+import android.location.Geocoder;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.util.LruCache;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Shared Geocoder front end, so screens stop spawning a thread per lookup.
+ *
+ * - Lookups run on a small bounded pool; when it's saturated the caller gets a miss instead of
+ *   another thread.
+ * - Forward results are cached in memory (LRU) and on disk, keyed by the normalized address.
+ *   Branch and customer addresses don't move, so a hit is good for POSITIVE_TTL_MS.
+ * - Addresses the Geocoder can't place are remembered for NOT_FOUND_TTL_MS, network errors only
+ *   for ERROR_TTL_MS (memory only) so a flaky connection doesn't poison the cache.
+ * - Concurrent lookups of the same key share one Geocoder call.
+ * - Reverse lookups (map pin to address) are cached in memory only, keyed by the pin rounded to
+ *   about a meter.
+ *
+ * Callbacks are delivered on the main thread.
+ */
+public class GeocodingService {
+    private static final String TAG = "GeocodingService";
+
+    static final int POOL_SIZE = 2;
+    static final int QUEUE_CAPACITY = 32;
+    static final int MEMORY_ENTRIES = 100;
+    static final int DISK_ENTRIES = 200;
+    static final long POSITIVE_TTL_MS = 30L * 24 * 60 * 60 * 1000; // 30 days
+    static final long NOT_FOUND_TTL_MS = 24L * 60 * 60 * 1000; // 1 day
+    static final long ERROR_TTL_MS = 60 * 1000; // 1 minute
+
+    public interface Callback {
+        void onGeocoded(double latitude, double longitude);
+
+        /**
+         * No coordinates for this address (unknown to the Geocoder, offline, or busy).
+         */
+        void onNotFound();
+    }
+
+    public interface ReverseCallback {
+        /**
+         * @param addresses best matches first; empty if nothing was found or the lookup failed
+         */
+        void onAddresses(List<Address> addresses);
+    }
+
+    /**
+     * The actual Geocoder calls; replaced in tests.
+     */
+    interface Resolver {
+        /**
+         * @return {latitude, longitude}, or null if the address is unknown
+         */
+        double[] forward(String address) throws IOException;
+
+        List<Address> reverse(double latitude, double longitude, int maxResults) throws IOException;
+    }
+
+    /**
+     * Persistent forward cache.
+     */
+    interface Store {
+        Entry get(String key);
+
+        void put(String key, Entry entry);
+    }
+
+    /**
+     * A cached forward result. found=false is a negative entry.
+     */
+    static class Entry {
+        final boolean found;
+        final double latitude;
+        final double longitude;
+        final long expiresAt;
+
+        Entry(boolean found, double latitude, double longitude, long expiresAt) {
+            this.found = found;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static class ReverseEntry {
+        final List<Address> addresses;
+        final long expiresAt;
+
+        ReverseEntry(List<Address> addresses, long expiresAt) {
+            this.addresses = addresses;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static GeocodingService instance;
+
+    private final Resolver resolver;
+    private final Store store;
+    private final Executor worker;
+    private final Executor mainThread;
+    private final LongSupplier clock;
+
+    private final LruCache<String, Entry> memory = new LruCache<>(MEMORY_ENTRIES);
+    private final LruCache<String, ReverseEntry> reverseMemory = new LruCache<>(MEMORY_ENTRIES);
+    private final Map<String, List<Callback>> inFlight = new HashMap<>();
+    private final Map<String, List<ReverseCallback>> reverseInFlight = new HashMap<>();
+
+    GeocodingService(Resolver resolver, Store store, Executor worker, Executor mainThread, LongSupplier clock) {
+        this.resolver = resolver;
+        this.store = store;
+        this.worker = worker;
+        this.mainThread = mainThread;
+        this.clock = clock;
+    }
+
+    public static synchronized GeocodingService getInstance(Context context) {
+        if (instance == null) {
+            Context appContext = context.getApplicationContext();
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(POOL_SIZE, POOL_SIZE, 30, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(QUEUE_CAPACITY), r -> new Thread(r, "geocoder"));
+            pool.allowCoreThreadTimeOut(true);
+            Handler mainHandler = new Handler(Looper.getMainLooper());
+            instance = new GeocodingService(new GeocoderResolver(appContext), new PrefsStore(appContext),
+                    pool, mainHandler::post, System::currentTimeMillis);
+        }
+        return instance;
+    }
+
+    /**
+     * Address to coordinates.
+     */
+    public void geocode(String address, Callback callback) {
+        String key = normalize(address);
+        if (key.isEmpty()) {
+            mainThread.execute(callback::onNotFound);
+            return;
+        }
+
+        Entry cached = memory.get(key);
+        if (cached != null && cached.expiresAt > clock.getAsLong()) {
+            deliver(cached, Collections.singletonList(callback));
+            return;
+        }
+
+        synchronized (inFlight) {
+            List<Callback> waiters = inFlight.get(key);
+            if (waiters != null) {
+                waiters.add(callback);
+                return;
+            }
+            waiters = new ArrayList<>();
+            waiters.add(callback);
+            inFlight.put(key, waiters);
+        }
+
+        try {
+            worker.execute(() -> finish(key, lookup(key, address.trim())));
+        } catch (RejectedExecutionException e) {
+            Log.w(TAG, "Geocoder busy, skipping lookup");
+            finish(key, null);
+        }
+    }
+
+    /**
+     * Coordinates to addresses.
+     */
+    public void reverseGeocode(double latitude, double longitude, int maxResults, ReverseCallback callback) {
+        String key = String.format(Locale.US, "%.5f,%.5f#%d", latitude, longitude, maxResults);
+
+        ReverseEntry cached = reverseMemory.get(key);
+        if (cached != null && cached.expiresAt > clock.getAsLong()) {
+            mainThread.execute(() -> callback.onAddresses(cached.addresses));
+            return;
+        }
+
+        synchronized (reverseInFlight) {
+            List<ReverseCallback> waiters = reverseInFlight.get(key);
+            if (waiters != null) {
+                waiters.add(callback);
+                return;
+            }
+            waiters = new ArrayList<>();
+            waiters.add(callback);
+            reverseInFlight.put(key, waiters);
+        }
+
+        try {
+            worker.execute(() -> finishReverse(key, reverseLookup(key, latitude, longitude, maxResults)));
+        } catch (RejectedExecutionException e) {
+            Log.w(TAG, "Geocoder busy, skipping reverse lookup");
+            finishReverse(key, Collections.emptyList());
+        }
+    }
+
+    /**
+     * Trimmed, lower-case, single-spaced, so "Ashcol  Taguig" and "ashcol taguig " share an entry.
+     */
+    static String normalize(String address) {
+        if (address == null) {
+            return "";
+        }
+        return address.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Runs on the worker. Returns the entry to deliver, or null for a miss that isn't cached.
+     */
+    private Entry lookup(String key, String address) {
+        long now = clock.getAsLong();
+        Entry stored = store.get(key);
+        if (stored != null && stored.expiresAt > now) {
+            memory.put(key, stored);
+            return stored;
+        }
+
+        Entry entry;
+        try {
+            double[] coordinates = resolver.forward(address);
+            if (coordinates != null) {
+                entry = new Entry(true, coordinates[0], coordinates[1], now + POSITIVE_TTL_MS);
+            } else {
+                Log.d(TAG, "No geocoding result for \"" + key + "\"");
+                entry = new Entry(false, 0, 0, now + NOT_FOUND_TTL_MS);
+            }
+            store.put(key, entry);
+        } catch (IOException | RuntimeException e) {
+            Log.w(TAG, "Geocoding failed for \"" + key + "\": " + e.getMessage());
+            entry = new Entry(false, 0, 0, now + ERROR_TTL_MS);
+        }
+        memory.put(key, entry);
+        return entry;
+    }
+
+    private List<Address> reverseLookup(String key, double latitude, double longitude, int maxResults) {
+        long now = clock.getAsLong();
+        List<Address> addresses;
+        long ttl;
+        try {
+            addresses = resolver.reverse(latitude, longitude, maxResults);
+            if (addresses == null) {
+                addresses = Collections.emptyList();
+            }
+            ttl = addresses.isEmpty() ? NOT_FOUND_TTL_MS : POSITIVE_TTL_MS;
+        } catch (IOException | RuntimeException e) {
+            Log.w(TAG, "Reverse geocoding failed: " + e.getMessage());
+            addresses = Collections.emptyList();
+            ttl = ERROR_TTL_MS;
+        }
+        addresses = Collections.unmodifiableList(addresses);
+        reverseMemory.put(key, new ReverseEntry(addresses, now + ttl));
+        return addresses;
+    }
+
+    private void finish(String key, Entry entry) {
+        List<Callback> waiters;
+        synchronized (inFlight) {
+            waiters = inFlight.remove(key);
+        }
+        if (waiters != null) {
+            deliver(entry, waiters);
+        }
+    }
+
+    private void finishReverse(String key, List<Address> addresses) {
+        List<ReverseCallback> waiters;
+        synchronized (reverseInFlight) {
+            waiters = reverseInFlight.remove(key);
+        }
+        if (waiters == null) {
+            return;
+        }
+        mainThread.execute(() -> {
+            for (ReverseCallback callback : waiters) {
+                callback.onAddresses(addresses);
+            }
+        });
+    }
+
+    private void deliver(Entry entry, List<Callback> callbacks) {
+        mainThread.execute(() -> {
+            for (Callback callback : callbacks) {
+                if (entry != null && entry.found) {
+                    callback.onGeocoded(entry.latitude, entry.longitude);
+                } else {
+                    callback.onNotFound();
+                }
+            }
+        });
+    }
+
+    static class GeocoderResolver implements Resolver {
+        private final Context context;
+
+        GeocoderResolver(Context context) {
+            this.context = context;
+        }
+
+        @Override
+        public double[] forward(String address) throws IOException {
+            List<Address> addresses = new Geocoder(context, Locale.getDefault()).getFromLocationName(address, 1);
+            if (addresses == null || addresses.isEmpty()) {
+                return null;
+            }
+            Address location = addresses.get(0);
+            return new double[] { location.getLatitude(), location.getLongitude() };
+        }
+
+        @Override
+        public List<Address> reverse(double latitude, double longitude, int maxResults) throws IOException {
+            return new Geocoder(context, Locale.getDefault()).getFromLocation(latitude, longitude, maxResults);
+        }
+    }
+
+    /**
+     * Forward results in SharedPreferences as "found,lat,lng,expiresAt". Oldest-expiring entries
+     * are evicted beyond DISK_ENTRIES.
+     */
+    static class PrefsStore implements Store {
+        private static final String PREF_NAME = "geocode_cache";
+
+        private final SharedPreferences prefs;
+
+        PrefsStore(Context context) {
+            prefs = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
+        }
+
+        @Override
+        public Entry get(String key) {
+            return parse(prefs.getString(key, null));
+        }
+
+        @Override
+        public void put(String key, Entry entry) {
+            SharedPreferences.Editor editor = prefs.edit()
+                    .putString(key, (entry.found ? "1" : "0") + "," + entry.latitude + "," + entry.longitude
+                            + "," + entry.expiresAt);
+
+            Map<String, ?> all = prefs.getAll();
+            int overflow = all.size() + (all.containsKey(key) ? 0 : 1) - DISK_ENTRIES;
+            if (overflow > 0) {
+                List<Map.Entry<String, ?>> byExpiry = new ArrayList<>(all.entrySet());
+                byExpiry.sort((a, b) -> Long.compare(expiry(a.getValue()), expiry(b.getValue())));
+                for (int i = 0; i < byExpiry.size() && overflow > 0; i++) {
+                    if (!byExpiry.get(i).getKey().equals(key)) {
+                        editor.remove(byExpiry.get(i).getKey());
+                        overflow--;
+                    }
+                }
+            }
+            editor.apply();
+        }
+
+        private static long expiry(Object value) {
+            Entry entry = value instanceof String ? parse((String) value) : null;
+            return entry != null ? entry.expiresAt : 0;
+        }
+
+        private static Entry parse(String value) {
+            if (value == null) {
+                return null;
+            }
+            String[] parts = value.split(",");
+            if (parts.length != 4) {
+                return null;
+            }
+            try {
+                return new Entry("1".equals(parts[0]), Double.parseDouble(parts[1]), Double.parseDouble(parts[2]),
+                        Long.parseLong(parts[3]));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package app.hub.util;
+
+import android.content.ContentResolver;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Matrix;
+import android.media.ExifInterface;
+import android.net.Uri;
+import android.util.Log;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Shrinks a picked photo to an upload-sized JPEG, turned the way the camera meant it.
+ *
+ * Camera photos are 5-12 MB and often stored sideways with an EXIF orientation tag. The output
+ * is at most maxDimension on its longer side with the rotation applied, so the server never has
+ * to read EXIF. Does file and bitmap work - call it off the main thread.
+ */
+public final class ImageCompressor {
+    private static final String TAG = "ImageCompressor";
+
+    public static final int DEFAULT_MAX_DIMENSION = 1600;
+    public static final int DEFAULT_QUALITY = 80;
+
+    private ImageCompressor() {
+    }
+
+    /**
+     * Write a resized, upright JPEG of the image at uri to output.
+     */
+    public static File compress(ContentResolver resolver, Uri uri, File output, int maxDimension, int quality)
+            throws IOException {
+        BitmapFactory.Options bounds = new BitmapFactory.Options();
+        bounds.inJustDecodeBounds = true;
+        try (InputStream input = open(resolver, uri)) {
+            BitmapFactory.decodeStream(input, null, bounds);
+        }
+        if (bounds.outWidth <= 0 || bounds.outHeight <= 0) {
+            throw new IOException("Not an image: " + uri);
+        }
+
+        int[] target = targetSize(bounds.outWidth, bounds.outHeight, maxDimension);
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inSampleSize = ImageLoader.sampleSize(bounds.outWidth, bounds.outHeight, target[0], target[1]);
+        Bitmap decoded;
+        try (InputStream input = open(resolver, uri)) {
+            decoded = BitmapFactory.decodeStream(input, null, options);
+        }
+        if (decoded == null) {
+            throw new IOException("Could not decode " + uri);
+        }
+
+        // Sampling only gets within a power of two; scale the rest of the way, then turn it upright
+        Matrix matrix = new Matrix();
+        float scale = (float) target[0] / decoded.getWidth();
+        if (scale < 1f) {
+            matrix.setScale(scale, scale);
+        }
+        matrix.postConcat(orientationMatrix(readOrientation(resolver, uri)));
+
+        Bitmap result = decoded;
+        if (!matrix.isIdentity()) {
+            result = Bitmap.createBitmap(decoded, 0, 0, decoded.getWidth(), decoded.getHeight(), matrix, true);
+            if (result != decoded) {
+                decoded.recycle();
+            }
+        }
+
+        try (OutputStream out = new FileOutputStream(output)) {
+            if (!result.compress(Bitmap.CompressFormat.JPEG, quality, out)) {
+                throw new IOException("Could not encode " + uri);
+            }
+        } catch (IOException e) {
+            output.delete();
+            throw e;
+        } finally {
+            result.recycle();
+        }
+
+        Log.d(TAG, "Compressed " + bounds.outWidth + "x" + bounds.outHeight + " to "
+                + target[0] + "x" + target[1] + ", " + output.length() + " bytes");
+        return output;
+    }
+
+    /**
+     * The size that fits the longer side into maxDimension, keeping the aspect ratio. Images
+     * already small enough keep their size; a maxDimension of 0 or less means no limit.
+     */
+    static int[] targetSize(int width, int height, int maxDimension) {
+        int longer = Math.max(width, height);
+        if (maxDimension <= 0 || longer <= maxDimension) {
+            return new int[] {width, height};
+        }
+        float scale = (float) maxDimension / longer;
+        return new int[] {
+                Math.max(1, Math.round(width * scale)),
+                Math.max(1, Math.round(height * scale))
+        };
+    }
+
+    static Matrix orientationMatrix(int orientation) {
+        Matrix matrix = new Matrix();
+        switch (orientation) {
+            case ExifInterface.ORIENTATION_ROTATE_90:
+                matrix.postRotate(90);
+                break;
+            case ExifInterface.ORIENTATION_ROTATE_180:
+                matrix.postRotate(180);
+                break;
+            case ExifInterface.ORIENTATION_ROTATE_270:
+                matrix.postRotate(270);
+                break;
+            case ExifInterface.ORIENTATION_FLIP_HORIZONTAL:
+                matrix.postScale(-1, 1);
+                break;
+            case ExifInterface.ORIENTATION_FLIP_VERTICAL:
+                matrix.postScale(1, -1);
+                break;
+            case ExifInterface.ORIENTATION_TRANSPOSE:
+                matrix.postRotate(90);
+                matrix.postScale(-1, 1);
+                break;
+            case ExifInterface.ORIENTATION_TRANSVERSE:
+                matrix.postRotate(-90);
+                matrix.postScale(-1, 1);
+                break;
+            default:
+                break;
+        }
+        return matrix;
+    }
+
+    private static int readOrientation(ContentResolver resolver, Uri uri) {
+        try (InputStream input = open(resolver, uri)) {
+            return new ExifInterface(input).getAttributeInt(
+                    ExifInterface.TAG_ORIENTATION, ExifInterface.ORIENTATION_NORMAL);
+        } catch (IOException e) {
+            // PNGs and screenshots have no EXIF; they are already upright
+            return ExifInterface.ORIENTATION_NORMAL;
+        }
+    }
+
+    private static InputStream open(ContentResolver resolver, Uri uri) throws IOException {
+        InputStream input = resolver.openInputStream(uri);
+        if (input == null) {
+            throw new IOException("Could not open " + uri);
+        }
+        return input;
+    }
+}
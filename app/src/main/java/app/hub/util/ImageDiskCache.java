@@ -0,0 +1,178 @@
+package app.hub.util;
+
+import android.util.Log;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Downloaded image bytes on disk, keyed by URL and trimmed least-recently-used first.
+ *
+ * Unlike the HTTP cache this ignores response headers: our photo URLs change when the photo
+ * changes, so a URL's bytes can be kept until space runs out. Safe to use from any thread.
+ */
+public class ImageDiskCache {
+    private static final String TAG = "ImageDiskCache";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final File directory;
+    private final long maxBytes;
+
+    // File name -> length, in access order. Filled from the directory on first use.
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(32, 0.75f, true);
+    private long totalBytes = 0;
+    private boolean indexed = false;
+    private int tempCounter = 0;
+
+    public ImageDiskCache(File directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * The cached file for a URL, or null.
+     */
+    public synchronized File get(String url) {
+        ensureIndexed();
+        String name = fileName(url);
+        if (entries.get(name) == null) {
+            return null;
+        }
+        File file = new File(directory, name);
+        if (!file.exists()) {
+            totalBytes -= entries.remove(name);
+            return null;
+        }
+        // Carries the recency over to the next process, which rebuilds the order from it
+        file.setLastModified(System.currentTimeMillis());
+        return file;
+    }
+
+    /**
+     * Store a URL's bytes, replacing any earlier copy. The stream is read to the end but not closed.
+     */
+    public File put(String url, InputStream input) throws IOException {
+        String name = fileName(url);
+        File temp;
+        synchronized (this) {
+            ensureIndexed();
+            temp = new File(directory, name + "." + (tempCounter++) + TEMP_SUFFIX);
+        }
+
+        // Written outside the lock so a slow download doesn't hold up readers
+        try (OutputStream output = new FileOutputStream(temp)) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                output.write(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            temp.delete();
+            throw e;
+        }
+
+        synchronized (this) {
+            File file = new File(directory, name);
+            Long previous = entries.remove(name);
+            if (previous != null) {
+                totalBytes -= previous;
+            }
+            if (!temp.renameTo(file)) {
+                temp.delete();
+                throw new IOException("Could not move " + temp + " into the image cache");
+            }
+            long length = file.length();
+            entries.put(name, length);
+            totalBytes += length;
+            trimTo(maxBytes, name);
+            return file;
+        }
+    }
+
+    public synchronized void remove(String url) {
+        ensureIndexed();
+        String name = fileName(url);
+        Long length = entries.remove(name);
+        if (length != null) {
+            totalBytes -= length;
+        }
+        new File(directory, name).delete();
+    }
+
+    public synchronized void clear() {
+        ensureIndexed();
+        trimTo(0, null);
+    }
+
+    synchronized long size() {
+        ensureIndexed();
+        return totalBytes;
+    }
+
+    private void trimTo(long limit, String keep) {
+        Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+        while (totalBytes > limit && iterator.hasNext()) {
+            Map.Entry<String, Long> eldest = iterator.next();
+            if (eldest.getKey().equals(keep)) {
+                continue;
+            }
+            new File(directory, eldest.getKey()).delete();
+            totalBytes -= eldest.getValue();
+            iterator.remove();
+        }
+    }
+
+    private void ensureIndexed() {
+        if (indexed) {
+            return;
+        }
+        indexed = true;
+        if (!directory.exists() && !directory.mkdirs()) {
+            Log.w(TAG, "Could not create " + directory);
+            return;
+        }
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        List<File> sorted = new ArrayList<>(Arrays.asList(files));
+        sorted.sort((a, b) -> Long.compare(a.lastModified(), b.lastModified()));
+        for (File file : sorted) {
+            if (file.getName().endsWith(TEMP_SUFFIX)) {
+                // Left over from a download that died with the process
+                file.delete();
+                continue;
+            }
+            long length = file.length();
+            entries.put(file.getName(), length);
+            totalBytes += length;
+        }
+        trimTo(maxBytes, null);
+    }
+
+    static String fileName(String url) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            byte[] hash = digest.digest(url.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(hash.length * 2);
+            for (byte b : hash) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
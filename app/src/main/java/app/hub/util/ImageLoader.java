@@ -0,0 +1,511 @@
+package app.hub.util;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.ImageDecoder;
+import android.graphics.drawable.AnimatedImageDrawable;
+import android.graphics.drawable.Drawable;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.DisplayMetrics;
+import android.util.Log;
+import android.util.LruCache;
+import android.view.ViewGroup;
+import android.widget.ImageView;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import app.hub.api.ApiClient;
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * The app's one way to show photos: profile pictures, technician avatars, the loading animation.
+ *
+ * Downloads go through the shared OkHttpClient into an ImageDiskCache, so a photo is fetched once
+ * and survives restarts. Decoded bitmaps are kept in a memory LRU sized to the device. Images are
+ * decoded sampled down to the size they are shown at, never at full camera resolution.
+ *
+ * Each ImageView has at most one load: loading into it again, or cancel(view) from
+ * onViewRecycled, cancels the previous one so a recycled row never shows the wrong photo.
+ *
+ * Usage, from the main thread:
+ * ImageLoader.get(context).load(url).placeholder(R.drawable.profile_icon).into(imageView);
+ */
+public class ImageLoader {
+    private static final String TAG = "ImageLoader";
+
+    private static final String DISK_CACHE_DIR = "image_cache";
+    private static final long DISK_CACHE_SIZE = 25L * 1024 * 1024; // 25 MB
+    private static final int WORKER_THREADS = 3;
+    private static final long READ_TIMEOUT_SECONDS = 20;
+
+    public interface Callback {
+        void onSuccess(Bitmap bitmap);
+
+        void onError(Exception e);
+    }
+
+    private static ImageLoader instance;
+
+    private final Context appContext;
+    private final LruCache<String, Bitmap> memoryCache;
+    private final ImageDiskCache diskCache;
+    private final ExecutorService executor = Executors.newFixedThreadPool(WORKER_THREADS);
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    // Main thread only
+    private final Map<ImageView, ImageRequest> targets = new WeakHashMap<>();
+
+    // One download per URL at a time; others wait and read it from disk
+    private final ConcurrentHashMap<String, Object> downloads = new ConcurrentHashMap<>();
+
+    private OkHttpClient sharedClient;
+    private OkHttpClient imageClient;
+
+    private ImageLoader(Context context) {
+        this.appContext = context.getApplicationContext();
+        this.diskCache = new ImageDiskCache(new File(appContext.getCacheDir(), DISK_CACHE_DIR), DISK_CACHE_SIZE);
+
+        // An eighth of the heap, measured in bytes
+        int maxKb = (int) (Runtime.getRuntime().maxMemory() / 1024 / 8);
+        this.memoryCache = new LruCache<String, Bitmap>(maxKb) {
+            @Override
+            protected int sizeOf(String key, Bitmap bitmap) {
+                return bitmap.getByteCount() / 1024 + 1;
+            }
+        };
+    }
+
+    public static synchronized ImageLoader get(Context context) {
+        if (instance == null) {
+            instance = new ImageLoader(context);
+        }
+        return instance;
+    }
+
+    /**
+     * Start a request for a URL. A null or empty URL shows the placeholder (or error image).
+     */
+    public ImageRequest load(String url) {
+        return new ImageRequest(url != null && !url.trim().isEmpty() ? url : null, null);
+    }
+
+    /**
+     * Start a request for a local file, e.g. the saved copy of the user's own photo.
+     */
+    public ImageRequest load(File file) {
+        return new ImageRequest(null, file);
+    }
+
+    /**
+     * Cancel whatever is loading into the view. Call from onViewRecycled.
+     */
+    public void cancel(ImageView view) {
+        ImageRequest previous = targets.remove(view);
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    /**
+     * Forget a URL's image, e.g. after the user replaced or removed their photo.
+     */
+    public void evict(String url) {
+        if (url == null) {
+            return;
+        }
+        String prefix = url + "|";
+        for (String key : memoryCache.snapshot().keySet()) {
+            if (key.startsWith(prefix)) {
+                memoryCache.remove(key);
+            }
+        }
+        executor.execute(() -> diskCache.remove(url));
+    }
+
+    /**
+     * Drop decoded bitmaps, e.g. from onTrimMemory. Downloaded files are kept.
+     */
+    public void clearMemory() {
+        memoryCache.evictAll();
+    }
+
+    /**
+     * Show an animated drawable resource (GIF). Decoded off the main thread; animates on
+     * Android 9+, older versions show the first frame.
+     */
+    public void loadAnimated(ImageView view, int resId) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.P) {
+            cancel(view);
+            view.setImageResource(resId);
+            return;
+        }
+
+        ImageRequest request = new ImageRequest(null, null);
+        bind(view, request);
+        request.future = executor.submit(() -> {
+            try {
+                Drawable drawable = ImageDecoder.decodeDrawable(
+                        ImageDecoder.createSource(appContext.getResources(), resId));
+                mainHandler.post(() -> {
+                    if (!request.cancelled && targets.get(view) == request) {
+                        targets.remove(view);
+                        view.setImageDrawable(drawable);
+                        if (drawable instanceof AnimatedImageDrawable) {
+                            ((AnimatedImageDrawable) drawable).start();
+                        }
+                    }
+                });
+            } catch (IOException e) {
+                Log.w(TAG, "Could not decode animation " + resId + ": " + e.getMessage());
+                mainHandler.post(() -> {
+                    if (!request.cancelled && targets.get(view) == request) {
+                        targets.remove(view);
+                        view.setImageResource(resId);
+                    }
+                });
+            }
+        });
+    }
+
+    public final class ImageRequest {
+        private final String url;
+        private final File file;
+        private int placeholderRes = 0;
+        private int errorRes = 0;
+        private int targetWidth = 0;
+        private int targetHeight = 0;
+        private File keepCopy = null;
+
+        private ImageView view;
+        private Callback callback;
+        private volatile boolean cancelled = false;
+        private volatile Future<?> future;
+        private volatile Call call;
+
+        private ImageRequest(String url, File file) {
+            this.url = url;
+            this.file = file;
+        }
+
+        /**
+         * Shown while loading. Without one the view keeps what it showed before.
+         */
+        public ImageRequest placeholder(int resId) {
+            this.placeholderRes = resId;
+            return this;
+        }
+
+        /**
+         * Shown if the image can't be loaded. Without one the view keeps what it showed before.
+         */
+        public ImageRequest error(int resId) {
+            this.errorRes = resId;
+            return this;
+        }
+
+        /**
+         * Decode for this size instead of the view's.
+         */
+        public ImageRequest resize(int width, int height) {
+            this.targetWidth = width;
+            this.targetHeight = height;
+            return this;
+        }
+
+        /**
+         * Also keep the downloaded bytes in this file, e.g. the account's offline profile photo.
+         */
+        public ImageRequest keepCopy(File file) {
+            this.keepCopy = file;
+            return this;
+        }
+
+        public void into(ImageView view) {
+            into(view, null);
+        }
+
+        /**
+         * Load into the view. The callback runs on the main thread, and not at all if the load is
+         * cancelled.
+         */
+        public void into(ImageView view, Callback callback) {
+            this.view = view;
+            this.callback = callback;
+            bind(view, this);
+
+            if (url == null && file == null) {
+                targets.remove(view);
+                int fallback = placeholderRes != 0 ? placeholderRes : errorRes;
+                if (fallback != 0) {
+                    view.setImageResource(fallback);
+                }
+                if (callback != null) {
+                    callback.onError(new IOException("No image"));
+                }
+                return;
+            }
+
+            if (targetWidth <= 0 || targetHeight <= 0) {
+                measure(view);
+            }
+
+            Bitmap cached = memoryCache.get(memoryKey());
+            if (cached != null) {
+                targets.remove(view);
+                view.setImageBitmap(cached);
+                if (callback != null) {
+                    callback.onSuccess(cached);
+                }
+                return;
+            }
+
+            if (placeholderRes != 0) {
+                view.setImageResource(placeholderRes);
+            }
+            submit();
+        }
+
+        /**
+         * Load without a view, e.g. for a notification. The callback runs on the main thread.
+         */
+        public void into(Callback callback) {
+            this.callback = callback;
+            if (url == null && file == null) {
+                callback.onError(new IOException("No image"));
+                return;
+            }
+            Bitmap cached = memoryCache.get(memoryKey());
+            if (cached != null) {
+                callback.onSuccess(cached);
+                return;
+            }
+            submit();
+        }
+
+        /**
+         * Download to disk only, so the image is ready when a row scrolls into view.
+         */
+        public void fetch() {
+            if (url == null) {
+                return;
+            }
+            future = executor.submit(() -> {
+                try {
+                    resolve();
+                } catch (IOException e) {
+                    Log.d(TAG, "Prefetch failed for " + url + ": " + e.getMessage());
+                }
+            });
+        }
+
+        private void submit() {
+            future = executor.submit(() -> {
+                try {
+                    Bitmap bitmap = decodeSampled(resolve(), targetWidth, targetHeight);
+                    memoryCache.put(memoryKey(), bitmap);
+                    mainHandler.post(() -> deliver(bitmap, null));
+                } catch (Exception e) {
+                    if (!cancelled) {
+                        Log.w(TAG, "Failed to load " + (url != null ? url : file) + ": " + e.getMessage());
+                        mainHandler.post(() -> deliver(null, e));
+                    }
+                }
+            });
+        }
+
+        private void deliver(Bitmap bitmap, Exception error) {
+            if (cancelled) {
+                return;
+            }
+            if (view != null) {
+                if (targets.get(view) != this) {
+                    return;
+                }
+                targets.remove(view);
+                if (bitmap != null) {
+                    view.setImageBitmap(bitmap);
+                } else if (errorRes != 0) {
+                    view.setImageResource(errorRes);
+                }
+            }
+            if (callback != null) {
+                if (bitmap != null) {
+                    callback.onSuccess(bitmap);
+                } else {
+                    callback.onError(error);
+                }
+            }
+        }
+
+        // The file holding the image's bytes, downloading it if needed. Worker thread.
+        private File resolve() throws IOException {
+            if (file != null) {
+                return file;
+            }
+            File cached = diskCache.get(url);
+            boolean downloaded = false;
+            if (cached == null) {
+                Object lock = new Object();
+                Object running = downloads.putIfAbsent(url, lock);
+                Object held = running != null ? running : lock;
+                synchronized (held) {
+                    try {
+                        cached = diskCache.get(url);
+                        if (cached == null) {
+                            cached = download();
+                            downloaded = true;
+                        }
+                    } finally {
+                        downloads.remove(url, lock);
+                    }
+                }
+            }
+            if (keepCopy != null && (downloaded || !keepCopy.exists())) {
+                copy(cached, keepCopy);
+            }
+            return cached;
+        }
+
+        private File download() throws IOException {
+            if (cancelled) {
+                throw new IOException("Cancelled");
+            }
+            Call call = client().newCall(new Request.Builder().url(url).build());
+            this.call = call;
+            if (cancelled) {
+                call.cancel();
+            }
+            try (Response response = call.execute()) {
+                if (!response.isSuccessful()) {
+                    throw new IOException("HTTP " + response.code());
+                }
+                return diskCache.put(url, response.body().byteStream());
+            }
+        }
+
+        private void measure(ImageView view) {
+            int width = view.getWidth();
+            int height = view.getHeight();
+            ViewGroup.LayoutParams params = view.getLayoutParams();
+            if ((width <= 0 || height <= 0) && params != null) {
+                width = params.width;
+                height = params.height;
+            }
+            if (width <= 0 || height <= 0) {
+                // Not laid out and wrap/match_parent: no bigger than the screen
+                DisplayMetrics metrics = appContext.getResources().getDisplayMetrics();
+                width = metrics.widthPixels;
+                height = metrics.heightPixels;
+            }
+            targetWidth = width;
+            targetHeight = height;
+        }
+
+        private String memoryKey() {
+            String source = url != null ? url : "file:" + file.getAbsolutePath() + "@" + file.lastModified();
+            return source + "|" + targetWidth + "x" + targetHeight;
+        }
+
+        private void cancel() {
+            cancelled = true;
+            Future<?> running = future;
+            if (running != null) {
+                running.cancel(false);
+            }
+            Call inFlight = call;
+            if (inFlight != null) {
+                inFlight.cancel();
+            }
+        }
+    }
+
+    private void bind(ImageView view, ImageRequest request) {
+        ImageRequest previous = targets.put(view, request);
+        if (previous != null && previous != request) {
+            previous.cancel();
+        }
+    }
+
+    // Images share the API's pool and dispatcher, but not its HTTP cache - they have their own
+    private synchronized OkHttpClient client() {
+        OkHttpClient shared = ApiClient.getHttpClient();
+        if (imageClient == null || sharedClient != shared) {
+            sharedClient = shared;
+            imageClient = shared.newBuilder()
+                    .cache(null)
+                    .readTimeout(READ_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                    .build();
+        }
+        return imageClient;
+    }
+
+    /**
+     * Decode a file no larger than needed for the target size.
+     */
+    static Bitmap decodeSampled(File file, int targetWidth, int targetHeight) throws IOException {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeFile(file.getAbsolutePath(), options);
+        if (options.outWidth <= 0 || options.outHeight <= 0) {
+            throw new IOException("Not an image: " + file.getName());
+        }
+
+        options.inSampleSize = sampleSize(options.outWidth, options.outHeight, targetWidth, targetHeight);
+        options.inJustDecodeBounds = false;
+        Bitmap bitmap = BitmapFactory.decodeFile(file.getAbsolutePath(), options);
+        if (bitmap == null) {
+            throw new IOException("Could not decode " + file.getName());
+        }
+        return bitmap;
+    }
+
+    /**
+     * The largest power of two that keeps both sides at or above the target.
+     */
+    static int sampleSize(int width, int height, int targetWidth, int targetHeight) {
+        int sample = 1;
+        if (targetWidth <= 0 || targetHeight <= 0) {
+            return sample;
+        }
+        while (width / (sample * 2) >= targetWidth && height / (sample * 2) >= targetHeight) {
+            sample *= 2;
+        }
+        return sample;
+    }
+
+    private static void copy(File from, File to) {
+        File temp = new File(to.getPath() + ".tmp");
+        try (InputStream input = new FileInputStream(from); OutputStream output = new FileOutputStream(temp)) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                output.write(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Could not keep a copy in " + to + ": " + e.getMessage());
+            temp.delete();
+            return;
+        }
+        if (!temp.renameTo(to)) {
+            temp.delete();
+        }
+    }
+}
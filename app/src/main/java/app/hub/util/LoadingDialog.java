@@ -9,9 +9,6 @@ import android.view.View;
 import android.view.Window;
 import android.widget.ImageView;
 
-import com.bumptech.glide.Glide;
-import com.bumptech.glide.load.engine.DiskCacheStrategy;
-
 import app.hub.R;
 
 /**
@@ -51,13 +48,9 @@ public class LoadingDialog {
             );
         }
         
-        // Load GIF using Glide
+        // Animated GIF, decoded off the main thread
         ImageView loadingGif = view.findViewById(R.id.loadingGif);
-        Glide.with(context)
-                .asGif()
-                .load(R.drawable.ac_loading)
-                .diskCacheStrategy(DiskCacheStrategy.RESOURCE)
-                .into(loadingGif);
+        ImageLoader.get(context).loadAnimated(loadingGif, R.drawable.ac_loading);
         
         dialog.setCancelable(false);
         dialog.setCanceledOnTouchOutside(false);
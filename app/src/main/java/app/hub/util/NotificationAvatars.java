@@ -0,0 +1,210 @@
+package app.hub.util;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.BitmapShader;
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Shader;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.util.LruCache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Round, notification-sized technician photos, ready before the notification that needs them.
+ *
+ * Photos are cropped once and kept on disk, so a payment notification usually finds its avatar
+ * without touching the network. When it doesn't, the caller gets null at the deadline and posts
+ * with the fallback icon; the avatar is handed over later so the notification can be updated.
+ * All callbacks run on the main thread.
+ */
+public class NotificationAvatars {
+    private static final String TAG = "NotificationAvatars";
+    private static final String DISK_CACHE_DIR = "notification_avatars";
+    private static final long DISK_CACHE_SIZE = 1024 * 1024; // 1 MB, a few hundred avatars
+    private static final int MEMORY_CACHE_ENTRIES = 8;
+    public static final long DEFAULT_DEADLINE_MS = 1500;
+
+    public interface Listener {
+        /**
+         * Called once, by the deadline: the avatar, or null to post with the fallback icon.
+         */
+        void onReady(Bitmap avatar);
+
+        /**
+         * Called when the avatar arrives after onReady(null).
+         */
+        void onLate(Bitmap avatar);
+    }
+
+    private static NotificationAvatars instance;
+
+    private final Context context;
+    private final int size;
+    private final ImageDiskCache diskCache;
+    private final LruCache<String, Bitmap> memoryCache = new LruCache<>(MEMORY_CACHE_ENTRIES);
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private NotificationAvatars(Context context) {
+        this.context = context.getApplicationContext();
+        this.size = context.getResources().getDimensionPixelSize(android.R.dimen.notification_large_icon_width);
+        this.diskCache = new ImageDiskCache(new File(this.context.getCacheDir(), DISK_CACHE_DIR), DISK_CACHE_SIZE);
+    }
+
+    public static synchronized NotificationAvatars get(Context context) {
+        if (instance == null) {
+            instance = new NotificationAvatars(context);
+        }
+        return instance;
+    }
+
+    /**
+     * Get the avatar ready ahead of time, e.g. when a technician is assigned.
+     */
+    public void prefetch(String url) {
+        if (url == null || url.isEmpty() || memoryCache.get(url) != null) {
+            return;
+        }
+        executor.execute(() -> {
+            if (readDisk(url) == null) {
+                mainHandler.post(() -> download(url, null));
+            }
+        });
+    }
+
+    /**
+     * Deliver the avatar for url to the listener, giving up on it after deadlineMs.
+     */
+    public void load(String url, long deadlineMs, Listener listener) {
+        if (url == null || url.isEmpty()) {
+            listener.onReady(null);
+            return;
+        }
+        Bitmap cached = memoryCache.get(url);
+        if (cached != null) {
+            listener.onReady(cached);
+            return;
+        }
+
+        Delivery delivery = new Delivery(listener);
+        mainHandler.postDelayed(delivery::expire, deadlineMs);
+        executor.execute(() -> {
+            Bitmap onDisk = readDisk(url);
+            mainHandler.post(() -> {
+                if (onDisk != null) {
+                    delivery.deliver(onDisk);
+                } else {
+                    download(url, delivery);
+                }
+            });
+        });
+    }
+
+    private void download(String url, Delivery delivery) {
+        ImageLoader.get(context).load(url).resize(size, size).into(new ImageLoader.Callback() {
+            @Override
+            public void onSuccess(Bitmap bitmap) {
+                // The loader's bitmap stays in its memory cache; crop a copy of it
+                executor.execute(() -> {
+                    Bitmap avatar = circleCrop(bitmap, size);
+                    store(url, avatar);
+                    if (delivery != null) {
+                        mainHandler.post(() -> delivery.deliver(avatar));
+                    }
+                });
+            }
+
+            @Override
+            public void onError(Exception e) {
+                Log.w(TAG, "Could not load avatar " + url + ": " + e.getMessage());
+                if (delivery != null) {
+                    delivery.deliver(null);
+                }
+            }
+        });
+    }
+
+    private Bitmap readDisk(String url) {
+        File file = diskCache.get(url);
+        if (file == null) {
+            return null;
+        }
+        Bitmap avatar = BitmapFactory.decodeFile(file.getAbsolutePath());
+        if (avatar != null) {
+            memoryCache.put(url, avatar);
+        }
+        return avatar;
+    }
+
+    private void store(String url, Bitmap avatar) {
+        memoryCache.put(url, avatar);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        avatar.compress(Bitmap.CompressFormat.PNG, 100, bytes);
+        try {
+            diskCache.put(url, new ByteArrayInputStream(bytes.toByteArray()));
+        } catch (IOException e) {
+            Log.w(TAG, "Could not keep avatar " + url + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * A size x size circle from the middle of the source, scaled to cover it.
+     */
+    static Bitmap circleCrop(Bitmap source, int size) {
+        Bitmap output = Bitmap.createBitmap(size, size, Bitmap.Config.ARGB_8888);
+        float scale = (float) size / Math.min(source.getWidth(), source.getHeight());
+        Matrix matrix = new Matrix();
+        matrix.setScale(scale, scale);
+        matrix.postTranslate((size - source.getWidth() * scale) / 2f, (size - source.getHeight() * scale) / 2f);
+
+        BitmapShader shader = new BitmapShader(source, Shader.TileMode.CLAMP, Shader.TileMode.CLAMP);
+        shader.setLocalMatrix(matrix);
+        Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG | Paint.FILTER_BITMAP_FLAG);
+        paint.setShader(shader);
+        new Canvas(output).drawCircle(size / 2f, size / 2f, size / 2f, paint);
+        return output;
+    }
+
+    // Main thread only
+    static final class Delivery {
+        private final Listener listener;
+        private boolean ready = false;
+        private boolean finished = false;
+
+        Delivery(Listener listener) {
+            this.listener = listener;
+        }
+
+        void deliver(Bitmap avatar) {
+            if (finished) {
+                return;
+            }
+            if (!ready) {
+                ready = true;
+                finished = true;
+                listener.onReady(avatar);
+            } else if (avatar != null) {
+                finished = true;
+                listener.onLate(avatar);
+            }
+        }
+
+        void expire() {
+            if (!ready) {
+                ready = true;
+                listener.onReady(null);
+            }
+        }
+    }
+}
@@ -5,7 +5,11 @@ import android.app.NotificationManager;
 import android.app.PendingIntent;
 import android.content.Context;
 import android.content.Intent;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
 import android.os.Build;
+import android.service.notification.StatusBarNotification;
+import android.util.Log;
 
 import androidx.core.app.NotificationCompat;
 import androidx.core.app.NotificationManagerCompat;
@@ -18,6 +22,7 @@ import app.hub.user.UserPaymentActivity;
  */
 public class NotificationHelper {
 
+    private static final String TAG = "NotificationHelper";
     private static final String CHANNEL_ID = "ashcol_payment_channel";
     private static final String CHANNEL_NAME = "Payment Notifications";
     private static final String CHANNEL_DESC = "Notifications for payment requests";
@@ -56,52 +61,65 @@ public class NotificationHelper {
                 intent,
                 PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE);
 
-        // Load technician profile photo in background thread
-        new Thread(() -> {
-            android.graphics.Bitmap technicianPhoto;
-            if (technicianPhotoUrl != null && !technicianPhotoUrl.isEmpty()) {
-                try {
-                    java.net.URL url = new java.net.URL(technicianPhotoUrl);
-                    technicianPhoto = android.graphics.BitmapFactory
-                            .decodeStream(url.openConnection().getInputStream());
-                } catch (Exception e) {
-                    android.util.Log.e("NotificationHelper", "Failed to load technician photo", e);
-                    // Fallback to Ashcol logo if photo fails to load
-                    technicianPhoto = android.graphics.BitmapFactory.decodeResource(
-                            context.getResources(),
-                            R.drawable.ash);
-                }
-            } else {
-                // Use Ashcol logo as fallback
-                technicianPhoto = android.graphics.BitmapFactory.decodeResource(
-                        context.getResources(),
-                        R.drawable.ash);
-            }
+        // Post by the deadline even if the photo host is slow; the photo is swapped in when it arrives
+        Context appContext = context.getApplicationContext();
+        NotificationAvatars.get(context).load(technicianPhotoUrl, NotificationAvatars.DEFAULT_DEADLINE_MS,
+                new NotificationAvatars.Listener() {
+                    @Override
+                    public void onReady(Bitmap avatar) {
+                        Bitmap largeIcon = avatar != null ? avatar
+                                : BitmapFactory.decodeResource(appContext.getResources(), R.drawable.ash);
+                        postPaymentRequest(appContext, ticketId, amount, pendingIntent, largeIcon);
+                    }
+
+                    @Override
+                    public void onLate(Bitmap avatar) {
+                        // Don't bring back a notification the user already tapped or swiped away
+                        if (isShowing(appContext, ticketId.hashCode())) {
+                            postPaymentRequest(appContext, ticketId, amount, pendingIntent, avatar);
+                        }
+                    }
+                });
+    }
 
-            // Build notification with loaded image
-            String title = "Payment Required";
-            String message = String.format("Your service is complete! Please pay ₱%.2f to finish.", amount);
-
-            NotificationCompat.Builder builder = new NotificationCompat.Builder(context, CHANNEL_ID)
-                    .setSmallIcon(R.drawable.ic_notification)
-                    .setLargeIcon(technicianPhoto)
-                    .setContentTitle(title)
-                    .setContentText(message)
-                    .setStyle(new NotificationCompat.BigTextStyle().bigText(message))
-                    .setPriority(NotificationCompat.PRIORITY_HIGH)
-                    .setAutoCancel(true)
-                    .setContentIntent(pendingIntent)
-                    .setVibrate(new long[] { 0, 500, 200, 500 })
-                    .addAction(R.drawable.ic_wallet, "Pay Now", pendingIntent);
-
-            // Show notification
-            NotificationManagerCompat notificationManager = NotificationManagerCompat.from(context);
-            try {
-                notificationManager.notify(ticketId.hashCode(), builder.build());
-            } catch (SecurityException e) {
-                android.util.Log.e("NotificationHelper", "Permission denied for notification", e);
+    private static void postPaymentRequest(Context context, String ticketId, double amount,
+            PendingIntent pendingIntent, Bitmap largeIcon) {
+        String title = "Payment Required";
+        String message = String.format("Your service is complete! Please pay ₱%.2f to finish.", amount);
+
+        NotificationCompat.Builder builder = new NotificationCompat.Builder(context, CHANNEL_ID)
+                .setSmallIcon(R.drawable.ic_notification)
+                .setLargeIcon(largeIcon)
+                .setContentTitle(title)
+                .setContentText(message)
+                .setStyle(new NotificationCompat.BigTextStyle().bigText(message))
+                .setPriority(NotificationCompat.PRIORITY_HIGH)
+                .setAutoCancel(true)
+                .setOnlyAlertOnce(true) // Swapping in the photo later shouldn't buzz again
+                .setContentIntent(pendingIntent)
+                .setVibrate(new long[] { 0, 500, 200, 500 })
+                .addAction(R.drawable.ic_wallet, "Pay Now", pendingIntent);
+
+        // Same id both times, so a late photo updates the notification in place
+        NotificationManagerCompat notificationManager = NotificationManagerCompat.from(context);
+        try {
+            notificationManager.notify(ticketId.hashCode(), builder.build());
+        } catch (SecurityException e) {
+            Log.e(TAG, "Permission denied for notification", e);
+        }
+    }
+
+    private static boolean isShowing(Context context, int notificationId) {
+        NotificationManager manager = context.getSystemService(NotificationManager.class);
+        if (manager == null) {
+            return false;
+        }
+        for (StatusBarNotification notification : manager.getActiveNotifications()) {
+            if (notification.getId() == notificationId) {
+                return true;
             }
-        }).start();
+        }
+        return false;
     }
 
     /**
@@ -0,0 +1,222 @@
+package app.hub.util;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.os.Build;
+import android.util.Log;
+
+/**
+ * Push-first refresh for one screen: rely on a real-time stream while it is healthy, and only
+ * poll while it is down.
+ *
+ * - The owner reports stream state (Firestore snapshot listener attached / errored / offline).
+ * - FCM broadcasts (com.ashcol.FCM_MESSAGE) trigger a refresh and reset the poll backoff. They say
+ *   nothing about the stream, so polling carries on until the owner reports it connected.
+ * - While the stream is down, polls run with exponential backoff from BASE_POLL_MS to MAX_POLL_MS;
+ *   a poll that found changes drops back to the base interval.
+ * - Nothing runs between stop() and start(), so polling pauses while the screen is in the background.
+ *
+ * All calls are expected on the main thread.
+ */
+public class RealtimeSync {
+    private static final String TAG = "RealtimeSync";
+
+    public static final String ACTION_FCM_MESSAGE = "com.ashcol.FCM_MESSAGE";
+
+    // Fallback polling bounds while the stream is down
+    public static final long BASE_POLL_MS = 15 * 1000; // 15 seconds
+    public static final long MAX_POLL_MS = 5 * 60 * 1000; // 5 minutes
+
+    /**
+     * Refresh the screen's data. Call done(changed) when finished; changed=true resets the backoff.
+     */
+    public interface Refresher {
+        void refresh(Done done);
+    }
+
+    public interface Done {
+        void onRefreshed(boolean changed);
+    }
+
+    private final String name;
+    private final RefreshScheduler.Clock clock;
+    private final Refresher refresher;
+    private final Context context;
+
+    private boolean started = false;
+    private boolean streamHealthy = false;
+    private long pollIntervalMs = BASE_POLL_MS;
+    private Runnable scheduledPoll = null;
+    private BroadcastReceiver pushReceiver = null;
+    private int pollGeneration = 0;
+
+    /**
+     * @param context used to receive FCM broadcasts while started; null disables push handling
+     */
+    public RealtimeSync(String name, Context context, Refresher refresher) {
+        this(name, context, new RefreshScheduler.HandlerClock(), refresher);
+    }
+
+    public RealtimeSync(String name, Context context, RefreshScheduler.Clock clock, Refresher refresher) {
+        this.name = name;
+        this.context = context != null ? context.getApplicationContext() : null;
+        this.clock = clock;
+        this.refresher = refresher;
+    }
+
+    /**
+     * Screen is visible: listen for pushes, and poll if the stream isn't up.
+     */
+    public void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+        registerPushReceiver();
+        if (!streamHealthy) {
+            // Give the stream one base interval to attach before the first fallback poll
+            schedulePoll(pollIntervalMs);
+        }
+        Log.d(TAG, name + " started, stream " + (streamHealthy ? "up" : "down"));
+    }
+
+    /**
+     * Screen went to the background: stop polling and drop push handling.
+     */
+    public void stop() {
+        if (!started) {
+            return;
+        }
+        started = false;
+        cancelPoll();
+        unregisterPushReceiver();
+        Log.d(TAG, name + " stopped");
+    }
+
+    /**
+     * The real-time stream delivered a live (not cached) snapshot.
+     */
+    public void onStreamConnected() {
+        if (!streamHealthy) {
+            Log.d(TAG, name + " stream up - polling off");
+        }
+        streamHealthy = true;
+        pollIntervalMs = BASE_POLL_MS;
+        cancelPoll();
+    }
+
+    /**
+     * The stream errored, was detached or only serves cached data: fall back to polling.
+     */
+    public void onStreamDisconnected() {
+        if (streamHealthy) {
+            Log.d(TAG, name + " stream down - polling every " + pollIntervalMs + " ms");
+        }
+        streamHealthy = false;
+        if (started && scheduledPoll == null) {
+            schedulePoll(pollIntervalMs);
+        }
+    }
+
+    /**
+     * A push arrived: refresh now and restart the backoff.
+     */
+    public void onPushReceived() {
+        pollIntervalMs = BASE_POLL_MS;
+        if (!started) {
+            return;
+        }
+        if (!streamHealthy) {
+            cancelPoll(); // The push refresh replaces the next poll
+        }
+        runRefresh();
+    }
+
+    public boolean isStreamHealthy() {
+        return streamHealthy;
+    }
+
+    public boolean isPolling() {
+        return scheduledPoll != null;
+    }
+
+    long getPollIntervalMs() {
+        return pollIntervalMs;
+    }
+
+    private void schedulePoll(long delayMs) {
+        cancelPoll();
+        Runnable poll = this::poll;
+        scheduledPoll = poll;
+        clock.postDelayed(poll, delayMs);
+    }
+
+    private void cancelPoll() {
+        if (scheduledPoll != null) {
+            clock.cancel(scheduledPoll);
+            scheduledPoll = null;
+        }
+    }
+
+    private void poll() {
+        scheduledPoll = null;
+        if (!started || streamHealthy) {
+            return;
+        }
+        Log.d(TAG, name + " fallback poll (interval " + pollIntervalMs + " ms)");
+        runRefresh();
+    }
+
+    private void runRefresh() {
+        int generation = ++pollGeneration;
+        try {
+            refresher.refresh(changed -> onRefreshed(generation, changed));
+        } catch (RuntimeException e) {
+            Log.e(TAG, name + " refresh failed", e);
+            onRefreshed(generation, false);
+        }
+    }
+
+    private void onRefreshed(int generation, boolean changed) {
+        if (generation != pollGeneration) {
+            return; // Superseded by a newer refresh
+        }
+        pollIntervalMs = changed ? BASE_POLL_MS : Math.min(pollIntervalMs * 2, MAX_POLL_MS);
+        if (started && !streamHealthy && scheduledPoll == null) {
+            schedulePoll(pollIntervalMs);
+        }
+    }
+
+    private void registerPushReceiver() {
+        if (context == null || pushReceiver != null) {
+            return;
+        }
+        pushReceiver = new BroadcastReceiver() {
+            @Override
+            public void onReceive(Context context, Intent intent) {
+                Log.d(TAG, name + " push: " + intent.getStringExtra("type"));
+                onPushReceived();
+            }
+        };
+        IntentFilter filter = new IntentFilter(ACTION_FCM_MESSAGE);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU) {
+            context.registerReceiver(pushReceiver, filter, Context.RECEIVER_NOT_EXPORTED);
+        } else {
+            context.registerReceiver(pushReceiver, filter);
+        }
+    }
+
+    private void unregisterPushReceiver() {
+        if (context == null || pushReceiver == null) {
+            return;
+        }
+        try {
+            context.unregisterReceiver(pushReceiver);
+        } catch (IllegalArgumentException e) {
+            Log.w(TAG, "Push receiver was not registered");
+        }
+        pushReceiver = null;
+    }
+}
@@ -0,0 +1,251 @@
+package app.hub.util;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Coalesces bursts of refresh requests (e.g. several Firestore documents changing at once) into
+ * one refresh per resource.
+ *
+ * - The first request for a key opens a window; requests inside the window are folded into it.
+ * - At most one refresh per key is in flight. Requests arriving while it runs mark the key dirty,
+ *   and one trailing refresh is scheduled when it finishes.
+ *
+ * A key names an endpoint (see the KEY_ constants), not a screen. Screens showing the same list
+ * each register their task under their own owner; one refresh runs all of them, and the key is
+ * in flight until every task has called done.
+ *
+ * All calls are expected on the main thread; the shared instance runs tasks there too.
+ */
+public class RefreshScheduler {
+    private static final String TAG = "RefreshScheduler";
+
+    // Default coalescing window for real-time triggered refreshes
+    public static final long DEFAULT_WINDOW_MS = 750;
+
+    // One key per endpoint, shared by every screen that shows it
+    public static final String KEY_CUSTOMER_TICKETS = "api/v1/tickets";
+    public static final String KEY_TECHNICIAN_TICKETS = "api/v1/technician/tickets";
+    public static final String KEY_TECHNICIAN_SCHEDULE = "api/v1/technician/schedule";
+    public static final String KEY_MANAGER_TICKETS = "api/v1/manager/tickets";
+
+    /**
+     * Source of time and delayed execution. Replaced by a fake clock in tests.
+     */
+    public interface Clock {
+        long now();
+
+        void postDelayed(Runnable runnable, long delayMs);
+
+        void cancel(Runnable runnable);
+    }
+
+    /**
+     * A refresh that reports completion, so the scheduler knows when it is no longer in flight.
+     */
+    public interface Task {
+        void run(Runnable done);
+    }
+
+    private static class Entry {
+        final Map<Object, Task> tasks = new LinkedHashMap<>(); // Latest task per owner
+        Runnable scheduled; // Pending fire, null if none
+        boolean inFlight;
+        boolean dirty; // Requested again while in flight
+        int runId;
+        int remaining; // Tasks of the current run that haven't called done
+    }
+
+    private static RefreshScheduler instance;
+
+    private final Clock clock;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private long windowMs;
+
+    public RefreshScheduler(Clock clock, long windowMs) {
+        this.clock = clock;
+        this.windowMs = windowMs;
+    }
+
+    public static synchronized RefreshScheduler getInstance() {
+        if (instance == null) {
+            instance = new RefreshScheduler(new HandlerClock(), DEFAULT_WINDOW_MS);
+        }
+        return instance;
+    }
+
+    public synchronized void setWindowMs(long windowMs) {
+        this.windowMs = windowMs;
+    }
+
+    /**
+     * Debounce only: the refresh counts as done as soon as run returns, so an asynchronous load
+     * started from it is not tracked as in flight. Use the Task form for network loads.
+     */
+    public void request(String key, Runnable refresh) {
+        request(key, done -> {
+            refresh.run();
+            done.run();
+        });
+    }
+
+    /**
+     * Request a refresh of the resource identified by key, for a single owner of the key.
+     */
+    public void request(String key, Task task) {
+        request(key, key, task);
+    }
+
+    /**
+     * Request a refresh of the resource identified by key on behalf of owner (usually the screen
+     * showing it). The latest task for each owner wins.
+     */
+    public synchronized void request(String key, Object owner, Task task) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            entry = new Entry();
+            entries.put(key, entry);
+        }
+        entry.tasks.put(owner, task);
+
+        if (entry.inFlight) {
+            entry.dirty = true;
+            return;
+        }
+        if (entry.scheduled == null) {
+            schedule(key, entry);
+        }
+    }
+
+    /**
+     * Drop pending work for a key, e.g. when the screen that owns the task goes away.
+     * A refresh already in flight finishes but does not trigger a trailing run; the key stays in
+     * flight until it does, so a request made meanwhile waits for it instead of running alongside.
+     */
+    public synchronized void cancel(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return;
+        }
+        if (entry.scheduled != null) {
+            clock.cancel(entry.scheduled);
+            entry.scheduled = null;
+        }
+        entry.tasks.clear();
+        entry.dirty = false;
+        if (!entry.inFlight) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Drop owner's task for a key. Other owners keep theirs; the key is cancelled with the last.
+     */
+    public synchronized void cancel(String key, Object owner) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return;
+        }
+        entry.tasks.remove(owner);
+        if (entry.tasks.isEmpty()) {
+            cancel(key);
+        }
+    }
+
+    public synchronized boolean isPending(String key) {
+        Entry entry = entries.get(key);
+        return entry != null && entry.scheduled != null;
+    }
+
+    public synchronized boolean isInFlight(String key) {
+        Entry entry = entries.get(key);
+        return entry != null && entry.inFlight;
+    }
+
+    private void schedule(String key, Entry entry) {
+        Runnable fire = () -> fire(key, entry);
+        entry.scheduled = fire;
+        clock.postDelayed(fire, windowMs);
+    }
+
+    private void fire(String key, Entry entry) {
+        List<Task> tasks;
+        int runId;
+        synchronized (this) {
+            if (entries.get(key) != entry) {
+                return; // Cancelled
+            }
+            entry.scheduled = null;
+            entry.inFlight = true;
+            entry.dirty = false;
+            runId = ++entry.runId;
+            tasks = new ArrayList<>(entry.tasks.values());
+            entry.remaining = tasks.size();
+        }
+
+        Log.d(TAG, "Refreshing " + key + " (" + tasks.size() + " screens) at " + clock.now());
+        for (Task task : tasks) {
+            boolean[] called = {false};
+            Runnable done = () -> {
+                if (!called[0]) {
+                    called[0] = true;
+                    complete(key, entry, runId);
+                }
+            };
+            try {
+                task.run(done);
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Refresh failed for " + key, e);
+                done.run();
+            }
+        }
+    }
+
+    private synchronized void complete(String key, Entry entry, int runId) {
+        if (!entry.inFlight || entry.runId != runId) {
+            return; // Stale completion of an earlier run
+        }
+        if (--entry.remaining > 0) {
+            return;
+        }
+        entry.inFlight = false;
+
+        if (entry.tasks.isEmpty()) {
+            entries.remove(key); // Cancelled while in flight
+            return;
+        }
+        if (entry.dirty) {
+            entry.dirty = false;
+            schedule(key, entry);
+        }
+    }
+
+    /**
+     * Main-thread clock used by the shared instance and by other main-thread schedulers.
+     */
+    public static class HandlerClock implements Clock {
+        private final Handler handler = new Handler(Looper.getMainLooper());
+
+        @Override
+        public long now() {
+            return android.os.SystemClock.uptimeMillis();
+        }
+
+        @Override
+        public void postDelayed(Runnable runnable, long delayMs) {
+            handler.postDelayed(runnable, delayMs);
+        }
+
+        @Override
+        public void cancel(Runnable runnable) {
+            handler.removeCallbacks(runnable);
+        }
+    }
+}
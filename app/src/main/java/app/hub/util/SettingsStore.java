@@ -0,0 +1,382 @@
+package app.hub.util;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Process-wide typed settings, read from memory and written to disk in the background.
+ *
+ * The file is loaded once on a background thread as soon as the store is created (the
+ * Application does that first thing), so reads are plain map lookups; a read that comes before
+ * the load has finished waits for it. Edits replace the in-memory snapshot at once, and writes
+ * are coalesced on one I/O thread. On first use the old auth_pref SharedPreferences are copied in
+ * and then deleted. Listeners hear about changed keys on the main thread.
+ */
+public final class SettingsStore {
+    private static final String TAG = "SettingsStore";
+    private static final String FILE_NAME = "settings.json";
+    static final String LEGACY_PREFS = "auth_pref";
+    private static final long LOAD_WAIT_SECONDS = 5;
+
+    /**
+     * A setting's name, type and default.
+     */
+    public static final class Key<T> {
+        final String name;
+        final Class<T> type;
+        final T defaultValue;
+
+        private Key(String name, Class<T> type, T defaultValue) {
+            this.name = name;
+            this.type = type;
+            this.defaultValue = defaultValue;
+        }
+
+        public static Key<String> string(String name, String defaultValue) {
+            return new Key<>(name, String.class, defaultValue);
+        }
+
+        public static Key<Integer> integer(String name, int defaultValue) {
+            return new Key<>(name, Integer.class, defaultValue);
+        }
+
+        public static Key<Long> longKey(String name, long defaultValue) {
+            return new Key<>(name, Long.class, defaultValue);
+        }
+
+        public static Key<Boolean> bool(String name, boolean defaultValue) {
+            return new Key<>(name, Boolean.class, defaultValue);
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    public interface Listener {
+        void onSettingsChanged(Set<String> changedKeys);
+    }
+
+    /**
+     * A batch of changes, applied together.
+     */
+    public final class Editor {
+        private final Map<String, Object> changes = new HashMap<>();
+        private boolean clearFirst = false;
+
+        public <T> Editor put(Key<T> key, T value) {
+            changes.put(key.name, value);
+            return this;
+        }
+
+        public Editor remove(Key<?> key) {
+            changes.put(key.name, null);
+            return this;
+        }
+
+        public Editor remove(String name) {
+            changes.put(name, null);
+            return this;
+        }
+
+        public Editor clear() {
+            clearFirst = true;
+            return this;
+        }
+
+        /**
+         * Update memory now and write to disk in the background.
+         */
+        public void apply() {
+            commitChanges(changes, clearFirst);
+        }
+    }
+
+    private static SettingsStore instance;
+
+    private final Context context;
+    private final File file;
+    private final ExecutorService io = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "settings-io"));
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final CountDownLatch loaded = new CountDownLatch(1);
+    private final AtomicBoolean writePending = new AtomicBoolean(false);
+    private final WeakListeners<Listener> listeners = new WeakListeners<>();
+    private final Object lock = new Object();
+
+    private volatile Map<String, Object> snapshot = Collections.emptyMap();
+
+    SettingsStore(Context context, File file) {
+        this.context = context;
+        this.file = file;
+        io.execute(this::load);
+    }
+
+    public static synchronized SettingsStore get(Context context) {
+        Context appContext = context.getApplicationContext() != null ? context.getApplicationContext() : context;
+        // A new Application means a new process image (or a new test); don't carry the old one over
+        if (instance == null || instance.context != appContext) {
+            instance = new SettingsStore(appContext, new File(appContext.getFilesDir(), FILE_NAME));
+        }
+        return instance;
+    }
+
+    public <T> T get(Key<T> key) {
+        Object value = values().get(key.name);
+        return key.type.isInstance(value) ? key.type.cast(value) : key.defaultValue;
+    }
+
+    /**
+     * Everything currently set. The map does not change.
+     */
+    public Map<String, Object> getAll() {
+        return values();
+    }
+
+    public Editor edit() {
+        return new Editor();
+    }
+
+    /**
+     * Listen for changes. Held weakly - register an object that lives as long as it should hear.
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Block until every change applied so far is on disk. Not for the main thread.
+     */
+    public void flush() {
+        CountDownLatch written = new CountDownLatch(1);
+        io.execute(() -> {
+            if (writePending.getAndSet(false)) {
+                write(snapshot);
+            }
+            written.countDown();
+        });
+        try {
+            written.await(LOAD_WAIT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Map<String, Object> values() {
+        if (loaded.getCount() > 0) {
+            try {
+                if (!loaded.await(LOAD_WAIT_SECONDS, TimeUnit.SECONDS)) {
+                    Log.w(TAG, "Settings still loading after " + LOAD_WAIT_SECONDS + " s, using what is in memory");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return snapshot;
+    }
+
+    private void commitChanges(Map<String, Object> changes, boolean clearFirst) {
+        values(); // Edits made before the load must not be overwritten by it
+        Set<String> changed = new HashSet<>();
+        synchronized (lock) {
+            Map<String, Object> current = snapshot;
+            Map<String, Object> next = new HashMap<>(clearFirst ? Collections.emptyMap() : current);
+            for (Map.Entry<String, Object> change : changes.entrySet()) {
+                if (change.getValue() == null) {
+                    next.remove(change.getKey());
+                } else {
+                    next.put(change.getKey(), change.getValue());
+                }
+            }
+
+            Set<String> touched = new HashSet<>(current.keySet());
+            touched.addAll(next.keySet());
+            for (String name : touched) {
+                if (!Objects.equals(current.get(name), next.get(name))) {
+                    changed.add(name);
+                }
+            }
+            if (changed.isEmpty()) {
+                return;
+            }
+            snapshot = Collections.unmodifiableMap(next);
+        }
+
+        scheduleWrite();
+        Set<String> keys = Collections.unmodifiableSet(changed);
+        mainHandler.post(() -> {
+            for (Listener listener : listeners.get()) {
+                listener.onSettingsChanged(keys);
+            }
+        });
+    }
+
+    // Many edits in a row end up as one write of the latest snapshot
+    private void scheduleWrite() {
+        if (writePending.compareAndSet(false, true)) {
+            io.execute(() -> {
+                if (writePending.getAndSet(false)) {
+                    write(snapshot);
+                }
+            });
+        }
+    }
+
+    private void load() {
+        try {
+            if (file.exists()) {
+                snapshot = Collections.unmodifiableMap(read(file));
+            } else {
+                Map<String, Object> migrated = migrateLegacy();
+                if (!migrated.isEmpty()) {
+                    snapshot = Collections.unmodifiableMap(migrated);
+                    if (write(snapshot)) {
+                        context.deleteSharedPreferences(LEGACY_PREFS);
+                        Log.d(TAG, "Moved " + migrated.size() + " settings out of " + LEGACY_PREFS);
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            Log.e(TAG, "Could not read settings, starting empty", e);
+        } finally {
+            loaded.countDown();
+        }
+    }
+
+    private Map<String, Object> migrateLegacy() {
+        SharedPreferences legacy = context.getSharedPreferences(LEGACY_PREFS, Context.MODE_PRIVATE);
+        Map<String, Object> values = new HashMap<>();
+        for (Map.Entry<String, ?> entry : legacy.getAll().entrySet()) {
+            Object value = entry.getValue();
+            if (value instanceof String || value instanceof Integer || value instanceof Long
+                    || value instanceof Boolean) {
+                values.put(entry.getKey(), value);
+            } else {
+                Log.w(TAG, "Not migrating " + entry.getKey() + " of type "
+                        + (value != null ? value.getClass().getSimpleName() : "null"));
+            }
+        }
+        return values;
+    }
+
+    // Values are grouped by type so they read back as the type they were written with
+    static Map<String, Object> read(File file) throws IOException {
+        Map<String, Object> values = new HashMap<>();
+        try (JsonReader reader = new JsonReader(new InputStreamReader(new FileInputStream(file),
+                StandardCharsets.UTF_8))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String type = reader.nextName();
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String name = reader.nextName();
+                    if (reader.peek() == JsonToken.NULL) {
+                        reader.nextNull();
+                        continue;
+                    }
+                    switch (type) {
+                        case "strings" -> values.put(name, reader.nextString());
+                        case "ints" -> values.put(name, reader.nextInt());
+                        case "longs" -> values.put(name, reader.nextLong());
+                        case "booleans" -> values.put(name, reader.nextBoolean());
+                        default -> reader.skipValue();
+                    }
+                }
+                reader.endObject();
+            }
+            reader.endObject();
+        }
+        return values;
+    }
+
+    static void write(Map<String, Object> values, File file) throws IOException {
+        Map<String, Map<String, Object>> byType = new LinkedHashMap<>();
+        byType.put("strings", new LinkedHashMap<>());
+        byType.put("ints", new LinkedHashMap<>());
+        byType.put("longs", new LinkedHashMap<>());
+        byType.put("booleans", new LinkedHashMap<>());
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            Object value = entry.getValue();
+            String type = value instanceof String ? "strings"
+                    : value instanceof Integer ? "ints"
+                    : value instanceof Long ? "longs"
+                    : value instanceof Boolean ? "booleans" : null;
+            if (type != null) {
+                byType.get(type).put(entry.getKey(), value);
+            }
+        }
+
+        File temp = new File(file.getPath() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(temp);
+                JsonWriter writer = new JsonWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+            writer.beginObject();
+            for (Map.Entry<String, Map<String, Object>> group : byType.entrySet()) {
+                writer.name(group.getKey()).beginObject();
+                for (Map.Entry<String, Object> entry : group.getValue().entrySet()) {
+                    writer.name(entry.getKey());
+                    Object value = entry.getValue();
+                    if (value instanceof String) {
+                        writer.value((String) value);
+                    } else if (value instanceof Boolean) {
+                        writer.value((Boolean) value);
+                    } else {
+                        writer.value((Number) value);
+                    }
+                }
+                writer.endObject();
+            }
+            writer.endObject();
+            writer.flush();
+            // On disk before the rename, or a power cut can leave the new name on an empty file
+            out.getFD().sync();
+        } catch (IOException e) {
+            temp.delete();
+            throw e;
+        }
+        // Swapped in whole, so a crash mid-write leaves the previous file readable
+        if (!temp.renameTo(file)) {
+            temp.delete();
+            throw new IOException("Could not replace " + file);
+        }
+    }
+
+    private boolean write(Map<String, Object> values) {
+        try {
+            write(values, file);
+            return true;
+        } catch (IOException e) {
+            Log.e(TAG, "Could not save settings", e);
+            return false;
+        }
+    }
+}
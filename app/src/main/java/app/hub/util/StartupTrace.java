@@ -0,0 +1,80 @@
+package app.hub.util;
+
+import android.app.Activity;
+import android.os.Process;
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cold-start timings, measured from process start, for each role's first ticket rows.
+ *
+ * firstTicketRow() logs one line per cold start, e.g.
+ * "manager: first ticket row at 812 ms (startup_begin 95 ms, splash_settled 640 ms)",
+ * and calls reportFullyDrawn() so a Macrobenchmark StartupTimingMetric or
+ * "adb shell am start -W" reports the same moment as time to full display.
+ * Filter logcat on the StartupTrace tag to compare roles. Main thread only.
+ */
+public final class StartupTrace {
+    private static final String TAG = "StartupTrace";
+
+    private static final Map<String, Long> marks = new LinkedHashMap<>();
+    private static String role = null;
+    private static boolean reported = false;
+
+    private StartupTrace() {
+    }
+
+    /**
+     * Milliseconds since this process was started.
+     */
+    public static long sinceProcessStart() {
+        return SystemClock.uptimeMillis() - Process.getStartUptimeMillis();
+    }
+
+    public static void mark(String name) {
+        if (!reported && !marks.containsKey(name)) {
+            marks.put(name, sinceProcessStart());
+        }
+    }
+
+    /**
+     * The signed-in role at startup, or null when the app started signed out.
+     */
+    public static void setRole(String startupRole) {
+        role = startupRole;
+    }
+
+    /**
+     * Record that the landing screen shows its first ticket rows. Only the first call after a
+     * signed-in cold start counts; a start through the login form isn't a startup time.
+     */
+    public static void firstTicketRow(Activity activity) {
+        if (reported || role == null || activity == null) {
+            return;
+        }
+        reported = true;
+        Log.i(TAG, format(role, sinceProcessStart(), marks));
+        activity.reportFullyDrawn();
+    }
+
+    static String format(String role, long elapsedMs, Map<String, Long> marks) {
+        StringBuilder line = new StringBuilder(role)
+                .append(": first ticket row at ").append(elapsedMs).append(" ms");
+        if (!marks.isEmpty()) {
+            line.append(" (");
+            boolean first = true;
+            for (Map.Entry<String, Long> mark : marks.entrySet()) {
+                if (!first) {
+                    line.append(", ");
+                }
+                line.append(mark.getKey()).append(' ').append(mark.getValue()).append(" ms");
+                first = false;
+            }
+            line.append(')');
+        }
+        return line.toString();
+    }
+}
@@ -1,73 +1,84 @@
 package app.hub.util;
 
 import android.content.Context;
-import android.content.SharedPreferences;
 
 import java.io.File;
 
-import java.util.Map;
-
 public class TokenManager {
-    private static final String PREF_NAME = "auth_pref";
-    private static final String KEY_TOKEN = "token";
-    private static final String KEY_USER_ID = "user_id";
-    private static final String KEY_EMAIL = "email";
-    private static final String KEY_NAME = "name";
-    private static final String KEY_ROLE = "role";
-    private static final String KEY_CONNECTION_STATUS = "connection_status";
-    private static final String KEY_CURRENT_CITY = "current_city";
+    private static final SettingsStore.Key<String> KEY_TOKEN = SettingsStore.Key.string("token", null);
+    private static final SettingsStore.Key<Integer> KEY_USER_ID = SettingsStore.Key.integer("user_id", -1);
+    private static final SettingsStore.Key<String> KEY_EMAIL = SettingsStore.Key.string("email", null);
+    private static final SettingsStore.Key<String> KEY_NAME = SettingsStore.Key.string("name", null);
+    private static final SettingsStore.Key<String> KEY_ROLE = SettingsStore.Key.string("role", null);
+    private static final SettingsStore.Key<String> KEY_CONNECTION_STATUS = SettingsStore.Key.string("connection_status", null);
+    private static final SettingsStore.Key<String> KEY_CURRENT_CITY = SettingsStore.Key.string("current_city", null);
     private static final String KEY_FAILED_GOOGLE_LOGIN_PREFIX = "failed_google_login_";
-    private static final String KEY_USER_BRANCH = "user_branch";
+    private static final SettingsStore.Key<String> KEY_USER_BRANCH = SettingsStore.Key.string("user_branch", null);
 
     // Branch Cache
-    private static final String KEY_BRANCH = "branch";
-    private static final String KEY_EMPLOYEE_COUNT = "employee_count";
-    private static final String KEY_BRANCH_CACHE_TIME = "branch_cache_time";
+    private static final SettingsStore.Key<String> KEY_BRANCH = SettingsStore.Key.string("branch", null);
+    private static final SettingsStore.Key<Integer> KEY_EMPLOYEE_COUNT = SettingsStore.Key.integer("employee_count", -1);
+    private static final SettingsStore.Key<Long> KEY_BRANCH_CACHE_TIME = SettingsStore.Key.longKey("branch_cache_time", 0);
     private static final long CACHE_DURATION = 30 * 60 * 1000; // 30 minutes cache for branch data
 
     // Notification Settings
-    private static final String KEY_PUSH_NOTIF = "push_notifications";
-    private static final String KEY_EMAIL_NOTIF = "email_notifications";
-    private static final String KEY_SMS_NOTIF = "sms_notifications";
+    private static final SettingsStore.Key<Boolean> KEY_PUSH_NOTIF = SettingsStore.Key.bool("push_notifications", true);
+    private static final SettingsStore.Key<Boolean> KEY_EMAIL_NOTIF = SettingsStore.Key.bool("email_notifications", true);
+    private static final SettingsStore.Key<Boolean> KEY_SMS_NOTIF = SettingsStore.Key.bool("sms_notifications", false);
 
     // Firebase Cloud Messaging Token
-    private static final String KEY_FCM_TOKEN = "fcm_token";
+    private static final SettingsStore.Key<String> KEY_FCM_TOKEN = SettingsStore.Key.string("fcm_token", null);
 
     // Theme and Language Preferences
-    private static final String KEY_THEME_PREFERENCE = "theme_preference";
-    private static final String KEY_LANGUAGE_PREFERENCE = "language_preference";
+    private static final SettingsStore.Key<String> KEY_THEME_PREFERENCE = SettingsStore.Key.string("theme_preference", "system");
+    private static final SettingsStore.Key<String> KEY_LANGUAGE_PREFERENCE = SettingsStore.Key.string("language_preference", "english_us");
+
+    // Last token and the header built from it; every request asks for the header
+    private static volatile String[] authHeader = new String[] {null, null};
 
-    private final SharedPreferences sharedPreferences;
+    private final SettingsStore settings;
+    private final Context appContext;
 
+    /**
+     * Cheap to create: every instance reads and writes the one process-wide SettingsStore.
+     */
     public TokenManager(Context context) {
-        sharedPreferences = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
+        appContext = context.getApplicationContext() != null ? context.getApplicationContext() : context;
+        settings = SettingsStore.get(appContext);
     }
 
     public void saveToken(String token) {
-        sharedPreferences.edit().putString(KEY_TOKEN, token).apply();
+        settings.edit().put(KEY_TOKEN, token).apply();
     }
 
     public String getToken() {
-        return sharedPreferences.getString(KEY_TOKEN, null);
+        return settings.get(KEY_TOKEN);
     }
 
     public String getAuthToken() {
         String token = getToken();
-        if (token == null || token.trim().isEmpty()) {
-            return null;
+        String[] cached = authHeader;
+        if (token != null && token.equals(cached[0])) {
+            return cached[1];
         }
-        if (token.startsWith("Bearer ")) {
-            return token;
+        String header;
+        if (token == null || token.trim().isEmpty()) {
+            header = null;
+        } else if (token.startsWith("Bearer ")) {
+            header = token;
+        } else {
+            header = "Bearer " + token;
         }
-        return "Bearer " + token;
+        authHeader = new String[] {token, header};
+        return header;
     }
 
     public void saveEmail(String email) {
-        sharedPreferences.edit().putString(KEY_EMAIL, email).apply();
+        settings.edit().put(KEY_EMAIL, email).apply();
     }
 
     public String getEmail() {
-        return sharedPreferences.getString(KEY_EMAIL, null);
+        return settings.get(KEY_EMAIL);
     }
 
     public File getProfileImageFile(Context context) {
@@ -76,27 +87,27 @@ public class TokenManager {
     }
 
     public void saveName(String name) {
-        sharedPreferences.edit().putString(KEY_NAME, name).apply();
+        settings.edit().put(KEY_NAME, name).apply();
     }
 
     public String getName() {
-        return sharedPreferences.getString(KEY_NAME, null);
+        return settings.get(KEY_NAME);
     }
 
     public void saveRole(String role) {
-        sharedPreferences.edit().putString(KEY_ROLE, role).apply();
+        settings.edit().put(KEY_ROLE, role).apply();
     }
 
     public String getRole() {
-        return sharedPreferences.getString(KEY_ROLE, null);
+        return settings.get(KEY_ROLE);
     }
 
     public void saveUserId(int userId) {
-        sharedPreferences.edit().putInt(KEY_USER_ID, userId).apply();
+        settings.edit().put(KEY_USER_ID, userId).apply();
     }
 
     public int getUserIdInt() {
-        return sharedPreferences.getInt(KEY_USER_ID, -1);
+        return settings.get(KEY_USER_ID);
     }
 
     public String getUserId() {
@@ -109,16 +120,22 @@ public class TokenManager {
     }
 
     public void saveUserBranch(String branch) {
-        sharedPreferences.edit().putString(KEY_USER_BRANCH, branch).apply();
+        settings.edit().put(KEY_USER_BRANCH, branch).apply();
     }
 
     public String getUserBranch() {
-        return sharedPreferences.getString(KEY_USER_BRANCH, null);
+        return settings.get(KEY_USER_BRANCH);
     }
 
     public void clear() {
-        // Use commit() instead of apply() for immediate persistence
-        sharedPreferences.edit().clear().commit();
+        // Persisted ticket lists are per account - drop them before the email is forgotten
+        app.hub.common.TicketRepository.getInstance(appContext).clearAccount(getEmail());
+        // Unsent GPS points must not go out under the next account to sign in
+        app.hub.map.LocationUploadQueue.clear(appContext);
+        // Every reader sees the logout at once; the file is rewritten in the background
+        settings.edit().clear().apply();
+        // Cached API responses belong to the account that just logged out
+        app.hub.api.ApiClient.clearHttpCache();
     }
 
     public boolean isLoggedIn() {
@@ -126,23 +143,23 @@ public class TokenManager {
     }
 
     public void saveConnectionStatus(String status) {
-        sharedPreferences.edit().putString(KEY_CONNECTION_STATUS, status).apply();
+        settings.edit().put(KEY_CONNECTION_STATUS, status).apply();
     }
 
     public String getConnectionStatus() {
-        return sharedPreferences.getString(KEY_CONNECTION_STATUS, null);
+        return settings.get(KEY_CONNECTION_STATUS);
     }
 
     public void clearConnectionStatus() {
-        sharedPreferences.edit().remove(KEY_CONNECTION_STATUS).apply();
+        settings.edit().remove(KEY_CONNECTION_STATUS).apply();
     }
 
     public void saveCurrentCity(String city) {
-        sharedPreferences.edit().putString(KEY_CURRENT_CITY, city).apply();
+        settings.edit().put(KEY_CURRENT_CITY, city).apply();
     }
 
     public String getCurrentCity() {
-        return sharedPreferences.getString(KEY_CURRENT_CITY, null);
+        return settings.get(KEY_CURRENT_CITY);
     }
 
     /**
@@ -151,8 +168,7 @@ public class TokenManager {
     public boolean hasFailedGoogleLogin(String email) {
         if (email == null)
             return false;
-        String key = KEY_FAILED_GOOGLE_LOGIN_PREFIX + sanitizeKey(email);
-        return sharedPreferences.getBoolean(key, false);
+        return settings.get(failedGoogleLoginKey(email));
     }
 
     /**
@@ -161,8 +177,7 @@ public class TokenManager {
     public void markFailedGoogleLogin(String email) {
         if (email == null)
             return;
-        String key = KEY_FAILED_GOOGLE_LOGIN_PREFIX + sanitizeKey(email);
-        sharedPreferences.edit().putBoolean(key, true).apply();
+        settings.edit().put(failedGoogleLoginKey(email), true).apply();
     }
 
     /**
@@ -171,8 +186,7 @@ public class TokenManager {
     public void clearFailedGoogleLogin(String email) {
         if (email == null)
             return;
-        String key = KEY_FAILED_GOOGLE_LOGIN_PREFIX + sanitizeKey(email);
-        sharedPreferences.edit().remove(key).apply();
+        settings.edit().remove(failedGoogleLoginKey(email)).apply();
     }
 
     /**
@@ -180,12 +194,10 @@ public class TokenManager {
      */
     public void clearAllFailedGoogleLogins() {
         // Get all keys that start with the failed login prefix
-        Map<String, ?> allEntries = sharedPreferences.getAll();
-        SharedPreferences.Editor editor = sharedPreferences.edit();
-
-        for (Map.Entry<String, ?> entry : allEntries.entrySet()) {
-            if (entry.getKey().startsWith(KEY_FAILED_GOOGLE_LOGIN_PREFIX)) {
-                editor.remove(entry.getKey());
+        SettingsStore.Editor editor = settings.edit();
+        for (String key : settings.getAll().keySet()) {
+            if (key.startsWith(KEY_FAILED_GOOGLE_LOGIN_PREFIX)) {
+                editor.remove(key);
             }
         }
         editor.apply();
@@ -198,11 +210,15 @@ public class TokenManager {
         clearAllFailedGoogleLogins();
     }
 
+    private SettingsStore.Key<Boolean> failedGoogleLoginKey(String email) {
+        return SettingsStore.Key.bool(KEY_FAILED_GOOGLE_LOGIN_PREFIX + sanitizeKey(email), false);
+    }
+
     /**
-     * Sanitize email to be used as a SharedPreferences key
+     * Sanitize email to be used as a settings key
      */
     private String sanitizeKey(String key) {
-        // Replace characters that are not allowed in SharedPreferences keys
+        // Keeps keys readable and the same as the ones written to SharedPreferences before
         return key.replaceAll("[^a-zA-Z0-9_]", "_");
     }
 
@@ -222,103 +238,96 @@ public class TokenManager {
 
     // Notification Settings Methods
     public void setPushEnabled(boolean enabled) {
-        sharedPreferences.edit().putBoolean(KEY_PUSH_NOTIF, enabled).apply();
+        settings.edit().put(KEY_PUSH_NOTIF, enabled).apply();
     }
 
     public boolean isPushEnabled() {
-        return sharedPreferences.getBoolean(KEY_PUSH_NOTIF, true);
+        return settings.get(KEY_PUSH_NOTIF);
     }
 
     public void setEmailNotifEnabled(boolean enabled) {
-        sharedPreferences.edit().putBoolean(KEY_EMAIL_NOTIF, enabled).apply();
+        settings.edit().put(KEY_EMAIL_NOTIF, enabled).apply();
     }
 
     public boolean isEmailNotifEnabled() {
-        return sharedPreferences.getBoolean(KEY_EMAIL_NOTIF, true);
+        return settings.get(KEY_EMAIL_NOTIF);
     }
 
     public void setSmsNotifEnabled(boolean enabled) {
-        sharedPreferences.edit().putBoolean(KEY_SMS_NOTIF, enabled).apply();
+        settings.edit().put(KEY_SMS_NOTIF, enabled).apply();
     }
 
     public boolean isSmsNotifEnabled() {
-        return sharedPreferences.getBoolean(KEY_SMS_NOTIF, false);
+        return settings.get(KEY_SMS_NOTIF);
     }
 
     // FCM Token Methods
     public void saveFCMToken(String token) {
-        sharedPreferences.edit().putString(KEY_FCM_TOKEN, token).apply();
+        settings.edit().put(KEY_FCM_TOKEN, token).apply();
         android.util.Log.d("TokenManager", "FCM Token saved: " + token);
     }
 
     public String getFCMToken() {
-        return sharedPreferences.getString(KEY_FCM_TOKEN, null);
+        return settings.get(KEY_FCM_TOKEN);
     }
 
     /**
-     * Force immediate persistence of SharedPreferences.
-     * This method ensures all pending changes are written to disk immediately.
+     * Kept for the login screens that call it before navigating. Changes are visible to every
+     * reader as soon as they are made and already queued for disk, so there is nothing to wait for.
      */
     public void forceCommit() {
-        // Create a small commit operation to ensure all pending apply() calls are
-        // flushed
-        SharedPreferences.Editor editor = sharedPreferences.edit();
-        editor.putBoolean("_commit_sync_key", true);
-        editor.commit(); // Synchronous commit to ensure immediate persistence
-        // Clean up the temporary key
-        sharedPreferences.edit().remove("_commit_sync_key").apply();
     }
 
     // Branch Cache Methods
     public void saveBranchInfo(String branch, int employeeCount) {
-        SharedPreferences.Editor editor = sharedPreferences.edit();
-        editor.putString(KEY_BRANCH, branch);
-        editor.putInt(KEY_EMPLOYEE_COUNT, employeeCount);
-        editor.putLong(KEY_BRANCH_CACHE_TIME, System.currentTimeMillis());
-        editor.apply();
+        settings.edit()
+                .put(KEY_BRANCH, branch)
+                .put(KEY_EMPLOYEE_COUNT, employeeCount)
+                .put(KEY_BRANCH_CACHE_TIME, System.currentTimeMillis())
+                .apply();
     }
 
     public String getCachedBranch() {
         if (isCacheValid()) {
-            return sharedPreferences.getString(KEY_BRANCH, null);
+            return settings.get(KEY_BRANCH);
         }
         return null;
     }
 
     public Integer getCachedEmployeeCount() {
         if (isCacheValid()) {
-            return sharedPreferences.getInt(KEY_EMPLOYEE_COUNT, -1);
+            return settings.get(KEY_EMPLOYEE_COUNT);
         }
         return null;
     }
 
     private boolean isCacheValid() {
-        long cacheTime = sharedPreferences.getLong(KEY_BRANCH_CACHE_TIME, 0);
+        long cacheTime = settings.get(KEY_BRANCH_CACHE_TIME);
         return (System.currentTimeMillis() - cacheTime) < CACHE_DURATION;
     }
 
     public void clearBranchCache() {
-        SharedPreferences.Editor editor = sharedPreferences.edit();
-        editor.remove(KEY_BRANCH);
-        editor.remove(KEY_EMPLOYEE_COUNT);
-        editor.remove(KEY_BRANCH_CACHE_TIME);
-        editor.apply();
+        settings.edit()
+                .remove(KEY_BRANCH)
+                .remove(KEY_EMPLOYEE_COUNT)
+                .remove(KEY_BRANCH_CACHE_TIME)
+                .apply();
     }
 
     // Theme and Language Preference Methods
     public void setThemePreference(String theme) {
-        sharedPreferences.edit().putString(KEY_THEME_PREFERENCE, theme).apply();
+        settings.edit().put(KEY_THEME_PREFERENCE, theme).apply();
     }
 
     public String getThemePreference() {
-        return sharedPreferences.getString(KEY_THEME_PREFERENCE, "system");
+        return settings.get(KEY_THEME_PREFERENCE);
     }
 
     public void setLanguagePreference(String language) {
-        sharedPreferences.edit().putString(KEY_LANGUAGE_PREFERENCE, language).apply();
+        settings.edit().put(KEY_LANGUAGE_PREFERENCE, language).apply();
     }
 
     public String getLanguagePreference() {
-        return sharedPreferences.getString(KEY_LANGUAGE_PREFERENCE, "english_us");
+        return settings.get(KEY_LANGUAGE_PREFERENCE);
     }
 }
@@ -0,0 +1,72 @@
+package app.hub.util;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Listener list that does not keep its listeners alive.
+ *
+ * A fragment that registers itself and is destroyed without unregistering is still collected;
+ * its entry is dropped the next time the list is read. Register objects that live as long as the
+ * registration should (the fragment itself), not throwaway lambdas.
+ *
+ * Safe to use from any thread; iteration works on a copy, so listeners may unregister while
+ * being called.
+ */
+public class WeakListeners<L> {
+    private final CopyOnWriteArrayList<WeakReference<L>> refs = new CopyOnWriteArrayList<>();
+
+    /**
+     * @return false if the listener was already registered
+     */
+    public synchronized boolean add(L listener) {
+        if (listener == null) {
+            return false;
+        }
+        for (WeakReference<L> ref : refs) {
+            if (ref.get() == listener) {
+                return false;
+            }
+        }
+        refs.add(new WeakReference<>(listener));
+        prune();
+        return true;
+    }
+
+    public synchronized void remove(L listener) {
+        refs.removeIf(ref -> {
+            L registered = ref.get();
+            return registered == null || registered == listener;
+        });
+    }
+
+    /**
+     * The live listeners, in registration order.
+     */
+    public List<L> get() {
+        List<L> live = new ArrayList<>(refs.size());
+        boolean sawCleared = false;
+        for (WeakReference<L> ref : refs) {
+            L listener = ref.get();
+            if (listener != null) {
+                live.add(listener);
+            } else {
+                sawCleared = true;
+            }
+        }
+        if (sawCleared) {
+            prune();
+        }
+        return live;
+    }
+
+    public int size() {
+        return get().size();
+    }
+
+    private void prune() {
+        refs.removeIf(ref -> ref.get() == null);
+    }
+}
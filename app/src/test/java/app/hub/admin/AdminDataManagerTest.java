@@ -0,0 +1,186 @@
+package app.hub.admin;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import app.hub.api.AdminSnapshotResponse;
+import app.hub.api.StandInServer;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for AdminDataManager, against a local stand-in server.
+ *
+ * These tests validate:
+ * - The snapshot is loaded in one request and every admin tab is served from it
+ * - Callers that arrive during a load share it, and the cache expires after its duration
+ * - Swipe to refresh reloads even when the cache is fresh
+ * - Without the snapshot endpoint the three older endpoints are called side by side, once it is known
+ * - A snapshot with a part missing is delivered but not cached
+ * - clearCache() drops a load that is still running
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class AdminDataManagerTest {
+    private static final String TOKEN = "Bearer test";
+    private static final String SNAPSHOT = "api/v1/admin/snapshot";
+    private static final String REPORTS = "api/v1/branches/reports";
+    private static final String BRANCHES = "api/v1/branches";
+    private static final String EMPLOYEES = "api/v1/technicians";
+
+    private static final String REPORTS_JSON = "[{\"id\":1,\"name\":\"Taguig\",\"completed_count\":4,"
+            + "\"cancelled_count\":1,\"total_tickets\":9,\"manager\":\"Ana Cruz\"}]";
+    private static final String BRANCHES_JSON = "[{\"id\":1,\"name\":\"Taguig\",\"manager\":\"Ana Cruz\","
+            + "\"employee_count\":6},{\"id\":2,\"name\":\"Pasig\",\"employee_count\":3}]";
+    private static final String MANAGER_JSON = "{\"id\":7,\"firstName\":\"Ana\",\"lastName\":\"Cruz\","
+            + "\"role\":\"manager\",\"branch\":\"Taguig\"}";
+    private static final String TECHNICIAN_JSON = "{\"id\":8,\"firstName\":\"Ben\",\"lastName\":\"Reyes\","
+            + "\"role\":\"technician\",\"branch\":\"Taguig\"}";
+
+    private StandInServer server;
+    private long now;
+    private final List<String> events = new ArrayList<>();
+    private final List<AdminSnapshotResponse> snapshots = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        server = new StandInServer();
+        now = 1_000_000;
+        AdminDataManager.reset(server.apiService(), () -> now);
+    }
+
+    @After
+    public void tearDown() {
+        AdminDataManager.reset(null, null);
+    }
+
+    @Test
+    public void snapshotIsOneRequest() {
+        server.route(SNAPSHOT, "{\"success\":true,\"branch_reports\":" + REPORTS_JSON
+                + ",\"branches\":" + BRANCHES_JSON + ",\"managers\":[" + MANAGER_JSON + "]}");
+
+        load(false);
+        server.flush();
+
+        assertEquals(Arrays.asList(SNAPSHOT), server.requests());
+        assertEquals(Arrays.asList("success"), events);
+        AdminSnapshotResponse snapshot = snapshots.get(0);
+        assertEquals(9, snapshot.getBranchReports().get(0).getTotalTickets());
+        assertEquals(2, snapshot.getBranches().size());
+        assertEquals("Ana", snapshot.getManagers().get(0).getFirstName());
+    }
+
+    @Test
+    public void tabsShareOneLoadAndTheCache() {
+        routeSnapshot();
+
+        // Home, reports and operations all ask while the dashboard opens
+        load(false);
+        load(false);
+        server.flush();
+        load(false);
+
+        assertEquals(1, server.hits(SNAPSHOT));
+        assertEquals(3, snapshots.size());
+        assertSame(snapshots.get(0), snapshots.get(2));
+
+        now += 61 * 1000;
+        load(false);
+        server.flush();
+        assertEquals(2, server.hits(SNAPSHOT));
+    }
+
+    @Test
+    public void forceRefreshReloads() {
+        routeSnapshot();
+        load(false);
+        server.flush();
+
+        load(true);
+        server.flush();
+
+        assertEquals(2, server.hits(SNAPSHOT));
+    }
+
+    @Test
+    public void oldServerGetsPartsSideBySide() {
+        routeParts();
+
+        load(false);
+        server.flush();
+
+        assertEquals(Arrays.asList(SNAPSHOT, REPORTS, BRANCHES, EMPLOYEES), server.requests());
+        AdminSnapshotResponse snapshot = snapshots.get(0);
+        assertTrue(snapshot.isComplete());
+        assertEquals(1, snapshot.getManagers().size());
+        assertEquals(7, snapshot.getManagers().get(0).getId());
+
+        // Known now: the next load goes straight to the parts, all started before any answers
+        load(true);
+        assertEquals(3, server.pendingCalls());
+        server.flush();
+        assertEquals(1, server.hits(SNAPSHOT));
+        assertEquals(2, server.hits(BRANCHES));
+    }
+
+    @Test
+    public void partialSnapshotIsNotCached() {
+        routeParts();
+        server.route(REPORTS, 500, "{\"success\":false}");
+
+        load(false);
+        server.flush();
+
+        AdminSnapshotResponse snapshot = snapshots.get(0);
+        assertNull(snapshot.getBranchReports());
+        assertEquals(2, snapshot.getBranches().size());
+
+        load(false);
+        server.flush();
+        assertEquals(2, server.hits(REPORTS));
+    }
+
+    @Test
+    public void clearCacheDropsRunningLoad() {
+        routeSnapshot();
+
+        load(false);
+        AdminDataManager.clearCache();
+        server.flush();
+
+        assertTrue(events.isEmpty());
+    }
+
+    private void routeSnapshot() {
+        server.route(SNAPSHOT, "{\"success\":true,\"branch_reports\":[],\"branches\":[],\"managers\":[]}");
+    }
+
+    private void routeParts() {
+        server.route(REPORTS, "{\"success\":true,\"branches\":" + REPORTS_JSON + "}");
+        server.route(BRANCHES, "{\"success\":true,\"branches\":" + BRANCHES_JSON + "}");
+        server.route(EMPLOYEES, "{\"success\":true,\"employees\":[" + MANAGER_JSON + "," + TECHNICIAN_JSON + "]}");
+    }
+
+    private void load(boolean forceRefresh) {
+        AdminDataManager.loadSnapshot(TOKEN, forceRefresh, new AdminDataManager.DataCallback<AdminSnapshotResponse>() {
+            @Override
+            public void onSuccess(AdminSnapshotResponse data) {
+                events.add("success");
+                snapshots.add(data);
+            }
+
+            @Override
+            public void onError(String error) {
+                events.add("error " + error);
+            }
+        });
+    }
+}
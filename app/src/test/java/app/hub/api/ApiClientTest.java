@@ -0,0 +1,66 @@
+package app.hub.api;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for ApiClient's shared network stack.
+ *
+ * These tests validate:
+ * - getApiService() hands out one instance instead of a new proxy per call
+ * - Other service interfaces are created once each on the same Retrofit
+ * - Rebuilding the client keeps the connection pool and dispatcher
+ * - The dispatcher allows more than OkHttp's default requests per host, and HTTP/2 is offered
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class ApiClientTest {
+
+    @After
+    public void tearDown() {
+        ApiClient.setNetworkLogging(NetworkLogging.forBuild());
+    }
+
+    @Test
+    public void apiServiceIsShared() {
+        assertSame(ApiClient.getApiService(), ApiClient.getApiService());
+    }
+
+    @Test
+    public void otherServicesAreCreatedOnce() {
+        com.servicehub.remote.ApiService chatbot = ApiClient.create(com.servicehub.remote.ApiService.class);
+
+        assertSame(chatbot, ApiClient.create(com.servicehub.remote.ApiService.class));
+        assertNotSame(chatbot, ApiClient.getApiService());
+    }
+
+    @Test
+    public void rebuildKeepsPoolAndDispatcher() {
+        OkHttpClient before = ApiClient.getHttpClient();
+        ApiService serviceBefore = ApiClient.getApiService();
+
+        ApiClient.setNetworkLogging(NetworkLogging.disabled());
+        OkHttpClient after = ApiClient.getHttpClient();
+
+        assertNotSame(before, after);
+        assertNotSame(serviceBefore, ApiClient.getApiService());
+        assertSame(before.connectionPool(), after.connectionPool());
+        assertSame(before.dispatcher(), after.dispatcher());
+    }
+
+    @Test
+    public void clientIsTunedForOneHost() {
+        OkHttpClient client = ApiClient.getHttpClient();
+
+        assertTrue(client.dispatcher().getMaxRequestsPerHost() > 5);
+        assertTrue(client.protocols().contains(Protocol.HTTP_2));
+    }
+}
@@ -0,0 +1,41 @@
+package app.hub.api;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for HttpCachePolicy's per-path freshness.
+ *
+ * These tests validate:
+ * - The branch list is kept for 10 minutes, a branch's tickets are always revalidated
+ * - Rules match whole path segments, not string prefixes
+ * - Paths without a rule are left alone
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class HttpCachePolicyTest {
+
+    @Test
+    public void branchTicketsAreNotKeptWithTheBranchList() {
+        assertEquals(Integer.valueOf(600), HttpCachePolicy.maxAgeFor("/api/v1/branches"));
+        assertEquals(Integer.valueOf(0), HttpCachePolicy.maxAgeFor("/api/v1/branches/12/tickets"));
+        assertEquals(Integer.valueOf(0), HttpCachePolicy.maxAgeFor("/api/v1/branches/reports"));
+    }
+
+    @Test
+    public void matchesWholeSegments() {
+        assertEquals(Integer.valueOf(0), HttpCachePolicy.maxAgeFor("/api/v1/tickets/42"));
+        assertNull(HttpCachePolicy.maxAgeFor("/api/v1/branchesarchive"));
+        assertNull(HttpCachePolicy.maxAgeFor("/api/v1/ticketsummary"));
+    }
+
+    @Test
+    public void leavesOtherPathsAlone() {
+        assertNull(HttpCachePolicy.maxAgeFor("/api/v1/admin/snapshot"));
+        assertNull(HttpCachePolicy.maxAgeFor(null));
+    }
+}
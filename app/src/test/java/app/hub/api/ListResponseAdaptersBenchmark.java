@@ -0,0 +1,103 @@
+package app.hub.api;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.*;
+
+/**
+ * JVM micro-benchmark: hand-written list adapters vs Gson's reflective adapter.
+ *
+ * Parses a 2000-ticket TicketListResponse repeatedly with both Gson setups and logs the mean
+ * parse time and bytes allocated per parse. Numbers are only indicative (no JIT isolation, shared
+ * test JVM); the test asserts that both paths produce the same tickets, never that one is faster.
+ * Skipped in the normal test run; run it on its own with:
+ *
+ * ./gradlew :app:testDebugUnitTest -Pbenchmarks=true --tests app.hub.api.ListResponseAdaptersBenchmark -i
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class ListResponseAdaptersBenchmark {
+    private static final int TICKETS = 2000;
+    private static final int WARMUP = 20;
+    private static final int RUNS = 50;
+    private static final Logger LOG = Logger.getLogger(ListResponseAdaptersBenchmark.class.getName());
+
+    @Before
+    public void onlyWhenAsked() {
+        Assume.assumeTrue("Benchmark skipped; run with -Pbenchmarks=true", Boolean.getBoolean("benchmarks"));
+    }
+
+    @Test
+    public void compareWithReflectiveParse() {
+        String json = ListResponseAdaptersTest.ticketListJson(TICKETS);
+        Gson reflective = new GsonBuilder().setLenient().create();
+        Gson streaming = new GsonBuilder().setLenient().registerTypeAdapterFactory(new ListResponseAdapters()).create();
+
+        Result reflectiveResult = measure(reflective, json);
+        Result streamingResult = measure(streaming, json);
+
+        String summary = String.format(Locale.US,
+                "TicketListResponse x%d tickets: reflective %.2f ms / %,d B, hand-written %.2f ms / %,d B",
+                TICKETS, reflectiveResult.millis, reflectiveResult.bytes,
+                streamingResult.millis, streamingResult.bytes);
+        LOG.info(summary);
+
+        assertEquals(summary, reflective.toJson(reflective.fromJson(json, TicketListResponse.class)),
+                reflective.toJson(streaming.fromJson(json, TicketListResponse.class)));
+    }
+
+    private static Result measure(Gson gson, String json) {
+        for (int i = 0; i < WARMUP; i++) {
+            parse(gson, json);
+        }
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        int total = 0;
+        for (int i = 0; i < RUNS; i++) {
+            total += parse(gson, json);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocatedBytes() - allocatedBefore;
+        assertEquals(TICKETS * RUNS, total);
+        return new Result(elapsed / 1e6 / RUNS, allocated < 0 ? -1 : allocated / RUNS);
+    }
+
+    private static int parse(Gson gson, String json) {
+        // Read from a Reader, as the Retrofit converter does with the response body
+        return gson.fromJson(new StringReader(json), TicketListResponse.class).getTickets().size();
+    }
+
+    /**
+     * Bytes allocated by this thread so far, or -1 when the JVM can't tell.
+     */
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    private static final class Result {
+        final double millis;
+        final long bytes;
+
+        Result(double millis, long bytes) {
+            this.millis = millis;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package app.hub.api;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonReader;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for ListResponseAdapters.
+ *
+ * These tests validate:
+ * - Each list response parses to the same values as Gson's reflective adapter
+ * - Gson's leniency is kept: quoted numbers, nulls for primitives, unknown fields
+ * - The item listener sees every item in order, before the rest of the body is read
+ * - Serialization still goes through the reflective adapter
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class ListResponseAdaptersTest {
+
+    private final Gson reflective = new GsonBuilder().setLenient().create();
+    private final Gson streaming = new GsonBuilder().setLenient()
+            .registerTypeAdapterFactory(new ListResponseAdapters()).create();
+
+    @Test
+    public void ticketListMatchesReflectiveParse() {
+        String json = ticketListJson(25);
+
+        TicketListResponse expected = reflective.fromJson(json, TicketListResponse.class);
+        TicketListResponse actual = streaming.fromJson(json, TicketListResponse.class);
+
+        assertEquals(reflective.toJson(expected), reflective.toJson(actual));
+        assertEquals(25, actual.getTickets().size());
+        assertEquals("c-25", actual.getNextCursor());
+        assertTrue(actual.hasMore());
+    }
+
+    @Test
+    public void branchTicketsMatchReflectiveParse() {
+        String json = "{\"success\":true,\"branch\":{\"id\":3,\"name\":\"Ashcol Pasig\",\"location\":\"Pasig\"},"
+                + "\"tickets\":[{\"id\":1,\"ticket_id\":\"TCK-1\",\"amount\":\"1500.50\",\"preferred_date\":\"2026-01-02\","
+                + "\"status\":\"Completed\",\"extra\":{\"nested\":[1,2]}}]}";
+
+        BranchTicketsResponse expected = reflective.fromJson(json, BranchTicketsResponse.class);
+        BranchTicketsResponse actual = streaming.fromJson(json, BranchTicketsResponse.class);
+
+        assertEquals(reflective.toJson(expected), reflective.toJson(actual));
+        assertEquals("Ashcol Pasig", actual.getBranch().getName());
+        assertEquals(1500.50, actual.getTickets().get(0).getAmount(), 0.001);
+        assertFalse(actual.hasMore());
+    }
+
+    @Test
+    public void paymentHistoryAndScheduleMatchReflectiveParse() {
+        String payments = "{\"success\":\"true\",\"payments\":[{\"id\":7,\"ticket_id\":\"TCK-7\",\"amount\":null,"
+                + "\"payment_method\":\"cash\",\"collected_at\":\"2026-02-01 10:00:00\"}]}";
+        String schedule = "{\"success\":true,\"tickets\":[{\"ticket_id\":\"TCK-9\",\"scheduled_date\":\"2026-03-04\","
+                + "\"scheduled_time\":\"09:30\",\"branch\":null}],\"meta\":{}}";
+
+        assertEquals(reflective.toJson(reflective.fromJson(payments, PaymentHistoryResponse.class)),
+                reflective.toJson(streaming.fromJson(payments, PaymentHistoryResponse.class)));
+        assertEquals(reflective.toJson(reflective.fromJson(schedule, EmployeeScheduleResponse.class)),
+                reflective.toJson(streaming.fromJson(schedule, EmployeeScheduleResponse.class)));
+        assertTrue(streaming.fromJson(payments, PaymentHistoryResponse.class).isSuccess());
+    }
+
+    @Test
+    public void listenerSeesItemsBeforeBodyEnds() throws IOException {
+        // A trailing field after the list: items must already have been delivered when it is read
+        String json = "{\"success\":true,\"tickets\":[{\"ticket_id\":\"A\"},null,{\"ticket_id\":\"B\"}],"
+                + "\"server_time\":\"2026-01-01T00:00:00Z\"}";
+        List<String> seen = new ArrayList<>();
+
+        TicketListResponse response = ListResponseAdapters.readTicketList(new JsonReader(new StringReader(json)),
+                item -> seen.add(item.getTicketId()));
+
+        assertEquals(Arrays.asList("A", "B"), seen);
+        assertEquals(3, response.getTickets().size());
+        assertNull(response.getTickets().get(1));
+        assertEquals("2026-01-01T00:00:00Z", response.getServerTime());
+    }
+
+    @Test
+    public void nullBodyAndNullListStayNull() {
+        assertNull(streaming.fromJson("null", TicketListResponse.class));
+        assertNull(streaming.fromJson("{\"success\":false,\"tickets\":null}", TicketListResponse.class).getTickets());
+    }
+
+    static String ticketListJson(int count) {
+        StringBuilder json = new StringBuilder("{\"success\":true,\"tickets\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i)
+                    .append(",\"ticket_id\":\"TCK-").append(100000 + i)
+                    .append("\",\"title\":\"Aircon cleaning\",\"description\":\"Unit leaking water, needs checkup\"")
+                    .append(",\"service_type\":\"Cleaning\",\"unit_type\":\"Split\",\"address\":\"12 Mabini St, Pasig\"")
+                    .append(",\"contact\":\"09171234567\",\"status\":\"").append(i % 3 == 0 ? "Completed" : "Pending")
+                    .append("\",\"status_detail\":null,\"status_color\":\"#4CAF50\",\"customer_name\":\"Juan Dela Cruz\"")
+                    .append(",\"assigned_staff\":\"Tech ").append(i % 7)
+                    .append("\",\"branch\":\"Ashcol Pasig\",\"image_path\":null")
+                    .append(",\"created_at\":\"2026-01-01 08:00:00\",\"updated_at\":\"2026-01-02 09:00:00\"")
+                    .append(",\"scheduled_date\":\"2026-01-05\",\"scheduled_time\":\"10:00\"")
+                    .append(",\"latitude\":14.5764,\"longitude\":\"121.0851\",\"amount\":").append(1000 + i)
+                    .append(",\"unused\":[1,2,3]}");
+        }
+        json.append("],\"message\":\"ok\",\"next_cursor\":\"c-").append(count).append("\",\"has_more\":true}");
+        return json.toString();
+    }
+}
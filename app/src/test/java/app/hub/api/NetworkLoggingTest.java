@@ -0,0 +1,165 @@
+package app.hub.api;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import okhttp3.Call;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.MultipartBody;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for NetworkLogging, NetworkLogInterceptor and CallTimingListener.
+ *
+ * These tests validate:
+ * - The disabled configuration installs nothing on the client
+ * - Headers are logged with credentials redacted
+ * - Only sampled calls get body previews, capped at the preview size
+ * - Multipart bodies are never previewed, and the caller still reads the full response
+ * - Call timing reports each phase that happened, and leaves out the ones that didn't
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class NetworkLoggingTest {
+    private static final MediaType JSON = MediaType.get("application/json");
+
+    private final List<String> lines = Collections.synchronizedList(new ArrayList<>());
+
+    @Test
+    public void disabledInstallsNothing() {
+        OkHttpClient.Builder builder = new OkHttpClient.Builder();
+        NetworkLogging.disabled().install(builder);
+
+        assertTrue(builder.interceptors().isEmpty());
+        assertFalse(NetworkLogging.disabled().isEnabled());
+    }
+
+    @Test
+    public void headersAreLoggedAndRedacted() throws IOException {
+        OkHttpClient client = client(NetworkLogging.headersOnly(), "{\"success\":true}");
+
+        execute(client, new Request.Builder().url("http://localhost/api/v1/tickets")
+                .header("Authorization", "Bearer secret").header("Accept", "application/json").build());
+
+        assertTrue(lines.contains("--> GET /api/v1/tickets"));
+        assertTrue(lines.contains("Authorization: ██"));
+        assertTrue(lines.contains("Accept: application/json"));
+        assertFalse(String.join("\n", lines).contains("secret"));
+        assertFalse(lines.contains("{\"success\":true}"));
+    }
+
+    @Test
+    public void bodiesPreviewedForSampledCallsOnly() throws IOException {
+        OkHttpClient client = client(NetworkLogging.sampledBodies(2, 1024), "{\"success\":true}");
+        Request request = new Request.Builder().url("http://localhost/api/v1/tickets").build();
+
+        execute(client, request);
+        execute(client, request);
+        execute(client, request);
+
+        assertEquals(2, Collections.frequency(lines, "{\"success\":true}"));
+    }
+
+    @Test
+    public void previewIsCappedButBodyIsWhole() throws IOException {
+        StringBuilder big = new StringBuilder("[");
+        for (int i = 0; i < 500; i++) {
+            big.append(i).append(',');
+        }
+        big.append("0]");
+        OkHttpClient client = client(NetworkLogging.sampledBodies(1, 16), big.toString());
+
+        String body = execute(client, new Request.Builder().url("http://localhost/api/v1/tickets").build());
+
+        assertEquals(big.toString(), body);
+        assertTrue(lines.contains("[0,1,2,3,4,5,6,7... (" + big.length() + " bytes)"));
+    }
+
+    @Test
+    public void multipartIsNeverPreviewed() throws IOException {
+        OkHttpClient client = client(NetworkLogging.sampledBodies(1, 1024), "{}");
+        RequestBody image = RequestBody.create(new byte[4096], MediaType.get("image/jpeg"));
+        MultipartBody multipart = new MultipartBody.Builder().setType(MultipartBody.FORM)
+                .addFormDataPart("note", "hello")
+                .addFormDataPart("image", "photo.jpg", image)
+                .build();
+        RequestBody small = RequestBody.create("{\"a\":1}", JSON);
+
+        execute(client, new Request.Builder().url("http://localhost/upload").post(multipart).build());
+        execute(client, new Request.Builder().url("http://localhost/small").post(small).build());
+
+        assertFalse(String.join("\n", lines).contains("hello"));
+        assertTrue(lines.contains("{\"a\":1}"));
+    }
+
+    @Test
+    public void timingReportsPhasesThatHappened() {
+        long[] now = { 0 };
+        CallTimingListener listener = new CallTimingListener(lines::add, () -> now[0]);
+        Request request = new Request.Builder().url("https://localhost/api/v1/tickets").build();
+        Call call = new OkHttpClient().newCall(request);
+
+        listener.callStart(call);
+        now[0] = ms(10);
+        listener.connectStart(call, null, null);
+        now[0] = ms(30);
+        listener.secureConnectStart(call);
+        now[0] = ms(70);
+        listener.secureConnectEnd(call, null);
+        listener.connectEnd(call, null, null, Protocol.HTTP_2);
+        now[0] = ms(150);
+        listener.responseHeadersStart(call);
+        listener.responseHeadersEnd(call, new Response.Builder().request(request).protocol(Protocol.HTTP_2)
+                .code(200).message("OK").build());
+        listener.responseBodyStart(call);
+        now[0] = ms(175);
+        listener.responseBodyEnd(call, 1234);
+        listener.callEnd(call);
+
+        assertEquals(Collections.singletonList(
+                "GET /api/v1/tickets 200 total=175ms connect=60 tls=40 ttfb=150 body=25 bytes=1234"), lines);
+    }
+
+    private OkHttpClient client(NetworkLogging logging, String responseBody) {
+        OkHttpClient.Builder builder = new OkHttpClient.Builder();
+        logging.withSink(lines::add).install(builder);
+        // Answer every call locally instead of going to the network
+        builder.addInterceptor(chain -> respond(chain, responseBody));
+        return builder.build();
+    }
+
+    private static Response respond(Interceptor.Chain chain, String body) {
+        return new Response.Builder()
+                .request(chain.request())
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK")
+                .body(ResponseBody.create(body, JSON))
+                .build();
+    }
+
+    private static String execute(OkHttpClient client, Request request) throws IOException {
+        try (Response response = client.newCall(request).execute()) {
+            return response.body().string();
+        }
+    }
+
+    private static long ms(long millis) {
+        return millis * 1_000_000;
+    }
+}
@@ -0,0 +1,172 @@
+package app.hub.api;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for SingleFlightCallAdapterFactory, against the StandInServer.
+ *
+ * These tests validate:
+ * - An identical GET enqueued while one is running joins it instead of going to the network
+ * - A caller that cancels stops hearing back while the others still get the result
+ * - Cancelling the last caller aborts the request
+ * - An error body can be read by every caller
+ * - Other accounts and non-GET calls are never shared
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class SingleFlightCallAdapterFactoryTest {
+
+    private static final String TICKETS = "api/v1/tickets";
+    private static final String TICKETS_JSON = "{\"success\":true,\"tickets\":[]}";
+
+    private StandInServer server;
+    private SingleFlightCallAdapterFactory singleFlight;
+    private ApiService api;
+
+    @Before
+    public void setUp() {
+        server = new StandInServer().route(TICKETS, TICKETS_JSON);
+        singleFlight = new SingleFlightCallAdapterFactory();
+        api = server.apiService(singleFlight);
+    }
+
+    @Test
+    public void identicalCallJoinsRunningOne() {
+        Recorder<TicketListResponse> first = new Recorder<>();
+        Recorder<TicketListResponse> second = new Recorder<>();
+
+        api.getTickets("Bearer a").enqueue(first);
+        api.getTickets("Bearer a").enqueue(second);
+        assertEquals(1, server.pendingCalls());
+        assertEquals(1, singleFlight.inFlightCount());
+
+        server.flush();
+
+        assertEquals(1, server.hits(TICKETS));
+        assertEquals(1, first.responses.size());
+        assertEquals(1, second.responses.size());
+        assertSame(first.responses.get(0).body(), second.responses.get(0).body());
+        assertEquals(0, singleFlight.inFlightCount());
+
+        // Finished flights are not reused
+        api.getTickets("Bearer a").enqueue(new Recorder<>());
+        server.flush();
+        assertEquals(2, server.hits(TICKETS));
+    }
+
+    @Test
+    public void cancelledWaiterIsDroppedOthersStillAnswered() {
+        Recorder<TicketListResponse> staying = new Recorder<>();
+        Recorder<TicketListResponse> leaving = new Recorder<>();
+
+        api.getTickets("Bearer a").enqueue(staying);
+        Call<TicketListResponse> leavingCall = api.getTickets("Bearer a");
+        leavingCall.enqueue(leaving);
+        leavingCall.cancel();
+        server.flush();
+
+        assertTrue(leavingCall.isCanceled());
+        assertEquals(1, server.hits(TICKETS));
+        assertEquals(1, staying.responses.size());
+        assertTrue(leaving.responses.isEmpty());
+        assertTrue(leaving.failures.isEmpty());
+    }
+
+    @Test
+    public void cancellingLastWaiterAbortsRequest() {
+        Recorder<TicketListResponse> first = new Recorder<>();
+        Recorder<TicketListResponse> second = new Recorder<>();
+        Call<TicketListResponse> firstCall = api.getTickets("Bearer a");
+        Call<TicketListResponse> secondCall = api.getTickets("Bearer a");
+
+        firstCall.enqueue(first);
+        secondCall.enqueue(second);
+        firstCall.cancel();
+        secondCall.cancel();
+        assertEquals(0, singleFlight.inFlightCount());
+
+        server.flush();
+
+        assertEquals("The network request should have been cancelled", 0, server.hits(TICKETS));
+        assertTrue(first.responses.isEmpty() && first.failures.isEmpty());
+        assertTrue(second.responses.isEmpty() && second.failures.isEmpty());
+    }
+
+    @Test
+    public void errorBodyIsReadableByEveryWaiter() throws IOException {
+        String error = "{\"success\":false,\"message\":\"Server error\"}";
+        server.route(TICKETS, 500, error);
+        Recorder<TicketListResponse> first = new Recorder<>();
+        Recorder<TicketListResponse> second = new Recorder<>();
+
+        api.getTickets("Bearer a").enqueue(first);
+        api.getTickets("Bearer a").enqueue(second);
+        server.flush();
+
+        assertEquals(1, server.hits(TICKETS));
+        assertEquals(500, first.responses.get(0).code());
+        assertEquals(error, first.responses.get(0).errorBody().string());
+        assertEquals(error, second.responses.get(0).errorBody().string());
+    }
+
+    @Test
+    public void otherAccountsAreNotShared() {
+        api.getTickets("Bearer a").enqueue(new Recorder<>());
+        api.getTickets("Bearer b").enqueue(new Recorder<>());
+
+        assertEquals(2, server.pendingCalls());
+        assertEquals(2, singleFlight.inFlightCount());
+    }
+
+    @Test
+    public void nonGetCallsAreNeverShared() {
+        CreateTicketRequest request = new CreateTicketRequest("Aircon", "Not cooling", "repair",
+                "Manila", "0917");
+        api.createTicket("Bearer a", request).enqueue(new Recorder<>());
+        api.createTicket("Bearer a", request).enqueue(new Recorder<>());
+
+        assertEquals(2, server.pendingCalls());
+        assertEquals(0, singleFlight.inFlightCount());
+        server.flush();
+        assertEquals(2, server.hits(TICKETS));
+    }
+
+    @Test
+    public void keyHoldsTheWholeAuthorizationHeader() {
+        Request a = new Request.Builder().url("http://stand-in.test/" + TICKETS).header("Authorization", "Bearer a").build();
+        Request b = a.newBuilder().header("Authorization", "Bearer b").build();
+
+        assertNotEquals(SingleFlightCallAdapterFactory.keyOf(a), SingleFlightCallAdapterFactory.keyOf(b));
+        assertTrue(SingleFlightCallAdapterFactory.keyOf(a).endsWith("Bearer a"));
+    }
+
+    private static final class Recorder<T> implements Callback<T> {
+        final List<Response<T>> responses = new ArrayList<>();
+        final List<Throwable> failures = new ArrayList<>();
+
+        @Override
+        public void onResponse(Call<T> call, Response<T> response) {
+            responses.add(response);
+        }
+
+        @Override
+        public void onFailure(Call<T> call, Throwable t) {
+            failures.add(t);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package app.hub.api;
+
+import com.google.gson.GsonBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Dispatcher;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+/**
+ * Local stand-in for the backend: answers ApiService calls with canned JSON, without a socket.
+ *
+ * Enqueued calls wait until flush(), which runs them (and anything their callbacks enqueue) on
+ * the test thread, so a test decides exactly when the "server" answers. Paths without a route
+ * get a 404, like an older backend that lacks the endpoint. A call cancelled before flush()
+ * never reaches the server.
+ */
+public class StandInServer implements Interceptor {
+    private static final MediaType JSON = MediaType.get("application/json");
+
+    private static final class Route {
+        final int code;
+        final String body;
+
+        Route(int code, String body) {
+            this.code = code;
+            this.body = body;
+        }
+    }
+
+    private final Map<String, Route> routes = new HashMap<>();
+    private final List<String> requests = new ArrayList<>();
+    private final QueuedExecutor calls = new QueuedExecutor();
+
+    /**
+     * Answer calls to path (no leading slash, e.g. "api/v1/branches") with code and body.
+     */
+    public StandInServer route(String path, int code, String body) {
+        routes.put(path, new Route(code, body));
+        return this;
+    }
+
+    public StandInServer route(String path, String body) {
+        return route(path, 200, body);
+    }
+
+    /**
+     * Paths asked for so far, in order.
+     */
+    public List<String> requests() {
+        return Collections.unmodifiableList(requests);
+    }
+
+    public int hits(String path) {
+        return Collections.frequency(requests, path);
+    }
+
+    /**
+     * Calls enqueued and not answered yet.
+     */
+    public int pendingCalls() {
+        return calls.queue.size();
+    }
+
+    /**
+     * Answer every waiting call, including ones enqueued by callbacks on the way.
+     */
+    public void flush() {
+        while (!calls.queue.isEmpty()) {
+            calls.queue.remove(0).run();
+        }
+    }
+
+    /**
+     * An ApiService that talks to this server and calls back on the thread that runs flush().
+     */
+    public ApiService apiService() {
+        return apiService(null);
+    }
+
+    /**
+     * As apiService(), with requests shared through singleFlight (may be null).
+     */
+    public ApiService apiService(SingleFlightCallAdapterFactory singleFlight) {
+        OkHttpClient client = new OkHttpClient.Builder()
+                .dispatcher(new Dispatcher(calls))
+                .addInterceptor(this)
+                .build();
+        Retrofit.Builder builder = new Retrofit.Builder()
+                .baseUrl("http://stand-in.test/")
+                .client(client)
+                .callbackExecutor(Runnable::run);
+        if (singleFlight != null) {
+            builder.addCallAdapterFactory(singleFlight);
+        }
+        return builder
+                .addConverterFactory(GsonConverterFactory.create(new GsonBuilder()
+                        .setLenient()
+                        .registerTypeAdapterFactory(new ListResponseAdapters())
+                        .create()))
+                .build()
+                .create(ApiService.class);
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        if (chain.call().isCanceled()) {
+            throw new IOException("Canceled");
+        }
+        Request request = chain.request();
+        String path = request.url().encodedPath().substring(1);
+        requests.add(path);
+
+        Route route = routes.get(path);
+        if (route == null) {
+            route = new Route(404, "{\"success\":false,\"message\":\"Not found\"}");
+        }
+        return new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(route.code)
+                .message(route.code == 200 ? "OK" : "Error")
+                .body(ResponseBody.create(route.body, JSON))
+                .build();
+    }
+
+    /**
+     * Holds OkHttp's async calls until flush().
+     */
+    private static final class QueuedExecutor extends AbstractExecutorService {
+        final List<Runnable> queue = new ArrayList<>();
+
+        @Override
+        public void execute(Runnable command) {
+            queue.add(command);
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package app.hub.api;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for TicketDeltaStore merge logic.
+ *
+ * These tests validate:
+ * - Full syncs replace the list and report disappeared tickets as removed
+ * - Deltas update in place, put new tickets on top and apply tombstones
+ * - The high-water mark only moves forward, comparing timestamps as instants across formats
+ * - Seeding from disk restores state without reporting changes
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class TicketDeltaStoreTest {
+
+    private TicketDeltaStore store;
+
+    @Before
+    public void setUp() {
+        store = new TicketDeltaStore();
+    }
+
+    @Test
+    public void fullSyncReplacesListAndReportsRemoved() {
+        store.applyFull(Arrays.asList(ticket("A", "open", "2024-01-01 10:00:00"),
+                ticket("B", "open", "2024-01-01 11:00:00")), null);
+
+        TicketDeltaStore.MergeResult result = store.applyFull(
+                Collections.singletonList(ticket("B", "completed", "2024-01-02 09:00:00")), null);
+
+        assertTrue(result.isFullSync());
+        assertEquals(Collections.singletonList("B"), ids(result.getTickets()));
+        assertEquals(Collections.singleton(TicketDeltaStore.keyOf("A")), result.getRemovedKeys());
+        assertEquals("completed", store.get("B").getStatus());
+    }
+
+    @Test
+    public void deltaUpdatesInPlaceAndAddsNewOnTop() {
+        store.applyFull(Arrays.asList(ticket("A", "open", "2024-01-01 10:00:00"),
+                ticket("B", "open", "2024-01-01 11:00:00")), null);
+
+        TicketDeltaStore.MergeResult result = store.applyDelta(Arrays.asList(
+                ticket("B", "in progress", "2024-01-03 08:00:00"),
+                ticket("C", "open", "2024-01-03 09:00:00")), new ArrayList<>(), null);
+
+        assertFalse(result.isFullSync());
+        assertEquals(Arrays.asList("C", "A", "B"), ids(result.getTickets()));
+        assertEquals(Arrays.asList("B", "C"), ids(result.getChanged()));
+        assertTrue(result.getRemovedKeys().isEmpty());
+        assertEquals("in progress", store.get("B").getStatus());
+    }
+
+    @Test
+    public void deltaAppliesTombstones() {
+        store.applyFull(Arrays.asList(ticket("A", "open", "2024-01-01 10:00:00"),
+                ticket("B", "open", "2024-01-01 11:00:00")), null);
+
+        TicketDeltaStore.MergeResult result = store.applyDelta(new ArrayList<>(), Arrays.asList("A", "unknown"),
+                null);
+
+        assertEquals(Collections.singletonList("B"), ids(result.getTickets()));
+        assertEquals(Collections.singleton(TicketDeltaStore.keyOf("A")), result.getRemovedKeys());
+        assertTrue(result.hasChanges());
+    }
+
+    @Test
+    public void ticketChangedThenDeletedInSameDeltaIsOnlyRemoved() {
+        store.applyFull(Collections.singletonList(ticket("A", "open", "2024-01-01 10:00:00")), null);
+
+        TicketDeltaStore.MergeResult result = store.applyDelta(Arrays.asList(
+                ticket("A", "cancelled", "2024-01-02 10:00:00"),
+                ticket("N", "open", "2024-01-02 10:00:00")), Arrays.asList("A", "N"), null);
+
+        assertTrue(result.getTickets().isEmpty());
+        assertTrue(result.getChanged().isEmpty());
+        assertEquals(2, result.getRemovedKeys().size());
+    }
+
+    @Test
+    public void emptyDeltaHasNoChanges() {
+        store.applyFull(Collections.singletonList(ticket("A", "open", "2024-01-01 10:00:00")), null);
+
+        TicketDeltaStore.MergeResult result = store.applyDelta(new ArrayList<>(), new ArrayList<>(), null);
+
+        assertFalse(result.hasChanges());
+        assertEquals(1, result.getTickets().size());
+    }
+
+    @Test
+    public void highWaterMarkOnlyMovesForward() {
+        store.applyFull(Collections.singletonList(ticket("A", "open", "2024-01-05 10:00:00")), null);
+        store.applyDelta(Collections.singletonList(ticket("B", "open", "2024-01-03 10:00:00")),
+                new ArrayList<>(), null);
+
+        assertEquals("2024-01-05 10:00:00", store.getHighWaterMark());
+
+        store.applyDelta(new ArrayList<>(), new ArrayList<>(), "2024-01-06 00:00:00");
+
+        assertEquals("2024-01-06 00:00:00", store.getHighWaterMark());
+    }
+
+    @Test
+    public void highWaterMarkComparesInstantsNotText() {
+        store.applyFull(Collections.singletonList(ticket("A", "open", "2024-01-05 10:00:00")), null);
+
+        // Earlier instant, but 'T' sorts after ' '
+        store.applyDelta(new ArrayList<>(), new ArrayList<>(), "2024-01-05T09:00:00.000000Z");
+        assertEquals("2024-01-05 10:00:00", store.getHighWaterMark());
+
+        // 04:00 UTC, although the text reads 12:00
+        store.applyDelta(new ArrayList<>(), new ArrayList<>(), "2024-01-05T12:00:00+08:00");
+        assertEquals("2024-01-05 10:00:00", store.getHighWaterMark());
+
+        store.applyDelta(new ArrayList<>(), new ArrayList<>(), "2024-01-05T10:00:00.500000Z");
+        assertEquals("2024-01-05T10:00:00.500000Z", store.getHighWaterMark());
+    }
+
+    @Test
+    public void parsesServerTimestampFormats() {
+        long plain = TicketDeltaStore.parseMillis("2024-01-05 10:00:00");
+        assertEquals(plain, (long) TicketDeltaStore.parseMillis("2024-01-05T10:00:00Z"));
+        assertEquals(plain + 250, (long) TicketDeltaStore.parseMillis("2024-01-05T10:00:00.250000Z"));
+        assertEquals(plain, (long) TicketDeltaStore.parseMillis("2024-01-05T18:00:00+08:00"));
+        assertEquals(plain, (long) TicketDeltaStore.parseMillis("2024-01-05T05:00:00-0500"));
+        assertNull(TicketDeltaStore.parseMillis("yesterday"));
+    }
+
+    @Test
+    public void seedRestoresStateWithoutChanges() {
+        store.seed(Arrays.asList(ticket("A", "open", "2024-01-01 10:00:00"),
+                ticket("B", "open", "2024-01-01 11:00:00")), "2024-01-01 11:00:00");
+
+        assertEquals(Arrays.asList("A", "B"), ids(store.snapshot()));
+        assertEquals("2024-01-01 11:00:00", store.getHighWaterMark());
+
+        TicketDeltaStore.MergeResult result = store.applyDelta(
+                Collections.singletonList(ticket("A", "completed", "2024-01-02 10:00:00")), new ArrayList<>(), null);
+
+        assertEquals(Collections.singletonList("A"), ids(result.getChanged()));
+        assertEquals(Arrays.asList("A", "B"), ids(result.getTickets()));
+    }
+
+    @Test
+    public void ticketsWithoutIdentifierAreIgnored() {
+        TicketDeltaStore.MergeResult result = store.applyFull(
+                Arrays.asList(ticket(null, "open", null), ticket("A", "open", null)), null);
+
+        assertEquals(Collections.singletonList("A"), ids(result.getTickets()));
+    }
+
+    static TicketListResponse.TicketItem ticket(String ticketId, String status, String updatedAt) {
+        TicketListResponse.TicketItem ticket = new TicketListResponse.TicketItem();
+        ticket.setTicketId(ticketId);
+        ticket.setStatus(status);
+        ticket.setUpdatedAt(updatedAt);
+        return ticket;
+    }
+
+    static List<String> ids(List<TicketListResponse.TicketItem> tickets) {
+        List<String> ids = new ArrayList<>();
+        for (TicketListResponse.TicketItem ticket : tickets) {
+            ids.add(ticket.getTicketId());
+        }
+        return ids;
+    }
+}
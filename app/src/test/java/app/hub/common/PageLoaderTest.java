@@ -0,0 +1,293 @@
+package app.hub.common;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for PageLoader.
+ *
+ * These tests validate:
+ * - refresh() loads the first page and replaces the list
+ * - The next page is requested only near the end of the list, and one at a time
+ * - Nothing more is requested after the last page
+ * - Pages for a list that was refreshed meanwhile are dropped
+ * - A failed page can be retried
+ * - concat() reads its sources one after another, skipping empty ones
+ * - merge() loads its sources side by side and pages through them in order
+ * - A merged first page is shown partially while a source is still loading
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class PageLoaderTest {
+
+    private FakeSource source;
+    private List<String> events;
+    private PageLoader<Integer> loader;
+
+    @Before
+    public void setUp() {
+        source = new FakeSource();
+        events = new ArrayList<>();
+        loader = new PageLoader<>(source, 3, 1, new PageLoader.Listener<Integer>() {
+            @Override
+            public void onPageLoaded(List<Integer> page, int start, boolean first) {
+                events.add((first ? "first " : "append ") + start + " " + page);
+            }
+
+            @Override
+            public void onLoadFailed(String message, boolean first) {
+                events.add("failed " + first);
+            }
+        });
+    }
+
+    @Test
+    public void refreshLoadsFirstPage() {
+        loader.refresh();
+
+        assertEquals(1, source.requests.size());
+        assertNull(source.requests.get(0).cursor);
+        assertEquals(3, source.requests.get(0).pageSize);
+
+        source.answer(0, Arrays.asList(1, 2, 3), "c1");
+        assertEquals(Collections.singletonList("first 0 [1, 2, 3]"), events);
+        assertEquals(Arrays.asList(1, 2, 3), loader.getItems());
+        assertFalse(loader.isEndReached());
+    }
+
+    @Test
+    public void nextPageLoadsNearEndOnly() {
+        loader.refresh();
+        source.answer(0, Arrays.asList(1, 2, 3, 4, 5), "c1");
+
+        loader.onScrolled(2);
+        assertEquals(1, source.requests.size());
+
+        loader.onScrolled(3);
+        assertEquals(2, source.requests.size());
+        assertEquals("c1", source.requests.get(1).cursor);
+
+        // Still in flight
+        loader.onScrolled(4);
+        assertEquals(2, source.requests.size());
+
+        source.answer(1, Arrays.asList(6, 7), null);
+        assertEquals("append 5 [6, 7]", events.get(1));
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7), loader.getItems());
+    }
+
+    @Test
+    public void stopsAtLastPage() {
+        loader.refresh();
+        source.answer(0, Arrays.asList(1, 2), null);
+
+        assertTrue(loader.isEndReached());
+        loader.onScrolled(1);
+        assertEquals(1, source.requests.size());
+    }
+
+    @Test
+    public void pageOfRefreshedListIsDropped() {
+        loader.refresh();
+        source.answer(0, Arrays.asList(1, 2, 3), "c1");
+        loader.onScrolled(2);
+
+        loader.refresh();
+        source.answer(1, Arrays.asList(4, 5, 6), "c2");
+        assertEquals(1, events.size());
+
+        source.answer(2, Arrays.asList(7), null);
+        assertEquals("first 0 [7]", events.get(1));
+        assertEquals(Collections.singletonList(7), loader.getItems());
+    }
+
+    @Test
+    public void failedPageIsRetried() {
+        loader.refresh();
+        source.answer(0, Arrays.asList(1, 2, 3), "c1");
+        loader.onScrolled(2);
+        source.fail(1);
+
+        assertEquals("failed false", events.get(1));
+        loader.retry();
+        assertEquals(3, source.requests.size());
+        assertEquals("c1", source.requests.get(2).cursor);
+    }
+
+    @Test
+    public void failedFirstPageIsRetriedFromStart() {
+        loader.refresh();
+        source.answer(0, Arrays.asList(1, 2, 3), "c1");
+        loader.refresh();
+        source.fail(1);
+
+        assertEquals("failed true", events.get(1));
+        loader.retry();
+        assertNull(source.requests.get(2).cursor);
+        source.answer(2, Arrays.asList(9), null);
+        assertEquals(Collections.singletonList(9), loader.getItems());
+    }
+
+    @Test
+    public void concatReadsSourcesInOrder() {
+        FakeSource first = new FakeSource();
+        FakeSource empty = new FakeSource();
+        FakeSource last = new FakeSource();
+        List<Integer> received = new ArrayList<>();
+        List<String> cursors = new ArrayList<>();
+        PageLoader.PageSource<Integer> combined = PageLoader.concat(first, empty, last);
+        PageLoader.PageCallback<Integer> collect = new PageLoader.PageCallback<Integer>() {
+            @Override
+            public void onPage(List<Integer> items, String nextCursor) {
+                received.addAll(items);
+                cursors.add(nextCursor);
+            }
+
+            @Override
+            public void onError(String message) {
+                fail(message);
+            }
+        };
+
+        combined.load(null, 2, collect);
+        first.answer(0, Arrays.asList(1, 2), "a");
+        combined.load(cursors.get(0), 2, collect);
+        assertEquals("a", first.requests.get(1).cursor);
+        first.answer(1, Collections.singletonList(3), null);
+
+        combined.load(cursors.get(1), 2, collect);
+        assertNull(empty.requests.get(0).cursor);
+        empty.answer(0, Collections.emptyList(), null);
+        assertEquals(1, last.requests.size());
+        last.answer(0, Collections.singletonList(4), null);
+
+        assertEquals(Arrays.asList(1, 2, 3, 4), received);
+        assertEquals(Arrays.asList("0:a", "1:", null), cursors);
+    }
+
+    @Test
+    public void mergeInterleavesSourcesInOrder() {
+        FakeSource odd = new FakeSource();
+        FakeSource even = new FakeSource();
+        PageLoader<Integer> merged = new PageLoader<>(mergeOf(odd, even), 3, 1, recorder());
+
+        merged.refresh();
+        assertEquals(1, odd.requests.size());
+        assertEquals(1, even.requests.size());
+        odd.answer(0, Arrays.asList(1, 3, 5), "o1");
+        even.answer(0, Arrays.asList(2, 4, 6), "e1");
+        assertEquals(Arrays.asList(1, 2, 3), merged.getItems());
+
+        // odd still holds 5, even holds 4 and 6: both are low, both are asked again
+        merged.onScrolled(2);
+        assertEquals("o1", odd.requests.get(1).cursor);
+        assertEquals("e1", even.requests.get(1).cursor);
+        odd.answer(1, Collections.singletonList(7), null);
+        even.answer(1, Collections.emptyList(), null);
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6), merged.getItems());
+
+        merged.onScrolled(5);
+        assertEquals(2, odd.requests.size());
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7), merged.getItems());
+        assertTrue(merged.isEndReached());
+    }
+
+    @Test
+    public void mergedFirstPageShowsPartialResults() {
+        FakeSource fast = new FakeSource();
+        FakeSource slow = new FakeSource();
+        PageLoader<Integer> merged = new PageLoader<>(mergeOf(fast, slow), 3, 1, recorder());
+
+        merged.refresh();
+        fast.answer(0, Arrays.asList(2, 4), null);
+        assertEquals(Collections.singletonList("first 0 [2, 4]"), events);
+        assertTrue(merged.isLoading());
+
+        slow.answer(0, Arrays.asList(1, 3), null);
+        assertEquals("first 0 [1, 2, 3]", events.get(1));
+    }
+
+    @Test
+    public void mergeRetriesOnlyFailedSource() {
+        FakeSource ok = new FakeSource();
+        FakeSource flaky = new FakeSource();
+        PageLoader<Integer> merged = new PageLoader<>(mergeOf(ok, flaky), 2, 1, recorder());
+
+        merged.refresh();
+        ok.answer(0, Arrays.asList(1, 3), "k1");
+        flaky.answer(0, Collections.singletonList(2), "f1");
+        assertEquals(Arrays.asList(1, 2), merged.getItems());
+
+        // ok still holds 3, flaky is empty: both are low and both are asked
+        merged.onScrolled(1);
+        ok.answer(1, Arrays.asList(5, 7), null);
+        flaky.fail(1);
+        assertEquals("failed false", events.get(events.size() - 1));
+
+        merged.retry();
+        assertEquals(2, ok.requests.size());
+        assertEquals("f1", flaky.requests.get(2).cursor);
+        flaky.answer(2, Collections.singletonList(4), null);
+        assertEquals(Arrays.asList(1, 2, 3, 4), merged.getItems());
+    }
+
+    private PageLoader.Listener<Integer> recorder() {
+        return new PageLoader.Listener<Integer>() {
+            @Override
+            public void onPageLoaded(List<Integer> page, int start, boolean first) {
+                events.add((first ? "first " : "append ") + start + " " + page);
+            }
+
+            @Override
+            public void onLoadFailed(String message, boolean first) {
+                events.add("failed " + first);
+            }
+        };
+    }
+
+    private static PageLoader.PageSource<Integer> mergeOf(FakeSource first, FakeSource second) {
+        return new PageLoader.MergedSource<>(Comparator.naturalOrder(),
+                Arrays.<PageLoader.PageSource<Integer>>asList(first, second),
+                new ParallelFetch<>(Runnable::run, Runnable::run));
+    }
+
+    private static class Request {
+        final String cursor;
+        final int pageSize;
+        final PageLoader.PageCallback<Integer> callback;
+
+        Request(String cursor, int pageSize, PageLoader.PageCallback<Integer> callback) {
+            this.cursor = cursor;
+            this.pageSize = pageSize;
+            this.callback = callback;
+        }
+    }
+
+    private static class FakeSource implements PageLoader.PageSource<Integer> {
+        final List<Request> requests = new ArrayList<>();
+
+        @Override
+        public void load(String cursor, int pageSize, PageLoader.PageCallback<Integer> callback) {
+            requests.add(new Request(cursor, pageSize, callback));
+        }
+
+        void answer(int request, List<Integer> items, String nextCursor) {
+            requests.get(request).callback.onPage(items, nextCursor);
+        }
+
+        void fail(int request) {
+            requests.get(request).callback.onError("boom");
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package app.hub.common;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for ParallelFetch.
+ *
+ * These tests validate:
+ * - Every source is asked before any of them answers
+ * - Pages are sorted and merged on the worker, not on the calling thread
+ * - Partial results are reported as sources answer, then the complete result
+ * - A failed source is reported without losing the others
+ * - Answers for a round that was restarted or cancelled are dropped
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class ParallelFetchTest {
+
+    private final List<Runnable> workerQueue = new ArrayList<>();
+    private final List<String> events = new ArrayList<>();
+    private ParallelFetch<Integer> fetch;
+    private Source a;
+    private Source b;
+
+    @Before
+    public void setUp() {
+        fetch = new ParallelFetch<>(workerQueue::add, Runnable::run);
+        a = new Source();
+        b = new Source();
+    }
+
+    @Test
+    public void allSourcesStartTogether() {
+        start();
+
+        assertEquals(1, a.callbacks.size());
+        assertEquals(1, b.callbacks.size());
+        assertEquals(Arrays.asList("a0", null), Arrays.asList(a.cursors.get(0), b.cursors.get(0)));
+    }
+
+    @Test
+    public void mergesOnWorkerAndReportsPartials() {
+        start();
+
+        a.callbacks.get(0).onPage(Arrays.asList(5, 1, 3), "a1");
+        assertTrue(events.isEmpty());
+        runWorker();
+        assertEquals(Collections.singletonList("partial [1, 3, 5] pending=1"), events);
+
+        b.callbacks.get(0).onPage(Arrays.asList(4, 2), null);
+        runWorker();
+        assertEquals("complete [1, 2, 3, 4, 5] pages=[[1, 3, 5], [2, 4]] next=[a1, null] errors=[null, null]",
+                events.get(1));
+    }
+
+    @Test
+    public void failedSourceIsReported() {
+        start();
+
+        b.callbacks.get(0).onError("timeout");
+        a.callbacks.get(0).onPage(Arrays.asList(2, 1), "a1");
+        runWorker();
+
+        assertEquals("complete [1, 2] pages=[[1, 2], []] next=[a1, null] errors=[null, timeout]",
+                events.get(1));
+    }
+
+    @Test
+    public void restartedRoundIsDropped() {
+        start();
+        a.callbacks.get(0).onPage(Collections.singletonList(1), null);
+        start();
+        b.callbacks.get(0).onPage(Collections.singletonList(2), null);
+        runWorker();
+        assertTrue(events.isEmpty());
+
+        a.callbacks.get(1).onPage(Collections.singletonList(7), null);
+        fetch.cancel();
+        runWorker();
+        assertTrue(events.isEmpty());
+    }
+
+    private void start() {
+        fetch.start(Arrays.asList(a, b), Arrays.asList("a0", null), 10, Comparator.naturalOrder(),
+                new ParallelFetch.Listener<Integer>() {
+                    @Override
+                    public void onPartial(List<Integer> merged, int pending) {
+                        events.add("partial " + merged + " pending=" + pending);
+                    }
+
+                    @Override
+                    public void onComplete(List<Integer> merged, List<List<Integer>> pages,
+                            List<String> nextCursors, List<String> errors) {
+                        events.add("complete " + merged + " pages=" + pages + " next=" + nextCursors
+                                + " errors=" + errors);
+                    }
+                });
+    }
+
+    private void runWorker() {
+        while (!workerQueue.isEmpty()) {
+            workerQueue.remove(0).run();
+        }
+    }
+
+    private static class Source implements PageLoader.PageSource<Integer> {
+        final List<String> cursors = new ArrayList<>();
+        final List<PageLoader.PageCallback<Integer>> callbacks = new ArrayList<>();
+
+        @Override
+        public void load(String cursor, int pageSize, PageLoader.PageCallback<Integer> callback) {
+            cursors.add(cursor);
+            callbacks.add(callback);
+        }
+    }
+}
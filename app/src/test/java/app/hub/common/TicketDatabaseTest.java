@@ -0,0 +1,143 @@
+package app.hub.common;
+
+import android.content.Context;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import app.hub.api.TicketDeltaStore;
+import app.hub.api.TicketListResponse;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for TicketDatabase persistence of merge results.
+ *
+ * These tests validate:
+ * - Disk order matches the in-memory TicketDeltaStore after full and delta merges
+ * - Tombstones delete rows and lists are isolated per scope and account
+ * - Indexed column queries and the stored sync position
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class TicketDatabaseTest {
+
+    private static final String SCOPE = "MANAGER";
+    private static final String ACCOUNT = "manager@example.com";
+
+    private TicketDatabase database;
+    private TicketDeltaStore store;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        database = new TicketDatabase(context, null);
+        store = new TicketDeltaStore();
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void fullMergeIsStoredInDisplayOrder() {
+        persist(store.applyFull(Arrays.asList(ticket("A", "open", "Main"), ticket("B", "open", "North")), null));
+
+        assertEquals(Arrays.asList("A", "B"), ids(database.loadTickets(SCOPE, ACCOUNT)));
+    }
+
+    @Test
+    public void deltaMergeMatchesInMemoryOrder() {
+        persist(store.applyFull(Arrays.asList(ticket("A", "open", "Main"), ticket("B", "open", "Main")), null));
+        persist(store.applyDelta(Arrays.asList(ticket("B", "in progress", "Main"), ticket("C", "open", "Main"),
+                ticket("D", "open", "Main")), new ArrayList<>(), null));
+
+        List<TicketListResponse.TicketItem> persisted = database.loadTickets(SCOPE, ACCOUNT);
+
+        assertEquals(ids(store.snapshot()), ids(persisted));
+        assertEquals("in progress", persisted.get(3).getStatus());
+    }
+
+    @Test
+    public void tombstonesDeleteRows() {
+        persist(store.applyFull(Arrays.asList(ticket("A", "open", "Main"), ticket("B", "open", "Main")), null));
+        persist(store.applyDelta(new ArrayList<>(), Collections.singletonList("A"), null));
+
+        assertEquals(Collections.singletonList("B"), ids(database.loadTickets(SCOPE, ACCOUNT)));
+    }
+
+    @Test
+    public void fullMergeDropsTicketsMissingFromServer() {
+        persist(store.applyFull(Arrays.asList(ticket("A", "open", "Main"), ticket("B", "open", "Main")), null));
+        persist(store.applyFull(Collections.singletonList(ticket("B", "completed", "Main")), null));
+
+        List<TicketListResponse.TicketItem> persisted = database.loadTickets(SCOPE, ACCOUNT);
+        assertEquals(Collections.singletonList("B"), ids(persisted));
+        assertEquals("completed", persisted.get(0).getStatus());
+    }
+
+    @Test
+    public void queriesByIndexedColumn() {
+        persist(store.applyFull(Arrays.asList(ticket("A", "Pending", "Main"), ticket("B", "completed", "North"),
+                ticket("C", "pending", "North")), null));
+
+        assertEquals(Arrays.asList("A", "C"),
+                ids(database.loadTicketsWhere(SCOPE, ACCOUNT, TicketDatabase.Column.STATUS, "pending")));
+        assertEquals(Arrays.asList("B", "C"),
+                ids(database.loadTicketsWhere(SCOPE, ACCOUNT, TicketDatabase.Column.BRANCH, "North")));
+    }
+
+    @Test
+    public void listsAreIsolatedPerScopeAndAccount() {
+        persist(store.applyFull(Collections.singletonList(ticket("A", "open", "Main")), null));
+
+        assertTrue(database.loadTickets("CUSTOMER", ACCOUNT).isEmpty());
+        assertTrue(database.loadTickets(SCOPE, "other@example.com").isEmpty());
+
+        database.clearAccount(ACCOUNT);
+        assertTrue(database.loadTickets(SCOPE, ACCOUNT).isEmpty());
+        assertNull(database.loadSyncState(SCOPE, ACCOUNT).highWaterMark);
+    }
+
+    @Test
+    public void syncStateIsStored() {
+        database.applyMerge(SCOPE, ACCOUNT, store.applyFull(new ArrayList<>(), null), null,
+                "2024-01-02 10:00:00", 1234L);
+
+        TicketDatabase.SyncState state = database.loadSyncState(SCOPE, ACCOUNT);
+        assertEquals("2024-01-02 10:00:00", state.highWaterMark);
+        assertEquals(1234L, state.lastFullSyncTime);
+    }
+
+    private void persist(TicketDeltaStore.MergeResult result) {
+        database.applyMerge(SCOPE, ACCOUNT, result, null, store.getHighWaterMark(), 0);
+    }
+
+    private static TicketListResponse.TicketItem ticket(String ticketId, String status, String branch) {
+        TicketListResponse.TicketItem ticket = new TicketListResponse.TicketItem();
+        ticket.setTicketId(ticketId);
+        ticket.setStatus(status);
+        ticket.setBranch(branch);
+        return ticket;
+    }
+
+    private static List<String> ids(List<TicketListResponse.TicketItem> tickets) {
+        List<String> ids = new ArrayList<>();
+        for (TicketListResponse.TicketItem ticket : tickets) {
+            ids.add(ticket.getTicketId());
+        }
+        return ids;
+    }
+}
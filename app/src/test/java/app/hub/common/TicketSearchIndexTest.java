@@ -0,0 +1,119 @@
+package app.hub.common;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import app.hub.api.TicketListResponse;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for TicketSearchIndex.
+ *
+ * These tests validate:
+ * - Status buckets follow the tab rules (open counts as pending, paid counts as completed)
+ * - Query words match word prefixes in any indexed field, all words required
+ * - Ticket ids match on any trailing part
+ * - An index is a snapshot: later edits to a ticket need a rebuild
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class TicketSearchIndexTest {
+
+    @Test
+    public void statusBucketsMatchTabRules() {
+        TicketSearchIndex index = index(
+                ticket(1, "TCK-001", "Open", "Aircon cleaning"),
+                ticket(2, "TCK-002", "In Progress", "Aircon repair"),
+                ticket(3, "TCK-003", "Scheduled", "Installation"),
+                ticket(4, "TCK-004", "Completed", "Aircon cleaning"),
+                ticket(5, "TCK-005", "Cancelled", "Repair"));
+
+        assertEquals(Arrays.asList("TCK-001", "TCK-002", "TCK-003"), ids(index.query("active", "")));
+        assertEquals(Arrays.asList("TCK-001", "TCK-003"), ids(index.query("pending", "")));
+        assertEquals(Collections.singletonList("TCK-002"), ids(index.query("in progress", "")));
+        assertEquals(Collections.singletonList("TCK-004"), ids(index.query("completed", "")));
+        assertEquals(Collections.singletonList("TCK-005"), ids(index.query("cancelled", "")));
+        assertEquals(5, index.query("all", "").size());
+    }
+
+    @Test
+    public void paidTicketCountsAsCompleted() {
+        List<TicketListResponse.TicketItem> tickets = Collections.singletonList(
+                ticket(1, "TCK-001", "In Progress", "Repair"));
+        TicketSearchIndex index = TicketSearchIndex.build(
+                TicketSearchIndex.capture(tickets, new HashSet<>(Collections.singletonList("TCK-001"))));
+
+        assertEquals(1, index.query("completed", "").size());
+    }
+
+    @Test
+    public void queryWordsMatchPrefixesAcrossFields() {
+        TicketSearchIndex index = index(
+                ticket(1, "TCK-001", "Pending", "Aircon cleaning"),
+                ticket(2, "TCK-002", "Pending", "Refrigerator repair"));
+
+        assertEquals(Collections.singletonList("TCK-001"), ids(index.query("all", "air")));
+        assertEquals(Collections.singletonList("TCK-001"), ids(index.query("all", "AIRCON  clean")));
+        assertTrue(index.query("all", "aircon repair").isEmpty());
+        assertTrue(index.query("all", "con").isEmpty());
+    }
+
+    @Test
+    public void ticketIdMatchesTrailingDigits() {
+        TicketSearchIndex index = index(
+                ticket(1, "TCK-000042", "Pending", "Repair"),
+                ticket(2, "TCK-000043", "Pending", "Repair"));
+
+        assertEquals(Collections.singletonList("TCK-000042"), ids(index.query("all", "42")));
+        assertEquals(2, index.query("all", "tck").size());
+    }
+
+    @Test
+    public void indexIsSnapshotOfCapturedFields() {
+        TicketListResponse.TicketItem ticket = ticket(1, "TCK-001", "Pending", "Repair");
+        TicketSearchIndex before = index(ticket);
+
+        ticket.setStatus("In Progress");
+        TicketSearchIndex after = index(ticket);
+
+        assertEquals(1, before.query("pending", "").size());
+        assertTrue(after.query("pending", "").isEmpty());
+        assertEquals(1, after.query("in progress", "").size());
+    }
+
+    @Test
+    public void tokenizeSplitsOnPunctuation() {
+        assertEquals(Arrays.asList("tck", "001", "aircon"), TicketSearchIndex.tokenize("TCK-001 / Aircon!"));
+        assertTrue(TicketSearchIndex.tokenize(null).isEmpty());
+    }
+
+    private static TicketSearchIndex index(TicketListResponse.TicketItem... tickets) {
+        return TicketSearchIndex.build(TicketSearchIndex.capture(Arrays.asList(tickets), null));
+    }
+
+    private static List<String> ids(List<TicketListResponse.TicketItem> result) {
+        List<String> ids = new ArrayList<>();
+        for (TicketListResponse.TicketItem ticket : result) {
+            ids.add(ticket.getTicketId());
+        }
+        return ids;
+    }
+
+    private static TicketListResponse.TicketItem ticket(int id, String ticketId, String status, String serviceType) {
+        TicketListResponse.TicketItem ticket = new TicketListResponse.TicketItem();
+        ticket.setId(id);
+        ticket.setTicketId(ticketId);
+        ticket.setStatus(status);
+        ticket.setServiceType(serviceType);
+        return ticket;
+    }
+}
@@ -0,0 +1,109 @@
+package app.hub.employee;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.List;
+
+import app.hub.api.EmployeeScheduleResponse;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for ScheduleIndex.
+ *
+ * These tests validate:
+ * - Tickets are bucketed by day across the date formats the server sends, bad dates dropped
+ * - Each day is sorted by time, 24h and AM/PM alike, untimed tickets last
+ * - Epoch days match the calendar, leap years included
+ * - A month grid starts on the right weekday, holds 42 cells and is built only once
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class ScheduleIndexTest {
+
+    @Test
+    public void bucketsByDayAcrossFormats() {
+        ScheduleIndex index = new ScheduleIndex(Arrays.asList(
+                ticket("a", "2024-03-05", "09:00"),
+                ticket("b", "2024-03-05 14:00:00", "10:00"),
+                ticket("c", "2024-03-05T08:00:00", "11:00"),
+                ticket("d", "2024/03/06", "09:00"),
+                ticket("e", "2024-02-30", "09:00"),
+                ticket("f", null, "09:00")), 0);
+
+        int march5 = ScheduleIndex.epochDay(2024, Calendar.MARCH, 5);
+        assertEquals(Arrays.asList("a", "b", "c"), ids(index.ticketsOn(march5)));
+        assertEquals(Arrays.asList("d"), ids(index.ticketsOn(march5 + 1)));
+        assertEquals(2, index.dayCount());
+        assertTrue(index.ticketsOn(march5 + 2).isEmpty());
+    }
+
+    @Test
+    public void sortsEachDayByTimeOnce() {
+        ScheduleIndex index = new ScheduleIndex(Arrays.asList(
+                ticket("late", "2024-03-05", "2:30 PM"),
+                ticket("none", "2024-03-05", null),
+                ticket("early", "2024-03-05", "08:15:00"),
+                ticket("noon", "2024-03-05", "12:00 pm"),
+                ticket("midnight", "2024-03-05", "12:05 AM"),
+                ticket("bad", "2024-03-05", "25:00")), 0);
+
+        assertEquals(Arrays.asList("midnight", "early", "noon", "late", "none", "bad"),
+                ids(index.ticketsOn(ScheduleIndex.epochDay(2024, Calendar.MARCH, 5))));
+    }
+
+    @Test
+    public void epochDaysMatchCalendar() {
+        assertEquals(0, ScheduleIndex.epochDay(1970, Calendar.JANUARY, 1));
+        assertEquals(-1, ScheduleIndex.epochDay(1969, Calendar.DECEMBER, 31));
+        assertEquals(19783, ScheduleIndex.epochDay(2024, Calendar.MARCH, 1));
+        assertEquals(ScheduleIndex.epochDay(2024, Calendar.MARCH, 1) - 1,
+                ScheduleIndex.epochDay(2024, Calendar.FEBRUARY, 29));
+        assertEquals(28, ScheduleIndex.daysInMonth(1900, Calendar.FEBRUARY));
+        assertEquals(29, ScheduleIndex.daysInMonth(2000, Calendar.FEBRUARY));
+    }
+
+    @Test
+    public void monthGridIsLaidOutAndCached() {
+        int today = ScheduleIndex.epochDay(2024, Calendar.FEBRUARY, 14);
+        ScheduleIndex index = new ScheduleIndex(Arrays.asList(ticket("a", "2024-02-29", "09:00")), today);
+
+        // February 2024 starts on a Thursday
+        ScheduleIndex.MonthGrid grid = index.monthGrid(2024, Calendar.FEBRUARY);
+        List<CalendarAdapter.CalendarDay> days = grid.getDays();
+        assertEquals(42, days.size());
+        assertFalse(days.get(3).isCurrentMonth());
+        assertEquals(1, days.get(4).getDayOfMonth());
+        assertEquals(29, days.get(32).getDayOfMonth());
+        assertFalse(days.get(33).isCurrentMonth());
+        assertEquals("2024-02-29", days.get(32).getDateKey());
+        assertEquals(1, days.get(32).getScheduledTickets().size());
+        assertTrue(days.get(grid.positionOf(today)).isToday());
+        assertEquals(-1, grid.positionOf(today + 30));
+
+        assertSame(grid, index.monthGrid(2024, Calendar.FEBRUARY));
+        assertNotSame(grid, index.monthGrid(2024, Calendar.MARCH));
+    }
+
+    private static EmployeeScheduleResponse.ScheduledTicket ticket(String id, String date, String time) {
+        EmployeeScheduleResponse.ScheduledTicket ticket = new EmployeeScheduleResponse.ScheduledTicket();
+        ticket.setTicketId(id);
+        ticket.setScheduledDate(date);
+        ticket.setScheduledTime(time);
+        return ticket;
+    }
+
+    private static List<String> ids(List<EmployeeScheduleResponse.ScheduledTicket> tickets) {
+        List<String> ids = new ArrayList<>();
+        for (EmployeeScheduleResponse.ScheduledTicket ticket : tickets) {
+            ids.add(ticket.getTicketId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,387 @@
+package app.hub.manager;
+
+import android.content.Context;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import app.hub.api.DashboardStatsResponse;
+import app.hub.api.EmployeeResponse;
+import app.hub.api.TicketListResponse;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for ManagerDataStore.
+ *
+ * These tests validate:
+ * - Loads racing from many threads share one fetch per part and each completes exactly once
+ * - Real-time patches racing with readers never show counters that disagree with the total
+ * - Patches copy tickets instead of changing lists already handed out
+ * - Tickets new to the cache are fetched instead of being counted before the fetch
+ * - Listeners are held weakly
+ * - An older fetch answering late does not overwrite a newer forced one
+ * - clearAll() during a load keeps its result out of the cache but still completes the load
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class ManagerDataStoreTest {
+    private static final String TOKEN = "token";
+    private static final String[] STATUSES = { "Pending", "In Progress", "Completed", "Cancelled" };
+
+    private HeldBackend backend;
+    private long now;
+    private ManagerDataStore store;
+
+    @Before
+    public void setUp() {
+        backend = new HeldBackend();
+        now = 1_000_000;
+        store = new ManagerDataStore(backend, () -> now, 30 * 1000);
+    }
+
+    @Test
+    public void racingLoadsShareFetchesAndCompleteOnce() throws Exception {
+        int callers = 32;
+        List<CountingCallback> callbacks = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            callbacks.add(new CountingCallback());
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        for (CountingCallback callback : callbacks) {
+            pool.execute(() -> {
+                await(start);
+                store.load(null, TOKEN, ManagerDataStore.ALL, false, callback);
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(3, backend.held.size());
+        for (ManagerDataStore.Part part : ManagerDataStore.Part.values()) {
+            assertEquals(1, backend.fetches(part));
+        }
+
+        // Answer the three parts from three threads at once
+        List<Thread> answerers = new ArrayList<>();
+        for (Held held : backend.held) {
+            answerers.add(new Thread(() -> held.answer.onLoaded(partFor(held.part, "fresh"))));
+        }
+        for (Thread thread : answerers) {
+            thread.start();
+        }
+        for (Thread thread : answerers) {
+            thread.join();
+        }
+
+        for (CountingCallback callback : callbacks) {
+            assertEquals(1, callback.completed.get());
+            assertEquals(0, callback.errors.get());
+            assertEquals(3, callback.parts.get());
+        }
+        assertTrue(store.snapshot().isComplete());
+
+        // Fresh now: served from cache, no new fetch
+        CountingCallback cached = new CountingCallback();
+        store.load(null, TOKEN, ManagerDataStore.ALL, false, cached);
+        assertEquals(1, cached.completed.get());
+        assertEquals(3, backend.held.size());
+    }
+
+    @Test
+    public void racingPatchesKeepCountersConsistent() throws Exception {
+        int ticketCount = 40;
+        List<TicketListResponse.TicketItem> tickets = new ArrayList<>();
+        for (int i = 0; i < ticketCount; i++) {
+            tickets.add(ticket("T" + i, "Pending"));
+        }
+        DashboardStatsResponse.Stats stats = new DashboardStatsResponse.Stats();
+        stats.setTotalTickets(ticketCount);
+        stats.setPending(ticketCount);
+        publish(ManagerDataStore.Snapshot.tickets(tickets));
+        publish(ManagerDataStore.Snapshot.dashboard(stats, new ArrayList<>()));
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        ConcurrentLinkedQueue<String> problems = new ConcurrentLinkedQueue<>();
+        Thread reader = new Thread(() -> {
+            while (running.get()) {
+                try {
+                    ManagerDataStore.Snapshot snapshot = store.snapshot();
+                    DashboardStatsResponse.Stats seen = snapshot.stats;
+                    int sum = seen.getPending() + seen.getInProgress() + seen.getCompleted() + seen.getCancelled();
+                    if (sum != seen.getTotalTickets()) {
+                        problems.add("counters " + sum + " != " + seen.getTotalTickets());
+                    }
+                    for (TicketListResponse.TicketItem item : snapshot.tickets) {
+                        item.getStatus();
+                    }
+                } catch (RuntimeException e) {
+                    problems.add(e.toString());
+                }
+            }
+        });
+        reader.start();
+
+        ExecutorService pool = Executors.newFixedThreadPool(6);
+        List<Runnable> writers = new ArrayList<>();
+        for (int w = 0; w < 6; w++) {
+            int seed = w;
+            writers.add(() -> {
+                for (int i = 0; i < 500; i++) {
+                    String id = "T" + ((seed * 7 + i) % ticketCount);
+                    String status = STATUSES[(seed + i) % STATUSES.length];
+                    store.applyTicketChanges(Collections.singletonList(new ManagerDataManager.TicketChange(
+                            ManagerDataManager.TicketChange.Type.MODIFIED, id, status, null, null, null)));
+                }
+            });
+        }
+        for (Runnable writer : writers) {
+            pool.execute(writer);
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(20, TimeUnit.SECONDS));
+        running.set(false);
+        reader.join();
+
+        assertTrue(problems.toString(), problems.isEmpty());
+
+        // The final counters match the final tickets
+        Map<String, Integer> byStatus = new java.util.HashMap<>();
+        for (TicketListResponse.TicketItem item : store.snapshot().tickets) {
+            byStatus.merge(item.getStatus(), 1, Integer::sum);
+        }
+        DashboardStatsResponse.Stats end = store.snapshot().stats;
+        assertEquals(count(byStatus, "Pending"), end.getPending());
+        assertEquals(count(byStatus, "In Progress"), end.getInProgress());
+        assertEquals(count(byStatus, "Completed"), end.getCompleted());
+        assertEquals(count(byStatus, "Cancelled"), end.getCancelled());
+    }
+
+    @Test
+    public void patchesDoNotChangeHandedOutTickets() {
+        TicketListResponse.TicketItem original = ticket("T1", "Pending");
+        publish(ManagerDataStore.Snapshot.tickets(Arrays.asList(original)));
+        List<TicketListResponse.TicketItem> before = store.snapshot().tickets;
+
+        store.patchTicket("T1", "Completed", true, "Ben Reyes", "2024-03-05", "09:00");
+
+        assertEquals("Pending", original.getStatus());
+        assertSame(original, before.get(0));
+        TicketListResponse.TicketItem patched = store.snapshot().tickets.get(0);
+        assertEquals("Completed", patched.getStatus());
+        assertEquals("Ben Reyes", patched.getAssignedStaff());
+        assertEquals("T1", store.snapshot().recentTickets.get(0).getTicketId());
+    }
+
+    @Test
+    public void unknownAddedTicketsAreFetchedNotCounted() {
+        publish(ManagerDataStore.Snapshot.tickets(Arrays.asList(ticket("T1", "Pending"))));
+        DashboardStatsResponse.Stats stats = new DashboardStatsResponse.Stats();
+        stats.setTotalTickets(2);
+        stats.setPending(2);
+        publish(ManagerDataStore.Snapshot.dashboard(stats, new ArrayList<>()));
+
+        // A listener's first snapshot: every ticket comes in as ADDED, known or not
+        List<String> needsFetch = store.applyTicketChanges(Arrays.asList(
+                new ManagerDataManager.TicketChange(ManagerDataManager.TicketChange.Type.ADDED,
+                        "T1", "Pending", null, null, null),
+                new ManagerDataManager.TicketChange(ManagerDataManager.TicketChange.Type.ADDED,
+                        "T2", "Pending", null, null, null)));
+
+        assertEquals(Arrays.asList("T2"), needsFetch);
+        DashboardStatsResponse.Stats after = store.snapshot().stats;
+        assertEquals(2, after.getTotalTickets());
+        assertEquals(2, after.getPending());
+    }
+
+    @Test
+    public void listenersAreHeldWeakly() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        store.ticketListeners.add(tickets -> calls.incrementAndGet());
+        ManagerDataManager.TicketDataChangeListener kept = tickets -> calls.incrementAndGet();
+        store.ticketListeners.add(kept);
+
+        for (int i = 0; i < 50 && store.ticketListeners.size() > 1; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertEquals(1, store.ticketListeners.size());
+        publish(ManagerDataStore.Snapshot.tickets(new ArrayList<>()));
+        assertEquals(1, calls.get());
+        assertNotNull(kept);
+    }
+
+    @Test
+    public void lateOlderFetchDoesNotOverwriteNewer() {
+        CountingCallback first = new CountingCallback();
+        CountingCallback second = new CountingCallback();
+        store.load(null, TOKEN, EnumSet.of(ManagerDataStore.Part.TICKETS), true, first);
+        store.load(null, TOKEN, EnumSet.of(ManagerDataStore.Part.TICKETS), true, second);
+        assertEquals(2, backend.fetches(ManagerDataStore.Part.TICKETS));
+
+        backend.held.get(1).answer.onLoaded(partFor(ManagerDataStore.Part.TICKETS, "new"));
+        backend.held.get(0).answer.onLoaded(partFor(ManagerDataStore.Part.TICKETS, "old"));
+
+        assertEquals("new", store.snapshot().tickets.get(0).getTicketId());
+        assertEquals("new", first.lastTicketId);
+        assertEquals(1, first.completed.get());
+        assertEquals(1, second.completed.get());
+    }
+
+    @Test
+    public void clearAllDuringLoadCompletesWithoutCaching() {
+        CountingCallback callback = new CountingCallback();
+        store.load(null, TOKEN, ManagerDataStore.ALL, false, callback);
+
+        store.clearAll();
+        for (Held held : backend.held) {
+            held.answer.onLoaded(partFor(held.part, "stale"));
+        }
+
+        assertEquals(1, callback.completed.get());
+        assertEquals(3, callback.parts.get());
+        assertFalse(store.snapshot().has(ManagerDataStore.Part.TICKETS));
+        assertFalse(store.snapshot().has(ManagerDataStore.Part.EMPLOYEES));
+
+        // A load after the clear fetches again instead of joining the dropped fetch
+        store.load(null, TOKEN, ManagerDataStore.ALL, false, new CountingCallback());
+        assertEquals(6, backend.held.size());
+    }
+
+    @Test
+    public void missingTokenFailsOnce() {
+        CountingCallback callback = new CountingCallback();
+        store.load(null, null, ManagerDataStore.ALL, false, callback);
+
+        assertEquals(1, callback.errors.get());
+        assertEquals(0, callback.completed.get());
+        assertTrue(backend.held.isEmpty());
+    }
+
+    // Publishes a part the way a finished fetch would
+    private void publish(ManagerDataStore.Snapshot partial) {
+        ManagerDataStore.Part part = partial.has(ManagerDataStore.Part.TICKETS) ? ManagerDataStore.Part.TICKETS
+                : partial.has(ManagerDataStore.Part.EMPLOYEES) ? ManagerDataStore.Part.EMPLOYEES
+                : ManagerDataStore.Part.DASHBOARD;
+        int before = backend.held.size();
+        store.load(null, TOKEN, EnumSet.of(part), true, null);
+        backend.held.get(before).answer.onLoaded(partial);
+    }
+
+    private static ManagerDataStore.Snapshot partFor(ManagerDataStore.Part part, String tag) {
+        switch (part) {
+            case EMPLOYEES:
+                EmployeeResponse.Employee employee = new EmployeeResponse.Employee();
+                employee.setFirstName(tag);
+                return ManagerDataStore.Snapshot.employees("Taguig", Arrays.asList(employee));
+            case TICKETS:
+                return ManagerDataStore.Snapshot.tickets(Arrays.asList(ticket(tag, "Pending")));
+            default:
+                return ManagerDataStore.Snapshot.dashboard(new DashboardStatsResponse.Stats(), new ArrayList<>());
+        }
+    }
+
+    private static TicketListResponse.TicketItem ticket(String id, String status) {
+        TicketListResponse.TicketItem ticket = new TicketListResponse.TicketItem();
+        ticket.setTicketId(id);
+        ticket.setStatus(status);
+        return ticket;
+    }
+
+    private static int count(Map<String, Integer> byStatus, String status) {
+        Integer count = byStatus.get(status);
+        return count != null ? count : 0;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Held {
+        final ManagerDataStore.Part part;
+        final ManagerDataStore.Answer answer;
+
+        Held(ManagerDataStore.Part part, ManagerDataStore.Answer answer) {
+            this.part = part;
+            this.answer = answer;
+        }
+    }
+
+    // Holds every fetch until the test answers it
+    private static final class HeldBackend implements ManagerDataStore.Backend {
+        final List<Held> held = Collections.synchronizedList(new ArrayList<>());
+        private final Map<ManagerDataStore.Part, Integer> counts = new EnumMap<>(ManagerDataStore.Part.class);
+
+        @Override
+        public synchronized void fetch(Context context, ManagerDataStore.Part part, String token,
+                ManagerDataStore.Answer answer) {
+            counts.merge(part, 1, Integer::sum);
+            held.add(new Held(part, answer));
+        }
+
+        synchronized int fetches(ManagerDataStore.Part part) {
+            Integer count = counts.get(part);
+            return count != null ? count : 0;
+        }
+    }
+
+    private static final class CountingCallback implements ManagerDataManager.DataLoadCallback {
+        final AtomicInteger parts = new AtomicInteger();
+        final AtomicInteger completed = new AtomicInteger();
+        final AtomicInteger errors = new AtomicInteger();
+        volatile String lastTicketId;
+
+        @Override
+        public void onEmployeesLoaded(String branchName, List<EmployeeResponse.Employee> employees) {
+            parts.incrementAndGet();
+        }
+
+        @Override
+        public void onTicketsLoaded(List<TicketListResponse.TicketItem> tickets) {
+            parts.incrementAndGet();
+            lastTicketId = tickets.isEmpty() ? null : tickets.get(0).getTicketId();
+        }
+
+        @Override
+        public void onDashboardStatsLoaded(DashboardStatsResponse.Stats stats,
+                List<DashboardStatsResponse.RecentTicket> recentTickets) {
+            parts.incrementAndGet();
+        }
+
+        @Override
+        public void onLoadComplete() {
+            completed.incrementAndGet();
+        }
+
+        @Override
+        public void onLoadError(String error) {
+            errors.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package app.hub.map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for AdaptiveLocationSampler phase and speed decisions.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class AdaptiveLocationSamplerTest {
+
+    private AdaptiveLocationSampler sampler;
+
+    @Before
+    public void setUp() {
+        sampler = new AdaptiveLocationSampler();
+    }
+
+    @Test
+    public void workStepsMapToPhases() {
+        assertEquals(AdaptiveLocationSampler.JobPhase.ASSIGNED, AdaptiveLocationSampler.JobPhase.fromWorkStep(0));
+        assertEquals(AdaptiveLocationSampler.JobPhase.EN_ROUTE, AdaptiveLocationSampler.JobPhase.fromWorkStep(1));
+        assertEquals(AdaptiveLocationSampler.JobPhase.ON_SITE, AdaptiveLocationSampler.JobPhase.fromWorkStep(2));
+        assertEquals(AdaptiveLocationSampler.JobPhase.WORKING, AdaptiveLocationSampler.JobPhase.fromWorkStep(3));
+        assertEquals(AdaptiveLocationSampler.JobPhase.COMPLETED, AdaptiveLocationSampler.JobPhase.fromWorkStep(4));
+        assertEquals(AdaptiveLocationSampler.JobPhase.COMPLETED, AdaptiveLocationSampler.JobPhase.fromWorkStep(9));
+    }
+
+    @Test
+    public void completedJobStopsSampling() {
+        assertTrue(sampler.setPhase(AdaptiveLocationSampler.JobPhase.COMPLETED));
+
+        assertFalse(sampler.getSample().enabled);
+    }
+
+    @Test
+    public void drivingEnRouteSamplesFast() {
+        sampler.setPhase(AdaptiveLocationSampler.JobPhase.EN_ROUTE);
+
+        assertTrue(sampler.onLocation(14.5, 121.0, 0, true, 15f));
+
+        assertSame(AdaptiveLocationSampler.DRIVING, sampler.getSample());
+        assertEquals(AdaptiveLocationSampler.PRIORITY_HIGH_ACCURACY, sampler.getSample().priority);
+    }
+
+    @Test
+    public void onSiteSamplesRarely() {
+        sampler.setPhase(AdaptiveLocationSampler.JobPhase.ON_SITE);
+        sampler.onLocation(14.5, 121.0, 0, true, 0f);
+
+        assertSame(AdaptiveLocationSampler.ON_SITE, sampler.getSample());
+        assertTrue(sampler.getSample().intervalMs > AdaptiveLocationSampler.DRIVING.intervalMs * 10);
+    }
+
+    @Test
+    public void workingUsesLowPower() {
+        sampler.setPhase(AdaptiveLocationSampler.JobPhase.WORKING);
+
+        assertEquals(AdaptiveLocationSampler.PRIORITY_LOW_POWER, sampler.getSample().priority);
+    }
+
+    @Test
+    public void drivingOverridesStaleAssignedPhase() {
+        sampler.setPhase(AdaptiveLocationSampler.JobPhase.ASSIGNED);
+
+        sampler.onLocation(14.5, 121.0, 0, true, 20f);
+
+        assertSame(AdaptiveLocationSampler.DRIVING, sampler.getSample());
+    }
+
+    @Test
+    public void onSitePhaseCapsDrivingSpeed() {
+        sampler.setPhase(AdaptiveLocationSampler.JobPhase.WORKING);
+
+        sampler.onLocation(14.5, 121.0, 0, true, 20f);
+
+        assertSame(AdaptiveLocationSampler.MOVING, sampler.getSample());
+    }
+
+    @Test
+    public void arrivingAfterDrivingSettlesToOnSite() {
+        sampler.setPhase(AdaptiveLocationSampler.JobPhase.EN_ROUTE);
+        sampler.onLocation(14.5, 121.0, 0, true, 15f);
+        assertSame(AdaptiveLocationSampler.DRIVING, sampler.getSample());
+
+        // Still driving by the smoothed speed, but no longer the fast request
+        assertTrue(sampler.setPhase(AdaptiveLocationSampler.JobPhase.ON_SITE));
+        assertSame(AdaptiveLocationSampler.MOVING, sampler.getSample());
+
+        // Parked: fixes keep arriving at the interval and bring the speed down
+        long time = 0;
+        for (int i = 0; i < 10; i++) {
+            time += AdaptiveLocationSampler.MOVING.intervalMs;
+            sampler.onLocation(14.5, 121.0, time, true, 0f);
+        }
+        assertEquals(AdaptiveLocationSampler.SpeedBand.STOPPED, sampler.getBand());
+        assertSame(AdaptiveLocationSampler.ON_SITE, sampler.getSample());
+    }
+
+    @Test
+    public void speedIsDerivedFromFixesWhenProviderHasNone() {
+        sampler.setPhase(AdaptiveLocationSampler.JobPhase.EN_ROUTE);
+        sampler.onLocation(14.5, 121.0, 0, false, 0f);
+
+        // ~111 m north in 10 s = ~11 m/s
+        sampler.onLocation(14.501, 121.0, 10000, false, 0f);
+
+        assertEquals(11.1f, sampler.getSmoothedSpeed(), 0.2f);
+        assertSame(AdaptiveLocationSampler.DRIVING, sampler.getSample());
+    }
+
+    @Test
+    public void hysteresisKeepsBandNearThreshold() {
+        assertEquals(AdaptiveLocationSampler.SpeedBand.DRIVING,
+                AdaptiveLocationSampler.nextBand(AdaptiveLocationSampler.SpeedBand.DRIVING, 7f));
+        assertEquals(AdaptiveLocationSampler.SpeedBand.MOVING,
+                AdaptiveLocationSampler.nextBand(AdaptiveLocationSampler.SpeedBand.MOVING, 7f));
+        assertEquals(AdaptiveLocationSampler.SpeedBand.MOVING,
+                AdaptiveLocationSampler.nextBand(AdaptiveLocationSampler.SpeedBand.DRIVING, 5f));
+    }
+
+    @Test
+    public void unchangedDecisionDoesNotReissueRequest() {
+        sampler.setPhase(AdaptiveLocationSampler.JobPhase.EN_ROUTE);
+        sampler.onLocation(14.5, 121.0, 0, true, 15f);
+
+        assertFalse(sampler.onLocation(14.5, 121.0, 5000, true, 14f));
+        assertFalse(sampler.setPhase(AdaptiveLocationSampler.JobPhase.EN_ROUTE));
+    }
+}
@@ -0,0 +1,269 @@
+package app.hub.map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import app.hub.api.LocationBatchRequest;
+import app.hub.util.RefreshScheduler;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for LocationUploadQueue thinning, batching, retry and persistence.
+ *
+ * These tests also validate:
+ * - Points are only ever uploaded under the account that recorded them
+ * - clear() (logout) empties the queue and its store
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class LocationUploadQueueTest {
+
+    // Roughly 11 m per 0.0001 degree of latitude
+    private static final double STEP_30M = 0.00027;
+
+    private ManualClock clock;
+    private MemoryStore store;
+    private RecordingUploader uploader;
+    private String currentAccount;
+    private LocationUploadQueue queue;
+
+    @Before
+    public void setUp() {
+        clock = new ManualClock();
+        store = new MemoryStore();
+        uploader = new RecordingUploader();
+        currentAccount = "tech.a@example.com";
+        queue = newQueue();
+    }
+
+    @Test
+    public void pointsCloserThanMinimumDistanceAreDropped() {
+        assertTrue(queue.offer(14.5, 121.0, 5f, 0, "T1"));
+        assertFalse(queue.offer(14.50005, 121.0, 5f, 5000, "T1"));
+        assertTrue(queue.offer(14.5 + STEP_30M, 121.0, 5f, 10000, "T1"));
+
+        assertEquals(2, queue.getPendingCount());
+    }
+
+    @Test
+    public void stationaryTechnicianStillSendsHeartbeat() {
+        queue.offer(14.5, 121.0, 5f, 0, "T1");
+
+        assertTrue(queue.offer(14.5, 121.0, 5f, LocationUploadQueue.MAX_SILENCE_MS, "T1"));
+    }
+
+    @Test
+    public void fullBatchUploadsImmediately() {
+        offerMoving(LocationUploadQueue.BATCH_SIZE);
+
+        assertEquals(1, uploader.batches.size());
+        assertEquals(LocationUploadQueue.BATCH_SIZE, uploader.batches.get(0).size());
+    }
+
+    @Test
+    public void partialBatchUploadsAfterFlushInterval() {
+        offerMoving(3);
+        assertTrue(uploader.batches.isEmpty());
+
+        clock.runPending();
+
+        assertEquals(1, uploader.batches.size());
+        assertEquals(3, uploader.batches.get(0).size());
+    }
+
+    @Test
+    public void uploadedPointsAreRemovedAndPersisted() {
+        offerMoving(LocationUploadQueue.BATCH_SIZE + 2);
+
+        uploader.callbacks.get(0).onUploaded();
+
+        assertEquals(2, queue.getPendingCount());
+        assertEquals(2, store.saved.size());
+    }
+
+    @Test
+    public void failedUploadKeepsPointsAndBacksOff() {
+        offerMoving(LocationUploadQueue.BATCH_SIZE);
+
+        uploader.callbacks.get(0).onFailed(true);
+
+        assertEquals(LocationUploadQueue.BATCH_SIZE, queue.getPendingCount());
+        assertEquals(LocationUploadQueue.FLUSH_INTERVAL_MS * 2, clock.lastDelay);
+
+        clock.runPending();
+        assertEquals(2, uploader.batches.size());
+    }
+
+    @Test
+    public void rejectedUploadDropsPoints() {
+        offerMoving(LocationUploadQueue.BATCH_SIZE);
+
+        uploader.callbacks.get(0).onFailed(false);
+
+        assertEquals(0, queue.getPendingCount());
+    }
+
+    @Test
+    public void onlyOneUploadInFlight() {
+        offerMoving(LocationUploadQueue.BATCH_SIZE * 2);
+
+        assertEquals(1, uploader.batches.size());
+        assertTrue(queue.isUploading());
+
+        uploader.callbacks.get(0).onUploaded();
+        assertEquals(2, uploader.batches.size());
+    }
+
+    @Test
+    public void unsentPointsAreRestoredAndFlushed() {
+        offerMoving(3);
+
+        LocationUploadQueue restarted = newQueue();
+
+        assertEquals(3, restarted.getPendingCount());
+        clock.runPending();
+        assertFalse(uploader.batches.isEmpty());
+    }
+
+    @Test
+    public void logoutThenOtherAccountUploadsOnlyItsOwnPoints() {
+        offerMoving(3);
+
+        queue.clear();
+        assertEquals(0, queue.getPendingCount());
+        assertTrue(store.saved.isEmpty());
+        assertNull(store.account);
+        assertTrue(clock.scheduled.isEmpty());
+
+        currentAccount = "tech.b@example.com";
+        queue.offer(15.0, 121.0, 5f, 0, "T2");
+        clock.runPending();
+
+        assertEquals(1, uploader.batches.size());
+        assertEquals(1, uploader.batches.get(0).size());
+        assertEquals("T2", uploader.batches.get(0).get(0).getTicketId());
+        assertEquals("tech.b@example.com", store.account);
+    }
+
+    @Test
+    public void pointsFromPreviousAccountAreNeverSentUnderNewOne() {
+        offerMoving(3);
+
+        // Switched without going through clear(): the flush must not send A's trail as B
+        currentAccount = "tech.b@example.com";
+        clock.runPending();
+
+        assertTrue(uploader.batches.isEmpty());
+        assertEquals(0, queue.getPendingCount());
+        assertTrue(store.saved.isEmpty());
+    }
+
+    @Test
+    public void savedPointsFromAnotherAccountAreDroppedOnRestart() {
+        offerMoving(3);
+
+        currentAccount = "tech.b@example.com";
+        LocationUploadQueue restarted = newQueue();
+
+        assertEquals(0, restarted.getPendingCount());
+        assertTrue(store.saved.isEmpty());
+        clock.runPending();
+        assertTrue(uploader.batches.isEmpty());
+    }
+
+    @Test
+    public void signedOutPointsAreIgnored() {
+        currentAccount = null;
+
+        assertFalse(queue.offer(14.5, 121.0, 5f, 0, "T1"));
+        assertEquals(0, queue.getPendingCount());
+    }
+
+    @Test
+    public void distanceIsComputedInMeters() {
+        double meters = LocationUploadQueue.distanceMeters(14.5, 121.0, 14.5 + STEP_30M, 121.0);
+
+        assertEquals(30, meters, 1.0);
+    }
+
+    private LocationUploadQueue newQueue() {
+        return new LocationUploadQueue(clock, store, uploader, () -> currentAccount);
+    }
+
+    private void offerMoving(int count) {
+        for (int i = 0; i < count; i++) {
+            queue.offer(14.5 + i * STEP_30M, 121.0, 5f, i * 1000L, "T1");
+        }
+    }
+
+    private static class MemoryStore implements LocationUploadQueue.Store {
+        String account;
+        List<LocationBatchRequest.Point> saved = new ArrayList<>();
+
+        @Override
+        public String loadAccount() {
+            return account;
+        }
+
+        @Override
+        public List<LocationBatchRequest.Point> load() {
+            return new ArrayList<>(saved);
+        }
+
+        @Override
+        public void save(String account, List<LocationBatchRequest.Point> points) {
+            this.account = account;
+            saved = new ArrayList<>(points);
+        }
+    }
+
+    private static class RecordingUploader implements LocationUploadQueue.Uploader {
+        final List<List<LocationBatchRequest.Point>> batches = new ArrayList<>();
+        final List<LocationUploadQueue.UploadCallback> callbacks = new ArrayList<>();
+
+        @Override
+        public void upload(List<LocationBatchRequest.Point> points, LocationUploadQueue.UploadCallback callback) {
+            batches.add(points);
+            callbacks.add(callback);
+        }
+    }
+
+    /**
+     * Keeps delayed runnables until runPending() is called.
+     */
+    private static class ManualClock implements RefreshScheduler.Clock {
+        final List<Runnable> scheduled = new ArrayList<>();
+        long lastDelay = -1;
+
+        @Override
+        public long now() {
+            return 0;
+        }
+
+        @Override
+        public void postDelayed(Runnable runnable, long delayMs) {
+            scheduled.add(runnable);
+            lastDelay = delayMs;
+        }
+
+        @Override
+        public void cancel(Runnable runnable) {
+            scheduled.remove(runnable);
+        }
+
+        void runPending() {
+            List<Runnable> toRun = new ArrayList<>(scheduled);
+            scheduled.clear();
+            for (Runnable runnable : toRun) {
+                runnable.run();
+            }
+        }
+    }
+}
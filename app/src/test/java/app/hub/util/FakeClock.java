@@ -0,0 +1,56 @@
+package app.hub.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic clock: delayed runnables execute only when advance() passes their due time.
+ */
+class FakeClock implements RefreshScheduler.Clock {
+    private static class Scheduled {
+        final Runnable runnable;
+        final long dueAt;
+
+        Scheduled(Runnable runnable, long dueAt) {
+            this.runnable = runnable;
+            this.dueAt = dueAt;
+        }
+    }
+
+    private final List<Scheduled> queue = new ArrayList<>();
+    private long now = 0;
+
+    @Override
+    public long now() {
+        return now;
+    }
+
+    @Override
+    public void postDelayed(Runnable runnable, long delayMs) {
+        queue.add(new Scheduled(runnable, now + delayMs));
+    }
+
+    @Override
+    public void cancel(Runnable runnable) {
+        queue.removeIf(s -> s.runnable == runnable);
+    }
+
+    void advance(long ms) {
+        long target = now + ms;
+        while (true) {
+            Scheduled next = null;
+            for (Scheduled s : queue) {
+                if (s.dueAt <= target && (next == null || s.dueAt < next.dueAt)) {
+                    next = s;
+                }
+            }
+            if (next == null) {
+                break;
+            }
+            queue.remove(next);
+            now = next.dueAt;
+            next.runnable.run();
+        }
+        now = target;
+    }
+}
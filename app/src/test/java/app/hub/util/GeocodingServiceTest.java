@@ -0,0 +1,238 @@
+package app.hub.util;
+
+import android.location.Address;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for GeocodingService.
+ *
+ * These tests validate:
+ * - Address normalization for cache keys
+ * - Memory and disk cache hits skip the Geocoder
+ * - Concurrent lookups of one address share a single Geocoder call
+ * - Unknown addresses are negatively cached; network errors only briefly
+ * - A saturated pool answers with a miss instead of queueing forever
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class GeocodingServiceTest {
+
+    private FakeResolver resolver;
+    private MemoryStore store;
+    private List<Runnable> queued;
+    private boolean rejectWork;
+    private long now;
+    private GeocodingService service;
+
+    @Before
+    public void setUp() {
+        resolver = new FakeResolver();
+        store = new MemoryStore();
+        queued = new ArrayList<>();
+        rejectWork = false;
+        now = 1000;
+        service = newService();
+    }
+
+    @Test
+    public void normalizeCollapsesCaseAndWhitespace() {
+        assertEquals("ashcol taguig branch", GeocodingService.normalize("  Ashcol   Taguig\tBranch "));
+        assertEquals("", GeocodingService.normalize(null));
+    }
+
+    @Test
+    public void repeatedLookupUsesMemoryCache() {
+        resolver.results.put("ashcol taguig", new double[] { 14.52, 121.05 });
+        Recorder first = lookup("Ashcol Taguig");
+        runQueued();
+
+        Recorder second = lookup("ashcol  TAGUIG");
+
+        assertTrue(queued.isEmpty());
+        assertEquals(1, resolver.forwardCalls);
+        assertEquals(14.52, second.latitude, 0.0001);
+        assertEquals(1, first.found);
+    }
+
+    @Test
+    public void diskCacheSurvivesRestart() {
+        resolver.results.put("ashcol pasig", new double[] { 14.57, 121.08 });
+        lookup("Ashcol Pasig");
+        runQueued();
+
+        service = newService();
+        Recorder recorder = lookup("Ashcol Pasig");
+        runQueued();
+
+        assertEquals(1, resolver.forwardCalls);
+        assertEquals(1, recorder.found);
+    }
+
+    @Test
+    public void concurrentLookupsAreCoalesced() {
+        resolver.results.put("ashcol makati", new double[] { 14.55, 121.02 });
+        Recorder a = lookup("Ashcol Makati");
+        Recorder b = lookup("ASHCOL MAKATI");
+
+        assertEquals(1, queued.size());
+        runQueued();
+
+        assertEquals(1, resolver.forwardCalls);
+        assertEquals(1, a.found);
+        assertEquals(1, b.found);
+    }
+
+    @Test
+    public void unknownAddressIsNegativelyCached() {
+        Recorder first = lookup("Nowhere Street");
+        runQueued();
+        Recorder second = lookup("Nowhere Street");
+        runQueued();
+
+        assertEquals(1, resolver.forwardCalls);
+        assertEquals(1, first.notFound);
+        assertEquals(1, second.notFound);
+
+        now += GeocodingService.NOT_FOUND_TTL_MS;
+        lookup("Nowhere Street");
+        runQueued();
+        assertEquals(2, resolver.forwardCalls);
+    }
+
+    @Test
+    public void networkErrorIsRetriedSoonAndNotPersisted() {
+        resolver.failing = true;
+        Recorder recorder = lookup("Ashcol Taguig");
+        runQueued();
+
+        assertEquals(1, recorder.notFound);
+        assertTrue(store.entries.isEmpty());
+
+        resolver.failing = false;
+        resolver.results.put("ashcol taguig", new double[] { 14.52, 121.05 });
+        now += GeocodingService.ERROR_TTL_MS;
+        Recorder retry = lookup("Ashcol Taguig");
+        runQueued();
+
+        assertEquals(1, retry.found);
+    }
+
+    @Test
+    public void saturatedPoolReportsMiss() {
+        rejectWork = true;
+
+        Recorder recorder = lookup("Ashcol Taguig");
+
+        assertEquals(1, recorder.notFound);
+        assertEquals(0, resolver.forwardCalls);
+
+        // The key isn't stuck in flight
+        rejectWork = false;
+        resolver.results.put("ashcol taguig", new double[] { 14.52, 121.05 });
+        Recorder retry = lookup("Ashcol Taguig");
+        runQueued();
+        assertEquals(1, retry.found);
+    }
+
+    @Test
+    public void reverseLookupsAreCachedAndCoalesced() {
+        List<List<Address>> results = new ArrayList<>();
+        service.reverseGeocode(14.5, 121.0, 1, results::add);
+        service.reverseGeocode(14.5, 121.0, 1, results::add);
+        runQueued();
+        service.reverseGeocode(14.5, 121.0, 1, results::add);
+
+        assertEquals(1, resolver.reverseCalls);
+        assertEquals(3, results.size());
+    }
+
+    private GeocodingService newService() {
+        return new GeocodingService(resolver, store, runnable -> {
+            if (rejectWork) {
+                throw new RejectedExecutionException("busy");
+            }
+            queued.add(runnable);
+        }, Runnable::run, () -> now);
+    }
+
+    private Recorder lookup(String address) {
+        Recorder recorder = new Recorder();
+        service.geocode(address, recorder);
+        return recorder;
+    }
+
+    private void runQueued() {
+        List<Runnable> toRun = new ArrayList<>(queued);
+        queued.clear();
+        for (Runnable runnable : toRun) {
+            runnable.run();
+        }
+    }
+
+    private static class Recorder implements GeocodingService.Callback {
+        int found;
+        int notFound;
+        double latitude;
+
+        @Override
+        public void onGeocoded(double latitude, double longitude) {
+            found++;
+            this.latitude = latitude;
+        }
+
+        @Override
+        public void onNotFound() {
+            notFound++;
+        }
+    }
+
+    private static class FakeResolver implements GeocodingService.Resolver {
+        final Map<String, double[]> results = new HashMap<>();
+        boolean failing;
+        int forwardCalls;
+        int reverseCalls;
+
+        @Override
+        public double[] forward(String address) throws IOException {
+            forwardCalls++;
+            if (failing) {
+                throw new IOException("grpc failed");
+            }
+            return results.get(GeocodingService.normalize(address));
+        }
+
+        @Override
+        public List<Address> reverse(double latitude, double longitude, int maxResults) {
+            reverseCalls++;
+            return new ArrayList<>();
+        }
+    }
+
+    private static class MemoryStore implements GeocodingService.Store {
+        final Map<String, GeocodingService.Entry> entries = new HashMap<>();
+
+        @Override
+        public GeocodingService.Entry get(String key) {
+            return entries.get(key);
+        }
+
+        @Override
+        public void put(String key, GeocodingService.Entry entry) {
+            entries.put(key, entry);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package app.hub.util;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for ImageCompressor's sizing.
+ *
+ * These tests validate:
+ * - The longer side is fitted to the max dimension, in landscape and portrait
+ * - Small images and a max of 0 keep their size
+ * - Sampling for the target never decodes below the size that is sent
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class ImageCompressorTest {
+
+    @Test
+    public void fitsTheLongerSide() {
+        assertArrayEquals(new int[] {1600, 1200}, ImageCompressor.targetSize(4000, 3000, 1600));
+        assertArrayEquals(new int[] {1200, 1600}, ImageCompressor.targetSize(3000, 4000, 1600));
+        assertArrayEquals(new int[] {1600, 1}, ImageCompressor.targetSize(8000, 2, 1600));
+    }
+
+    @Test
+    public void keepsSmallImagesAsTheyAre() {
+        assertArrayEquals(new int[] {800, 600}, ImageCompressor.targetSize(800, 600, 1600));
+        assertArrayEquals(new int[] {1600, 900}, ImageCompressor.targetSize(1600, 900, 1600));
+        assertArrayEquals(new int[] {4000, 3000}, ImageCompressor.targetSize(4000, 3000, 0));
+    }
+
+    @Test
+    public void samplesNoFurtherThanTheTarget() {
+        // 12 MP photo to 1600px: a sample of 2 gives 2000x1500, 4 would drop below 1600x1200
+        int[] target = ImageCompressor.targetSize(4000, 3000, 1600);
+        int sample = ImageLoader.sampleSize(4000, 3000, target[0], target[1]);
+        assertEquals(2, sample);
+        assertTrue(4000 / sample >= target[0]);
+        assertTrue(3000 / sample >= target[1]);
+    }
+}
@@ -0,0 +1,103 @@
+package app.hub.util;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for ImageDiskCache and ImageLoader's sampling.
+ *
+ * These tests validate:
+ * - Bytes stored for a URL come back for that URL only, and survive a new cache instance
+ * - The least recently used images are dropped first when the cache is over its size
+ * - Removing a URL frees its space
+ * - Photos are sampled down by powers of two but never below the size they are shown at
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class ImageDiskCacheTest {
+    private static final String A = "http://example.test/photos/a.jpg";
+    private static final String B = "http://example.test/photos/b.jpg";
+    private static final String C = "http://example.test/photos/c.jpg";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File directory;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = folder.newFolder("images");
+    }
+
+    @Test
+    public void storesAndFindsByUrl() throws IOException {
+        ImageDiskCache cache = new ImageDiskCache(directory, 1000);
+        cache.put(A, bytes(10, 'a'));
+
+        File file = cache.get(A);
+        assertNotNull(file);
+        assertEquals("aaaaaaaaaa", new String(Files.readAllBytes(file.toPath())));
+        assertNull(cache.get(B));
+
+        // A new process finds what the last one downloaded
+        ImageDiskCache reopened = new ImageDiskCache(directory, 1000);
+        assertNotNull(reopened.get(A));
+        assertEquals(10, reopened.size());
+    }
+
+    @Test
+    public void dropsLeastRecentlyUsedFirst() throws IOException {
+        ImageDiskCache cache = new ImageDiskCache(directory, 250);
+        cache.put(A, bytes(100, 'a'));
+        cache.put(B, bytes(100, 'b'));
+        cache.get(A); // B is now the oldest
+
+        cache.put(C, bytes(100, 'c'));
+
+        assertNotNull(cache.get(A));
+        assertNull(cache.get(B));
+        assertNotNull(cache.get(C));
+        assertEquals(200, cache.size());
+        assertEquals(2, directory.listFiles().length);
+    }
+
+    @Test
+    public void replacingAndRemovingKeepSizeRight() throws IOException {
+        ImageDiskCache cache = new ImageDiskCache(directory, 1000);
+        cache.put(A, bytes(100, 'a'));
+        cache.put(A, bytes(40, 'x'));
+        assertEquals(40, cache.size());
+
+        cache.remove(A);
+        assertNull(cache.get(A));
+        assertEquals(0, cache.size());
+        assertEquals(0, directory.listFiles().length);
+    }
+
+    @Test
+    public void samplesToTheShownSize() {
+        // A 4000x3000 camera photo in a 200px avatar: 4000/16 = 250, 3000/16 = 187 < 200
+        assertEquals(8, ImageLoader.sampleSize(4000, 3000, 200, 200));
+        assertEquals(1, ImageLoader.sampleSize(300, 300, 200, 200));
+        assertEquals(2, ImageLoader.sampleSize(400, 400, 200, 200));
+        assertEquals(1, ImageLoader.sampleSize(4000, 3000, 0, 0));
+    }
+
+    private static ByteArrayInputStream bytes(int count, char fill) {
+        byte[] data = new byte[count];
+        java.util.Arrays.fill(data, (byte) fill);
+        return new ByteArrayInputStream(data);
+    }
+}
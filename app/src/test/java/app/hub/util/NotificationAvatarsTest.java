@@ -0,0 +1,70 @@
+package app.hub.util;
+
+import android.graphics.Bitmap;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for NotificationAvatars' deadline handling.
+ *
+ * These tests validate:
+ * - An avatar that arrives in time is handed over once, and the deadline then does nothing
+ * - At the deadline the caller is told to post without the avatar
+ * - An avatar arriving after the deadline is handed over as late, once
+ * - A failed download after the deadline doesn't call back again
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class NotificationAvatarsTest {
+    private final Bitmap avatar = Bitmap.createBitmap(4, 4, Bitmap.Config.ARGB_8888);
+    private final List<String> calls = new ArrayList<>();
+
+    private final NotificationAvatars.Listener listener = new NotificationAvatars.Listener() {
+        @Override
+        public void onReady(Bitmap bitmap) {
+            calls.add(bitmap != null ? "ready" : "ready:fallback");
+        }
+
+        @Override
+        public void onLate(Bitmap bitmap) {
+            calls.add("late");
+        }
+    };
+
+    @Test
+    public void inTimeAvatarIsDeliveredOnce() {
+        NotificationAvatars.Delivery delivery = new NotificationAvatars.Delivery(listener);
+        delivery.deliver(avatar);
+        delivery.expire();
+        delivery.deliver(avatar);
+
+        assertEquals(List.of("ready"), calls);
+    }
+
+    @Test
+    public void lateAvatarUpdatesAfterFallback() {
+        NotificationAvatars.Delivery delivery = new NotificationAvatars.Delivery(listener);
+        delivery.expire();
+        delivery.deliver(avatar);
+        delivery.deliver(avatar);
+
+        assertEquals(List.of("ready:fallback", "late"), calls);
+    }
+
+    @Test
+    public void failureAfterDeadlineStaysQuiet() {
+        NotificationAvatars.Delivery delivery = new NotificationAvatars.Delivery(listener);
+        delivery.expire();
+        delivery.deliver(null);
+
+        assertEquals(List.of("ready:fallback"), calls);
+    }
+}
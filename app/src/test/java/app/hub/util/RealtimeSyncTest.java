@@ -0,0 +1,148 @@
+package app.hub.util;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for RealtimeSync, driven by a fake clock.
+ *
+ * These tests validate:
+ * - No polling while the stream is healthy
+ * - Fallback polling with exponential backoff while the stream is down
+ * - Changes and pushes reset the backoff
+ * - Nothing runs between stop() and start()
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class RealtimeSyncTest {
+
+    private FakeClock clock;
+    private List<RealtimeSync.Done> pending;
+    private RealtimeSync sync;
+
+    @Before
+    public void setUp() {
+        clock = new FakeClock();
+        pending = new ArrayList<>();
+        sync = new RealtimeSync("test", null, clock, pending::add);
+    }
+
+    @Test
+    public void healthyStreamNeverPolls() {
+        sync.onStreamConnected();
+        sync.start();
+
+        clock.advance(RealtimeSync.MAX_POLL_MS * 3);
+
+        assertTrue(pending.isEmpty());
+        assertFalse(sync.isPolling());
+    }
+
+    @Test
+    public void pollsOnlyAfterStreamFailsToAttach() {
+        sync.start();
+
+        clock.advance(RealtimeSync.BASE_POLL_MS - 1);
+        assertTrue(pending.isEmpty());
+
+        clock.advance(1);
+        assertEquals(1, pending.size());
+    }
+
+    @Test
+    public void unchangedPollsBackOffUpToMax() {
+        sync.start();
+        long expected = RealtimeSync.BASE_POLL_MS;
+
+        for (int i = 0; i < 8; i++) {
+            clock.advance(expected);
+            assertEquals(i + 1, pending.size());
+            pending.get(i).onRefreshed(false);
+            expected = Math.min(expected * 2, RealtimeSync.MAX_POLL_MS);
+            assertEquals(expected, sync.getPollIntervalMs());
+        }
+        assertEquals(RealtimeSync.MAX_POLL_MS, sync.getPollIntervalMs());
+    }
+
+    @Test
+    public void changedPollResetsBackoff() {
+        sync.start();
+        clock.advance(RealtimeSync.BASE_POLL_MS);
+        pending.get(0).onRefreshed(false);
+        clock.advance(RealtimeSync.BASE_POLL_MS * 2);
+        pending.get(1).onRefreshed(true);
+
+        assertEquals(RealtimeSync.BASE_POLL_MS, sync.getPollIntervalMs());
+        clock.advance(RealtimeSync.BASE_POLL_MS);
+        assertEquals(3, pending.size());
+    }
+
+    @Test
+    public void streamRecoveryStopsPolling() {
+        sync.start();
+        clock.advance(RealtimeSync.BASE_POLL_MS);
+        pending.get(0).onRefreshed(false);
+        assertTrue(sync.isPolling());
+
+        sync.onStreamConnected();
+
+        assertFalse(sync.isPolling());
+        clock.advance(RealtimeSync.MAX_POLL_MS);
+        assertEquals(1, pending.size());
+    }
+
+    @Test
+    public void streamLossStartsPolling() {
+        sync.onStreamConnected();
+        sync.start();
+
+        sync.onStreamDisconnected();
+        clock.advance(RealtimeSync.BASE_POLL_MS);
+
+        assertEquals(1, pending.size());
+    }
+
+    @Test
+    public void stopPausesPolling() {
+        sync.start();
+        sync.stop();
+
+        clock.advance(RealtimeSync.MAX_POLL_MS);
+        assertTrue(pending.isEmpty());
+
+        sync.start();
+        clock.advance(RealtimeSync.BASE_POLL_MS);
+        assertEquals(1, pending.size());
+    }
+
+    @Test
+    public void pushRefreshesImmediatelyAndResetsBackoff() {
+        sync.start();
+        clock.advance(RealtimeSync.BASE_POLL_MS);
+        pending.get(0).onRefreshed(false);
+
+        sync.onPushReceived();
+
+        assertEquals(2, pending.size());
+        assertEquals(RealtimeSync.BASE_POLL_MS, sync.getPollIntervalMs());
+        assertFalse(sync.isPolling());
+
+        pending.get(1).onRefreshed(false);
+        assertTrue(sync.isPolling());
+    }
+
+    @Test
+    public void pushIgnoredWhileStopped() {
+        sync.onPushReceived();
+
+        assertTrue(pending.isEmpty());
+    }
+}
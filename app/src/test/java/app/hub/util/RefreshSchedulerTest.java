@@ -0,0 +1,260 @@
+package app.hub.util;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for RefreshScheduler, driven by a fake clock.
+ *
+ * These tests validate:
+ * - Bursts inside the window collapse into one refresh
+ * - At most one refresh per key is in flight
+ * - Requests arriving mid-flight produce exactly one trailing refresh
+ * - Keys are independent and cancel() drops pending work
+ * - Screens sharing a key refresh together and keep it in flight until all are done
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class RefreshSchedulerTest {
+
+    private static final long WINDOW = 500;
+
+    private FakeClock clock;
+    private RefreshScheduler scheduler;
+
+    @Before
+    public void setUp() {
+        clock = new FakeClock();
+        scheduler = new RefreshScheduler(clock, WINDOW);
+    }
+
+    @Test
+    public void burstInsideWindowRunsOnce() {
+        int[] runs = {0};
+        for (int i = 0; i < 10; i++) {
+            scheduler.request("tickets", () -> runs[0]++);
+            clock.advance(40);
+        }
+        assertEquals("Nothing should run before the window closes", 0, runs[0]);
+
+        clock.advance(WINDOW);
+        assertEquals(1, runs[0]);
+
+        clock.advance(WINDOW * 4);
+        assertEquals("No extra refresh without new requests", 1, runs[0]);
+    }
+
+    @Test
+    public void refreshFiresWhenWindowCloses() {
+        List<Long> firedAt = new ArrayList<>();
+        scheduler.request("tickets", () -> firedAt.add(clock.now()));
+
+        clock.advance(WINDOW - 1);
+        assertTrue(firedAt.isEmpty());
+        clock.advance(1);
+        assertEquals(1, firedAt.size());
+        assertEquals(WINDOW, (long) firedAt.get(0));
+    }
+
+    @Test
+    public void onlyOneRefreshInFlightPerKey() {
+        List<Runnable> pendingDone = new ArrayList<>();
+        scheduler.request("tickets", pendingDone::add);
+        clock.advance(WINDOW);
+        assertEquals(1, pendingDone.size());
+        assertTrue(scheduler.isInFlight("tickets"));
+
+        // Requests while in flight must not start another run
+        scheduler.request("tickets", pendingDone::add);
+        scheduler.request("tickets", pendingDone::add);
+        clock.advance(WINDOW * 3);
+        assertEquals(1, pendingDone.size());
+    }
+
+    @Test
+    public void changesMidFlightTriggerOneTrailingRefresh() {
+        List<Runnable> pendingDone = new ArrayList<>();
+        scheduler.request("tickets", pendingDone::add);
+        clock.advance(WINDOW);
+
+        scheduler.request("tickets", pendingDone::add);
+        scheduler.request("tickets", pendingDone::add);
+
+        pendingDone.get(0).run();
+        assertTrue("Trailing refresh should be scheduled", scheduler.isPending("tickets"));
+        assertFalse(scheduler.isInFlight("tickets"));
+
+        clock.advance(WINDOW);
+        assertEquals("Exactly one trailing refresh", 2, pendingDone.size());
+
+        pendingDone.get(1).run();
+        clock.advance(WINDOW * 3);
+        assertEquals(2, pendingDone.size());
+    }
+
+    @Test
+    public void noTrailingRefreshWithoutMidFlightChanges() {
+        List<Runnable> pendingDone = new ArrayList<>();
+        scheduler.request("tickets", pendingDone::add);
+        clock.advance(WINDOW);
+        pendingDone.get(0).run();
+
+        assertFalse(scheduler.isPending("tickets"));
+        clock.advance(WINDOW * 3);
+        assertEquals(1, pendingDone.size());
+    }
+
+    @Test
+    public void doneCalledTwiceIsIgnored() {
+        List<Runnable> pendingDone = new ArrayList<>();
+        scheduler.request("tickets", pendingDone::add);
+        clock.advance(WINDOW);
+        scheduler.request("tickets", pendingDone::add);
+        clock.advance(WINDOW);
+
+        pendingDone.get(0).run();
+        clock.advance(WINDOW);
+        assertEquals(2, pendingDone.size());
+
+        // Stale completion of the first run must not end the second one
+        pendingDone.get(0).run();
+        assertTrue(scheduler.isInFlight("tickets"));
+    }
+
+    @Test
+    public void keysAreIndependent() {
+        int[] tickets = {0};
+        int[] schedule = {0};
+        scheduler.request("tickets", () -> tickets[0]++);
+        clock.advance(200);
+        scheduler.request("schedule", () -> schedule[0]++);
+
+        clock.advance(WINDOW - 200);
+        assertEquals(1, tickets[0]);
+        assertEquals(0, schedule[0]);
+
+        clock.advance(200);
+        assertEquals(1, schedule[0]);
+    }
+
+    @Test
+    public void latestTaskForKeyWins() {
+        List<String> ran = new ArrayList<>();
+        scheduler.request("tickets", () -> ran.add("first"));
+        scheduler.request("tickets", () -> ran.add("second"));
+        clock.advance(WINDOW);
+
+        assertEquals(1, ran.size());
+        assertEquals("second", ran.get(0));
+    }
+
+    @Test
+    public void cancelDropsPendingRefresh() {
+        int[] runs = {0};
+        scheduler.request("tickets", () -> runs[0]++);
+        scheduler.cancel("tickets");
+        clock.advance(WINDOW * 2);
+
+        assertEquals(0, runs[0]);
+        assertFalse(scheduler.isPending("tickets"));
+    }
+
+    @Test
+    public void cancelWhileInFlightSuppressesTrailingRefresh() {
+        List<Runnable> pendingDone = new ArrayList<>();
+        scheduler.request("tickets", pendingDone::add);
+        clock.advance(WINDOW);
+        scheduler.request("tickets", pendingDone::add);
+
+        scheduler.cancel("tickets");
+        pendingDone.get(0).run();
+        clock.advance(WINDOW * 2);
+
+        assertEquals(1, pendingDone.size());
+    }
+
+    @Test
+    public void requestAfterCancelWaitsForRunInFlight() {
+        List<Runnable> pendingDone = new ArrayList<>();
+        scheduler.request("tickets", pendingDone::add);
+        clock.advance(WINDOW);
+
+        scheduler.cancel("tickets");
+        assertTrue(scheduler.isInFlight("tickets"));
+        scheduler.request("tickets", pendingDone::add);
+        clock.advance(WINDOW * 2);
+        assertEquals("No second run while the first is in flight", 1, pendingDone.size());
+
+        pendingDone.get(0).run();
+        clock.advance(WINDOW);
+        assertEquals(2, pendingDone.size());
+
+        pendingDone.get(1).run();
+        scheduler.cancel("tickets");
+        assertFalse(scheduler.isInFlight("tickets"));
+        assertFalse(scheduler.isPending("tickets"));
+    }
+
+    @Test
+    public void throwingTaskDoesNotWedgeKey() {
+        int[] runs = {0};
+        scheduler.request("tickets", () -> {
+            runs[0]++;
+            throw new IllegalStateException("boom");
+        });
+        clock.advance(WINDOW);
+        assertFalse(scheduler.isInFlight("tickets"));
+
+        scheduler.request("tickets", () -> runs[0]++);
+        clock.advance(WINDOW);
+        assertEquals(2, runs[0]);
+    }
+
+    @Test
+    public void ownersOfOneKeyShareARun() {
+        List<Runnable> dashboardDone = new ArrayList<>();
+        List<Runnable> workDone = new ArrayList<>();
+        scheduler.request("tickets", "dashboard", dashboardDone::add);
+        scheduler.request("tickets", "work", workDone::add);
+        clock.advance(WINDOW);
+        assertEquals(1, dashboardDone.size());
+        assertEquals(1, workDone.size());
+
+        dashboardDone.get(0).run();
+        assertTrue("In flight until every screen is done", scheduler.isInFlight("tickets"));
+        scheduler.request("tickets", "dashboard", dashboardDone::add);
+        clock.advance(WINDOW);
+        assertEquals(1, dashboardDone.size());
+
+        workDone.get(0).run();
+        assertFalse(scheduler.isInFlight("tickets"));
+        clock.advance(WINDOW);
+        assertEquals("One trailing run for the mid-flight request", 2, dashboardDone.size());
+    }
+
+    @Test
+    public void cancellingOneOwnerKeepsTheOthers() {
+        List<String> ran = new ArrayList<>();
+        scheduler.request("tickets", "dashboard", done -> ran.add("dashboard"));
+        scheduler.request("tickets", "work", done -> ran.add("work"));
+
+        scheduler.cancel("tickets", "dashboard");
+        assertTrue(scheduler.isPending("tickets"));
+        clock.advance(WINDOW);
+        assertEquals(1, ran.size());
+        assertEquals("work", ran.get(0));
+
+        scheduler.cancel("tickets", "work");
+        scheduler.request("tickets", "work", done -> ran.add("work"));
+        scheduler.cancel("tickets", "work");
+        assertFalse(scheduler.isPending("tickets"));
+    }
+}
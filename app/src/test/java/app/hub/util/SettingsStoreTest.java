@@ -0,0 +1,88 @@
+package app.hub.util;
+
+import android.content.Context;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for SettingsStore.
+ *
+ * These tests validate:
+ * - Each value type reads back from disk as the type it was written with
+ * - Values in the old auth_pref SharedPreferences are moved over on first load
+ * - Edits are visible at once, including clear(), and reach the file
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class SettingsStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void roundTripsEveryType() throws Exception {
+        Map<String, Object> values = new HashMap<>();
+        values.put("token", "abc");
+        values.put("user_id", 42);
+        values.put("branch_cache_time", 1700000000000L);
+        values.put("push_notifications", false);
+
+        File file = new File(folder.getRoot(), "settings.json");
+        SettingsStore.write(values, file);
+
+        assertEquals(values, SettingsStore.read(file));
+        assertFalse(new File(file.getPath() + ".tmp").exists());
+    }
+
+    @Test
+    public void migratesLegacyPreferences() {
+        Context context = ApplicationProvider.getApplicationContext();
+        context.getSharedPreferences(SettingsStore.LEGACY_PREFS, Context.MODE_PRIVATE).edit()
+                .putString("token", "abc")
+                .putInt("user_id", 7)
+                .putBoolean("sms_notifications", true)
+                .commit();
+
+        SettingsStore store = new SettingsStore(context, new File(folder.getRoot(), "settings.json"));
+
+        assertEquals("abc", store.get(SettingsStore.Key.string("token", null)));
+        assertEquals(Integer.valueOf(7), store.get(SettingsStore.Key.integer("user_id", -1)));
+        assertTrue(store.get(SettingsStore.Key.bool("sms_notifications", false)));
+    }
+
+    @Test
+    public void editsAreVisibleAtOnceAndWritten() throws Exception {
+        Context context = ApplicationProvider.getApplicationContext();
+        File file = new File(folder.getRoot(), "settings.json");
+        SettingsStore store = new SettingsStore(context, file);
+        SettingsStore.Key<String> token = SettingsStore.Key.string("token", null);
+        SettingsStore.Key<Integer> userId = SettingsStore.Key.integer("user_id", -1);
+
+        store.edit().put(token, "abc").put(userId, 7).apply();
+        assertEquals("abc", store.get(token));
+        assertEquals(Integer.valueOf(7), store.get(userId));
+
+        store.edit().clear().apply();
+        assertNull(store.get(token));
+        assertEquals(Integer.valueOf(-1), store.get(userId));
+
+        store.edit().put(token, "def").apply();
+        store.flush();
+        Map<String, Object> onDisk = SettingsStore.read(file);
+        assertEquals("def", onDisk.get("token"));
+        assertFalse(onDisk.containsKey("user_id"));
+    }
+}
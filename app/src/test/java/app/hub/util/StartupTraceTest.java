@@ -0,0 +1,40 @@
+package app.hub.util;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for StartupTrace's report line.
+ *
+ * These tests validate:
+ * - The role and time to the first ticket row lead the line
+ * - Startup marks follow in the order they happened
+ * - A start with no marks still reports its total
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class StartupTraceTest {
+
+    @Test
+    public void reportsRoleTotalAndMarksInOrder() {
+        Map<String, Long> marks = new LinkedHashMap<>();
+        marks.put("startup_begin", 95L);
+        marks.put("splash_settled", 640L);
+
+        assertEquals("manager: first ticket row at 812 ms (startup_begin 95 ms, splash_settled 640 ms)",
+                StartupTrace.format("manager", 812, marks));
+    }
+
+    @Test
+    public void reportsTotalWithoutMarks() {
+        assertEquals("customer: first ticket row at 430 ms",
+                StartupTrace.format("customer", 430, new LinkedHashMap<>()));
+    }
+}